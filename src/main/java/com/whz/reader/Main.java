@@ -6,7 +6,9 @@ import javax.swing.SwingUtilities;
 import javax.swing.ToolTipManager;
 import javax.swing.UIManager;
 
+import com.whz.reader.controller.CommandLineController;
 import com.whz.reader.util.I18N;
+import com.whz.reader.util.RuntimeInfo;
 import com.whz.reader.view.ReaderGUI;
 
 /**
@@ -14,6 +16,10 @@ import com.whz.reader.view.ReaderGUI;
  * the ReaderGUI class to display the app while waiting for further user inputs
  * to be processed.
  * 
+ * If any command line arguments are given, the application runs without the GUI
+ * instead and generates the Java code as declared by the arguments. Swing is
+ * never loaded in this case. Use '--help' to list all arguments.
+ * 
  * @author Timon Schwalbe
  */
 public class Main {
@@ -26,6 +32,10 @@ public class Main {
 	public static void main(String[] args) {
 		log.info("Started application");
 
+		if (args.length > 0) {
+			System.exit(CommandLineController.run(args));
+		}
+
 		SwingUtilities.invokeLater(new Runnable() {
 			public void run() {
 				ToolTipManager.sharedInstance().setInitialDelay(TTM_INITIAL_DELAY);
@@ -34,6 +44,7 @@ public class Main {
 
 				I18N.init();
 				ReaderGUI.initAndShow();
+				log.info("Started GUI " + RuntimeInfo.describe());
 			}
 		});
 	}
@@ -0,0 +1,319 @@
+package com.whz.reader.controller;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.whz.reader.model.GenerationListener;
+import com.whz.reader.model.GenerationOptions;
+import com.whz.reader.model.GenerationSession;
+import com.whz.reader.model.JSONParser;
+import com.whz.reader.model.JSONParser.ParseMode;
+import com.whz.reader.model.ProjectGenerator;
+import com.whz.reader.model.SnapshotCache;
+
+/**
+ * The BatchController generates the Java code of many oNote JSON files at once,
+ * e.g. the exports of several domain teams. Every JSON file is parsed into its
+ * own GenerationSession and generated into its own folder below the output
+ * directory, so the files are processed on a bounded pool of workers without
+ * sharing any state.
+ *
+ * A JSON file that cannot be parsed or generated does not stop the batch. Its
+ * failure is recorded in the ModelResult of the file instead, next to the
+ * timings of the other files.
+ *
+ * @author Timon Schwalbe
+ */
+public class BatchController {
+
+	private static final Logger log = Logger.getLogger(BatchController.class.getName());
+
+	private static final String GLOB_CHARACTERS = "*?[{";
+
+	public enum Status {
+		GENERATED, PARSE_FAILED, GENERATION_FAILED, ERROR
+	}
+
+	/**
+	 * Result of a single JSON file of the batch.
+	 */
+	public static class ModelResult {
+
+		private final Path jsonFile;
+		private final Path outputPath;
+		private Status status;
+		private long parseMillis;
+		private long generateMillis;
+		private final List<String> warnings = new ArrayList<>();
+		private String errorMessage;
+
+		private ModelResult(Path jsonFile, Path outputPath) {
+			this.jsonFile = jsonFile;
+			this.outputPath = outputPath;
+		}
+
+		public Path getJsonFile() {
+			return jsonFile;
+		}
+
+		public Path getOutputPath() {
+			return outputPath;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public long getParseMillis() {
+			return parseMillis;
+		}
+
+		public long getGenerateMillis() {
+			return generateMillis;
+		}
+
+		/**
+		 * @return List<String> - Warnings reported while parsing and generating the
+		 *         JSON file
+		 */
+		public List<String> getWarnings() {
+			return Collections.unmodifiableList(warnings);
+		}
+
+		/**
+		 * @return String - Message of the unexpected error that stopped the
+		 *         generation; or null if there was none
+		 */
+		public String getErrorMessage() {
+			return errorMessage;
+		}
+
+		@Override
+		public String toString() {
+			return "ModelResult [jsonFile=" + jsonFile + ", status=" + status + ", parseMillis=" + parseMillis
+					+ ", generateMillis=" + generateMillis + ", warnings=" + warnings.size() + "]";
+		}
+
+	}
+
+	/**
+	 * GenerationListener collecting the warnings of a single JSON file, since the
+	 * messages of parallel workers would otherwise be interleaved.
+	 */
+	private static class CollectingGenerationListener implements GenerationListener {
+
+		private final List<String> warnings;
+
+		private CollectingGenerationListener(List<String> warnings) {
+			this.warnings = warnings;
+		}
+
+		@Override
+		public void onWarning(String warningMessage) {
+			warnings.add(warningMessage);
+		}
+
+		@Override
+		public void onInfo(String informationMessage) {
+			log.fine(informationMessage);
+		}
+
+	}
+
+	/**
+	 * Finds all JSON files of the batch. The given String may either be a
+	 * directory, in which case every '*.json' file directly inside it is taken,
+	 * or a glob like 'models/**.json' that is matched against all files below
+	 * the directory in front of the first glob character. Files not ending with
+	 * '.json' are never taken.
+	 *
+	 * @param directoryOrGlob - Directory or glob of the JSON files
+	 * @return List<Path> - The JSON files sorted by their path
+	 * @throws IOException - If the directory could not be read
+	 */
+	public static List<Path> findJsonFiles(String directoryOrGlob) throws IOException {
+		String pattern = directoryOrGlob.replace("\\", "/");
+		Path baseDirectory;
+		PathMatcher matcher;
+		int maxDepth;
+
+		int globIndex = indexOfGlob(pattern);
+		if (globIndex < 0) {
+			baseDirectory = Paths.get(directoryOrGlob);
+			matcher = path -> true;
+			maxDepth = 1;
+		} else {
+			int separatorIndex = pattern.lastIndexOf('/', globIndex);
+			baseDirectory = Paths.get(separatorIndex < 0 ? "." : pattern.substring(0, separatorIndex + 1));
+			matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(separatorIndex + 1));
+			maxDepth = Integer.MAX_VALUE;
+		}
+
+		if (!Files.isDirectory(baseDirectory)) {
+			return Collections.emptyList();
+		}
+		try (Stream<Path> paths = Files.walk(baseDirectory, maxDepth)) {
+			return paths.filter(Files::isRegularFile)
+					.filter(path -> path.getFileName().toString().toLowerCase().endsWith(".json"))
+					.filter(path -> matcher.matches(baseDirectory.relativize(path))).sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Parses and generates all given JSON files on a pool of the given number of
+	 * workers. Each JSON file is generated into a folder named like the file
+	 * (without '.json') inside the output directory. Files of the same name are
+	 * numbered, so no two JSON files are ever generated into the same folder.
+	 *
+	 * @param jsonFiles     - The JSON files of the batch
+	 * @param options       - The options of every JSON file; the project path is
+	 *                      the directory containing the generated projects
+	 * @param parseMode     - The strategy used to read the JSON files
+	 * @param snapshotCache - Cache of the parsed EventModels; or null to always
+	 *                      parse the JSON files
+	 * @param jobs          - Number of JSON files generated at the same time
+	 * @param executor      - Executor generating the Bounded Contexts of the JSON
+	 *                      files; or null to generate them on the worker of the
+	 *                      JSON file
+	 * @return List<ModelResult> - The results in the order of the given files
+	 */
+	public static List<ModelResult> generateAll(List<Path> jsonFiles, GenerationOptions options, ParseMode parseMode,
+			SnapshotCache snapshotCache, int jobs, ExecutorService executor) {
+		Path outputPath = Paths.get(options.getProjectPath());
+		long startTime = System.nanoTime();
+		List<ModelResult> results = new ArrayList<>();
+		List<Future<?>> futures = new ArrayList<>();
+
+		ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(jobs, jsonFiles.size())));
+		try {
+			Set<String> projectNames = new HashSet<>();
+			for (Path jsonFile : jsonFiles) {
+				String fileName = jsonFile.getFileName().toString();
+				String projectName = fileName.substring(0, fileName.length() - ".json".length());
+				for (int i = 2; !projectNames.add(projectName); i++) {
+					projectName = fileName.substring(0, fileName.length() - ".json".length()) + "-" + i;
+				}
+				ModelResult result = new ModelResult(jsonFile, outputPath.resolve(projectName));
+				results.add(result);
+				futures.add(workers.submit(() -> generate(result,
+						options.withProjectPath(result.outputPath.toString()), parseMode, snapshotCache, executor)));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					futures.get(i).get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					log.warning("Interrupted while generating JSON files: " + e.getMessage());
+					break;
+				} catch (ExecutionException e) {
+					results.get(i).status = Status.ERROR;
+					results.get(i).errorMessage = String.valueOf(e.getCause());
+				}
+			}
+		} finally {
+			workers.shutdownNow();
+		}
+
+		log.info("Generated " + jsonFiles.size() + " JSON file(s) with " + jobs + " job(s) in "
+				+ (System.nanoTime() - startTime) / 1_000_000 + " ms");
+		return results;
+	}
+
+	/**
+	 * Parses and generates a single JSON file into its own GenerationSession and
+	 * fills the given result.
+	 */
+	private static void generate(ModelResult result, GenerationOptions options, ParseMode parseMode,
+			SnapshotCache snapshotCache, ExecutorService executor) {
+		GenerationListener listener = new CollectingGenerationListener(result.warnings);
+		long startTime = System.nanoTime();
+
+		try {
+			GenerationSession session = JSONParser.parse(result.jsonFile.toString(), parseMode, snapshotCache,
+					listener);
+			result.parseMillis = (System.nanoTime() - startTime) / 1_000_000;
+			if (session == null) {
+				result.status = Status.PARSE_FAILED;
+				return;
+			}
+
+			startTime = System.nanoTime();
+			boolean generated = ProjectGenerator.generateProject(session, options, executor, listener);
+			result.generateMillis = (System.nanoTime() - startTime) / 1_000_000;
+			result.status = generated ? Status.GENERATED : Status.GENERATION_FAILED;
+		} catch (RuntimeException e) {
+			log.warning("Could not generate JSON file '" + result.jsonFile + "': " + e);
+			result.status = Status.ERROR;
+			result.errorMessage = e.toString();
+		}
+	}
+
+	/**
+	 * Formats the results as a table with one line per JSON file, followed by the
+	 * warnings and errors of every JSON file that could not be generated.
+	 *
+	 * @param results - The results of the batch
+	 * @return String - The report
+	 */
+	public static String formatReport(List<ModelResult> results) {
+		StringBuilder sb = new StringBuilder();
+		String newLine = System.lineSeparator();
+		int nameWidth = "Model".length();
+		for (ModelResult result : results) {
+			nameWidth = Math.max(nameWidth, result.jsonFile.getFileName().toString().length());
+		}
+		String rowFormat = "%-" + nameWidth + "s  %-17s  %8s  %11s  %8s" + newLine;
+
+		sb.append(String.format(rowFormat, "Model", "Status", "Parse ms", "Generate ms", "Warnings"));
+		int generated = 0;
+		for (ModelResult result : results) {
+			sb.append(String.format(rowFormat, result.jsonFile.getFileName(), result.status, result.parseMillis,
+					result.generateMillis, result.warnings.size()));
+			if (result.status == Status.GENERATED) {
+				generated++;
+			}
+		}
+		sb.append("Generated ").append(generated).append(" of ").append(results.size()).append(" model(s)")
+				.append(newLine);
+
+		for (ModelResult result : results) {
+			if (result.status != Status.GENERATED) {
+				sb.append(newLine).append(result.jsonFile).append(": ").append(result.status).append(newLine);
+				for (String warning : result.warnings) {
+					sb.append("  ").append(warning.replace("\n", newLine + "  ")).append(newLine);
+				}
+				if (result.errorMessage != null) {
+					sb.append("  ").append(result.errorMessage).append(newLine);
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	private static int indexOfGlob(String pattern) {
+		for (int i = 0; i < pattern.length(); i++) {
+			if (GLOB_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,427 @@
+package com.whz.reader.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import com.whz.reader.controller.BatchController.ModelResult;
+import com.whz.reader.controller.BatchController.Status;
+import com.whz.reader.model.AsyncFileSystemOutputSink;
+import com.whz.reader.model.AsyncFileSystemOutputSink.FsyncPolicy;
+import com.whz.reader.model.DataTypePool;
+import com.whz.reader.model.GenerationListener;
+import com.whz.reader.model.GenerationOptions;
+import com.whz.reader.model.GenerationSession;
+import com.whz.reader.model.JSONParser;
+import com.whz.reader.model.JSONParser.ParseMode;
+import com.whz.reader.model.MappedModelStore;
+import com.whz.reader.model.OutputSink;
+import com.whz.reader.model.ProjectGenerator;
+import com.whz.reader.model.SnapshotCache;
+import com.whz.reader.model.TarOutputSink;
+import com.whz.reader.model.ZipOutputSink;
+import com.whz.reader.util.I18N;
+import com.whz.reader.util.InputValidator;
+import com.whz.reader.util.RuntimeInfo;
+
+/**
+ * The CommandLineController generates the Java code without any graphical user
+ * interface, e.g. on a build server without a display. It takes the same
+ * options as the GUI as command line arguments and prints warnings and
+ * information to the console instead of displaying dialogs. Neither Swing nor
+ * AWT are loaded this way. With '--batch' many JSON files are generated at once
+ * through the BatchController. With '--archive' the generated projects are
+ * written into a single ZIP, JAR or tar file, or streamed as tar archive to the
+ * standard output. With '--async-writes', '--atomic-writes' or '--fsync' the
+ * files are written through the AsyncFileSystemOutputSink.
+ *
+ * @author Timon Schwalbe
+ */
+public class CommandLineController {
+
+	private static final Logger log = Logger.getLogger(CommandLineController.class.getName());
+
+	public static final int EXIT_SUCCESS = 0;
+	public static final int EXIT_FAILURE = 1;
+	public static final int EXIT_USAGE = 2;
+
+	private static final String USAGE = String.join(System.lineSeparator(),
+			"Usage: java -jar ONoteReader.jar --json <file> --output <directory> [options]",
+			"       java -jar ONoteReader.jar --batch <directory|glob> --output <directory> [options]", "",
+			"  --json <file>                 oNote JSON file to generate the Java code from",
+			"  --batch <directory|glob>      Generate every JSON file of the directory or matching the glob",
+			"                                (e.g. 'models/**.json') into its own folder of the output directory",
+			"  --output <directory>          New project location or existing project source folder",
+			"  --project new|existing        Create new projects (default) or add to an existing project",
+			"  --namespace <namespace>       Separate namespace of the generated code",
+			"  --namespace-option separate|schema|default",
+			"                                Namespace to use (default: 'separate' if a namespace is",
+			"                                declared, otherwise 'default' which is 'main')",
+			"  --parse-mode dom|streaming|parallel",
+			"                                Strategy to read the JSON file (default: dom)",
+			"  --threads <count>             Number of Bounded Contexts generated at the same time (default: 1)",
+			"  --jobs <count>                Number of JSON files generated at the same time in batch mode",
+			"                                (default: number of processors)",
+			"  --cache <directory>           Keep snapshots of the parsed JSON files in the directory and load",
+			"                                unchanged JSON files from their snapshot",
+			"  --store <file>                Write the parsed JSON file into a memory-mapped model store and",
+			"                                generate from the mapped file instead of the heap",
+			"  --share-data-types            Share structurally identical DataTypes of the parsed JSON file",
+			"  --streams <name|id>[,...]     Parse and generate only the Bounded Contexts of these Streams",
+			"                                ('DefaultStream' for Events without a Stream); always streaming",
+			"  --archive <file|->            Write the projects into a .zip, .jar or .tar file instead of the",
+			"                                output directory, or as tar stream to the standard output ('-');",
+			"                                the entries are relative to --output (default: '.')",
+			"  --async-writes <count>        Write up to this many files at the same time through asynchronous",
+			"                                file channels (default with --atomic-writes or --fsync: 64)",
+			"  --atomic-writes               Write every file into a temporary file and move it over the file",
+			"  --fsync none|file|end         Force the written files to the disk never (default), after every",
+			"                                file or once at the end; implies asynchronous writes",
+			"  --help                        Print this message");
+
+	/**
+	 * GenerationListener printing warnings to the error stream and any other
+	 * information to the given stream, which is the standard output unless the
+	 * standard output carries an archive.
+	 */
+	private static class ConsoleGenerationListener implements GenerationListener {
+
+		private final PrintStream infoStream;
+
+		private ConsoleGenerationListener(PrintStream infoStream) {
+			this.infoStream = infoStream;
+		}
+
+		@Override
+		public void onWarning(String warningMessage) {
+			System.err.println("WARNING: " + warningMessage);
+		}
+
+		@Override
+		public void onInfo(String informationMessage) {
+			infoStream.println(informationMessage);
+		}
+
+	}
+
+	/**
+	 * Parses the command line arguments and generates the Java code accordingly.
+	 *
+	 * @param args - The command line arguments
+	 * @return int - EXIT_SUCCESS if the code was generated, EXIT_FAILURE if the
+	 *         generation (of any JSON file) failed and EXIT_USAGE if the arguments
+	 *         are invalid
+	 */
+	public static int run(String[] args) {
+		String jsonPath = "";
+		String outputPath = "";
+		int projectIndex = 0;
+		String namespace = null;
+		String namespaceOption = null;
+		ParseMode parseMode = ParseMode.DOM;
+		int threads = 1;
+		String batch = null;
+		SnapshotCache snapshotCache = null;
+		Path storePath = null;
+		boolean shareDataTypes = false;
+		Set<String> streams = null;
+		String archive = null;
+		int maxWritesInFlight = 0;
+		boolean isAtomicWrite = false;
+		FsyncPolicy fsyncPolicy = null;
+		int jobs = Runtime.getRuntime().availableProcessors();
+		int namespaceIndex;
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "--json":
+					jsonPath = value(args, ++i);
+					break;
+				case "--output":
+					outputPath = value(args, ++i);
+					break;
+				case "--project":
+					projectIndex = index(value(args, ++i), "new", "existing");
+					break;
+				case "--namespace":
+					namespace = value(args, ++i);
+					break;
+				case "--namespace-option":
+					namespaceOption = value(args, ++i);
+					break;
+				case "--parse-mode":
+					parseMode = ParseMode.values()[index(value(args, ++i), "dom", "streaming", "parallel")];
+					break;
+				case "--threads":
+					threads = Integer.parseInt(value(args, ++i));
+					break;
+				case "--batch":
+					batch = value(args, ++i);
+					break;
+				case "--jobs":
+					jobs = Integer.parseInt(value(args, ++i));
+					break;
+				case "--cache":
+					snapshotCache = new SnapshotCache(Paths.get(value(args, ++i)));
+					break;
+				case "--store":
+					storePath = Paths.get(value(args, ++i));
+					break;
+				case "--share-data-types":
+					shareDataTypes = true;
+					break;
+				case "--streams":
+					streams = new LinkedHashSet<>(Arrays.asList(value(args, ++i).split(",")));
+					break;
+				case "--archive":
+					archive = value(args, ++i);
+					break;
+				case "--async-writes":
+					maxWritesInFlight = Integer.parseInt(value(args, ++i));
+					if (maxWritesInFlight < 1) {
+						throw new IllegalArgumentException("Number of asynchronous writes must be at least 1");
+					}
+					break;
+				case "--atomic-writes":
+					isAtomicWrite = true;
+					break;
+				case "--fsync":
+					fsyncPolicy = FsyncPolicy.values()[index(value(args, ++i), "none", "file", "end")];
+					break;
+				case "--help":
+					System.out.println(USAGE);
+					return EXIT_SUCCESS;
+				default:
+					throw new IllegalArgumentException("Unknown argument: '" + args[i] + "'");
+				}
+			}
+			if (namespaceOption == null) {
+				namespaceOption = namespace != null ? "separate" : "default";
+			}
+			namespaceIndex = index(namespaceOption, "separate", "schema", "default");
+			if (namespaceIndex == 0 && namespace == null) {
+				throw new IllegalArgumentException("Namespace option 'separate' requires --namespace");
+			}
+			if (threads < 1 || jobs < 1) {
+				throw new IllegalArgumentException("Number of threads and jobs must be at least 1");
+			}
+			if (batch != null && !jsonPath.isEmpty()) {
+				throw new IllegalArgumentException("Use either --json or --batch");
+			}
+			if (batch != null && storePath != null) {
+				throw new IllegalArgumentException("--store cannot be used with --batch");
+			}
+			if (batch != null && shareDataTypes) {
+				throw new IllegalArgumentException("--share-data-types cannot be used with --batch");
+			}
+			if (streams != null && (batch != null || snapshotCache != null)) {
+				throw new IllegalArgumentException("--streams cannot be used with --batch or --cache");
+			}
+			if (archive != null && batch != null) {
+				throw new IllegalArgumentException("--archive cannot be used with --batch");
+			}
+			if (archive != null && outputPath.isEmpty()) {
+				outputPath = ".";
+			}
+			if (maxWritesInFlight == 0 && (isAtomicWrite || fsyncPolicy != null)) {
+				maxWritesInFlight = AsyncFileSystemOutputSink.DEFAULT_MAX_IN_FLIGHT;
+			}
+			if (maxWritesInFlight > 0 && (archive != null || batch != null)) {
+				throw new IllegalArgumentException(
+						"--async-writes, --atomic-writes and --fsync cannot be used with --archive or --batch");
+			}
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			return EXIT_USAGE;
+		}
+
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		GenerationListener listener = new ConsoleGenerationListener("-".equals(archive) ? System.err : System.out);
+
+		GenerationOptions options = new GenerationOptions(projectIndex, outputPath, namespaceIndex,
+				namespace != null ? namespace : "");
+		if (batch != null) {
+			return runBatch(batch, options, parseMode, snapshotCache, jobs, threads, listener);
+		}
+
+		String warningMessage = InputValidator.validateUserInput(projectIndex, outputPath, jsonPath);
+		if (!warningMessage.isEmpty()) {
+			listener.onWarning(warningMessage);
+			return EXIT_USAGE;
+		}
+
+		boolean generated = false;
+		GenerationSession session = streams != null ? JSONParser.parse(jsonPath, streams, listener)
+				: JSONParser.parse(jsonPath, parseMode, snapshotCache, listener);
+		if (session != null && shareDataTypes) {
+			new DataTypePool().shareAll(session.getEventModel());
+		}
+		if (session != null && storePath != null) {
+			session = mapModelStore(session, storePath, listener);
+		}
+		if (session != null) {
+			ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+			try {
+				if (archive != null) {
+					generated = generateArchive(session, options, executor, listener, archive);
+				} else if (maxWritesInFlight > 0) {
+					generated = generateAsync(session, options, executor, listener, new AsyncFileSystemOutputSink(
+							maxWritesInFlight, isAtomicWrite, fsyncPolicy != null ? fsyncPolicy : FsyncPolicy.NONE));
+				} else {
+					generated = ProjectGenerator.generateProject(session, options, executor, listener);
+				}
+			} finally {
+				if (executor != null) {
+					executor.shutdown();
+				}
+			}
+		}
+
+		log.info("Finished command line " + RuntimeInfo.describe());
+		return generated ? EXIT_SUCCESS : EXIT_FAILURE;
+	}
+
+	/**
+	 * Generates every JSON file of the batch through the BatchController and
+	 * prints a report of all files.
+	 *
+	 * @return int - EXIT_SUCCESS if every JSON file was generated, EXIT_FAILURE if
+	 *         any JSON file failed and EXIT_USAGE if there are no JSON files
+	 */
+	private static int runBatch(String batch, GenerationOptions options, ParseMode parseMode,
+			SnapshotCache snapshotCache, int jobs, int threads, GenerationListener listener) {
+		List<Path> jsonFiles;
+		try {
+			jsonFiles = BatchController.findJsonFiles(batch);
+		} catch (IOException | InvalidPathException e) {
+			listener.onWarning("Could not read batch '" + batch + "': " + e.getMessage());
+			return EXIT_USAGE;
+		}
+		if (jsonFiles.isEmpty()) {
+			listener.onWarning("No JSON files found in batch '" + batch + "'");
+			return EXIT_USAGE;
+		}
+		String warningMessage = InputValidator.validateUserInput(options.getProjectOption(),
+				options.getProjectPath(), jsonFiles.get(0).toString());
+		if (!warningMessage.isEmpty()) {
+			listener.onWarning(warningMessage);
+			return EXIT_USAGE;
+		}
+
+		List<ModelResult> results;
+		ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+		try {
+			results = BatchController.generateAll(jsonFiles, options, parseMode, snapshotCache, jobs, executor);
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+		listener.onInfo(BatchController.formatReport(results));
+
+		log.info("Finished batch " + RuntimeInfo.describe());
+		for (ModelResult result : results) {
+			if (result.getStatus() != Status.GENERATED) {
+				return EXIT_FAILURE;
+			}
+		}
+		return EXIT_SUCCESS;
+	}
+
+	/**
+	 * Generates the projects into an archive instead of the output directory. The
+	 * format is chosen by the extension of the archive: '.jar' and '.tar' files are
+	 * written as such, any other file as ZIP and '-' as tar stream to the standard
+	 * output.
+	 *
+	 * @return boolean - true if the projects were generated and the archive was
+	 *         written; false if not
+	 */
+	private static boolean generateArchive(GenerationSession session, GenerationOptions options,
+			ExecutorService executor, GenerationListener listener, String archive) {
+		String outputRoot = options.getProjectPath();
+		try {
+			if (archive.equals("-")) {
+				try (OutputSink outputSink = new TarOutputSink(System.out, outputRoot)) {
+					return ProjectGenerator.generateProject(session, options, executor, listener, outputSink);
+				}
+			}
+			String fileName = archive.toLowerCase();
+			try (OutputStream outputStream = Files.newOutputStream(Paths.get(archive));
+					OutputSink outputSink = fileName.endsWith(".tar") ? new TarOutputSink(outputStream, outputRoot)
+							: new ZipOutputSink(outputStream, outputRoot, fileName.endsWith(".jar"))) {
+				return ProjectGenerator.generateProject(session, options, executor, listener, outputSink);
+			}
+		} catch (IOException | InvalidPathException e) {
+			listener.onWarning("Could not write archive '" + archive + "': " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Generates the projects into the output directory through the asynchronous
+	 * sink and closes it, which forces the files to the disk depending on its
+	 * FsyncPolicy and logs the write throughput.
+	 *
+	 * @return boolean - true if the projects were generated and every file was
+	 *         forced to the disk as required; false if not
+	 */
+	private static boolean generateAsync(GenerationSession session, GenerationOptions options,
+			ExecutorService executor, GenerationListener listener, AsyncFileSystemOutputSink outputSink) {
+		try (outputSink) {
+			return ProjectGenerator.generateProject(session, options, executor, listener, outputSink);
+		} catch (IOException e) {
+			listener.onWarning("Could not force the generated files to the disk: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the EventModel of the session into the model store file and maps it,
+	 * so the EventModel on the heap is no longer referenced while generating.
+	 *
+	 * @return GenerationSession - Session reading the mapped file; or null if the
+	 *         model store could not be written
+	 */
+	private static GenerationSession mapModelStore(GenerationSession session, Path storePath,
+			GenerationListener listener) {
+		try {
+			MappedModelStore.write(session.getEventModel(), storePath);
+			return new GenerationSession(MappedModelStore.open(storePath));
+		} catch (IOException e) {
+			listener.onWarning("Could not write model store '" + storePath + "': " + e.getMessage());
+			return null;
+		}
+	}
+
+	private static String value(String[] args, int index) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value of argument: '" + args[index - 1] + "'");
+		}
+		return args[index];
+	}
+
+	private static int index(String value, String... options) {
+		for (int i = 0; i < options.length; i++) {
+			if (options[i].equalsIgnoreCase(value)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Invalid value: '" + value + "', expected one of "
+				+ String.join(", ", options));
+	}
+
+}
@@ -1,7 +1,14 @@
 package com.whz.reader.controller;
 
+import java.nio.file.Paths;
+
+import com.whz.reader.model.GenerationListener;
+import com.whz.reader.model.GenerationOptions;
+import com.whz.reader.model.GenerationSession;
 import com.whz.reader.model.JSONParser;
+import com.whz.reader.model.JSONParser.ParseMode;
 import com.whz.reader.model.ProjectGenerator;
+import com.whz.reader.model.SnapshotCache;
 
 /**
  * The ReaderController class represents the binder between the model and the
@@ -9,10 +16,26 @@ import com.whz.reader.model.ProjectGenerator;
  * action events, the controller takes these action events and executes calls to
  * the business logic.
  * 
+ * The parsed JSON files are cached in a directory of the user that no other
+ * user may access, so generating the same JSON file again does not parse it
+ * again. If the directory cannot be made private, nothing is cached.
+ * 
  * @author Timon Schwalbe
  */
 public class ReaderController {
 
+	private final GenerationListener listener;
+	private final SnapshotCache snapshotCache = SnapshotCache.createPrivate(
+			Paths.get(System.getProperty("user.home"), ".onotereader", "snapshots"), SnapshotCache.DEFAULT_MAX_BYTES);
+
+	/**
+	 * @param listener - Listener displaying the warnings and information of the
+	 *                 code generation to the user
+	 */
+	public ReaderController(GenerationListener listener) {
+		this.listener = listener;
+	}
+
 	/**
 	 * Takes the JSON file name to execute a call to the JSONParser class which
 	 * generates Java DTOs of the given json objects. Furthermore takes the project
@@ -31,9 +54,10 @@ public class ReaderController {
 	 */
 	public void generateJavaCode(String jsonFileName, int projectComboBoxIndex, String projectPath,
 			int namespaceComboBoxIndex, String declaredNamespace) {
-		if (JSONParser.parseJson(jsonFileName)) {
-			ProjectGenerator.generateProject(projectComboBoxIndex, projectPath, namespaceComboBoxIndex,
-					declaredNamespace);
+		GenerationSession session = JSONParser.parse(jsonFileName, ParseMode.DOM, snapshotCache, listener);
+		if (session != null) {
+			ProjectGenerator.generateProject(session, new GenerationOptions(projectComboBoxIndex, projectPath,
+					namespaceComboBoxIndex, declaredNamespace), null, listener);
 		}
 	}
 
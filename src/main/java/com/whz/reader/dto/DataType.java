@@ -39,6 +39,11 @@ import java.util.UUID;
  * contained by a Schema and can exist multiple times in different Schemas and
  * in different variations.
  * 
+ * Since every DataType only uses the nested DataTypes or values of its
+ * SchemaType, they share a single slot whose content depends on the Variant of
+ * the SchemaType. The getters of any other Variant return null. The SchemaType
+ * has to be set before the nested DataTypes or values.
+ * 
  * @author Timon Schwalbe
  */
 public class DataType {
@@ -46,18 +51,14 @@ public class DataType {
 	private SchemaType schemaType;
 	private String name; // generated name (usually inherited from the overlaying schema) used for the
 							// nested DataType objects
+	private String formattedName; // cached by getFormattedName()
 	private Map<String, String> properties; // many default options like 'min, max, default, ...'
 
-	private DataType listDataType; // for 'vector', 'sequential', 'set', 'not', and 'maybe'
-	private DataType mapKeyDataType; // for 'map_of' key
-	private DataType mapValueDataType; // for 'map_of' value
-	private List<DataType> dataTypeTuple; // for 'tuple', 'or', and 'and'
-	private Map<String, DataType> objectDataType; // for 'map' <- represents a generic object
-
-	private List<String> enumList; // if the DataType is an 'ENUM' it contains a premade list of at least one
-									// symbol
-	private String regex; // if the DataType is a 'RE' it contains a regex
-	private UUID reference; // if the DataType is a "REF" it contains the uuid of the referenced Schema
+	// The only slot that depends on the Variant of the SchemaType:
+	// LIST -> DataType, MAP_OF -> MapOfDataTypes, COMPOSITE -> List<DataType>,
+	// OBJECT -> Map<String, DataType>, ENUM -> List<String>, REGEX -> String,
+	// REF -> UUID and SCALAR -> always null
+	private Object variantData;
 
 	/**
 	 * List of all schema types declared by oNote. Each represents either a
@@ -70,11 +71,49 @@ public class DataType {
 	 */
 	public enum SchemaType {
 		// Primitives
-		STRING, INT, DOUBLE, BOOLEAN, SYMBOL, QUALIFIED_SYMBOL, KEYWORD, QUALIFIED_KEYWORD, UUID, NIL,
+		STRING(Variant.SCALAR), INT(Variant.SCALAR), DOUBLE(Variant.SCALAR), BOOLEAN(Variant.SCALAR),
+		SYMBOL(Variant.SCALAR), QUALIFIED_SYMBOL(Variant.SCALAR), KEYWORD(Variant.SCALAR),
+		QUALIFIED_KEYWORD(Variant.SCALAR), UUID(Variant.SCALAR), NIL(Variant.SCALAR),
 		// Collections
-		MAP, MAP_OF, TUPLE, VECTOR, SEQUENTIAL, SET,
+		MAP(Variant.OBJECT), MAP_OF(Variant.MAP_OF), TUPLE(Variant.COMPOSITE), VECTOR(Variant.LIST),
+		SEQUENTIAL(Variant.LIST), SET(Variant.LIST),
 		// Special Schemas
-		ENUM, RE, REF, ANY, OR, AND, NOT, MAYBE
+		ENUM(Variant.ENUM), RE(Variant.REGEX), REF(Variant.REF), ANY(Variant.SCALAR), OR(Variant.COMPOSITE),
+		AND(Variant.COMPOSITE), NOT(Variant.LIST), MAYBE(Variant.LIST);
+
+		private final Variant variant;
+
+		private SchemaType(Variant variant) {
+			this.variant = variant;
+		}
+
+		/**
+		 * @return Variant - Which of the nested DataTypes, enum symbols, regex or
+		 *         reference a DataType of this SchemaType has
+		 */
+		public Variant getVariant() {
+			return variant;
+		}
+	}
+
+	/**
+	 * Family of SchemaTypes sharing the same kind of nested DataTypes or values.
+	 * 
+	 * SCALAR = nothing nested, LIST = 'listDataType', MAP_OF = 'mapKeyDataType' and
+	 * 'mapValueDataType', COMPOSITE = 'dataTypeTuple', OBJECT = 'objectDataType',
+	 * ENUM = 'enumList', REGEX = 'regex' and REF = 'reference'
+	 */
+	public enum Variant {
+		SCALAR, LIST, MAP_OF, COMPOSITE, OBJECT, ENUM, REGEX, REF
+	}
+
+	/**
+	 * The key and value DataType of a 'MAP_OF' which are the only Variant with two
+	 * nested DataTypes.
+	 */
+	private static final class MapOfDataTypes {
+		private DataType keyDataType;
+		private DataType valueDataType;
 	}
 
 	public DataType() {
@@ -84,10 +123,33 @@ public class DataType {
 		return schemaType;
 	}
 
+	/**
+	 * Sets the SchemaType, which has to happen before the nested DataTypes or
+	 * values are set. It may only be changed to a SchemaType of another Variant
+	 * while there are no nested DataTypes or values, since they cannot be
+	 * interpreted by the new Variant and would be lost otherwise.
+	 * 
+	 * @param schemaType - The new SchemaType
+	 * @throws IllegalStateException - If the nested DataTypes or values of another
+	 *                               Variant are already set
+	 */
 	public void setSchemaType(SchemaType schemaType) {
+		Variant variant = schemaType != null ? schemaType.getVariant() : null;
+		if (getVariant() != variant && variantData != null) {
+			throw new IllegalStateException("Cannot change the SchemaType of '" + name + "' to " + schemaType
+					+ ", its " + getVariant() + " is already set");
+		}
 		this.schemaType = schemaType;
 	}
 
+	/**
+	 * @return Variant - The Variant of the SchemaType; or null if the SchemaType is
+	 *         not set yet
+	 */
+	public Variant getVariant() {
+		return schemaType != null ? schemaType.getVariant() : null;
+	}
+
 	public String getName() {
 		return name;
 	}
@@ -97,14 +159,22 @@ public class DataType {
 	 * within the name. This is a handy utility class for the Java file creation
 	 * where spaces are not allowed.
 	 * 
+	 * The formatted name is only computed once and kept until the name changes.
+	 * 
 	 * @return String - Gets the formatted version of the 'name' field
 	 */
 	public String getFormattedName() {
-		return name.strip().replace(" ", "");
+		String tempFormattedName = formattedName;
+		if (tempFormattedName == null) {
+			tempFormattedName = name.strip().replace(" ", "");
+			formattedName = tempFormattedName;
+		}
+		return tempFormattedName;
 	}
 
 	public void setName(String name) {
 		this.name = name;
+		this.formattedName = null;
 	}
 
 	public Map<String, String> getProperties() {
@@ -115,91 +185,176 @@ public class DataType {
 		this.properties = properties;
 	}
 
+	/**
+	 * @return DataType - The type of the entries of a 'vector, sequential, set,
+	 *         not, maybe'; or null for any other SchemaType
+	 */
 	public DataType getListDataType() {
-		return listDataType;
+		return getVariant() == Variant.LIST ? (DataType) variantData : null;
 	}
 
 	public void setListDataType(DataType listDataType) {
-		this.listDataType = listDataType;
+		setVariantData(Variant.LIST, listDataType);
 	}
 
+	/**
+	 * @return DataType - The type of the keys of a 'map_of'; or null for any other
+	 *         SchemaType
+	 */
 	public DataType getMapKeyDataType() {
-		return mapKeyDataType;
+		return getVariant() == Variant.MAP_OF && variantData != null ? ((MapOfDataTypes) variantData).keyDataType
+				: null;
 	}
 
 	public void setMapKeyDataType(DataType mapKeyDataType) {
-		this.mapKeyDataType = mapKeyDataType;
+		MapOfDataTypes mapOfDataTypes = getMapOfDataTypes(mapKeyDataType);
+		if (mapOfDataTypes != null) {
+			mapOfDataTypes.keyDataType = mapKeyDataType;
+		}
 	}
 
+	/**
+	 * @return DataType - The type of the values of a 'map_of'; or null for any
+	 *         other SchemaType
+	 */
 	public DataType getMapValueDataType() {
-		return mapValueDataType;
+		return getVariant() == Variant.MAP_OF && variantData != null ? ((MapOfDataTypes) variantData).valueDataType
+				: null;
 	}
 
 	public void setMapValueDataType(DataType mapValueDataType) {
-		this.mapValueDataType = mapValueDataType;
+		MapOfDataTypes mapOfDataTypes = getMapOfDataTypes(mapValueDataType);
+		if (mapOfDataTypes != null) {
+			mapOfDataTypes.valueDataType = mapValueDataType;
+		}
 	}
 
+	/**
+	 * @return List<DataType> - The types of a 'tuple, or, and'; or null for any
+	 *         other SchemaType
+	 */
+	@SuppressWarnings("unchecked")
 	public List<DataType> getDataTypeTuple() {
-		return dataTypeTuple;
+		return getVariant() == Variant.COMPOSITE ? (List<DataType>) variantData : null;
 	}
 
 	public void setDataTypeTuple(List<DataType> dataTypeTuple) {
-		this.dataTypeTuple = dataTypeTuple;
+		setVariantData(Variant.COMPOSITE, dataTypeTuple);
 	}
 
+	/**
+	 * @return Map<String, DataType> - The fields of a 'map'; or null for any other
+	 *         SchemaType
+	 */
+	@SuppressWarnings("unchecked")
 	public Map<String, DataType> getObjectDataType() {
-		return objectDataType;
+		return getVariant() == Variant.OBJECT ? (Map<String, DataType>) variantData : null;
 	}
 
 	public void setObjectDataType(Map<String, DataType> objectDataType) {
-		this.objectDataType = objectDataType;
+		setVariantData(Variant.OBJECT, objectDataType);
 	}
 
+	/**
+	 * @return List<String> - The symbols of an 'enum'; or null for any other
+	 *         SchemaType
+	 */
+	@SuppressWarnings("unchecked")
 	public List<String> getEnumList() {
-		return enumList;
+		return getVariant() == Variant.ENUM ? (List<String>) variantData : null;
 	}
 
 	public void setEnumList(List<String> enumList) {
-		this.enumList = enumList;
+		setVariantData(Variant.ENUM, enumList);
 	}
 
+	/**
+	 * @return String - The regex of a 're'; or null for any other SchemaType
+	 */
 	public String getRegex() {
-		return regex;
+		return getVariant() == Variant.REGEX ? (String) variantData : null;
 	}
 
 	public void setRegex(String regex) {
-		this.regex = regex;
+		setVariantData(Variant.REGEX, regex);
 	}
 
+	/**
+	 * @return UUID - The id of the Schema referenced by a 'ref'; or null for any
+	 *         other SchemaType
+	 */
 	public UUID getReference() {
-		return reference;
+		return getVariant() == Variant.REF ? (UUID) variantData : null;
 	}
 
 	public void setReference(UUID reference) {
-		this.reference = reference;
+		setVariantData(Variant.REF, reference);
+	}
+
+	/**
+	 * Sets the slot of the given Variant. Null is ignored by DataTypes of any other
+	 * Variant, so every setter may be called with null regardless of the
+	 * SchemaType.
+	 * 
+	 * @param variant - The Variant the value belongs to
+	 * @param value   - The nested DataType(s) or value; may be null
+	 * @throws IllegalStateException - If the value is not null and the SchemaType
+	 *                               belongs to another Variant
+	 */
+	private void setVariantData(Variant variant, Object value) {
+		if (getVariant() == variant) {
+			this.variantData = value;
+		} else if (value != null) {
+			throw new IllegalStateException(
+					"A DataType of type '" + schemaType + "' cannot hold a value of Variant '" + variant + "'");
+		}
+	}
+
+	/**
+	 * @param value - The key or value DataType about to be set; may be null
+	 * @return MapOfDataTypes - The slot of a 'map_of' which is created on demand;
+	 *         or null if the value is null and there is nothing to set
+	 */
+	private MapOfDataTypes getMapOfDataTypes(DataType value) {
+		if (getVariant() == Variant.MAP_OF) {
+			if (variantData == null && value != null) {
+				variantData = new MapOfDataTypes();
+			}
+			return (MapOfDataTypes) variantData;
+		}
+		setVariantData(Variant.MAP_OF, value);
+		return null;
 	}
 
 	@Override
 	public String toString() {
 		String toString = "DataType [schemaType=" + schemaType + ", name=" + name + ", properties=" + properties;
 
-		if (this.schemaType == SchemaType.VECTOR || this.schemaType == SchemaType.SEQUENTIAL
-				|| this.schemaType == SchemaType.SET || this.schemaType == SchemaType.NOT
-				|| this.schemaType == SchemaType.MAYBE)
-			toString += ", listDataType=" + listDataType;
-		else if (this.schemaType == SchemaType.MAP_OF)
-			toString += ", mapKeyDataType=" + mapKeyDataType + ", mapValueDataType=" + mapValueDataType;
-		else if (this.schemaType == SchemaType.TUPLE || this.schemaType == SchemaType.OR
-				|| this.schemaType == SchemaType.AND)
-			toString += ", dataTypeTuple=" + dataTypeTuple;
-		else if (this.schemaType == SchemaType.MAP)
-			toString += ", objectDataType=" + objectDataType;
-		else if (this.schemaType == SchemaType.ENUM)
-			toString += ", enumList=" + enumList;
-		else if (this.schemaType == SchemaType.RE)
-			toString += ", regex=" + regex;
-		else if (this.schemaType == SchemaType.REF)
-			toString += ", reference=" + reference;
+		switch (getVariant() != null ? getVariant() : Variant.SCALAR) {
+		case LIST:
+			toString += ", listDataType=" + getListDataType();
+			break;
+		case MAP_OF:
+			toString += ", mapKeyDataType=" + getMapKeyDataType() + ", mapValueDataType=" + getMapValueDataType();
+			break;
+		case COMPOSITE:
+			toString += ", dataTypeTuple=" + getDataTypeTuple();
+			break;
+		case OBJECT:
+			toString += ", objectDataType=" + getObjectDataType();
+			break;
+		case ENUM:
+			toString += ", enumList=" + getEnumList();
+			break;
+		case REGEX:
+			toString += ", regex=" + getRegex();
+			break;
+		case REF:
+			toString += ", reference=" + getReference();
+			break;
+		default:
+			break;
+		}
 
 		return toString + "]";
 	}
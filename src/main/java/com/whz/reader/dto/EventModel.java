@@ -1,16 +1,32 @@
 package com.whz.reader.dto;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import com.whz.reader.dto.Placement.LaneType;
+
 /**
  * EventModel DTO which refers to an entire oNote project. It contains all the
  * other DTOs as it is the graphical representation of for example an entire
  * bounded context.
  * 
+ * Once parsing is finished, indexes over the placements and flows are built
+ * (see buildIndexes) so that the Bounded Context of a note can be resolved
+ * without scanning every placement and flow over and over again. The indexes
+ * contain the placement IDs (keys of the placement map) which are also used by
+ * the flows.
+ * 
+ * The GenerationSession builds the indexes once the EventModel is parsed. From
+ * then on the placements and flows are frozen: the indexes are not updated if
+ * the maps are changed, and reading an index whose maps changed in size throws
+ * an IllegalStateException. Replacing the maps through their setters drops the
+ * indexes until they are built again.
+ * 
  * @author Timon Schwalbe
  */
 public class EventModel {
@@ -30,6 +46,32 @@ public class EventModel {
 	private Map<UUID, Command> commands = new HashMap<>();
 	private Map<UUID, Schema> schemas = new HashMap<>();
 
+	// built once after parsing, immutable and published as a whole
+	private volatile Indexes indexes;
+
+	/**
+	 * The immutable indexes over the placements and flows together with the sizes
+	 * of the maps they were built from.
+	 */
+	private static final class Indexes {
+
+		private final Map<LaneType, Map<UUID, List<UUID>>> placementIdsByLane;
+		private final Map<UUID, List<UUID>> flowTargets; // from -> to
+		private final Map<UUID, List<UUID>> flowSources; // to -> from
+		private final int placementCount;
+		private final int flowCount;
+
+		private Indexes(Map<LaneType, Map<UUID, List<UUID>>> placementIdsByLane, Map<UUID, List<UUID>> flowTargets,
+				Map<UUID, List<UUID>> flowSources, int placementCount, int flowCount) {
+			this.placementIdsByLane = placementIdsByLane;
+			this.flowTargets = flowTargets;
+			this.flowSources = flowSources;
+			this.placementCount = placementCount;
+			this.flowCount = flowCount;
+		}
+
+	}
+
 	public EventModel() {
 	}
 
@@ -114,6 +156,7 @@ public class EventModel {
 
 	public void setFlows(Map<UUID, Flow> flows) {
 		this.flows = flows;
+		indexes = null;
 	}
 
 	public Map<UUID, Placement> getPlacements() {
@@ -122,6 +165,7 @@ public class EventModel {
 
 	public void setPlacements(Map<UUID, Placement> placements) {
 		this.placements = placements;
+		indexes = null;
 	}
 
 	public Map<UUID, Command> getCommands() {
@@ -140,6 +184,83 @@ public class EventModel {
 		this.schemas = schemas;
 	}
 
+	/**
+	 * Builds the placement index keyed by lane as well as the adjacency lists of
+	 * all flows in both directions. Has to be called once after all placements and
+	 * flows have been added and before any index is read. The indexes keep the
+	 * order of the placement map.
+	 */
+	public void buildIndexes() {
+		Map<LaneType, Map<UUID, List<UUID>>> tempPlacementIdsByLane = new EnumMap<>(LaneType.class);
+		for (var placementEntry : placements.entrySet()) {
+			Placement placement = placementEntry.getValue();
+			if (placement.getLaneType() != null) {
+				tempPlacementIdsByLane.computeIfAbsent(placement.getLaneType(), k -> new HashMap<>())
+						.computeIfAbsent(placement.getLaneId(), k -> new ArrayList<>()).add(placementEntry.getKey());
+			}
+		}
+		tempPlacementIdsByLane.replaceAll((laneType, placementIdsByLaneId) -> {
+			placementIdsByLaneId.replaceAll((laneId, placementIds) -> Collections.unmodifiableList(placementIds));
+			return Collections.unmodifiableMap(placementIdsByLaneId);
+		});
+
+		Map<UUID, List<UUID>> tempFlowTargets = new HashMap<>();
+		Map<UUID, List<UUID>> tempFlowSources = new HashMap<>();
+		for (Flow flow : flows.values()) {
+			tempFlowTargets.computeIfAbsent(flow.getFrom(), k -> new ArrayList<>()).add(flow.getTo());
+			tempFlowSources.computeIfAbsent(flow.getTo(), k -> new ArrayList<>()).add(flow.getFrom());
+		}
+		tempFlowTargets.replaceAll((from, targets) -> Collections.unmodifiableList(targets));
+		tempFlowSources.replaceAll((to, sources) -> Collections.unmodifiableList(sources));
+
+		indexes = new Indexes(Collections.unmodifiableMap(tempPlacementIdsByLane),
+				Collections.unmodifiableMap(tempFlowTargets), Collections.unmodifiableMap(tempFlowSources),
+				placements.size(), flows.size());
+	}
+
+	/**
+	 * @return Indexes - The indexes built by buildIndexes
+	 * @throws IllegalStateException - If the indexes were not built or the
+	 *                               placements or flows changed since
+	 */
+	private Indexes getIndexes() {
+		Indexes currentIndexes = indexes;
+		if (currentIndexes == null) {
+			throw new IllegalStateException("The indexes of the EventModel have not been built");
+		}
+		if (currentIndexes.placementCount != placements.size() || currentIndexes.flowCount != flows.size()) {
+			throw new IllegalStateException("The placements or flows of the EventModel changed after indexing");
+		}
+		return currentIndexes;
+	}
+
+	/**
+	 * @param laneType - The type of lane the placements are located in
+	 * @param laneId   - The ID of the lane; null for the timeline or the
+	 *                 "Default"-Stream
+	 * @return List<UUID> - IDs of all placements in the given lane
+	 */
+	public List<UUID> getPlacementIds(LaneType laneType, UUID laneId) {
+		return getIndexes().placementIdsByLane.getOrDefault(laneType, Collections.emptyMap()).getOrDefault(laneId,
+				Collections.emptyList());
+	}
+
+	/**
+	 * @param placementId - ID of the placement the flows start from
+	 * @return List<UUID> - IDs of all placements the given placement flows to
+	 */
+	public List<UUID> getFlowTargets(UUID placementId) {
+		return getIndexes().flowTargets.getOrDefault(placementId, Collections.emptyList());
+	}
+
+	/**
+	 * @param placementId - ID of the placement the flows end in
+	 * @return List<UUID> - IDs of all placements flowing to the given placement
+	 */
+	public List<UUID> getFlowSources(UUID placementId) {
+		return getIndexes().flowSources.getOrDefault(placementId, Collections.emptyList());
+	}
+
 	@Override
 	public String toString() {
 		return "EventModel [id=" + id + ", name=" + name + ", description=" + description + "]";
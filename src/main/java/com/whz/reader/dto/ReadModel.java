@@ -17,6 +17,7 @@ public class ReadModel {
 
 	private UUID id;
 	private String name;
+	private String formattedName; // cached by getFormattedName()
 	private String description;
 	private UUID schemaId;
 
@@ -47,14 +48,22 @@ public class ReadModel {
 	 * within the name. This is a handy utility class for the Java file creation
 	 * where spaces are not allowed.
 	 * 
+	 * The formatted name is only computed once and kept until the name changes.
+	 * 
 	 * @return String - Gets the formatted version of the 'name' field
 	 */
 	public String getFormattedName() {
-		return name.strip().replace(" ", "");
+		String tempFormattedName = formattedName;
+		if (tempFormattedName == null) {
+			tempFormattedName = name.strip().replace(" ", "");
+			formattedName = tempFormattedName;
+		}
+		return tempFormattedName;
 	}
 
 	public void setName(String name) {
 		this.name = name;
+		this.formattedName = null;
 	}
 
 	public String getDescription() {
@@ -0,0 +1,95 @@
+package com.whz.reader.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Base class of the OutputSinks that collect the generated projects in a
+ * single archive instead of the file system. Every path is turned into the
+ * name of an entry relative to the output directory, e.g.
+ * 'Room/src/main/room/events/RoomAdded.java', so the archive unpacks into the
+ * same tree the FileSystemOutputSink would write.
+ *
+ * Directories are added as entries of their own, parents first, and each only
+ * once. An archive always starts out empty, so a project is created the same
+ * way it would be in an empty output directory. Entries are written one after
+ * another, so the archive is written sequentially even though several I/O
+ * threads hand over files at the same time.
+ *
+ * @author Timon Schwalbe
+ */
+public abstract class ArchiveOutputSink implements OutputSink {
+
+	private final Path outputRoot;
+	private final Set<String> directories = new HashSet<>();
+
+	/**
+	 * @param outputRoot - The output directory the entry names are relative to
+	 */
+	protected ArchiveOutputSink(String outputRoot) {
+		this.outputRoot = Paths.get(outputRoot).toAbsolutePath().normalize();
+	}
+
+	@Override
+	public synchronized boolean createDirectory(String directory) throws IOException {
+		String entryName = getEntryName(directory);
+		if (entryName.isEmpty() || directories.contains(entryName)) {
+			return false;
+		}
+		addDirectory(entryName);
+		return true;
+	}
+
+	@Override
+	public synchronized void write(String filePath, CharSequence content) throws IOException {
+		String entryName = getEntryName(filePath);
+		int separatorIndex = entryName.lastIndexOf('/');
+		if (separatorIndex > 0) {
+			addDirectory(entryName.substring(0, separatorIndex));
+		}
+		writeFile(entryName, content);
+	}
+
+	/**
+	 * Adds the directory and every missing parent directory, parents first.
+	 */
+	private void addDirectory(String entryName) throws IOException {
+		if (directories.contains(entryName)) {
+			return;
+		}
+		int separatorIndex = entryName.lastIndexOf('/');
+		if (separatorIndex > 0) {
+			addDirectory(entryName.substring(0, separatorIndex));
+		}
+		writeDirectory(entryName);
+		directories.add(entryName);
+	}
+
+	/**
+	 * @param path - Path of a file or directory
+	 * @return String - Name of its entry, relative to the output directory and
+	 *         separated by '/'; paths outside the output directory keep their
+	 *         whole path without the root
+	 */
+	protected String getEntryName(String path) {
+		Path absolutePath = Paths.get(path).toAbsolutePath().normalize();
+		Path entryPath = absolutePath.startsWith(outputRoot) ? outputRoot.relativize(absolutePath)
+				: absolutePath.getRoot().relativize(absolutePath);
+		return entryPath.toString().replace('\\', '/');
+	}
+
+	/**
+	 * @param entryName - Name of the directory entry without a trailing '/'
+	 */
+	protected abstract void writeDirectory(String entryName) throws IOException;
+
+	/**
+	 * @param entryName - Name of the file entry
+	 * @param content   - Content of the file
+	 */
+	protected abstract void writeFile(String entryName, CharSequence content) throws IOException;
+
+}
@@ -0,0 +1,372 @@
+package com.whz.reader.model;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * OutputSink writing the files into the file system like the
+ * FileSystemOutputSink, but through an AsynchronousFileChannel per file instead
+ * of a blocking writer. Up to maxInFlight files are written at the same time,
+ * so a slow or network-mounted workspace is kept busy while the I/O threads of
+ * the GenerationPipeline already hand over the next files. Once maxInFlight
+ * files are being written, writeAsync blocks until one of them is finished.
+ *
+ * With atomic writes every file is written into a temporary file next to it
+ * and then moved over the file, so no file is ever seen half-written. The
+ * FsyncPolicy decides whether the written files are forced to the storage
+ * device: never, before the write of each file completes or all at once when
+ * the sink is closed.
+ *
+ * The channels only call back once a part of a file has been written. Opening
+ * the channel of a file that waited for an earlier write of the same file,
+ * forcing a file and moving it into place block, so they are done by I/O
+ * threads of the sink and never by the threads completing the writes.
+ *
+ * Writes of the same file are done one after another in the order they were
+ * started. Closing the sink waits for every file to be written and logs the
+ * throughput in files and MB per second.
+ *
+ * @author Timon Schwalbe
+ */
+public class AsyncFileSystemOutputSink extends FileSystemOutputSink {
+
+	private static final Logger log = Logger.getLogger(AsyncFileSystemOutputSink.class.getName());
+
+	public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+	/**
+	 * When the written files are forced to the storage device.
+	 */
+	public enum FsyncPolicy {
+		/**
+		 * The operating system decides when the files are stored.
+		 */
+		NONE,
+		/**
+		 * Every file is forced before its write is completed.
+		 */
+		PER_FILE,
+		/**
+		 * Every written file is forced once the sink is closed.
+		 */
+		AT_END
+	}
+
+	private final int maxInFlight;
+	private final boolean isAtomic;
+	private final FsyncPolicy fsyncPolicy;
+
+	private final Semaphore inFlight;
+	private final ConcurrentHashMap<Path, CompletableFuture<Void>> lastWrites = new ConcurrentHashMap<>();
+	private final Set<Path> unsyncedFiles = ConcurrentHashMap.newKeySet();
+	private final Set<Path> unsyncedDirectories = ConcurrentHashMap.newKeySet();
+	private final AtomicLong tempFileNumber = new AtomicLong();
+	private final ExecutorService ioPool;
+
+	// statistics
+	private final LongAdder writtenFiles = new LongAdder();
+	private final LongAdder writtenBytes = new LongAdder();
+	private final LongAdder failedFiles = new LongAdder();
+	private final AtomicInteger maxWritesInFlight = new AtomicInteger();
+	private final AtomicLong firstWriteStart = new AtomicLong();
+	private final AtomicLong lastWriteEnd = new AtomicLong();
+	private long syncNanos;
+
+	/**
+	 * Creates a sink writing up to DEFAULT_MAX_IN_FLIGHT files at the same time
+	 * directly into their files without forcing them to the storage device.
+	 */
+	public AsyncFileSystemOutputSink() {
+		this(DEFAULT_MAX_IN_FLIGHT, false, FsyncPolicy.NONE);
+	}
+
+	/**
+	 * @param maxInFlight - Maximum number of files written at the same time
+	 * @param isAtomic    - Whether every file is written into a temporary file
+	 *                    first and then moved over the file
+	 * @param fsyncPolicy - When the written files are forced to the storage
+	 *                    device
+	 */
+	public AsyncFileSystemOutputSink(int maxInFlight, boolean isAtomic, FsyncPolicy fsyncPolicy) {
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException("At least one file has to be written at a time");
+		}
+		this.maxInFlight = maxInFlight;
+		this.isAtomic = isAtomic;
+		this.fsyncPolicy = fsyncPolicy;
+		this.inFlight = new Semaphore(maxInFlight);
+		// at most one task per file in flight, so the pool never grows beyond maxInFlight threads
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.ioPool = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "async-output-io-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Writes the file and waits until it is written.
+	 */
+	@Override
+	public void write(String filePath, CharSequence content) throws IOException {
+		try {
+			writeAsync(filePath, content).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while writing '" + filePath + "'");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> writeAsync(String filePath, CharSequence content) {
+		Path path = Paths.get(filePath);
+		ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(content));
+		try {
+			inFlight.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return CompletableFuture.failedFuture(new InterruptedIOException("Interrupted before writing '"
+					+ filePath + "'"));
+		}
+		firstWriteStart.compareAndSet(0, System.nanoTime());
+		maxWritesInFlight.accumulateAndGet(maxInFlight - inFlight.availablePermits(), Math::max);
+
+		CompletableFuture<Void> write = new CompletableFuture<>();
+		CompletableFuture<Void> previousWrite = lastWrites.put(path, write);
+		if (previousWrite == null) {
+			startWrite(path, buffer, write);
+		} else {
+			previousWrite.whenCompleteAsync((result, e) -> startWrite(path, buffer, write), ioPool)
+					.exceptionally(e -> {
+						write.completeExceptionally(e);
+						return null;
+					});
+		}
+
+		int size = buffer.limit();
+		return write.whenComplete((result, e) -> {
+			lastWrites.remove(path, write);
+			if (e == null) {
+				writtenFiles.increment();
+				writtenBytes.add(size);
+			} else {
+				failedFiles.increment();
+			}
+			lastWriteEnd.accumulateAndGet(System.nanoTime(), Math::max);
+			inFlight.release();
+		});
+	}
+
+	/**
+	 * Opens the file, or its temporary file, and writes the buffer into it. The
+	 * channel calls back once a part of the buffer has been written, until the
+	 * whole buffer is written. The written file is then finished by the I/O
+	 * threads of the sink.
+	 *
+	 * @param path   - Path of the file
+	 * @param buffer - Content of the file encoded as UTF-8
+	 * @param write  - Completed once the file is written
+	 */
+	private void startWrite(Path path, ByteBuffer buffer, CompletableFuture<Void> write) {
+		Path writtenPath = isAtomic
+				? path.resolveSibling("." + path.getFileName() + "." + tempFileNumber.incrementAndGet() + ".tmp")
+				: path;
+		AsynchronousFileChannel channel;
+		try {
+			channel = AsynchronousFileChannel.open(writtenPath, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+		} catch (IOException | RuntimeException e) {
+			write.completeExceptionally(e);
+			return;
+		}
+
+		CompletionHandler<Integer, Void> handler = new CompletionHandler<>() {
+
+			@Override
+			public void completed(Integer writtenBytes, Void attachment) {
+				if (buffer.hasRemaining()) {
+					channel.write(buffer, buffer.position(), null, this);
+					return;
+				}
+				try {
+					ioPool.execute(() -> {
+						try {
+							finishWrite(path, writtenPath, channel);
+							write.complete(null);
+						} catch (IOException | RuntimeException e) {
+							failed(e, null);
+						}
+					});
+				} catch (RuntimeException e) {
+					failed(e, null);
+				}
+			}
+
+			@Override
+			public void failed(Throwable e, Void attachment) {
+				try {
+					channel.close();
+					if (isAtomic) {
+						Files.deleteIfExists(writtenPath);
+					}
+				} catch (IOException closeException) {
+					e.addSuppressed(closeException);
+				}
+				write.completeExceptionally(e);
+			}
+
+		};
+		try {
+			channel.write(buffer, 0, null, handler);
+		} catch (RuntimeException e) {
+			handler.failed(e, null);
+		}
+	}
+
+	/**
+	 * Forces the written file if required, closes it and moves the temporary
+	 * file over the file.
+	 */
+	private void finishWrite(Path path, Path writtenPath, AsynchronousFileChannel channel) throws IOException {
+		try {
+			if (fsyncPolicy == FsyncPolicy.PER_FILE) {
+				channel.force(true);
+			}
+		} finally {
+			channel.close();
+		}
+		if (isAtomic) {
+			try {
+				Files.move(writtenPath, path, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(writtenPath, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			if (fsyncPolicy != FsyncPolicy.NONE) {
+				unsyncedDirectories.add(path.toAbsolutePath().getParent());
+			}
+		}
+		if (fsyncPolicy == FsyncPolicy.AT_END) {
+			unsyncedFiles.add(path);
+		}
+	}
+
+	/**
+	 * Waits for every file to be written, stops the I/O threads, forces the
+	 * written files and the directories of moved files if required and logs the
+	 * throughput.
+	 *
+	 * @throws IOException - If a written file could not be forced to the storage
+	 *                     device
+	 */
+	@Override
+	public void close() throws IOException {
+		inFlight.acquireUninterruptibly(maxInFlight);
+		inFlight.release(maxInFlight);
+		ioPool.shutdown();
+
+		long syncStart = System.nanoTime();
+		IOException syncException = null;
+		for (Path file : unsyncedFiles) {
+			try {
+				force(file, StandardOpenOption.WRITE);
+			} catch (IOException e) {
+				if (syncException == null) {
+					syncException = e;
+				} else {
+					syncException.addSuppressed(e);
+				}
+			}
+		}
+		unsyncedFiles.clear();
+		for (Path directory : unsyncedDirectories) {
+			try {
+				force(directory, StandardOpenOption.READ);
+			} catch (IOException e) {
+				// not every file system allows to open a directory, e.g. Windows
+				log.fine("Could not force directory '" + directory + "': " + e);
+			}
+		}
+		unsyncedDirectories.clear();
+		syncNanos += System.nanoTime() - syncStart;
+
+		log.info(toString());
+		if (syncException != null) {
+			throw syncException;
+		}
+	}
+
+	private static void force(Path path, StandardOpenOption openOption) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, openOption)) {
+			channel.force(true);
+		}
+	}
+
+	public long getWrittenFiles() {
+		return writtenFiles.sum();
+	}
+
+	public long getWrittenBytes() {
+		return writtenBytes.sum();
+	}
+
+	public long getFailedFiles() {
+		return failedFiles.sum();
+	}
+
+	/**
+	 * @return int - Largest number of files that were written at the same time
+	 */
+	public int getMaxWritesInFlight() {
+		return maxWritesInFlight.get();
+	}
+
+	/**
+	 * @return String - Settings of the sink and, once files were written, the
+	 *         number of written files and bytes per second between the start of
+	 *         the first write and the end of the last write
+	 */
+	@Override
+	public String toString() {
+		long files = writtenFiles.sum();
+		long bytes = writtenBytes.sum();
+		if (files == 0 && getFailedFiles() == 0) {
+			return "AsyncFileSystemOutputSink [atomic=" + isAtomic + ", fsync=" + fsyncPolicy + ", maxInFlight="
+					+ maxInFlight + "]";
+		}
+		long nanos = Math.max(lastWriteEnd.get() - firstWriteStart.get(), 0);
+		double seconds = Math.max(nanos, 1) / 1_000_000_000.0;
+		return String.format(
+				"AsyncFileSystemOutputSink [atomic=%b, fsync=%s, %d files, %.1f MB in %d ms (%.0f files/s, %.1f MB/s),"
+						+ " maxInFlight=%d/%d, synced in %d ms, failed=%d]",
+				isAtomic, fsyncPolicy, files, bytes / 1_000_000.0, nanos / 1_000_000, files / seconds,
+				bytes / seconds / 1_000_000, getMaxWritesInFlight(), maxInFlight, syncNanos / 1_000_000,
+				getFailedFiles());
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.whz.reader.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Report of the code generation of a single Bounded Context. Since Bounded
+ * Contexts may be generated in parallel, any message of the generation is
+ * collected here instead of being logged or displayed right away. Once every
+ * Bounded Context is finished, the ProjectGenerator logs all reports in the
+ * order of the Streams and displays all warnings at once.
+ *
+ * @author Timon Schwalbe
+ */
+public class BoundedContextReport {
+
+	private final String name;
+	private final List<String> messages = new ArrayList<>();
+	private final List<String> warnings = new ArrayList<>();
+	private long elapsedMillis;
+
+	public BoundedContextReport(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return List<String> - Informational messages to be logged
+	 */
+	public List<String> getMessages() {
+		return messages;
+	}
+
+	public void addMessage(String message) {
+		messages.add(message);
+	}
+
+	/**
+	 * @return List<String> - Warnings to be displayed to the user
+	 */
+	public List<String> getWarnings() {
+		return warnings;
+	}
+
+	public void addWarning(String warning) {
+		warnings.add(warning);
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "BoundedContextReport [name=" + name + ", warnings=" + warnings.size() + ", elapsedMillis="
+				+ elapsedMillis + "]";
+	}
+
+}
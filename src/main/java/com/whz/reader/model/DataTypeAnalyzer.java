@@ -0,0 +1,261 @@
+package com.whz.reader.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.model.DataTypeTraversal.DataTypeVisitor;
+import com.whz.reader.model.DataTypeTraversal.Step;
+import com.whz.reader.model.SchemaSymbolTable.SchemaSymbol;
+
+/**
+ * The DataTypeAnalyzer examines the DataType of a field for everything the
+ * JavaFileWriter needs to know about it: the type argument of the field, the
+ * util imports, the schema imports, the regex constants and the nested enums.
+ *
+ * The DataType tree is traversed only once and all results are collected at the
+ * same time. The resulting DataTypeAnalysis is cached per DataType instance, so
+ * a Schema used by several notes is only analyzed once per code generation.
+ *
+ * @author Timon Schwalbe
+ */
+public class DataTypeAnalyzer {
+
+	private static final Logger log = Logger.getLogger(DataTypeAnalyzer.class.getName());
+
+	private final SchemaSymbolTable schemaSymbolTable;
+	private final Map<DataType, DataTypeAnalysis> analyses = new ConcurrentHashMap<>();
+
+	/**
+	 * Result of the analysis of a single DataType.
+	 */
+	public static class DataTypeAnalysis {
+
+		private final String typeArgument;
+		private final Set<String> imports;
+		private final List<String> schemaImports;
+		private final Map<String, String> regexs;
+		private final Map<String, List<String>> enums;
+
+		private DataTypeAnalysis(String typeArgument, Set<String> imports, List<String> schemaImports,
+				Map<String, String> regexs, Map<String, List<String>> enums) {
+			this.typeArgument = typeArgument;
+			this.imports = Collections.unmodifiableSet(imports);
+			this.schemaImports = Collections.unmodifiableList(schemaImports);
+			this.regexs = Collections.unmodifiableMap(regexs);
+			this.enums = Collections.unmodifiableMap(enums);
+		}
+
+		/**
+		 * @return String - The type of the field including all nested type
+		 *         arguments, e.g. List<Vector<Map<Integer, String>>>; or an empty
+		 *         String if the type is not supported
+		 */
+		public String getTypeArgument() {
+			return typeArgument;
+		}
+
+		/**
+		 * @return Set<String> - Util imports (java.util) needed by the field
+		 */
+		public Set<String> getImports() {
+			return imports;
+		}
+
+		/**
+		 * @return List<String> - Sorted class names of all Schema Entities and Enums
+		 *         referenced by the field
+		 */
+		public List<String> getSchemaImports() {
+			return schemaImports;
+		}
+
+		/**
+		 * @return Map<String, String> - Regex' of the field by the name of their
+		 *         DataType
+		 */
+		public Map<String, String> getRegexs() {
+			return regexs;
+		}
+
+		/**
+		 * @return Map<String, List<String>> - Symbols of the nested enums by the
+		 *         name of their DataType
+		 */
+		public Map<String, List<String>> getEnums() {
+			return enums;
+		}
+
+		@Override
+		public String toString() {
+			return "DataTypeAnalysis [typeArgument=" + typeArgument + ", imports=" + imports + ", schemaImports="
+					+ schemaImports + ", regexs=" + regexs.keySet() + ", enums=" + enums.keySet() + "]";
+		}
+
+	}
+
+	/**
+	 * @param schemaSymbolTable - The symbol table used to resolve references
+	 */
+	public DataTypeAnalyzer(SchemaSymbolTable schemaSymbolTable) {
+		this.schemaSymbolTable = schemaSymbolTable;
+	}
+
+	/**
+	 * Analyzes the given DataType, unless it has already been analyzed.
+	 *
+	 * @param dataType - The DataType of a field
+	 * @return DataTypeAnalysis - The analysis of the DataType
+	 */
+	public DataTypeAnalysis analyze(DataType dataType) {
+		return analyses.computeIfAbsent(dataType, this::analyzeDataType);
+	}
+
+	/**
+	 * @return int - Number of analyzed DataTypes
+	 */
+	public int size() {
+		return analyses.size();
+	}
+
+	private DataTypeAnalysis analyzeDataType(DataType dataType) {
+		StringBuilder typeArgument = new StringBuilder();
+		Set<String> imports = new HashSet<>();
+		Set<String> schemaImports = new HashSet<>();
+		Map<String, String> regexs = new HashMap<>();
+		Map<String, List<String>> enums = new HashMap<>();
+
+		DataTypeTraversal.walk(dataType, new DataTypeVisitor() {
+
+			@Override
+			public boolean enter(Step step) {
+				return analyzeNode(step, typeArgument, imports, schemaImports, regexs, enums);
+			}
+
+			@Override
+			public void exit(Step step) {
+				if (step.getDataType() == null) {
+					return;
+				}
+				switch (step.getDataType().getSchemaType()) {
+				case VECTOR:
+				case SEQUENTIAL:
+				case SET:
+				case MAP_OF:
+					typeArgument.append(">");
+					break;
+				default:
+					break;
+				}
+			}
+
+		});
+
+		List<String> sortedSchemaImports = new ArrayList<>(schemaImports);
+		Collections.sort(sortedSchemaImports);
+		return new DataTypeAnalysis(typeArgument.toString(), imports, sortedSchemaImports, regexs, enums);
+	}
+
+	/**
+	 * Examines a single DataType of a DataTypeTraversal, e.g. the 'Vector' of
+	 * List<Vector<Map<Integer, Entity>>>, and adds its results to the given
+	 * collections. The type arguments of collections are closed when the
+	 * DataTypeTraversal exits them.
+	 *
+	 * @param step          - The DataType to examine; it is a type argument of
+	 *                      another DataType if it is nested, in which case
+	 *                      primitives are boxed
+	 * @param typeArgument  - The type argument built so far
+	 * @param imports       - Util imports found so far
+	 * @param schemaImports - Schema imports found so far
+	 * @param regexs        - Regex' found so far
+	 * @param enums         - Enums found so far
+	 * @return boolean - Whether the nested DataTypes have to be examined as well
+	 */
+	private boolean analyzeNode(Step step, StringBuilder typeArgument, Set<String> imports,
+			Set<String> schemaImports, Map<String, String> regexs, Map<String, List<String>> enums) {
+		DataType dataType = step.getDataType();
+		boolean isNested = step.isNested();
+		if (isNested && step.getParent().getSchemaType() == SchemaType.MAP_OF && step.getIndex() == 1) {
+			typeArgument.append(", ");
+		}
+		if (dataType == null) {
+			return false;
+		}
+
+		switch (dataType.getSchemaType()) {
+		case STRING:
+			typeArgument.append("String");
+			break;
+		case RE:
+			typeArgument.append("String");
+			regexs.put(dataType.getFormattedName(), dataType.getRegex());
+			break;
+		case INT:
+			typeArgument.append(isNested ? "Integer" : "int");
+			break;
+		case DOUBLE:
+			typeArgument.append(isNested ? "Double" : "double");
+			break;
+		case BOOLEAN:
+			typeArgument.append(isNested ? "Boolean" : "boolean");
+			break;
+		case UUID:
+			typeArgument.append("UUID");
+			imports.add("UUID");
+			break;
+		case VECTOR:
+			typeArgument.append("Vector<");
+			imports.add("Vector");
+			return true;
+		case SEQUENTIAL:
+			typeArgument.append("List<");
+			imports.add("List");
+			return true;
+		case SET:
+			typeArgument.append("Set<");
+			imports.add("Set");
+			return true;
+		case MAP_OF:
+			typeArgument.append("Map<");
+			imports.add("Map");
+			return true;
+		case MAP:
+			String className = dataType.getFormattedName().substring(0, 1).toUpperCase()
+					+ dataType.getFormattedName().substring(1);
+			typeArgument.append(className);
+			schemaImports.add(className);
+			break;
+		case ENUM:
+			typeArgument.append(dataType.getFormattedName().substring(0, 1).toUpperCase()
+					+ dataType.getFormattedName().substring(1));
+
+			List<String> formattedEnumList = new ArrayList<>();
+			for (String enumName : dataType.getEnumList()) {
+				formattedEnumList.add(enumName.strip().replace(" ", ""));
+			}
+			enums.put(dataType.getFormattedName(), formattedEnumList);
+			break;
+		case REF:
+			SchemaSymbol schemaSymbol = schemaSymbolTable.get(dataType.getReference());
+			if (schemaSymbol != null) {
+				typeArgument.append(schemaSymbol.getFormattedName());
+				schemaImports.add(schemaSymbol.getClassName());
+			}
+			break;
+		default:
+			log.warning("SchemaType not supported: '" + dataType.getSchemaType() + "'");
+			break;
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,295 @@
+package com.whz.reader.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Schema;
+import com.whz.reader.model.DataTypeTraversal.DataTypeVisitor;
+import com.whz.reader.model.DataTypeTraversal.Step;
+
+/**
+ * The DataTypePool makes structurally identical DataType trees of a single
+ * EventModel share one instance (hash-consing). oNote repeats the same nested
+ * shapes over and over, e.g. every 'string' field of an object, 'vector<uuid>'
+ * or the same inline enum, and every occurrence is parsed into a tree of its
+ * own. The pool replaces them by a single tree, so caches keyed by the DataType
+ * instance like the one of the DataTypeAnalyzer hit for every repeat.
+ *
+ * Two DataTypes are identical if their SchemaType, name, properties and nested
+ * DataTypes, enum symbols, regex or reference are equal. The name is part of
+ * it, because the generated classes, enums and regex constants are named after
+ * it.
+ *
+ * Shared DataTypes are used by several Schemas at once and must not be changed
+ * anymore, which is why their Maps and Lists are made unmodifiable. A
+ * DataTypePool is only used by a single thread.
+ *
+ * @author Timon Schwalbe
+ */
+public class DataTypePool {
+
+	private static final Logger log = Logger.getLogger(DataTypePool.class.getName());
+
+	private final Map<Shape, DataType> dataTypes = new HashMap<>();
+	// every DataType returned by the pool, which is already shared and immutable
+	private final Set<DataType> sharedDataTypes = Collections.newSetFromMap(new IdentityHashMap<>());
+	private long references;
+
+	/**
+	 * Key of a DataType whose nested DataTypes are already shared. Nested
+	 * DataTypes are compared by their instance, which is the same as comparing
+	 * their structure since identical nested DataTypes are the same instance.
+	 */
+	private static final class Shape {
+
+		private final DataType dataType;
+		private final int hashCode;
+
+		private Shape(DataType dataType) {
+			this.dataType = dataType;
+			this.hashCode = Objects.hash(dataType.getSchemaType(), dataType.getName(), dataType.getProperties(),
+					variantHashCode(dataType));
+		}
+
+		private static int variantHashCode(DataType dataType) {
+			switch (dataType.getVariant()) {
+			case LIST:
+				return System.identityHashCode(dataType.getListDataType());
+			case MAP_OF:
+				return 31 * System.identityHashCode(dataType.getMapKeyDataType())
+						+ System.identityHashCode(dataType.getMapValueDataType());
+			case COMPOSITE:
+				int hashCode = 1;
+				if (dataType.getDataTypeTuple() != null) {
+					for (DataType tupleDataType : dataType.getDataTypeTuple()) {
+						hashCode = 31 * hashCode + System.identityHashCode(tupleDataType);
+					}
+				}
+				return hashCode;
+			case OBJECT:
+				hashCode = 0;
+				if (dataType.getObjectDataType() != null) {
+					for (var nestedDataType : dataType.getObjectDataType().entrySet()) {
+						hashCode += nestedDataType.getKey().hashCode()
+								^ System.identityHashCode(nestedDataType.getValue());
+					}
+				}
+				return hashCode;
+			case ENUM:
+				return Objects.hashCode(dataType.getEnumList());
+			case REGEX:
+				return Objects.hashCode(dataType.getRegex());
+			case REF:
+				return Objects.hashCode(dataType.getReference());
+			default:
+				return 0;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Shape)) {
+				return false;
+			}
+			DataType other = ((Shape) object).dataType;
+			if (hashCode != ((Shape) object).hashCode || dataType.getSchemaType() != other.getSchemaType()
+					|| !Objects.equals(dataType.getName(), other.getName())
+					|| !Objects.equals(dataType.getProperties(), other.getProperties())) {
+				return false;
+			}
+
+			switch (dataType.getVariant()) {
+			case LIST:
+				return dataType.getListDataType() == other.getListDataType();
+			case MAP_OF:
+				return dataType.getMapKeyDataType() == other.getMapKeyDataType()
+						&& dataType.getMapValueDataType() == other.getMapValueDataType();
+			case COMPOSITE:
+				return sameInstances(dataType.getDataTypeTuple(), other.getDataTypeTuple());
+			case OBJECT:
+				return sameInstances(dataType.getObjectDataType(), other.getObjectDataType());
+			case ENUM:
+				return Objects.equals(dataType.getEnumList(), other.getEnumList());
+			case REGEX:
+				return Objects.equals(dataType.getRegex(), other.getRegex());
+			case REF:
+				return Objects.equals(dataType.getReference(), other.getReference());
+			default:
+				return true;
+			}
+		}
+
+		private static boolean sameInstances(List<DataType> list, List<DataType> otherList) {
+			if (list == null || otherList == null || list.size() != otherList.size()) {
+				return list == otherList;
+			}
+			for (int i = 0; i < list.size(); i++) {
+				if (list.get(i) != otherList.get(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static boolean sameInstances(Map<String, DataType> map, Map<String, DataType> otherMap) {
+			if (map == null || otherMap == null || map.size() != otherMap.size()) {
+				return map == otherMap;
+			}
+			for (var nestedDataType : map.entrySet()) {
+				if (otherMap.get(nestedDataType.getKey()) != nestedDataType.getValue()
+						|| !otherMap.containsKey(nestedDataType.getKey())) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * Replaces the DataType of every Schema of the given EventModel by its shared
+	 * instance.
+	 *
+	 * @param eventModel - The parsed EventModel
+	 */
+	public void shareAll(EventModel eventModel) {
+		for (Schema schema : eventModel.getSchemas().values()) {
+			schema.setDataType(share(schema.getDataType()));
+		}
+		log.fine("Shared DataTypes: " + this);
+	}
+
+	/**
+	 * Replaces the nested DataTypes of the given DataType by their shared
+	 * instances first and looks up the shared instance of the DataType itself
+	 * afterwards. The given DataType becomes the shared instance if there is none
+	 * yet, so it must not be used by anyone else. The DataType tree is walked by
+	 * a DataTypeTraversal, which collects the shared instances of the nested
+	 * DataTypes on a stack until their parent is exited.
+	 *
+	 * @param dataType - The DataType; may be null
+	 * @return DataType - The shared instance of the DataType; or null if the
+	 *         DataType is null
+	 */
+	public DataType share(DataType dataType) {
+		List<DataType> sharedNestedDataTypes = new ArrayList<>();
+
+		DataTypeTraversal.walk(dataType, new DataTypeVisitor() {
+
+			@Override
+			public boolean enter(Step step) {
+				DataType nestedDataType = step.getDataType();
+				if (nestedDataType == null || sharedDataTypes.contains(nestedDataType)) {
+					return false;
+				}
+				references++;
+				return true;
+			}
+
+			@Override
+			public void exit(Step step) {
+				DataType nestedDataType = step.getDataType();
+				if (nestedDataType == null || sharedDataTypes.contains(nestedDataType)) {
+					sharedNestedDataTypes.add(nestedDataType);
+					return;
+				}
+				List<DataType> nestedDataTypes = sharedNestedDataTypes.subList(
+						sharedNestedDataTypes.size() - DataTypeTraversal.countNestedDataTypes(nestedDataType),
+						sharedNestedDataTypes.size());
+				DataType sharedDataType = shareNode(nestedDataType, nestedDataTypes);
+				nestedDataTypes.clear();
+				sharedNestedDataTypes.add(sharedDataType);
+			}
+
+		});
+		return sharedNestedDataTypes.get(0);
+	}
+
+	/**
+	 * Replaces the nested DataTypes of a single DataType by the given shared
+	 * instances and looks up the shared instance of the DataType.
+	 *
+	 * @param dataType        - The DataType
+	 * @param nestedDataTypes - The shared instances of its nested DataTypes in the
+	 *                        order of the traversal
+	 * @return DataType - The shared instance of the DataType
+	 */
+	private DataType shareNode(DataType dataType, List<DataType> nestedDataTypes) {
+		if (dataType.getProperties() != null) {
+			dataType.setProperties(Collections.unmodifiableMap(dataType.getProperties()));
+		}
+		switch (dataType.getVariant()) {
+		case LIST:
+			dataType.setListDataType(nestedDataTypes.get(0));
+			break;
+		case MAP_OF:
+			dataType.setMapKeyDataType(nestedDataTypes.get(0));
+			dataType.setMapValueDataType(nestedDataTypes.get(1));
+			break;
+		case COMPOSITE:
+			if (dataType.getDataTypeTuple() != null) {
+				dataType.setDataTypeTuple(Collections.unmodifiableList(new ArrayList<>(nestedDataTypes)));
+			}
+			break;
+		case OBJECT:
+			if (dataType.getObjectDataType() != null) {
+				// rebuilt in its iteration order like the StringTable does
+				Map<String, DataType> objectDataType = new HashMap<>();
+				int i = 0;
+				for (String key : dataType.getObjectDataType().keySet()) {
+					objectDataType.put(key, nestedDataTypes.get(i++));
+				}
+				dataType.setObjectDataType(Collections.unmodifiableMap(objectDataType));
+			}
+			break;
+		case ENUM:
+			if (dataType.getEnumList() != null) {
+				dataType.setEnumList(Collections.unmodifiableList(dataType.getEnumList()));
+			}
+			break;
+		default:
+			break;
+		}
+
+		DataType sharedDataType = dataTypes.putIfAbsent(new Shape(dataType), dataType);
+		if (sharedDataType == null) {
+			sharedDataTypes.add(dataType);
+			return dataType;
+		}
+		return sharedDataType;
+	}
+
+	/**
+	 * @return int - Number of distinct DataTypes
+	 */
+	public int size() {
+		return dataTypes.size();
+	}
+
+	/**
+	 * @return long - Number of DataTypes shared through the pool
+	 */
+	public long getReferences() {
+		return references;
+	}
+
+	@Override
+	public String toString() {
+		return "DataTypePool [dataTypes=" + dataTypes.size() + ", references=" + references + "]";
+	}
+
+}
@@ -0,0 +1,263 @@
+package com.whz.reader.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import com.whz.reader.dto.DataType;
+
+/**
+ * The DataTypeTraversal walks a DataType and all of its nested DataTypes depth
+ * first. Instead of calling itself once per nesting level it keeps the open
+ * DataTypes on a stack on the heap, so the depth of a DataType is only bounded
+ * by the heap and not by the thread stack. Every DataType is handed to a
+ * DataTypeVisitor twice: when it is entered, before its nested DataTypes, and
+ * when it is exited, after its nested DataTypes.
+ *
+ * The nested DataTypes are visited in the order of their slot, i.e. the key
+ * before the value of a 'map_of', the entries of a 'tuple' in their order and
+ * the fields of a 'map' in the iteration order of the Map. Empty slots, e.g. a
+ * missing entry of a 'vector', are visited as well with a null DataType.
+ *
+ * The parsers share the naming and the attaching of nested DataTypes through
+ * getNestedName and addNestedDataType, so every parser builds exactly the same
+ * DataType tree.
+ *
+ * @author Timon Schwalbe
+ */
+public class DataTypeTraversal {
+
+	/**
+	 * Callbacks of a DataTypeTraversal.
+	 */
+	public interface DataTypeVisitor {
+
+		/**
+		 * @param step - The DataType entered, together with its position
+		 * @return boolean - True if the nested DataTypes shall be visited; or false
+		 *         to skip them
+		 */
+		boolean enter(Step step);
+
+		/**
+		 * @param step - The DataType exited, together with its position
+		 */
+		default void exit(Step step) {
+		}
+
+	}
+
+	/**
+	 * Position of a visited DataType within the DataType the traversal started
+	 * at.
+	 */
+	public static final class Step {
+
+		private final DataType dataType;
+		private final Step parent;
+		private final int index;
+		private final String key;
+		private final int depth;
+		private boolean isEntered;
+
+		private Step(DataType dataType, Step parent, int index, String key) {
+			this.dataType = dataType;
+			this.parent = parent;
+			this.index = index;
+			this.key = key;
+			this.depth = parent != null ? parent.depth + 1 : 0;
+		}
+
+		/**
+		 * @return DataType - The visited DataType; or null if its slot is empty
+		 */
+		public DataType getDataType() {
+			return dataType;
+		}
+
+		/**
+		 * @return DataType - The DataType containing the visited DataType; or null if
+		 *         the visited DataType is the one the traversal started at
+		 */
+		public DataType getParent() {
+			return parent != null ? parent.dataType : null;
+		}
+
+		/**
+		 * @return int - Position among the nested DataTypes of the parent, e.g. 0
+		 *         for the key and 1 for the value of a 'map_of'
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return String - Key of the field if the parent is a 'map'; or null
+		 */
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * @return int - Nesting depth, 0 for the DataType the traversal started at
+		 */
+		public int getDepth() {
+			return depth;
+		}
+
+		/**
+		 * @return boolean - Whether the visited DataType is nested in another one
+		 */
+		public boolean isNested() {
+			return parent != null;
+		}
+
+	}
+
+	private DataTypeTraversal() {
+	}
+
+	/**
+	 * Visits the given DataType and all of its nested DataTypes.
+	 *
+	 * @param dataType - The DataType to start at; may be null
+	 * @param visitor  - The callbacks of the traversal
+	 */
+	public static void walk(DataType dataType, DataTypeVisitor visitor) {
+		Deque<Step> steps = new ArrayDeque<>();
+		steps.push(new Step(dataType, null, 0, null));
+
+		while (!steps.isEmpty()) {
+			Step step = steps.peek();
+			if (!step.isEntered) {
+				step.isEntered = true;
+				if (visitor.enter(step) && step.dataType != null && pushNestedSteps(steps, step)) {
+					continue;
+				}
+			}
+			steps.pop();
+			visitor.exit(step);
+		}
+	}
+
+	/**
+	 * Pushes the nested DataTypes of the given step in reverse order, so they are
+	 * taken from the stack in the order of their slots.
+	 *
+	 * @return boolean - Whether any nested step has been pushed
+	 */
+	private static boolean pushNestedSteps(Deque<Step> steps, Step step) {
+		DataType dataType = step.dataType;
+		if (dataType.getVariant() == null) {
+			return false;
+		}
+
+		switch (dataType.getVariant()) {
+		case LIST:
+			steps.push(new Step(dataType.getListDataType(), step, 0, null));
+			return true;
+		case MAP_OF:
+			steps.push(new Step(dataType.getMapValueDataType(), step, 1, null));
+			steps.push(new Step(dataType.getMapKeyDataType(), step, 0, null));
+			return true;
+		case COMPOSITE:
+			List<DataType> dataTypeTuple = dataType.getDataTypeTuple();
+			if (dataTypeTuple == null || dataTypeTuple.isEmpty()) {
+				return false;
+			}
+			for (int i = dataTypeTuple.size() - 1; i >= 0; i--) {
+				steps.push(new Step(dataTypeTuple.get(i), step, i, null));
+			}
+			return true;
+		case OBJECT:
+			Map<String, DataType> objectDataType = dataType.getObjectDataType();
+			if (objectDataType == null || objectDataType.isEmpty()) {
+				return false;
+			}
+			List<Map.Entry<String, DataType>> fields = new ArrayList<>(objectDataType.entrySet());
+			for (int i = fields.size() - 1; i >= 0; i--) {
+				steps.push(new Step(fields.get(i).getValue(), step, i, fields.get(i).getKey()));
+			}
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * @param dataType - The DataType; may be null
+	 * @return int - Number of nested DataTypes a traversal visits for the given
+	 *         DataType, including empty slots
+	 */
+	public static int countNestedDataTypes(DataType dataType) {
+		if (dataType == null || dataType.getVariant() == null) {
+			return 0;
+		}
+
+		switch (dataType.getVariant()) {
+		case LIST:
+			return 1;
+		case MAP_OF:
+			return 2;
+		case COMPOSITE:
+			return dataType.getDataTypeTuple() != null ? dataType.getDataTypeTuple().size() : 0;
+		case OBJECT:
+			return dataType.getObjectDataType() != null ? dataType.getObjectDataType().size() : 0;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * "Key" and "Value" are needed to separate both nested DataTypes of a 'map_of'
+	 * with unique names if they have nested objects to differentiate between them
+	 * since oNote does not give the option to name nested Objects or Enums. Any
+	 * other nested DataType inherits the name of its parent.
+	 *
+	 * @param parent - The DataType containing the nested DataType
+	 * @param index  - Position among the nested DataTypes of the parent
+	 * @return String - The generic name of the nested DataType
+	 */
+	public static String getNestedName(DataType parent, int index) {
+		if (parent.getVariant() == DataType.Variant.MAP_OF) {
+			return parent.getName() + (index == 0 ? "Key" : "Value");
+		}
+		return parent.getName();
+	}
+
+	/**
+	 * Adds a parsed nested DataType to the slot of its parent. The List of a
+	 * 'tuple, or, and' and the Map of a 'map' have to be set beforehand.
+	 *
+	 * @param parent   - The DataType containing the nested DataType
+	 * @param index    - Position among the nested DataTypes of the parent
+	 * @param key      - Key of the field if the parent is a 'map'; or null
+	 * @param dataType - The nested DataType
+	 */
+	public static void addNestedDataType(DataType parent, int index, String key, DataType dataType) {
+		switch (parent.getVariant()) {
+		case LIST:
+			parent.setListDataType(dataType);
+			break;
+		case MAP_OF:
+			if (index == 0) {
+				parent.setMapKeyDataType(dataType);
+			} else {
+				parent.setMapValueDataType(dataType);
+			}
+			break;
+		case COMPOSITE:
+			parent.getDataTypeTuple().add(dataType);
+			break;
+		case OBJECT:
+			parent.getObjectDataType().put(key, dataType);
+			break;
+		default:
+			throw new IllegalStateException("A DataType of type '" + parent.getSchemaType()
+					+ "' has no nested DataTypes");
+		}
+	}
+
+}
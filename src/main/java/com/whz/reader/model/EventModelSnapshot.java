@@ -0,0 +1,575 @@
+package com.whz.reader.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import com.whz.reader.dto.Audience;
+import com.whz.reader.dto.Command;
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.dto.DataType.Variant;
+import com.whz.reader.dto.Element;
+import com.whz.reader.dto.Element.ElementType;
+import com.whz.reader.dto.Event;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Flow;
+import com.whz.reader.dto.Interface;
+import com.whz.reader.dto.Interface.InterfaceType;
+import com.whz.reader.dto.Placement;
+import com.whz.reader.dto.Placement.LaneType;
+import com.whz.reader.dto.Placement.NoteType;
+import com.whz.reader.dto.ReadModel;
+import com.whz.reader.dto.Schema;
+import com.whz.reader.dto.Stream;
+import com.whz.reader.model.DataTypeTraversal.DataTypeVisitor;
+import com.whz.reader.model.DataTypeTraversal.Step;
+
+/**
+ * The EventModelSnapshot writes a parsed EventModel into a compact binary
+ * format and reads it back without going through the JSON file and Gson again.
+ *
+ * The snapshot starts with a table of all distinct Strings of the EventModel,
+ * so names and namespaces used by many notes are only stored once and are
+ * referenced by their index afterwards. UUIDs are stored as two longs behind a
+ * null flag, enums by their ordinal and every DataType tree in preorder, i.e.
+ * each DataType is directly followed by its nested DataTypes. Maps are read
+ * back in the order they were written, so the read EventModel iterates exactly
+ * like the written one.
+ *
+ * @author Timon Schwalbe
+ */
+public class EventModelSnapshot {
+
+	private static final int MAGIC = 0x4F4E5353; // "ONSS"
+	static final int FORMAT_VERSION = 2;
+
+	// every UUID has the same width, a null flag followed by two longs
+	static final int UUID_BYTES = 17;
+
+	private final Map<String, Integer> stringIndexes = new LinkedHashMap<>();
+	private final IntFunction<String> stringLookup;
+	private final DataOutputStream out;
+	private final ByteBuffer in;
+
+	/**
+	 * Creates a snapshot writing into the given stream. The Strings are only
+	 * written as their index into getStrings().
+	 *
+	 * @param out - Stream the DTOs are written to
+	 */
+	EventModelSnapshot(DataOutputStream out) {
+		this.out = out;
+		this.in = null;
+		this.stringLookup = null;
+	}
+
+	/**
+	 * Creates a snapshot reading from the current position of the given buffer.
+	 *
+	 * @param in           - Buffer the DTOs are read from
+	 * @param stringLookup - Looks up the Strings by their index
+	 */
+	EventModelSnapshot(ByteBuffer in, IntFunction<String> stringLookup) {
+		this.out = null;
+		this.in = in;
+		this.stringLookup = stringLookup;
+	}
+
+	/**
+	 * Writes the given EventModel into the stream. The stream is not closed.
+	 *
+	 * @param eventModel   - The EventModel to write
+	 * @param outputStream - Stream the snapshot is written to
+	 * @throws IOException - If the snapshot could not be written
+	 */
+	public static void write(EventModel eventModel, OutputStream outputStream) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		EventModelSnapshot snapshot = new EventModelSnapshot(new DataOutputStream(body));
+		snapshot.writeEventModel(eventModel);
+		snapshot.out.flush();
+
+		DataOutputStream header = new DataOutputStream(outputStream);
+		header.writeInt(MAGIC);
+		header.writeInt(FORMAT_VERSION);
+		header.writeInt(snapshot.stringIndexes.size());
+		for (String string : snapshot.getStrings()) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			header.writeInt(bytes.length);
+			header.write(bytes);
+		}
+		body.writeTo(header);
+		header.flush();
+	}
+
+	/**
+	 * Reads an EventModel written by write(EventModel, OutputStream). The whole
+	 * snapshot is expected in the buffer, so it is decoded without any stream
+	 * overhead.
+	 *
+	 * @param buffer - Buffer containing the snapshot
+	 * @return EventModel - The EventModel of the snapshot; its indexes are not
+	 *         built yet
+	 * @throws IOException - If the snapshot is truncated or is not a snapshot of
+	 *                     the current format
+	 */
+	public static EventModel read(ByteBuffer buffer) throws IOException {
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+				throw new IOException("Not a snapshot of format version " + FORMAT_VERSION);
+			}
+			String[] strings = new String[buffer.getInt()];
+			for (int i = 0; i < strings.length; i++) {
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				strings[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+			return new EventModelSnapshot(buffer, index -> strings[index]).readEventModel();
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IOException("Truncated snapshot", e);
+		}
+	}
+
+	private void writeEventModel(EventModel eventModel) throws IOException {
+		writeUUID(eventModel.getId());
+		writeString(eventModel.getName());
+		writeString(eventModel.getDescription());
+
+		out.writeInt(eventModel.getAudiences().size());
+		for (Audience audience : eventModel.getAudiences()) {
+			writeUUID(audience.getId());
+			writeString(audience.getName());
+		}
+		out.writeInt(eventModel.getStreams().size());
+		for (Stream stream : eventModel.getStreams()) {
+			writeUUID(stream.getId());
+			writeString(stream.getName());
+		}
+
+		out.writeInt(eventModel.getInterfaces().size());
+		for (var interfaceEntry : eventModel.getInterfaces().entrySet()) {
+			Interface tempInterface = interfaceEntry.getValue();
+			writeUUID(interfaceEntry.getKey());
+			writeUUID(tempInterface.getId());
+			writeString(tempInterface.getName());
+			writeString(tempInterface.getDescription());
+			writeEnum(tempInterface.getType());
+			writeString(tempInterface.getFigmaURL());
+			writeSize(tempInterface.getElements());
+			if (tempInterface.getElements() != null) {
+				for (var elementEntry : tempInterface.getElements().entrySet()) {
+					writeUUID(elementEntry.getKey());
+					writeUUID(elementEntry.getValue().getId());
+					writeEnum(elementEntry.getValue().getElementType());
+					writeString(elementEntry.getValue().getName());
+				}
+			}
+		}
+		out.writeInt(eventModel.getReadModels().size());
+		for (var readModelEntry : eventModel.getReadModels().entrySet()) {
+			ReadModel readModel = readModelEntry.getValue();
+			writeUUID(readModelEntry.getKey());
+			writeNote(readModel.getId(), readModel.getName(), readModel.getDescription(), readModel.getSchemaId());
+		}
+		out.writeInt(eventModel.getEvents().size());
+		for (var eventEntry : eventModel.getEvents().entrySet()) {
+			Event event = eventEntry.getValue();
+			writeUUID(eventEntry.getKey());
+			writeNote(event.getId(), event.getName(), event.getDescription(), event.getSchemaId());
+		}
+		out.writeInt(eventModel.getCommands().size());
+		for (var commandEntry : eventModel.getCommands().entrySet()) {
+			Command command = commandEntry.getValue();
+			writeUUID(commandEntry.getKey());
+			writeNote(command.getId(), command.getName(), command.getDescription(), command.getSchemaId());
+		}
+
+		out.writeInt(eventModel.getFlows().size());
+		for (var flowEntry : eventModel.getFlows().entrySet()) {
+			writeUUID(flowEntry.getKey());
+			writeUUID(flowEntry.getValue().getFrom());
+			writeUUID(flowEntry.getValue().getTo());
+		}
+		out.writeInt(eventModel.getPlacements().size());
+		for (var placementEntry : eventModel.getPlacements().entrySet()) {
+			Placement placement = placementEntry.getValue();
+			writeUUID(placementEntry.getKey());
+			writeUUID(placement.getId());
+			out.writeInt(placement.getIndex());
+			writeEnum(placement.getNoteType());
+			writeUUID(placement.getNoteId());
+			writeEnum(placement.getLaneType());
+			writeUUID(placement.getLaneId());
+		}
+		out.writeInt(eventModel.getSchemas().size());
+		for (var schemaEntry : eventModel.getSchemas().entrySet()) {
+			Schema schema = schemaEntry.getValue();
+			writeUUID(schemaEntry.getKey());
+			writeUUID(schema.getId());
+			writeString(schema.getName());
+			writeString(schema.getNamespace());
+			writeString(schema.getDescription());
+			writeDataType(schema.getDataType());
+		}
+	}
+
+	private EventModel readEventModel() {
+		EventModel eventModel = new EventModel();
+		eventModel.setId(readUUID());
+		eventModel.setName(readString());
+		eventModel.setDescription(readString());
+
+		for (int i = in.getInt(); i > 0; i--) {
+			eventModel.getAudiences().add(new Audience(readUUID(), readString()));
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			eventModel.getStreams().add(new Stream(readUUID(), readString()));
+		}
+
+		for (int i = in.getInt(); i > 0; i--) {
+			UUID interfaceId = readUUID();
+			Interface tempInterface = new Interface(readUUID(), readString(), readString(),
+					readEnum(InterfaceType.values()), readString(), null);
+			int elementCount = in.getInt();
+			if (elementCount >= 0) {
+				Map<UUID, Element> elements = new HashMap<>();
+				for (int j = 0; j < elementCount; j++) {
+					elements.put(readUUID(), new Element(readUUID(), readEnum(ElementType.values()), readString()));
+				}
+				tempInterface.setElements(elements);
+			}
+			eventModel.getInterfaces().put(interfaceId, tempInterface);
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			eventModel.getReadModels().put(readUUID(),
+					new ReadModel(readUUID(), readString(), readString(), readUUID()));
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			eventModel.getEvents().put(readUUID(), new Event(readUUID(), readString(), readString(), readUUID()));
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			eventModel.getCommands().put(readUUID(),
+					new Command(readUUID(), readString(), readString(), readUUID()));
+		}
+
+		for (int i = in.getInt(); i > 0; i--) {
+			eventModel.getFlows().put(readUUID(), new Flow(readUUID(), readUUID()));
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			eventModel.getPlacements().put(readUUID(), new Placement(readUUID(), in.getInt(),
+					readEnum(NoteType.values()), readUUID(), readEnum(LaneType.values()), readUUID()));
+		}
+		for (int i = in.getInt(); i > 0; i--) {
+			eventModel.getSchemas().put(readUUID(),
+					new Schema(readUUID(), readString(), readString(), readString(), readDataType()));
+		}
+		return eventModel;
+	}
+
+	private void writeNote(UUID id, String name, String description, UUID schemaId) throws IOException {
+		writeUUID(id);
+		writeString(name);
+		writeString(description);
+		writeUUID(schemaId);
+	}
+
+	/**
+	 * Writes the DataType followed by all of its nested DataTypes (preorder). The
+	 * DataType tree is walked by a DataTypeTraversal, so arbitrarily deep
+	 * DataTypes are written without recursion. Every DataType writes all of its
+	 * slots in a fixed order: the list, key and value DataType, the tuple and the
+	 * object fields, of which only the ones of its Variant are not empty.
+	 */
+	void writeDataType(DataType dataType) throws IOException {
+		try {
+			DataTypeTraversal.walk(dataType, new DataTypeVisitor() {
+
+				@Override
+				public boolean enter(Step step) {
+					try {
+						return writeDataTypeHead(step);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+
+				@Override
+				public void exit(Step step) {
+					try {
+						writeDataTypeTail(step.getDataType());
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Writes a DataType and its empty slots up to the slot of its nested
+	 * DataTypes.
+	 *
+	 * @return boolean - Whether the DataType is not null
+	 */
+	private boolean writeDataTypeHead(Step step) throws IOException {
+		if (step.isNested() && step.getParent().getVariant() == Variant.OBJECT) {
+			writeString(step.getKey());
+		}
+		DataType dataType = step.getDataType();
+		out.writeBoolean(dataType != null);
+		if (dataType == null) {
+			return false;
+		}
+		writeEnum(dataType.getSchemaType());
+		writeString(dataType.getName());
+
+		writeSize(dataType.getProperties());
+		if (dataType.getProperties() != null) {
+			for (var property : dataType.getProperties().entrySet()) {
+				writeString(property.getKey());
+				writeString(property.getValue());
+			}
+		}
+		writeSize(dataType.getEnumList());
+		if (dataType.getEnumList() != null) {
+			for (String enumName : dataType.getEnumList()) {
+				writeString(enumName);
+			}
+		}
+		writeString(dataType.getRegex());
+		writeUUID(dataType.getReference());
+
+		if (dataType.getVariant() == Variant.LIST) {
+			return true;
+		}
+		out.writeBoolean(false);
+		if (dataType.getVariant() == Variant.MAP_OF) {
+			return true;
+		}
+		out.writeBoolean(false);
+		out.writeBoolean(false);
+		writeSize(dataType.getDataTypeTuple());
+		if (dataType.getVariant() == Variant.OBJECT) {
+			writeSize(dataType.getObjectDataType());
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the empty slots of a DataType behind the slot of its nested
+	 * DataTypes.
+	 */
+	private void writeDataTypeTail(DataType dataType) throws IOException {
+		if (dataType == null) {
+			return;
+		}
+		if (dataType.getVariant() == Variant.LIST) {
+			out.writeBoolean(false);
+			out.writeBoolean(false);
+			writeSize(dataType.getDataTypeTuple());
+		} else if (dataType.getVariant() == Variant.MAP_OF) {
+			writeSize(dataType.getDataTypeTuple());
+		}
+		if (dataType.getVariant() != Variant.OBJECT) {
+			writeSize(dataType.getObjectDataType());
+		}
+	}
+
+	/**
+	 * A DataType whose nested DataTypes are currently read.
+	 */
+	private static final class ReadDataType {
+
+		private static final int LIST_SLOT = 0;
+		private static final int MAP_KEY_SLOT = 1;
+		private static final int MAP_VALUE_SLOT = 2;
+		private static final int TUPLE_SLOT = 3;
+		private static final int OBJECT_SLOT = 4;
+
+		private final DataType dataType;
+		private int slot = LIST_SLOT;
+		// nested DataTypes of the tuple or object slot that are still to be read
+		private int remaining;
+		private List<DataType> dataTypeTuple;
+		private Map<String, DataType> objectDataType;
+
+		private ReadDataType(DataType dataType) {
+			this.dataType = dataType;
+		}
+
+	}
+
+	/**
+	 * Reads a DataType written by writeDataType. The DataTypes whose nested
+	 * DataTypes are not completely read yet are kept on a stack instead of
+	 * calling this method again.
+	 */
+	DataType readDataType() {
+		if (!readBoolean()) {
+			return null;
+		}
+		DataType rootDataType = readDataTypeHead();
+		Deque<ReadDataType> readDataTypes = new ArrayDeque<>();
+		readDataTypes.push(new ReadDataType(rootDataType));
+
+		while (!readDataTypes.isEmpty()) {
+			ReadDataType readDataType = readDataTypes.peek();
+			DataType dataType = readDataType.dataType;
+			DataType nestedDataType = null;
+
+			if (readDataType.remaining > 0) {
+				readDataType.remaining--;
+				if (readDataType.objectDataType != null) {
+					String key = readString();
+					nestedDataType = readBoolean() ? readDataTypeHead() : null;
+					readDataType.objectDataType.put(key, nestedDataType);
+				} else {
+					nestedDataType = readBoolean() ? readDataTypeHead() : null;
+					readDataType.dataTypeTuple.add(nestedDataType);
+				}
+			} else {
+				switch (readDataType.slot++) {
+				case ReadDataType.LIST_SLOT:
+					nestedDataType = readBoolean() ? readDataTypeHead() : null;
+					dataType.setListDataType(nestedDataType);
+					break;
+				case ReadDataType.MAP_KEY_SLOT:
+					nestedDataType = readBoolean() ? readDataTypeHead() : null;
+					dataType.setMapKeyDataType(nestedDataType);
+					break;
+				case ReadDataType.MAP_VALUE_SLOT:
+					nestedDataType = readBoolean() ? readDataTypeHead() : null;
+					dataType.setMapValueDataType(nestedDataType);
+					break;
+				case ReadDataType.TUPLE_SLOT:
+					int tupleCount = in.getInt();
+					if (tupleCount >= 0) {
+						readDataType.dataTypeTuple = new ArrayList<>(tupleCount);
+						readDataType.remaining = tupleCount;
+						dataType.setDataTypeTuple(readDataType.dataTypeTuple);
+					}
+					break;
+				case ReadDataType.OBJECT_SLOT:
+					int objectCount = in.getInt();
+					if (objectCount >= 0) {
+						readDataType.objectDataType = new HashMap<>();
+						readDataType.remaining = objectCount;
+						dataType.setObjectDataType(readDataType.objectDataType);
+					}
+					break;
+				default:
+					readDataTypes.pop();
+					break;
+				}
+			}
+
+			if (nestedDataType != null) {
+				readDataTypes.push(new ReadDataType(nestedDataType));
+			}
+		}
+		return rootDataType;
+	}
+
+	/**
+	 * Reads a DataType without its nested DataTypes.
+	 */
+	private DataType readDataTypeHead() {
+		DataType dataType = new DataType();
+		dataType.setSchemaType(readEnum(SchemaType.values()));
+		dataType.setName(readString());
+
+		int propertyCount = in.getInt();
+		if (propertyCount >= 0) {
+			Map<String, String> properties = new HashMap<>();
+			for (int i = 0; i < propertyCount; i++) {
+				properties.put(readString(), readString());
+			}
+			dataType.setProperties(properties);
+		}
+		int enumCount = in.getInt();
+		if (enumCount >= 0) {
+			List<String> enumList = new ArrayList<>(enumCount);
+			for (int i = 0; i < enumCount; i++) {
+				enumList.add(readString());
+			}
+			dataType.setEnumList(enumList);
+		}
+		dataType.setRegex(readString());
+		dataType.setReference(readUUID());
+		return dataType;
+	}
+
+	/**
+	 * @return Collection<String> - Every String written so far, in the order of
+	 *         their indexes
+	 */
+	Collection<String> getStrings() {
+		return stringIndexes.keySet();
+	}
+
+	void writeString(String string) throws IOException {
+		if (string == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(stringIndexes.computeIfAbsent(string, k -> stringIndexes.size()));
+		}
+	}
+
+	String readString() {
+		int index = in.getInt();
+		return index < 0 ? null : stringLookup.apply(index);
+	}
+
+	private boolean readBoolean() {
+		return in.get() != 0;
+	}
+
+	void writeUUID(UUID uuid) throws IOException {
+		out.writeBoolean(uuid != null);
+		out.writeLong(uuid != null ? uuid.getMostSignificantBits() : 0);
+		out.writeLong(uuid != null ? uuid.getLeastSignificantBits() : 0);
+	}
+
+	UUID readUUID() {
+		boolean isPresent = readBoolean();
+		long mostSignificantBits = in.getLong();
+		long leastSignificantBits = in.getLong();
+		return isPresent ? new UUID(mostSignificantBits, leastSignificantBits) : null;
+	}
+
+	void writeEnum(Enum<?> value) throws IOException {
+		out.writeByte(value == null ? -1 : value.ordinal());
+	}
+
+	<E extends Enum<E>> E readEnum(E[] values) {
+		int ordinal = in.get();
+		return ordinal < 0 ? null : values[ordinal];
+	}
+
+	private void writeSize(Map<?, ?> map) throws IOException {
+		out.writeInt(map == null ? -1 : map.size());
+	}
+
+	private void writeSize(List<?> list) throws IOException {
+		out.writeInt(list == null ? -1 : list.size());
+	}
+
+}
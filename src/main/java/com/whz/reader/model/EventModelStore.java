@@ -0,0 +1,97 @@
+package com.whz.reader.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.whz.reader.dto.Command;
+import com.whz.reader.dto.Event;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Placement;
+import com.whz.reader.dto.Placement.LaneType;
+import com.whz.reader.dto.ReadModel;
+import com.whz.reader.dto.Schema;
+import com.whz.reader.dto.Stream;
+
+/**
+ * ModelStore reading the parsed EventModel on the heap. The indexes of the
+ * EventModel must have been built before, since they are not thread-safe to
+ * build lazily.
+ *
+ * @author Timon Schwalbe
+ */
+public class EventModelStore implements ModelStore {
+
+	private final EventModel eventModel;
+
+	/**
+	 * @param eventModel - The parsed EventModel with its indexes built
+	 */
+	public EventModelStore(EventModel eventModel) {
+		this.eventModel = eventModel;
+	}
+
+	public EventModel getEventModel() {
+		return eventModel;
+	}
+
+	@Override
+	public List<Stream> getStreams() {
+		return eventModel.getStreams();
+	}
+
+	@Override
+	public List<String> getSchemaNamespaces() {
+		List<String> namespaces = new ArrayList<>(eventModel.getSchemas().size());
+		for (Schema schema : eventModel.getSchemas().values()) {
+			namespaces.add(schema.getNamespace());
+		}
+		return namespaces;
+	}
+
+	@Override
+	public Event getEvent(UUID eventId) {
+		return eventModel.getEvents().get(eventId);
+	}
+
+	@Override
+	public Command getCommand(UUID commandId) {
+		return eventModel.getCommands().get(commandId);
+	}
+
+	@Override
+	public ReadModel getReadModel(UUID readModelId) {
+		return eventModel.getReadModels().get(readModelId);
+	}
+
+	@Override
+	public Schema getSchema(UUID schemaId) {
+		return eventModel.getSchemas().get(schemaId);
+	}
+
+	@Override
+	public Placement getPlacement(UUID placementId) {
+		return eventModel.getPlacements().get(placementId);
+	}
+
+	@Override
+	public List<UUID> getPlacementIds(LaneType laneType, UUID laneId) {
+		return eventModel.getPlacementIds(laneType, laneId);
+	}
+
+	@Override
+	public List<UUID> getFlowTargets(UUID placementId) {
+		return eventModel.getFlowTargets(placementId);
+	}
+
+	@Override
+	public List<UUID> getFlowSources(UUID placementId) {
+		return eventModel.getFlowSources(placementId);
+	}
+
+	@Override
+	public String toString() {
+		return "EventModelStore [eventModel=" + eventModel.getName() + "]";
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.whz.reader.model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * OutputSink writing every file into the file system, which is where the
+ * generated projects have always been written to. Since the files of earlier
+ * generations are kept, it is the only OutputSink a GenerationManifest is used
+ * with.
+ *
+ * @author Timon Schwalbe
+ */
+public class FileSystemOutputSink implements OutputSink {
+
+	@Override
+	public boolean createDirectory(String directory) throws IOException {
+		Path path = Paths.get(directory);
+		if (Files.isDirectory(path)) {
+			return false;
+		}
+		Files.createDirectories(path);
+		return true;
+	}
+
+	/**
+	 * Creates the directories in one pass in the order of their paths, so every
+	 * parent directory is created before its subdirectories and only checked
+	 * once.
+	 */
+	@Override
+	public List<String> createDirectories(Collection<String> directories) throws IOException {
+		List<String> createdDirectories = new ArrayList<>();
+		for (String directory : new TreeSet<>(directories)) {
+			if (createDirectory(directory)) {
+				createdDirectories.add(directory);
+			}
+		}
+		return createdDirectories;
+	}
+
+	@Override
+	public void write(String filePath, CharSequence content) throws IOException {
+		try (BufferedWriter bw = Files.newBufferedWriter(Paths.get(filePath))) {
+			bw.append(content);
+		}
+	}
+
+	@Override
+	public boolean isIncremental() {
+		return true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		// every file is closed once written
+	}
+
+	@Override
+	public String toString() {
+		return "FileSystemOutputSink";
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.whz.reader.model;
+
+import java.util.UUID;
+
+/**
+ * Rendered source of a single Java class together with the path of the file it
+ * will be written into. Created by the render methods of the JavaFileWriter and
+ * handed over to the I/O stage of the GenerationPipeline. The id of the note or
+ * schema the class was generated from is recorded in the GenerationManifest.
+ *
+ * @author Timon Schwalbe
+ */
+public class GeneratedSource {
+
+	private final String filePath;
+	private final CharSequence content;
+	private final UUID sourceId;
+
+	public GeneratedSource(String filePath, CharSequence content) {
+		this(filePath, content, null);
+	}
+
+	/**
+	 * @param filePath - Path of the file the class is written into
+	 * @param content  - The rendered source of the class
+	 * @param sourceId - Id of the note or schema the class was generated from;
+	 *                 may be null
+	 */
+	public GeneratedSource(String filePath, CharSequence content, UUID sourceId) {
+		this.filePath = filePath;
+		this.content = content;
+		this.sourceId = sourceId;
+	}
+
+	public String getFilePath() {
+		return filePath;
+	}
+
+	public CharSequence getContent() {
+		return content;
+	}
+
+	public UUID getSourceId() {
+		return sourceId;
+	}
+
+	@Override
+	public String toString() {
+		return "GeneratedSource [filePath=" + filePath + ", length=" + content.length() + ", sourceId=" + sourceId
+				+ "]";
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.whz.reader.model;
+
+/**
+ * Listener the JSONParser and the ProjectGenerator report to. This way the
+ * model never depends on a specific user interface: the GUI displays the
+ * messages as dialogs while the command line prints them to the console.
+ *
+ * @author Timon Schwalbe
+ */
+public interface GenerationListener {
+
+	/**
+	 * Called if a problem occurred that the user should know about, e.g. if the
+	 * JSON file could not be read or a project could not be created.
+	 *
+	 * @param warningMessage - Warning message stating the current problem
+	 */
+	void onWarning(String warningMessage);
+
+	/**
+	 * Called if an event occurred that the user should be informed about, e.g. if
+	 * the code generation has finished.
+	 *
+	 * @param informationMessage - Info message stating the current event
+	 */
+	void onInfo(String informationMessage);
+
+}
@@ -0,0 +1,553 @@
+package com.whz.reader.model;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import com.whz.reader.dto.EventModel;
+
+/**
+ * The GenerationManifest records every file generated into an output root: its
+ * path relative to the root, the hash of its content, the id of the note or
+ * schema it was generated from and the size and modification time of the
+ * written file. It is kept in the file '.onote-manifest' of the output root.
+ * Every file further records the key of the PlannedClass it was rendered from,
+ * which identifies everything the class is rendered from apart from its
+ * DataType.
+ *
+ * Generating into the same root again, a file whose rendered content has the
+ * recorded hash is not written again as long as the file still has the
+ * recorded size and modification time, i.e. it has neither been deleted nor
+ * edited in the meantime. Unchanged files keep their modification time, so the
+ * IDEs and builds of the generated projects do not compile them again.
+ * Recorded files that are not generated anymore, e.g. since their note was
+ * deleted in oNote, are removed by prune, unless they were edited since. Files
+ * that were never recorded are never touched.
+ *
+ * The manifest also keeps an EventModelSnapshot of the EventModel generated
+ * last in the file '.onote-model', so the next generation can compare the
+ * EventModel with it in a ModelDiff and keep the classes that are not
+ * affected without rendering them.
+ *
+ * @author Timon Schwalbe
+ */
+public class GenerationManifest {
+
+	private static final Logger log = Logger.getLogger(GenerationManifest.class.getName());
+
+	public static final String FILE_NAME = ".onote-manifest";
+	public static final String MODEL_FILE_NAME = ".onote-model";
+
+	private static final String HEADER = "# oNote generation manifest 2";
+	// manifests without the keys of the planned classes are still read
+	private static final String HEADER_WITHOUT_PLAN_KEYS = "# oNote generation manifest 1";
+	private static final String SEPARATOR = "\t";
+	private static final String NO_SOURCE = "-";
+
+	private final Path outputRoot;
+	private final SortedMap<String, Entry> recordedEntries;
+	private final Map<String, Entry> generatedEntries = new ConcurrentHashMap<>();
+	private final Map<String, String> planKeys = new ConcurrentHashMap<>();
+	private final Set<String> replannedFiles = ConcurrentHashMap.newKeySet();
+	private final Set<String> generatedDirectories = ConcurrentHashMap.newKeySet();
+	private final Set<String> skippedDirectories = ConcurrentHashMap.newKeySet();
+	private final Set<String> prunedFiles = ConcurrentHashMap.newKeySet();
+	private final Set<String> editedFiles = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * A single generated file of the manifest.
+	 */
+	private static class Entry {
+
+		private final String hash;
+		private final UUID sourceId;
+		private final long size;
+		private final long lastModified;
+		private final String planKey;
+
+		private Entry(String hash, UUID sourceId, long size, long lastModified, String planKey) {
+			this.hash = hash;
+			this.sourceId = sourceId;
+			this.size = size;
+			this.lastModified = lastModified;
+			this.planKey = planKey;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Entry)) {
+				return false;
+			}
+			Entry entry = (Entry) obj;
+			return Objects.equals(hash, entry.hash) && Objects.equals(sourceId, entry.sourceId)
+					&& size == entry.size && lastModified == entry.lastModified
+					&& Objects.equals(planKey, entry.planKey);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(hash, sourceId, size, lastModified, planKey);
+		}
+
+	}
+
+	private GenerationManifest(Path outputRoot, SortedMap<String, Entry> recordedEntries) {
+		this.outputRoot = outputRoot;
+		this.recordedEntries = recordedEntries;
+	}
+
+	/**
+	 * Loads the manifest of the given output root. If the output root does not
+	 * contain a manifest or it cannot be read, the manifest is empty and every
+	 * file is written. Entries of files outside the output root are ignored, so a
+	 * tampered manifest can never prune or read any other file.
+	 *
+	 * @param outputRoot - The path the project is generated into
+	 * @return GenerationManifest - The manifest of the previous generation
+	 */
+	public static GenerationManifest load(String outputRoot) {
+		Path root = Paths.get(outputRoot).toAbsolutePath().normalize();
+		SortedMap<String, Entry> entries = new TreeMap<>();
+
+		try (BufferedReader br = Files.newBufferedReader(root.resolve(FILE_NAME))) {
+			String line = br.readLine();
+			if (!HEADER.equals(line) && !HEADER_WITHOUT_PLAN_KEYS.equals(line)) {
+				log.warning("Ignoring manifest of unknown format: '" + root.resolve(FILE_NAME) + "'");
+				return new GenerationManifest(root, new TreeMap<>());
+			}
+			while ((line = br.readLine()) != null) {
+				String[] columns = line.split(SEPARATOR);
+				String filePath = normalize(root, columns[0]);
+				if (filePath == null) {
+					log.warning("Ignoring manifest entry outside of '" + root + "': '" + columns[0] + "'");
+					continue;
+				}
+				entries.put(filePath,
+						new Entry(columns[1], columns[2].equals(NO_SOURCE) ? null : UUID.fromString(columns[2]),
+								Long.parseLong(columns[3]), Long.parseLong(columns[4]),
+								columns.length > 5 ? columns[5] : ""));
+			}
+		} catch (NoSuchFileException e) {
+			log.fine("No manifest found in '" + root + "'");
+		} catch (IOException | RuntimeException e) {
+			log.warning("Could not read manifest, generating every file: " + e);
+			entries.clear();
+		}
+		return new GenerationManifest(root, entries);
+	}
+
+	/**
+	 * @param root     - The normalized output root
+	 * @param filePath - Path of a file relative to the output root as read from
+	 *                 the manifest
+	 * @return String - The normalized path relative to the output root with '/'
+	 *         as separator; or null if the file is not inside the output root
+	 */
+	private static String normalize(Path root, String filePath) {
+		Path path = root.resolve(filePath).normalize();
+		if (!path.startsWith(root) || path.equals(root)) {
+			return null;
+		}
+		return root.relativize(path).toString().replace("\\", "/");
+	}
+
+	/**
+	 * @param content - Rendered content of a file
+	 * @return String - The SHA-256 hash of the content as written into the file
+	 */
+	public static String hash(CharSequence content) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(content.toString().getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform has to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Checks whether the file of the given source already contains the rendered
+	 * content. If so, the file is recorded as generated without being written.
+	 *
+	 * @param source - The rendered source of a Java class
+	 * @param hash   - The hash of its content
+	 * @return boolean - true if the file does not have to be written; false if not
+	 */
+	public boolean isUnchanged(GeneratedSource source, String hash) {
+		String filePath = relativize(source.getFilePath());
+		Entry entry = filePath != null ? recordedEntries.get(filePath) : null;
+		if (entry == null || !hash.equals(entry.hash)) {
+			return false;
+		}
+
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(outputRoot.resolve(filePath),
+					BasicFileAttributes.class);
+			if (attributes.size() != entry.size || attributes.lastModifiedTime().toMillis() != entry.lastModified) {
+				return false;
+			}
+		} catch (IOException e) {
+			return false;
+		}
+		generatedEntries.put(filePath,
+				new Entry(hash, source.getSourceId(), entry.size, entry.lastModified, getPlanKey(filePath)));
+		return true;
+	}
+
+	/**
+	 * Records the file of the given source as generated once it was written. If
+	 * the file could not be written, it is recorded without a hash, so it is kept
+	 * and written again by the next generation.
+	 *
+	 * @param source    - The rendered source of a Java class
+	 * @param hash      - The hash of its content
+	 * @param isWritten - Whether the file was written
+	 */
+	public void record(GeneratedSource source, String hash, boolean isWritten) {
+		String filePath = relativize(source.getFilePath());
+		if (filePath == null) {
+			return;
+		}
+
+		Entry entry = new Entry("", source.getSourceId(), -1, -1, "");
+		if (isWritten) {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(outputRoot.resolve(filePath),
+						BasicFileAttributes.class);
+				entry = new Entry(hash, source.getSourceId(), attributes.size(),
+						attributes.lastModifiedTime().toMillis(), getPlanKey(filePath));
+			} catch (IOException e) {
+				log.warning("Could not read attributes of '" + filePath + "': " + e);
+			}
+		}
+		generatedEntries.put(filePath, entry);
+	}
+
+	/**
+	 * Records the key of a class before it is rendered. Only the key of the last
+	 * class planned for a file is kept, like the GenerationPlan does, and a file
+	 * planned several times is never kept, since the class rendered last has to
+	 * win.
+	 *
+	 * @param filePath - Path of the file the class is written into
+	 * @param planKey  - Key of the planned class
+	 */
+	public void addPlannedClass(String filePath, String planKey) {
+		String relativeFilePath = relativize(filePath);
+		if (relativeFilePath != null && planKeys.put(relativeFilePath, planKey) != null) {
+			replannedFiles.add(relativeFilePath);
+		}
+	}
+
+	private String getPlanKey(String relativeFilePath) {
+		return planKeys.getOrDefault(relativeFilePath, "");
+	}
+
+	/**
+	 * Keeps the file of a planned class without rendering it, if it was rendered
+	 * from a class with the same key before and has neither been deleted nor
+	 * edited since. The key has to be added by addPlannedClass first.
+	 *
+	 * @param filePath - Path of the file of the planned class
+	 * @return boolean - true if the file is kept; false if the class has to be
+	 *         rendered
+	 */
+	public boolean keep(String filePath) {
+		String relativeFilePath = relativize(filePath);
+		Entry entry = relativeFilePath != null ? recordedEntries.get(relativeFilePath) : null;
+		if (entry == null || entry.hash.isEmpty() || entry.planKey.isEmpty()
+				|| replannedFiles.contains(relativeFilePath) || !entry.planKey.equals(getPlanKey(relativeFilePath))
+				|| !isIntact(relativeFilePath, entry)) {
+			return false;
+		}
+		generatedEntries.put(relativeFilePath, entry);
+		return true;
+	}
+
+	private boolean isIntact(String relativeFilePath, Entry entry) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(outputRoot.resolve(relativeFilePath),
+					BasicFileAttributes.class);
+			return attributes.size() == entry.size && attributes.lastModifiedTime().toMillis() == entry.lastModified;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @param relativeDirectory - A directory relative to the output root
+	 * @return SortedMap<String, Entry> - The recorded files in the directory and
+	 *         its subdirectories
+	 */
+	private SortedMap<String, Entry> getRecordedEntries(String relativeDirectory) {
+		if (relativeDirectory.isEmpty()) {
+			return recordedEntries;
+		}
+		// '0' directly follows '/', so the range contains exactly the paths starting with 'directory/'
+		return recordedEntries.subMap(relativeDirectory + "/", relativeDirectory + "0");
+	}
+
+	/**
+	 * @param directory - Directory of a Bounded Context that is generated
+	 */
+	public void addGeneratedDirectory(String directory) {
+		addDirectory(generatedDirectories, directory);
+	}
+
+	/**
+	 * @param directory - Directory of a Bounded Context that could not be
+	 *                  generated; its files are never pruned
+	 */
+	public void addSkippedDirectory(String directory) {
+		addDirectory(skippedDirectories, directory);
+	}
+
+	private void addDirectory(Set<String> directories, String directory) {
+		String relativeDirectory = relativize(directory);
+		if (relativeDirectory != null) {
+			directories.add(relativeDirectory.isEmpty() ? "" : relativeDirectory + "/");
+		}
+	}
+
+	/**
+	 * @param directory - A directory of the output root
+	 * @return boolean - Whether any recorded file was generated into the directory
+	 */
+	public boolean containsDirectory(String directory) {
+		String relativeDirectory = relativize(directory);
+		return relativeDirectory != null && !getRecordedEntries(relativeDirectory).isEmpty();
+	}
+
+	/**
+	 * Deletes every recorded file that was not generated this time. Files in the
+	 * directory of a skipped Bounded Context are kept. If only a slice of the
+	 * EventModel was generated, only files in the directories of its Bounded
+	 * Contexts are deleted, since nothing is known about the others.
+	 *
+	 * A file that was edited since it was generated, i.e. whose size or
+	 * modification time differs from the recorded one, is never deleted. It is
+	 * kept as edited file and no longer recorded, so it is left alone from now
+	 * on like any file that was never generated.
+	 *
+	 * @param isWholeModel - Whether the whole EventModel was generated
+	 * @return int - Number of deleted files
+	 */
+	public int prune(boolean isWholeModel) {
+		for (var recordedEntry : recordedEntries.entrySet()) {
+			String filePath = recordedEntry.getKey();
+			if (generatedEntries.containsKey(filePath) || startsWithAny(filePath, skippedDirectories)
+					|| !isWholeModel && !startsWithAny(filePath, generatedDirectories)) {
+				continue;
+			}
+
+			Path path = outputRoot.resolve(filePath);
+			if (Files.exists(path) && !isIntact(filePath, recordedEntry.getValue())) {
+				editedFiles.add(filePath);
+				log.info("Kept edited orphaned file '" + filePath + "'");
+				continue;
+			}
+			try {
+				Files.deleteIfExists(path);
+				prunedFiles.add(filePath);
+				log.fine("Pruned '" + filePath + "'");
+			} catch (IOException e) {
+				log.warning("Could not delete orphaned file '" + filePath + "': " + e);
+			}
+		}
+		return prunedFiles.size();
+	}
+
+	/**
+	 * @return List<String> - The files, relative to the output root, that are not
+	 *         generated anymore but were kept by prune since they were edited
+	 */
+	public List<String> getEditedFiles() {
+		List<String> files = new ArrayList<>(editedFiles);
+		Collections.sort(files);
+		return files;
+	}
+
+	private static boolean startsWithAny(String filePath, Set<String> directories) {
+		for (String directory : directories) {
+			if (filePath.startsWith(directory)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes the manifest into the output root, unless it did not change. Files
+	 * recorded before that were neither generated nor pruned stay recorded, apart
+	 * from the edited files kept by prune.
+	 *
+	 * @return boolean - true if the manifest was written; false if not
+	 */
+	public boolean save() {
+		SortedMap<String, Entry> entries = new TreeMap<>(recordedEntries);
+		entries.keySet().removeAll(prunedFiles);
+		entries.keySet().removeAll(editedFiles);
+		entries.putAll(generatedEntries);
+		if (entries.equals(recordedEntries)) {
+			return false;
+		}
+
+		try {
+			Files.createDirectories(outputRoot);
+			try (BufferedWriter bw = Files.newBufferedWriter(outputRoot.resolve(FILE_NAME))) {
+				bw.append(HEADER).append(System.lineSeparator());
+				for (var entry : entries.entrySet()) {
+					Entry value = entry.getValue();
+					bw.append(entry.getKey()).append(SEPARATOR).append(value.hash).append(SEPARATOR)
+							.append(value.sourceId != null ? value.sourceId.toString() : NO_SOURCE).append(SEPARATOR)
+							.append(Long.toString(value.size)).append(SEPARATOR)
+							.append(Long.toString(value.lastModified)).append(SEPARATOR).append(value.planKey)
+							.append(System.lineSeparator());
+				}
+			}
+			return true;
+		} catch (IOException e) {
+			log.warning("Could not write manifest: " + e.getMessage());
+			e.printStackTrace();
+		}
+		return false;
+	}
+
+	/**
+	 * Loads the EventModel generated last into the output root.
+	 *
+	 * @param key - Key of the generation, e.g. its options; an EventModel
+	 *            generated with a different key is not loaded
+	 * @return EventModel - The EventModel generated last; or null if there is no
+	 *         readable EventModel of the same key
+	 */
+	public EventModel loadModel(String key) {
+		Path modelPath = outputRoot.resolve(MODEL_FILE_NAME);
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(modelPath));
+			byte[] keyBytes = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(keyBytes);
+			if (!key.equals(new String(keyBytes, StandardCharsets.UTF_8))) {
+				log.info("Generating every class since the options or version of the generation changed");
+				return null;
+			}
+			return EventModelSnapshot.read(buffer.slice());
+		} catch (NoSuchFileException e) {
+			log.fine("No EventModel generated before in '" + outputRoot + "'");
+		} catch (IOException | RuntimeException e) {
+			log.warning("Could not read EventModel generated before '" + modelPath + "': " + e);
+		}
+		return null;
+	}
+
+	/**
+	 * Stores the generated EventModel as the one to compare the next generation
+	 * with. It is written into a temporary file first and then moved into place.
+	 *
+	 * @param key        - Key of the generation
+	 * @param eventModel - The generated EventModel
+	 */
+	public void storeModel(String key, EventModel eventModel) {
+		Path modelPath = outputRoot.resolve(MODEL_FILE_NAME);
+		Path tempPath = null;
+		try {
+			Files.createDirectories(outputRoot);
+			tempPath = Files.createTempFile(outputRoot, MODEL_FILE_NAME, ".tmp");
+			try (DataOutputStream outputStream = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+				byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+				outputStream.writeShort(keyBytes.length);
+				outputStream.write(keyBytes);
+				EventModelSnapshot.write(eventModel, outputStream);
+			}
+			try {
+				Files.move(tempPath, modelPath, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempPath, modelPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			log.warning("Could not store generated EventModel '" + modelPath + "': " + e);
+			deleteModel();
+			if (tempPath != null) {
+				try {
+					Files.deleteIfExists(tempPath);
+				} catch (IOException ignored) {
+					// the temporary file is only garbage in the output root
+				}
+			}
+		}
+	}
+
+	/**
+	 * Deletes the EventModel generated last, e.g. since only a slice of it was
+	 * generated, so the next generation renders every class again.
+	 */
+	public void deleteModel() {
+		try {
+			Files.deleteIfExists(outputRoot.resolve(MODEL_FILE_NAME));
+		} catch (IOException e) {
+			log.warning("Could not delete generated EventModel: " + e);
+		}
+	}
+
+	/**
+	 * @param path - Path of a file or directory
+	 * @return String - The path relative to the output root with '/' as
+	 *         separator; or null if it is not inside the output root
+	 */
+	private String relativize(String path) {
+		Path absolutePath = Paths.get(path).toAbsolutePath().normalize();
+		if (!absolutePath.startsWith(outputRoot)) {
+			return null;
+		}
+		return outputRoot.relativize(absolutePath).toString().replace("\\", "/");
+	}
+
+	public int getRecordedFiles() {
+		return recordedEntries.size();
+	}
+
+	public int getGeneratedFiles() {
+		return generatedEntries.size();
+	}
+
+	public int getPrunedFiles() {
+		return prunedFiles.size();
+	}
+
+	@Override
+	public String toString() {
+		return "GenerationManifest [outputRoot=" + outputRoot + ", recorded=" + recordedEntries.size()
+				+ ", generated=" + generatedEntries.size() + ", pruned=" + prunedFiles.size() + "]";
+	}
+
+}
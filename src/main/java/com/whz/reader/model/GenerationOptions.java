@@ -0,0 +1,65 @@
+package com.whz.reader.model;
+
+/**
+ * The options of a single code generation as selected by the user, either in
+ * the GUI or on the command line. The options are immutable, so the same
+ * options can be used by several GenerationSessions at the same time.
+ *
+ * @author Timon Schwalbe
+ */
+public class GenerationOptions {
+
+	private final int projectOption;
+	private final String projectPath;
+	private final int namespaceOption;
+	private final String declaredNamespace;
+
+	/**
+	 * @param projectOption     - The project creation option (0 = new | 1 =
+	 *                          existing project)
+	 * @param projectPath       - The path of the new project or the source folder
+	 *                          of the existing project
+	 * @param namespaceOption   - The namespace option (0 = separate | 1 = schema |
+	 *                          2 = default namespace)
+	 * @param declaredNamespace - The separate namespace declared by the user
+	 *                          depending on the selected namespace option
+	 */
+	public GenerationOptions(int projectOption, String projectPath, int namespaceOption, String declaredNamespace) {
+		this.projectOption = projectOption;
+		this.projectPath = projectPath;
+		this.namespaceOption = namespaceOption;
+		this.declaredNamespace = declaredNamespace;
+	}
+
+	public int getProjectOption() {
+		return projectOption;
+	}
+
+	public String getProjectPath() {
+		return projectPath;
+	}
+
+	public int getNamespaceOption() {
+		return namespaceOption;
+	}
+
+	public String getDeclaredNamespace() {
+		return declaredNamespace;
+	}
+
+	/**
+	 * @param projectPath - The path of the new project
+	 * @return GenerationOptions - Copy of these options generating into the given
+	 *         path
+	 */
+	public GenerationOptions withProjectPath(String projectPath) {
+		return new GenerationOptions(projectOption, projectPath, namespaceOption, declaredNamespace);
+	}
+
+	@Override
+	public String toString() {
+		return "GenerationOptions [projectOption=" + projectOption + ", projectPath=" + projectPath
+				+ ", namespaceOption=" + namespaceOption + ", declaredNamespace=" + declaredNamespace + "]";
+	}
+
+}
@@ -0,0 +1,529 @@
+package com.whz.reader.model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Two-stage pipeline generating the Java classes of the oNote Event Model. The
+ * render stage builds the source of each class in memory on a pool of render
+ * threads. The rendered sources are handed over through a bounded queue to the
+ * I/O stage, whose threads drain the queue and write the files through the
+ * OutputSink of the pipeline. This way a slow disk or a network-mounted
+ * workspace only stalls the rendering once the queue is full.
+ *
+ * Classes may be submitted more than once, e.g. by Bounded Contexts sharing the
+ * same namespace. Every submission is numbered in the order it was submitted and a file
+ * is never overwritten by an older submission, so the last submission of a file
+ * wins just like writing the classes one after another would.
+ *
+ * If the pipeline is given the GenerationManifest of the output root, the
+ * render threads hash every rendered source and the I/O threads skip the files
+ * whose content did not change since the last generation. Every file, written
+ * or not, is recorded in the manifest.
+ *
+ * The I/O threads only start writing a file, an OutputSink like the
+ * AsyncFileSystemOutputSink may keep writing many files at the same time. A
+ * file is recorded in the manifest once it is written.
+ *
+ * Unless a number of render threads is given, every pipeline renders on a
+ * render pool shared by all pipelines of the process, so generating several
+ * JSON files at the same time does not multiply the render threads. Only the
+ * I/O threads, which wait for the queue of their pipeline, belong to a single
+ * pipeline.
+ *
+ * Once closed, the pipeline waits for every class to be written and logs the
+ * queue depth, the stall times and the throughput of both stages as well as
+ * the number of unchanged files. Classes cannot be submitted anymore once the
+ * pipeline is being closed.
+ *
+ * @author Timon Schwalbe
+ */
+public class GenerationPipeline implements AutoCloseable {
+
+	private static final Logger log = Logger.getLogger(GenerationPipeline.class.getName());
+
+	public static final int DEFAULT_WRITE_THREADS = 2;
+	public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+	private static final SequencedSource END_OF_QUEUE = new SequencedSource(-1, null, null);
+
+	private static final long HAND_OVER_TIMEOUT_MILLIS = 100;
+
+	private static final ExecutorService SHARED_RENDER_POOL = Executors
+			.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), namedThreadFactory("render"));
+
+	private final Executor renderExecutor;
+	private final ExecutorService ownRenderPool;
+	private final ExecutorService writePool;
+	private final BlockingQueue<SequencedSource> queue;
+	private final int writeThreads;
+	private final GenerationManifest manifest;
+	private final OutputSink outputSink;
+
+	private final AtomicLong sequence = new AtomicLong();
+	private final ConcurrentHashMap<String, FileSlot> fileSlots = new ConcurrentHashMap<>();
+	private final Phaser pendingWrites = new Phaser(1);
+	// a Phaser would limit the classes waiting for a render thread to 65535
+	private final Object renderLock = new Object();
+	private int pendingRenders;
+	private boolean isClosed;
+	private volatile boolean isAborted;
+	private final long startTime = System.nanoTime();
+	private long elapsedNanos;
+
+	// statistics
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+	private final LongAdder renderedFiles = new LongAdder();
+	private final LongAdder renderedChars = new LongAdder();
+	private final LongAdder renderNanos = new LongAdder();
+	private final LongAdder renderStallNanos = new LongAdder();
+	private final LongAdder failedRenders = new LongAdder();
+	private final LongAdder writtenFiles = new LongAdder();
+	private final LongAdder writtenChars = new LongAdder();
+	private final LongAdder writeNanos = new LongAdder();
+	private final LongAdder writeStallNanos = new LongAdder();
+	private final LongAdder failedWrites = new LongAdder();
+	private final LongAdder supersededFiles = new LongAdder();
+	private final LongAdder rewrittenFiles = new LongAdder();
+	private final LongAdder unchangedFiles = new LongAdder();
+
+	/**
+	 * Rendered source numbered in the order it was submitted, together with the
+	 * hash of its content if the pipeline has a manifest.
+	 */
+	private static class SequencedSource {
+
+		private final long sequence;
+		private final GeneratedSource source;
+		private final String hash;
+
+		private SequencedSource(long sequence, GeneratedSource source, String hash) {
+			this.sequence = sequence;
+			this.source = source;
+			this.hash = hash;
+		}
+
+	}
+
+	/**
+	 * Number of the submission of a file that was handled last. An I/O thread
+	 * holds the lock of the slot while it hands the file over to the OutputSink,
+	 * so only submissions of the same file wait for each other.
+	 */
+	private static class FileSlot {
+
+		private long sequence;
+
+	}
+
+	/**
+	 * Creates a pipeline rendering on the shared render pool, which has one thread
+	 * per available processor, with DEFAULT_WRITE_THREADS I/O threads and a queue
+	 * holding up to DEFAULT_QUEUE_CAPACITY rendered sources.
+	 */
+	public GenerationPipeline() {
+		this(null);
+	}
+
+	/**
+	 * Creates a pipeline like GenerationPipeline() that only writes the files
+	 * that changed according to the given manifest.
+	 *
+	 * @param manifest - Manifest of the output root; or null to write every file
+	 */
+	public GenerationPipeline(GenerationManifest manifest) {
+		this(manifest, new FileSystemOutputSink());
+	}
+
+	/**
+	 * Creates a pipeline like GenerationPipeline(GenerationManifest) that writes
+	 * the files through the given OutputSink.
+	 *
+	 * @param manifest   - Manifest of the output root; or null to write every file
+	 * @param outputSink - OutputSink the files are written to; it is not closed by
+	 *                   the pipeline
+	 */
+	public GenerationPipeline(GenerationManifest manifest, OutputSink outputSink) {
+		this(SHARED_RENDER_POOL, null, DEFAULT_WRITE_THREADS, DEFAULT_QUEUE_CAPACITY, manifest, outputSink);
+	}
+
+	/**
+	 * Creates a pipeline with its own pool of render threads.
+	 *
+	 * @param renderThreads - Number of threads rendering the sources
+	 * @param writeThreads  - Number of threads writing the files
+	 * @param queueCapacity - Maximum number of rendered sources waiting to be
+	 *                      written
+	 */
+	public GenerationPipeline(int renderThreads, int writeThreads, int queueCapacity) {
+		this(renderThreads, writeThreads, queueCapacity, null);
+	}
+
+	/**
+	 * @param renderThreads - Number of threads rendering the sources
+	 * @param writeThreads  - Number of threads writing the files
+	 * @param queueCapacity - Maximum number of rendered sources waiting to be
+	 *                      written
+	 * @param manifest      - Manifest of the output root; or null to write every
+	 *                      file
+	 */
+	public GenerationPipeline(int renderThreads, int writeThreads, int queueCapacity, GenerationManifest manifest) {
+		this(renderThreads, writeThreads, queueCapacity, manifest, new FileSystemOutputSink());
+	}
+
+	/**
+	 * @param renderThreads - Number of threads rendering the sources
+	 * @param writeThreads  - Number of threads writing the files
+	 * @param queueCapacity - Maximum number of rendered sources waiting to be
+	 *                      written
+	 * @param manifest      - Manifest of the output root; or null to write every
+	 *                      file
+	 * @param outputSink    - OutputSink the files are written to; it is not
+	 *                      closed by the pipeline
+	 */
+	public GenerationPipeline(int renderThreads, int writeThreads, int queueCapacity, GenerationManifest manifest,
+			OutputSink outputSink) {
+		this(null, Executors.newFixedThreadPool(renderThreads, namedThreadFactory("render")), writeThreads,
+				queueCapacity, manifest, outputSink);
+	}
+
+	/**
+	 * @param sharedRenderPool - Pool rendering the sources that is shared with
+	 *                         other pipelines; or null to render on the own pool
+	 * @param ownRenderPool    - Pool rendering the sources that is shut down with
+	 *                         the pipeline; or null to render on the shared pool
+	 */
+	private GenerationPipeline(Executor sharedRenderPool, ExecutorService ownRenderPool, int writeThreads,
+			int queueCapacity, GenerationManifest manifest, OutputSink outputSink) {
+		this.renderExecutor = ownRenderPool != null ? ownRenderPool : sharedRenderPool;
+		this.ownRenderPool = ownRenderPool;
+		this.writePool = Executors.newFixedThreadPool(writeThreads, namedThreadFactory("write"));
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.writeThreads = writeThreads;
+		this.manifest = manifest;
+		this.outputSink = outputSink;
+
+		for (int i = 0; i < writeThreads; i++) {
+			writePool.execute(this::drainQueue);
+		}
+	}
+
+	/**
+	 * Submits a Java class to be rendered and written. The order of the
+	 * submissions is determined by the calling thread.
+	 *
+	 * @param renderer - Renders the source of the Java class, e.g. one of the
+	 *                 render methods of the JavaFileWriter
+	 * @throws IllegalStateException - If the pipeline is being closed
+	 */
+	public void submit(Supplier<GeneratedSource> renderer) {
+		synchronized (renderLock) {
+			if (isClosed) {
+				throw new IllegalStateException("The pipeline is closed");
+			}
+			pendingRenders++;
+		}
+		long sourceSequence = sequence.incrementAndGet();
+
+		try {
+			renderExecutor.execute(() -> {
+				try {
+					render(renderer, sourceSequence);
+				} finally {
+					finishRender();
+				}
+			});
+		} catch (RuntimeException e) {
+			finishRender();
+			throw e;
+		}
+	}
+
+	private void finishRender() {
+		synchronized (renderLock) {
+			if (--pendingRenders == 0) {
+				renderLock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Renders a class and hands it over to the I/O threads. Nothing is rendered
+	 * anymore once closing the pipeline was interrupted.
+	 */
+	private void render(Supplier<GeneratedSource> renderer, long sourceSequence) {
+		if (isAborted) {
+			return;
+		}
+		GeneratedSource source;
+		long renderStart = System.nanoTime();
+		try {
+			source = renderer.get();
+		} catch (RuntimeException e) {
+			failedRenders.increment();
+			log.log(Level.WARNING, "Could not render class", e);
+			return;
+		}
+		String hash = manifest != null ? GenerationManifest.hash(source.getContent()) : null;
+		renderNanos.add(System.nanoTime() - renderStart);
+		renderedFiles.increment();
+		renderedChars.add(source.getContent().length());
+
+		long stallStart = System.nanoTime();
+		SequencedSource sequencedSource = new SequencedSource(sourceSequence, source, hash);
+		try {
+			// a thread of the shared pool must not wait forever for I/O threads that were stopped
+			while (!queue.offer(sequencedSource, HAND_OVER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (isAborted) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warning("Interrupted while handing over '" + source.getFilePath() + "'");
+			return;
+		}
+		renderStallNanos.add(System.nanoTime() - stallStart);
+		maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+	}
+
+	/**
+	 * Takes the rendered sources off the queue and writes them until the end of
+	 * the queue is reached. A source is only written if no later submission of
+	 * the same file has been written yet and its content changed.
+	 */
+	private void drainQueue() {
+		while (true) {
+			SequencedSource sequencedSource;
+			long stallStart = System.nanoTime();
+			try {
+				sequencedSource = queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				log.warning("Interrupted while waiting for rendered classes");
+				return;
+			}
+			writeStallNanos.add(System.nanoTime() - stallStart);
+
+			if (sequencedSource == END_OF_QUEUE) {
+				return;
+			}
+
+			GeneratedSource source = sequencedSource.source;
+			FileSlot fileSlot = fileSlots.computeIfAbsent(source.getFilePath(), filePath -> new FileSlot());
+			synchronized (fileSlot) {
+				if (fileSlot.sequence > sequencedSource.sequence) {
+					supersededFiles.increment();
+					continue;
+				}
+				boolean isRewrite = fileSlot.sequence != 0;
+				fileSlot.sequence = sequencedSource.sequence;
+
+				long writeStart = System.nanoTime();
+				if (manifest != null && manifest.isUnchanged(source, sequencedSource.hash)) {
+					unchangedFiles.increment();
+					writeNanos.add(System.nanoTime() - writeStart);
+				} else {
+					writeSource(sequencedSource, isRewrite, writeStart);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Starts writing a rendered source into its file through the OutputSink and
+	 * records the file in the manifest once it is written. The OutputSink may
+	 * still be writing the file when this method returns.
+	 *
+	 * @param sequencedSource - The rendered source of a Java class
+	 * @param isRewrite       - Whether an earlier submission of the file has
+	 *                        already been written
+	 * @param writeStart      - Time the I/O thread started handling the source
+	 */
+	private void writeSource(SequencedSource sequencedSource, boolean isRewrite, long writeStart) {
+		GeneratedSource source = sequencedSource.source;
+		pendingWrites.register();
+		CompletableFuture<Void> write;
+		try {
+			write = outputSink.writeAsync(source.getFilePath(), source.getContent());
+		} catch (RuntimeException e) {
+			write = CompletableFuture.failedFuture(e);
+		}
+		write.whenComplete((result, e) -> {
+			if (e == null) {
+				if (isRewrite) {
+					rewrittenFiles.increment();
+				}
+				writtenFiles.increment();
+				writtenChars.add(source.getContent().length());
+			} else {
+				Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+				failedWrites.increment();
+				log.warning("Could not write file: " + cause);
+				cause.printStackTrace();
+			}
+			if (manifest != null) {
+				manifest.record(source, sequencedSource.hash, e == null);
+			}
+			writeNanos.add(System.nanoTime() - writeStart);
+			pendingWrites.arriveAndDeregister();
+		});
+	}
+
+	/**
+	 * Refuses any further class, waits until every submitted class has been
+	 * rendered and written, shuts down the own thread pools and logs the
+	 * statistics of the pipeline. If interrupted, the classes not rendered yet are
+	 * dropped.
+	 */
+	@Override
+	public void close() {
+		try {
+			synchronized (renderLock) {
+				isClosed = true;
+				while (pendingRenders > 0) {
+					renderLock.wait();
+				}
+			}
+			if (ownRenderPool != null) {
+				ownRenderPool.shutdown();
+			}
+
+			for (int i = 0; i < writeThreads; i++) {
+				queue.put(END_OF_QUEUE);
+			}
+			writePool.shutdown();
+			writePool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			pendingWrites.awaitAdvanceInterruptibly(pendingWrites.arrive());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warning("Interrupted while finishing code generation");
+			isAborted = true;
+			if (ownRenderPool != null) {
+				ownRenderPool.shutdownNow();
+			}
+			writePool.shutdownNow();
+		}
+		elapsedNanos = System.nanoTime() - startTime;
+		log.info(toString());
+	}
+
+	/**
+	 * @return GenerationManifest - Manifest the written files are recorded in; or
+	 *         null if every file is written
+	 */
+	public GenerationManifest getManifest() {
+		return manifest;
+	}
+
+	/**
+	 * @return OutputSink - OutputSink the files are written to
+	 */
+	public OutputSink getOutputSink() {
+		return outputSink;
+	}
+
+	public int getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	public long getRenderedFiles() {
+		return renderedFiles.sum();
+	}
+
+	public long getWrittenFiles() {
+		return writtenFiles.sum();
+	}
+
+	/**
+	 * @return long - Number of files that were not written since a later
+	 *         submission of the same file had already been written
+	 */
+	public long getSupersededFiles() {
+		return supersededFiles.sum();
+	}
+
+	/**
+	 * @return long - Number of files that were written more than once
+	 */
+	public long getRewrittenFiles() {
+		return rewrittenFiles.sum();
+	}
+
+	/**
+	 * @return long - Number of files that were not written since their content
+	 *         did not change according to the manifest
+	 */
+	public long getUnchangedFiles() {
+		return unchangedFiles.sum();
+	}
+
+	public long getFailedFiles() {
+		return failedRenders.sum() + failedWrites.sum();
+	}
+
+	/**
+	 * @return long - Time in milliseconds the render threads were blocked because
+	 *         the queue was full
+	 */
+	public long getRenderStallMillis() {
+		return renderStallNanos.sum() / 1_000_000;
+	}
+
+	/**
+	 * @return long - Time in milliseconds the I/O threads were idle because the
+	 *         queue was empty
+	 */
+	public long getWriteStallMillis() {
+		return writeStallNanos.sum() / 1_000_000;
+	}
+
+	@Override
+	public String toString() {
+		return "GenerationPipeline [elapsed=" + elapsedNanos / 1_000_000 + " ms, render: "
+				+ describeStage(renderedFiles.sum(), renderedChars.sum(), renderNanos.sum()) + ", stalled "
+				+ getRenderStallMillis() + " ms, write: "
+				+ describeStage(writtenFiles.sum(), writtenChars.sum(), writeNanos.sum()) + ", stalled "
+				+ getWriteStallMillis() + " ms, unchanged=" + getUnchangedFiles() + ", rewritten=" + getRewrittenFiles()
+				+ ", superseded=" + getSupersededFiles() + ", failed=" + getFailedFiles() + ", maxQueueDepth="
+				+ getMaxQueueDepth() + "/" + (queue.size() + queue.remainingCapacity()) + "]";
+	}
+
+	/**
+	 * @param files - Number of files processed by the stage
+	 * @param chars - Number of characters processed by the stage
+	 * @param nanos - Time all threads of the stage were busy
+	 * @return String - Throughput of the stage in files and characters per
+	 *         second of busy time
+	 */
+	private static String describeStage(long files, long chars, long nanos) {
+		double seconds = Math.max(nanos, 1) / 1_000_000_000.0;
+		return String.format("%d files, %d chars in %d ms (%.0f files/s, %.1f M chars/s)", files, chars,
+				nanos / 1_000_000, files / seconds, chars / seconds / 1_000_000);
+	}
+
+	private static ThreadFactory namedThreadFactory(String stage) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "generation-" + stage + "-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+}
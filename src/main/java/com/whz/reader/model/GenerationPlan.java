@@ -0,0 +1,206 @@
+package com.whz.reader.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.whz.reader.dto.DataType;
+
+/**
+ * Plan of all Java classes generated for a single Bounded Context. The
+ * ProjectGenerator first walks all notes of the Bounded Context and adds every
+ * Command, Event, Read Model, Entity and Enum class to the plan. Only once the
+ * plan is complete the classes are rendered and written, each class exactly
+ * once.
+ *
+ * A Schema that is used by several notes is planned several times. Since all
+ * of these classes are written into the same file, only the last planned class
+ * of each file is kept, which is the class that would have ended up in the file
+ * if every class was written right away. The discarded classes are counted as
+ * redundant.
+ *
+ * @author Timon Schwalbe
+ */
+public class GenerationPlan {
+
+	private final String name;
+	private final Map<String, PlannedClass> plannedClasses = new LinkedHashMap<>();
+	private int redundantClasses;
+
+	public enum ClassType {
+		COMMAND_OR_EVENT, ENTITY, ENUM
+	}
+
+	/**
+	 * A single Java class that is going to be rendered and written.
+	 */
+	public static class PlannedClass {
+
+		private final ClassType classType;
+		private final String projectSourcePath;
+		private final String namespace;
+		private final DataType dataType;
+		private final String className;
+		private final String description;
+		private final String filePath;
+		private final UUID sourceId;
+
+		public PlannedClass(ClassType classType, String projectSourcePath, String namespace, DataType dataType,
+				String className, String description) {
+			this(classType, projectSourcePath, namespace, dataType, className, description, null);
+		}
+
+		/**
+		 * @param classType         - Kind of the class
+		 * @param projectSourcePath - Path of the project source folder
+		 * @param namespace         - Namespace of the class
+		 * @param dataType          - The DataType of the class; may be null
+		 * @param className         - The declared class name; may be null
+		 * @param description       - The description of the class; may be null
+		 * @param sourceId          - Id of the note or schema the class is
+		 *                          generated from; may be null
+		 */
+		public PlannedClass(ClassType classType, String projectSourcePath, String namespace, DataType dataType,
+				String className, String description, UUID sourceId) {
+			this.classType = classType;
+			this.projectSourcePath = projectSourcePath;
+			this.namespace = namespace;
+			this.dataType = dataType;
+			this.className = className;
+			this.description = description;
+			this.filePath = JavaFileWriter.getFilePath(projectSourcePath, namespace,
+					JavaFileWriter.getClassName(dataType, className));
+			this.sourceId = sourceId;
+		}
+
+		public ClassType getClassType() {
+			return classType;
+		}
+
+		public String getNamespace() {
+			return namespace;
+		}
+
+		public DataType getDataType() {
+			return dataType;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+
+		public String getFilePath() {
+			return filePath;
+		}
+
+		public UUID getSourceId() {
+			return sourceId;
+		}
+
+		/**
+		 * The file path is left out of the key, since the GenerationManifest records
+		 * the key under the path of the file relative to the output root. Moving the
+		 * output root or giving it as relative or absolute path keeps the key.
+		 *
+		 * @return String - Hash of everything the class is rendered from apart from
+		 *         its DataType, whose changes are found by the ModelDiff, and its
+		 *         file path
+		 */
+		public String getPlanKey() {
+			return GenerationManifest.hash(String.join("\n", classType.name(), namespace, String.valueOf(className),
+					String.valueOf(description), String.valueOf(sourceId)));
+		}
+
+		/**
+		 * Renders the source of the planned class through the JavaFileWriter.
+		 *
+		 * @param analyzer - Analyzer examining the DataTypes of the fields
+		 * @return GeneratedSource - The rendered source together with its file path
+		 *         and source id
+		 */
+		public GeneratedSource render(DataTypeAnalyzer analyzer) {
+			GeneratedSource source;
+			switch (classType) {
+			case COMMAND_OR_EVENT:
+				source = JavaFileWriter.renderCommandOrEvent(projectSourcePath, namespace, dataType, className,
+						description, analyzer);
+				break;
+			case ENUM:
+				source = JavaFileWriter.renderEnum(projectSourcePath, namespace, dataType, description);
+				break;
+			default:
+				source = JavaFileWriter.renderEntity(projectSourcePath, namespace, dataType, className,
+						description, analyzer);
+				break;
+			}
+			return new GeneratedSource(source.getFilePath(), source.getContent(), sourceId);
+		}
+
+		@Override
+		public String toString() {
+			return "PlannedClass [classType=" + classType + ", filePath=" + filePath + "]";
+		}
+
+	}
+
+	/**
+	 * @param name - Name of the Bounded Context
+	 */
+	public GenerationPlan(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Adds a class to the plan. If a class has already been planned for the same
+	 * file, it is replaced by the given class and counted as redundant.
+	 *
+	 * @param plannedClass - The class to be generated
+	 */
+	public void add(PlannedClass plannedClass) {
+		if (plannedClasses.put(plannedClass.getFilePath(), plannedClass) != null) {
+			redundantClasses++;
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return Collection<PlannedClass> - Every class of the plan, one per file, in
+	 *         the order the files were first planned
+	 */
+	public Collection<PlannedClass> getPlannedClasses() {
+		return Collections.unmodifiableCollection(plannedClasses.values());
+	}
+
+	/**
+	 * @param filePath - Path of a generated file
+	 * @return PlannedClass - The class written into the file; or null if no class
+	 *         is planned for the file
+	 */
+	public PlannedClass get(String filePath) {
+		return plannedClasses.get(filePath);
+	}
+
+	public int size() {
+		return plannedClasses.size();
+	}
+
+	/**
+	 * @return int - Number of planned classes that were replaced by a later class
+	 *         of the same file and therefore will not be rendered and written
+	 */
+	public int getRedundantClasses() {
+		return redundantClasses;
+	}
+
+	@Override
+	public String toString() {
+		return "GenerationPlan [name=" + name + ", classes=" + plannedClasses.size() + ", redundantClasses="
+				+ redundantClasses + "]";
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.whz.reader.model;
+
+import com.whz.reader.dto.EventModel;
+
+/**
+ * A GenerationSession holds everything a single code generation needs to know
+ * about the parsed JSON file: the ModelStore answering the lookups into the
+ * EventModel and the symbol table of its Schemas. Every parsed JSON file gets
+ * its own session, so several files can be generated at the same time without
+ * sharing any state.
+ *
+ * The indexes and the symbol table are built once when the session is created.
+ * From then on the EventModel is only read, never changed, which is why a
+ * session may be used by several threads without any locks, e.g. by the
+ * Bounded Contexts generated in parallel. A session of a MappedModelStore
+ * resolves its Schemas lazily through a concurrent symbol table instead.
+ *
+ * @author Timon Schwalbe
+ */
+public class GenerationSession {
+
+	private final EventModel eventModel;
+	private final ModelStore modelStore;
+	private final SchemaSymbolTable schemaSymbolTable;
+	private final ModelSlice modelSlice;
+
+	/**
+	 * @param eventModel - The parsed EventModel; it must not be changed anymore
+	 *                   once the session is created
+	 */
+	public GenerationSession(EventModel eventModel) {
+		this(eventModel, null);
+	}
+
+	/**
+	 * @param eventModel - The parsed EventModel; it must not be changed anymore
+	 *                   once the session is created
+	 * @param modelSlice - The slice the EventModel was parsed from; or null if
+	 *                   the whole EventModel was parsed
+	 */
+	public GenerationSession(EventModel eventModel, ModelSlice modelSlice) {
+		eventModel.buildIndexes();
+		this.eventModel = eventModel;
+		this.modelStore = new EventModelStore(eventModel);
+		this.schemaSymbolTable = new SchemaSymbolTable(eventModel);
+		this.modelSlice = modelSlice;
+	}
+
+	/**
+	 * Creates a session reading the EventModel from the given store only, e.g.
+	 * from a MappedModelStore. Schemas are loaded when they are first used.
+	 *
+	 * @param modelStore - The store of the parsed EventModel
+	 */
+	public GenerationSession(ModelStore modelStore) {
+		this.eventModel = null;
+		this.modelStore = modelStore;
+		this.schemaSymbolTable = new SchemaSymbolTable(modelStore::getSchema);
+		this.modelSlice = null;
+	}
+
+	/**
+	 * @return EventModel - The parsed EventModel; or null if the session reads
+	 *         the EventModel from a ModelStore only
+	 */
+	public EventModel getEventModel() {
+		return eventModel;
+	}
+
+	public ModelStore getModelStore() {
+		return modelStore;
+	}
+
+	public SchemaSymbolTable getSchemaSymbolTable() {
+		return schemaSymbolTable;
+	}
+
+	/**
+	 * @return ModelSlice - The slice of the selected Streams; or null if the
+	 *         session contains the whole EventModel
+	 */
+	public ModelSlice getModelSlice() {
+		return modelSlice;
+	}
+
+	@Override
+	public String toString() {
+		return "GenerationSession [modelStore=" + modelStore + ", schemas=" + schemaSymbolTable.size() + "]";
+	}
+
+}
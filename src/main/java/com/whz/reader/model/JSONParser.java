@@ -1,28 +1,40 @@
 package com.whz.reader.model;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
 import com.whz.reader.dto.Audience;
 import com.whz.reader.dto.Command;
 import com.whz.reader.dto.DataType;
 import com.whz.reader.dto.DataType.SchemaType;
 import com.whz.reader.dto.Element;
-import com.whz.reader.dto.Element.ElementType;
 import com.whz.reader.dto.Event;
 import com.whz.reader.dto.EventModel;
 import com.whz.reader.dto.Flow;
@@ -35,7 +47,6 @@ import com.whz.reader.dto.ReadModel;
 import com.whz.reader.dto.Schema;
 import com.whz.reader.dto.Stream;
 import com.whz.reader.util.I18N;
-import com.whz.reader.view.ReaderGUI;
 
 /**
  * The JSONParser class is used to parse the given JSON file of an oNote project
@@ -49,8 +60,45 @@ public class JSONParser {
 	private static final Logger log = Logger.getLogger(JSONParser.class.getName());
 
 	private static final String JSON_VERSION = "0.1.0-beta";
+	// has to be increased whenever the parsed DTOs change, invalidates all snapshots
+	static final String PARSER_VERSION = JSON_VERSION + "/1";
 
-	public static EventModel eventModel;
+	/**
+	 * The available strategies to read the JSON file. 'DOM' builds the complete
+	 * Gson tree (JsonObject) before it is traversed, while 'STREAMING' reads the
+	 * file token by token and fills the DTOs directly without any intermediate
+	 * JsonElement graph, which roughly halves the peak heap on large models.
+	 * 'PARALLEL' builds the Gson tree as well but parses its sections on a
+	 * ForkJoinPool.
+	 */
+	public enum ParseMode {
+		DOM, STREAMING, PARALLEL
+	}
+
+	/**
+	 * Parses the JSON file into usable Java DTOs using the default parse mode
+	 * ('DOM').
+	 * 
+	 * @param jsonFileName - File name/path of the JSON file
+	 * @return GenerationSession - Session of the parsed EventModel; or null if
+	 *         could not find or read file
+	 */
+	public static GenerationSession parse(String jsonFileName) {
+		return parse(jsonFileName, ParseMode.DOM);
+	}
+
+	/**
+	 * Parses the JSON file into usable Java DTOs using the given parse mode. Any
+	 * problem is only logged.
+	 * 
+	 * @param jsonFileName - File name/path of the JSON file
+	 * @param parseMode    - The strategy used to read the JSON file
+	 * @return GenerationSession - Session of the parsed EventModel; or null if
+	 *         could not find or read file
+	 */
+	public static GenerationSession parse(String jsonFileName, ParseMode parseMode) {
+		return parse(jsonFileName, parseMode, new LoggingGenerationListener());
+	}
 
 	/**
 	 * Parses the JSON file into usable Java DTOs using Gson. Before actually
@@ -64,49 +112,232 @@ public class JSONParser {
 	 * compatible and may only have minor changes, bug fixes or handy additions
 	 * added to them instead of severely changing the underlying structure.
 	 * 
-	 * @param fileName - File name/path of the JSON file
-	 * @return boolean - true if could find and read file; false if could not find
-	 *         or read file
+	 * The wall time and the heap in use after parsing are logged so that both
+	 * parse modes can be compared on large models.
+	 * 
+	 * The parsed EventModel is returned in a new GenerationSession instead of
+	 * being kept by the JSONParser, so several JSON files can be parsed and
+	 * generated at the same time.
+	 * 
+	 * @param jsonFileName - File name/path of the JSON file
+	 * @param parseMode    - The strategy used to read the JSON file
+	 * @param listener     - Listener that is told if the file could not be read
+	 * @return GenerationSession - Session of the parsed EventModel; or null if
+	 *         could not find or read file
 	 */
-	public static boolean parseJson(String jsonFileName) {
-		try (JsonReader jsonReader = new JsonReader(new FileReader(jsonFileName))) {
-			JsonElement jsonRootElement = JsonParser.parseReader(jsonReader);
-
-			if (jsonRootElement.isJsonObject()) {
-				JsonObject jsonObject = jsonRootElement.getAsJsonObject();
-				String currentVersion = jsonObject.get("spec-version").getAsString();
-				if (!currentVersion.equals(JSON_VERSION)) {
-					log.severe("Different JSON version! Expected: '" + JSON_VERSION + "' but was: '" + currentVersion
-							+ "' Parser might not work properly");
-				}
+	public static GenerationSession parse(String jsonFileName, ParseMode parseMode, GenerationListener listener) {
+		return parse(jsonFileName, parseMode, null, listener);
+	}
+
+	/**
+	 * Parses the JSON file like parse(String, ParseMode, GenerationListener) but
+	 * looks up the snapshot of the JSON file in the given cache first. If the
+	 * exact same bytes have been parsed before, the EventModel is loaded from its
+	 * snapshot without Gson. Otherwise the JSON file is parsed and its snapshot
+	 * is stored for the next time.
+	 * 
+	 * @param jsonFileName  - File name/path of the JSON file
+	 * @param parseMode     - The strategy used to read the JSON file
+	 * @param snapshotCache - Cache of the parsed EventModels; or null to always
+	 *                      parse the JSON file
+	 * @param listener      - Listener that is told if the file could not be read
+	 * @return GenerationSession - Session of the parsed EventModel; or null if
+	 *         could not find or read file
+	 */
+	public static GenerationSession parse(String jsonFileName, ParseMode parseMode, SnapshotCache snapshotCache,
+			GenerationListener listener) {
+		return parse(jsonFileName, parseMode, snapshotCache, null, listener);
+	}
+
+	/**
+	 * Parses only the given Streams of the JSON file and everything their Bounded
+	 * Contexts are generated from, so time and memory depend on the size of the
+	 * selected Bounded Contexts instead of the whole JSON file. The JSON file is
+	 * read twice by the JSONStreamParser: once to resolve the ModelSlice of the
+	 * Streams and once to parse it. Generating the parsed session creates exactly
+	 * the selected Bounded Contexts.
+	 * 
+	 * Note: The 'schema' namespace option derives the namespace from the parsed
+	 * schemas only, so it might differ from the one of the whole JSON file.
+	 * 
+	 * @param jsonFileName - File name/path of the JSON file
+	 * @param streams      - Names or ids of the Streams to be parsed;
+	 *                     'DefaultStream' selects the Events without a Stream
+	 * @param listener     - Listener that is told if the file could not be read
+	 * @return GenerationSession - Session of the parsed part of the EventModel; or
+	 *         null if could not find or read file
+	 */
+	public static GenerationSession parse(String jsonFileName, Set<String> streams, GenerationListener listener) {
+		return parse(jsonFileName, ParseMode.STREAMING, null, streams, listener);
+	}
 
-				parseIntoEventModel(jsonObject);
-				log.info("Finished parsing JSON file");
-				return true;
+	private static GenerationSession parse(String jsonFileName, ParseMode parseMode, SnapshotCache snapshotCache,
+			Set<String> streams, GenerationListener listener) {
+		long startTime = System.nanoTime();
+
+		try {
+			EventModel parsedEventModel;
+			String source = parseMode.toString();
+			ModelSlice modelSlice = streams != null ? new ModelSlice(streams) : null;
+			if (modelSlice != null) {
+				parsedEventModel = parseModelSlice(jsonFileName, modelSlice);
+				source += " " + streams;
+			} else if (snapshotCache == null) {
+				try (Reader reader = new FileReader(jsonFileName)) {
+					parsedEventModel = parseEventModel(reader, parseMode);
+				}
 			} else {
-				String jsonType = "Unknown";
-				if (jsonRootElement.isJsonNull())
-					jsonType = "Null";
-				else if (jsonRootElement.isJsonPrimitive())
-					jsonType = "Primitive";
-				else if (jsonRootElement.isJsonArray())
-					jsonType = "Array";
-				log.warning("Expected file to start with Object but is: '" + jsonType + "'");
+				byte[] jsonBytes = Files.readAllBytes(Paths.get(jsonFileName));
+				String key = snapshotCache.getKey(jsonBytes);
+				parsedEventModel = snapshotCache.load(key);
+				if (parsedEventModel != null) {
+					source = "snapshot";
+				} else {
+					// decoded like the FileReader does, with the default charset
+					parsedEventModel = parseEventModel(new InputStreamReader(new ByteArrayInputStream(jsonBytes)),
+							parseMode);
+					if (parsedEventModel != null) {
+						snapshotCache.store(key, parsedEventModel);
+					}
+				}
 			}
-		} catch (FileNotFoundException e) {
+
+			if (parsedEventModel != null) {
+				GenerationSession session = new GenerationSession(parsedEventModel, modelSlice);
+
+				Runtime runtime = Runtime.getRuntime();
+				log.info("Finished parsing JSON file (" + source + ") in "
+						+ (System.nanoTime() - startTime) / 1_000_000 + " ms, heap in use: "
+						+ (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024) + " MB");
+				return session;
+			}
+		} catch (FileNotFoundException | NoSuchFileException e) {
 			log.warning("Could not find file: " + e.getMessage());
 			e.printStackTrace();
-		} catch (JsonSyntaxException e) {
+		} catch (JsonSyntaxException | MalformedJsonException e) {
 			log.warning("Not valid JSON: " + e.getMessage());
 			e.printStackTrace();
+		} catch (JsonParseException e) {
+			// e.g. an unknown type token
+			log.warning("Not a valid oNote model: " + e.getMessage());
 		} catch (IOException e) {
 			log.warning("Could not read JSON file: " + e.getMessage());
 			e.printStackTrace();
 		}
 
-		ReaderGUI.showWarningDialog(
-				I18N.resourceBundle.getString("jsonParser.couldNotReadFile") + " '" + jsonFileName + "'");
-		return false;
+		listener.onWarning(I18N.resourceBundle.getString("jsonParser.couldNotReadFile") + " '" + jsonFileName + "'");
+		return null;
+	}
+
+	/**
+	 * Reads the JSON file with the given parse mode. All UUIDs of the JSON file
+	 * are parsed through a single UUIDPool and all Strings of the parsed
+	 * EventModel are interned through a StringTable afterwards, so every UUID and
+	 * String of the EventModel is only held once.
+	 * 
+	 * @param reader    - Reader of the JSON file
+	 * @param parseMode - The strategy used to read the JSON file
+	 * @return EventModel - The parsed EventModel DTO; or null if the JSON file
+	 *         does not contain an EventModel
+	 * @throws IOException - If the JSON file could not be read
+	 */
+	private static EventModel parseEventModel(Reader reader, ParseMode parseMode) throws IOException {
+		UUIDPool uuids = new UUIDPool();
+		EventModel eventModel;
+		try (JsonReader jsonReader = new JsonReader(reader)) {
+			if (parseMode == ParseMode.STREAMING) {
+				eventModel = JSONStreamParser.parseEventModel(jsonReader, uuids);
+			} else {
+				eventModel = parseJsonTree(jsonReader, parseMode, uuids);
+			}
+		} finally {
+			log.fine("Parsed UUIDs: " + uuids);
+			if (uuids.getMismatches() > 0) {
+				log.warning(uuids.getMismatches() + " note(s) with a key differing from their id");
+			}
+		}
+
+		if (eventModel != null) {
+			StringTable strings = new StringTable();
+			strings.internAll(eventModel);
+			log.fine("Interned Strings: " + strings);
+		}
+		return eventModel;
+	}
+
+	/**
+	 * Scans the JSON file for the given slice first and parses only the slice
+	 * afterwards. The UUIDPool is shared by both passes.
+	 * 
+	 * @param jsonFileName - File name/path of the JSON file
+	 * @param slice        - The slice of the selected Streams
+	 * @return EventModel - The parsed EventModel DTO; or null if the JSON file
+	 *         does not contain an EventModel
+	 * @throws IOException - If the JSON file could not be read
+	 */
+	private static EventModel parseModelSlice(String jsonFileName, ModelSlice slice) throws IOException {
+		UUIDPool uuids = new UUIDPool();
+		try (JsonReader jsonReader = new JsonReader(new FileReader(jsonFileName))) {
+			JSONStreamParser.scanEventModel(jsonReader, slice, uuids);
+		}
+		slice.resolve();
+		log.info("Resolved " + slice);
+
+		EventModel eventModel;
+		try (JsonReader jsonReader = new JsonReader(new FileReader(jsonFileName))) {
+			eventModel = JSONStreamParser.parseEventModel(jsonReader, uuids, slice);
+		}
+		if (uuids.getMismatches() > 0) {
+			log.warning(uuids.getMismatches() + " note(s) with a key differing from their id");
+		}
+		if (eventModel != null) {
+			new StringTable().internAll(eventModel);
+		}
+		return eventModel;
+	}
+
+	/**
+	 * Reads the whole JSON file into a Gson tree and parses the root JSON Object
+	 * into the EventModel DTO.
+	 * 
+	 * @param jsonReader - JsonReader positioned at the start of the JSON file
+	 * @param parseMode  - The strategy used to traverse the Gson tree
+	 * @param uuids      - Pool of the UUIDs of the JSON file
+	 * @return EventModel - The parsed EventModel DTO; or null if the root element
+	 *         is not a JSON Object
+	 */
+	private static EventModel parseJsonTree(JsonReader jsonReader, ParseMode parseMode, UUIDPool uuids) {
+		JsonElement jsonRootElement = JsonParser.parseReader(jsonReader);
+
+		if (jsonRootElement.isJsonObject()) {
+			JsonObject jsonObject = jsonRootElement.getAsJsonObject();
+			checkVersion(jsonObject.get("spec-version").getAsString());
+
+			return parseIntoEventModel(jsonObject, parseMode, uuids);
+		} else {
+			String jsonType = "Unknown";
+			if (jsonRootElement.isJsonNull())
+				jsonType = "Null";
+			else if (jsonRootElement.isJsonPrimitive())
+				jsonType = "Primitive";
+			else if (jsonRootElement.isJsonArray())
+				jsonType = "Array";
+			log.warning("Expected file to start with Object but is: '" + jsonType + "'");
+			return null;
+		}
+	}
+
+	/**
+	 * Compares the 'spec-version' of the JSON file with the version the parser was
+	 * written for and logs a message if they differ.
+	 * 
+	 * @param currentVersion - The 'spec-version' found in the JSON file
+	 */
+	static void checkVersion(String currentVersion) {
+		if (!JSON_VERSION.equals(currentVersion)) {
+			log.severe("Different JSON version! Expected: '" + JSON_VERSION + "' but was: '" + currentVersion
+					+ "' Parser might not work properly");
+		}
 	}
 
 	/**
@@ -114,22 +345,101 @@ public class JSONParser {
 	 * etc., traversing it and parsing it into Java DTOs
 	 * 
 	 * @param jsonObject - JsonObject to be traversed and parsed into Java DTOs
+	 * @param parseMode  - 'PARALLEL' to parse the sections on a ForkJoinPool; any
+	 *                   other mode parses them one after another
+	 * @param uuids      - Pool of the UUIDs of the JSON file
+	 * @return EventModel - The parsed EventModel DTO
 	 */
-	private static void parseIntoEventModel(JsonObject jsonObject) {
-		eventModel = new EventModel();
+	private static EventModel parseIntoEventModel(JsonObject jsonObject, ParseMode parseMode, UUIDPool uuids) {
+		EventModel eventModel = new EventModel();
 
 		JsonObject jsonEventModel = jsonObject.get("event-model").getAsJsonObject();
 
-		parseBasicInformation(jsonEventModel);
-		parseAudiences(jsonEventModel);
-		parseStreams(jsonEventModel);
-		parseInterfaces(jsonEventModel);
-		parseReadModels(jsonEventModel);
-		parseEvents(jsonEventModel);
-		parseCommands(jsonEventModel);
-		parseFlows(jsonEventModel);
-		parsePlacements(jsonEventModel);
-		parseSchemas(jsonEventModel);
+		parseBasicInformation(jsonEventModel, eventModel, uuids);
+		if (parseMode == ParseMode.PARALLEL) {
+			parseSectionsInParallel(jsonEventModel, eventModel, uuids);
+			return eventModel;
+		}
+		parseAudiences(jsonEventModel, eventModel, uuids);
+		parseStreams(jsonEventModel, eventModel, uuids);
+		parseInterfaces(jsonEventModel, eventModel, uuids);
+		parseReadModels(jsonEventModel, eventModel, uuids);
+		parseEvents(jsonEventModel, eventModel, uuids);
+		parseCommands(jsonEventModel, eventModel, uuids);
+		parseFlows(jsonEventModel, eventModel, uuids);
+		parsePlacements(jsonEventModel, eventModel, uuids);
+		parseSchemas(jsonEventModel, eventModel, uuids);
+		return eventModel;
+	}
+
+	/**
+	 * Parses all sections of the oNote model in parallel. None of the sections
+	 * depend on each other, so every section is parsed by its own task on the
+	 * common ForkJoinPool. Large sections are split further into ranges of entries
+	 * (see JSONSectionParseTask). Every task builds its own partial map which is
+	 * merged and finally set on the Java EventModel DTO.
+	 * 
+	 * @param jsonEventModel - JsonObject containing all information of the event
+	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
+	 */
+	private static void parseSectionsInParallel(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+
+		ForkJoinTask<List<Audience>> audiences = pool.submit(() -> parseArray(
+				jsonEventModel.get("event-model/audiences").getAsJsonArray(),
+				jsonAudience -> parseAudience(jsonAudience, uuids)));
+		ForkJoinTask<List<Stream>> streams = pool.submit(() -> parseArray(
+				jsonEventModel.get("event-model/streams").getAsJsonArray(),
+				jsonStream -> parseStream(jsonStream, uuids)));
+		ForkJoinTask<Map<UUID, Interface>> interfaces = pool.submit(new JSONSectionParseTask<>(
+				jsonEventModel.get("event-model/interfaces").getAsJsonObject(), "interface", uuids,
+				jsonInterface -> parseInterface(jsonInterface, uuids), Interface::getId));
+		ForkJoinTask<Map<UUID, ReadModel>> readModels = pool.submit(new JSONSectionParseTask<>(
+				jsonEventModel.get("event-model/read-models").getAsJsonObject(), "read model", uuids,
+				jsonReadModel -> parseReadModel(jsonReadModel, uuids), ReadModel::getId));
+		ForkJoinTask<Map<UUID, Event>> events = pool.submit(new JSONSectionParseTask<>(
+				jsonEventModel.get("event-model/events").getAsJsonObject(), "event", uuids,
+				jsonEvent -> parseEvent(jsonEvent, uuids), Event::getId));
+		ForkJoinTask<Map<UUID, Command>> commands = pool.submit(new JSONSectionParseTask<>(
+				jsonEventModel.get("event-model/commands").getAsJsonObject(), "command", uuids,
+				jsonCommand -> parseCommand(jsonCommand, uuids), Command::getId));
+		ForkJoinTask<Map<UUID, Flow>> flows = pool.submit(new JSONSectionParseTask<>(
+				jsonEventModel.get("event-model/flows").getAsJsonObject(), "flow", uuids,
+				jsonFlow -> parseFlow(jsonFlow, uuids), null));
+		ForkJoinTask<Map<UUID, Placement>> placements = pool.submit(new JSONSectionParseTask<>(
+				jsonEventModel.get("event-model/placements").getAsJsonObject(), "placement", uuids,
+				jsonPlacement -> parsePlacement(jsonPlacement, uuids), Placement::getId));
+		ForkJoinTask<Map<UUID, Schema>> schemas = pool.submit(new JSONSectionParseTask<>(
+				jsonEventModel.get("event-model/schemas").getAsJsonObject(), "schema", uuids,
+				jsonSchema -> parseSchema(jsonSchema, uuids), Schema::getId));
+
+		eventModel.setAudiences(audiences.join());
+		eventModel.setStreams(streams.join());
+		eventModel.setInterfaces(interfaces.join());
+		eventModel.setReadModels(readModels.join());
+		eventModel.setEvents(events.join());
+		eventModel.setCommands(commands.join());
+		eventModel.setFlows(flows.join());
+		eventModel.setPlacements(placements.join());
+		eventModel.setSchemas(schemas.join());
+	}
+
+	/**
+	 * Parses every JSON Object of the given JSON Array into a DTO.
+	 * 
+	 * @param jsonArray   - JsonArray containing the JSON Objects to parse
+	 * @param entryParser - Parser method creating a DTO of a single JSON Object
+	 * @return List<T> - A List containing the parsed DTOs in the order of the
+	 *         array
+	 */
+	private static <T> List<T> parseArray(JsonArray jsonArray, Function<JsonObject, T> entryParser) {
+		List<T> entries = new ArrayList<>();
+		for (JsonElement element : jsonArray) {
+			entries.add(entryParser.apply(element.getAsJsonObject()));
+		}
+		return entries;
 	}
 
 	/**
@@ -138,9 +448,11 @@ public class JSONParser {
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parseBasicInformation(JsonObject jsonEventModel) {
-		eventModel.setId(UUID.fromString(jsonEventModel.get("event-model/id").getAsString()));
+	private static void parseBasicInformation(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
+		eventModel.setId(uuids.get(jsonEventModel.get("event-model/id").getAsString()));
 		eventModel.setName(jsonEventModel.get("event-model/name").getAsString());
 		if (jsonEventModel.has("event-model/description")) {
 			eventModel.setDescription(jsonEventModel.get("event-model/description").getAsString());
@@ -153,16 +465,18 @@ public class JSONParser {
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parseAudiences(JsonObject jsonEventModel) {
+	private static void parseAudiences(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
 		JsonArray jsonAudiences = jsonEventModel.get("event-model/audiences").getAsJsonArray();
-		for (JsonElement element : jsonAudiences) {
-			JsonObject jsonAudience = element.getAsJsonObject();
+		eventModel.getAudiences()
+				.addAll(parseArray(jsonAudiences, jsonAudience -> parseAudience(jsonAudience, uuids)));
+	}
 
-			Audience tempAudience = new Audience(UUID.fromString(jsonAudience.get("audience/id").getAsString()),
-					jsonAudience.get("audience/name").getAsString());
-			eventModel.getAudiences().add(tempAudience);
-		}
+	private static Audience parseAudience(JsonObject jsonAudience, UUIDPool uuids) {
+		return new Audience(uuids.get(jsonAudience.get("audience/id").getAsString()),
+				jsonAudience.get("audience/name").getAsString());
 	}
 
 	/**
@@ -171,16 +485,17 @@ public class JSONParser {
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parseStreams(JsonObject jsonEventModel) {
+	private static void parseStreams(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
 		JsonArray jsonStreams = jsonEventModel.get("event-model/streams").getAsJsonArray();
-		for (JsonElement element : jsonStreams) {
-			JsonObject jsonStream = element.getAsJsonObject();
+		eventModel.getStreams().addAll(parseArray(jsonStreams, jsonStream -> parseStream(jsonStream, uuids)));
+	}
 
-			Stream tempStream = new Stream(UUID.fromString(jsonStream.get("stream/id").getAsString()),
-					jsonStream.get("stream/name").getAsString());
-			eventModel.getStreams().add(tempStream);
-		}
+	private static Stream parseStream(JsonObject jsonStream, UUIDPool uuids) {
+		return new Stream(uuids.get(jsonStream.get("stream/id").getAsString()),
+				jsonStream.get("stream/name").getAsString());
 	}
 
 	/**
@@ -189,40 +504,47 @@ public class JSONParser {
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parseInterfaces(JsonObject jsonEventModel) {
+	private static void parseInterfaces(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
 		JsonObject jsonInterfaceMap = jsonEventModel.get("event-model/interfaces").getAsJsonObject();
 		Set<String> jsonInterfaces = jsonInterfaceMap.keySet();
 		for (String interfaceId : jsonInterfaces) {
 			JsonObject jsonInterface = jsonInterfaceMap.get(interfaceId).getAsJsonObject();
+			UUID interfaceKey = uuids.get(interfaceId);
+			Interface tempInterface = parseInterface(jsonInterface, uuids);
+			uuids.checkKey("interface", interfaceKey, tempInterface.getId());
+			eventModel.getInterfaces().put(interfaceKey, tempInterface);
+		}
+	}
 
-			Interface tempInterface = new Interface();
-			tempInterface.setId(UUID.fromString(jsonInterface.get("interface/id").getAsString()));
-			tempInterface.setName(jsonInterface.get("interface/name").getAsString());
-			if (jsonInterface.has("interface/description")) {
-				tempInterface.setDescription(jsonInterface.get("interface/description").getAsString());
-			}
-			tempInterface.setType(InterfaceType.valueOf(jsonInterface.get("interface/type").getAsString()
-					.substring(jsonInterface.get("interface/type").getAsString().lastIndexOf("/") + 1).toUpperCase()));
-			if (tempInterface.getType().equals(InterfaceType.FIGMA)) {
-				tempInterface.setFigmaURL(jsonInterface.get("interface.type.figma/url").getAsString());
-			}
-			if (jsonInterface.has("interface/elements")) {
-				JsonObject jsonElementMap = jsonInterface.get("interface/elements").getAsJsonObject();
-				Set<String> jsonElements = jsonElementMap.keySet();
-				for (String elementId : jsonElements) {
-					JsonObject jsonElement = jsonElementMap.get(elementId).getAsJsonObject();
-
-					Element tempElement = new Element(UUID.fromString(jsonElement.get("element/id").getAsString()),
-							ElementType.valueOf(jsonElement.get("element/type").getAsString()
-									.substring(jsonElement.get("element/type").getAsString().lastIndexOf("/") + 1)
-									.toUpperCase()),
-							jsonElement.get("element/name").getAsString());
-					tempInterface.getElements().put(UUID.fromString(elementId), tempElement);
-				}
+	private static Interface parseInterface(JsonObject jsonInterface, UUIDPool uuids) {
+		Interface tempInterface = new Interface();
+		tempInterface.setId(uuids.get(jsonInterface.get("interface/id").getAsString()));
+		tempInterface.setName(jsonInterface.get("interface/name").getAsString());
+		if (jsonInterface.has("interface/description")) {
+			tempInterface.setDescription(jsonInterface.get("interface/description").getAsString());
+		}
+		tempInterface.setType(TypeTokenTable.INTERFACE_TYPES.decode(jsonInterface.get("interface/type").getAsString()));
+		if (tempInterface.getType().equals(InterfaceType.FIGMA)) {
+			tempInterface.setFigmaURL(jsonInterface.get("interface.type.figma/url").getAsString());
+		}
+		if (jsonInterface.has("interface/elements")) {
+			JsonObject jsonElementMap = jsonInterface.get("interface/elements").getAsJsonObject();
+			Set<String> jsonElements = jsonElementMap.keySet();
+			for (String elementId : jsonElements) {
+				JsonObject jsonElement = jsonElementMap.get(elementId).getAsJsonObject();
+
+				UUID elementKey = uuids.get(elementId);
+				Element tempElement = new Element(uuids.get(jsonElement.get("element/id").getAsString()),
+						TypeTokenTable.ELEMENT_TYPES.decode(jsonElement.get("element/type").getAsString()),
+						jsonElement.get("element/name").getAsString());
+				uuids.checkKey("element", elementKey, tempElement.getId());
+				tempInterface.getElements().put(elementKey, tempElement);
 			}
-			eventModel.getInterfaces().put(UUID.fromString(interfaceId), tempInterface);
 		}
+		return tempInterface;
 	}
 
 	/**
@@ -231,32 +553,32 @@ public class JSONParser {
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parseReadModels(JsonObject jsonEventModel) {
+	private static void parseReadModels(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
 		JsonObject jsonReadModelMap = jsonEventModel.get("event-model/read-models").getAsJsonObject();
 		Set<String> jsonReadModels = jsonReadModelMap.keySet();
 		for (String readModelId : jsonReadModels) {
 			JsonObject jsonReadModel = jsonReadModelMap.get(readModelId).getAsJsonObject();
+			UUID readModelKey = uuids.get(readModelId);
+			ReadModel readModel = parseReadModel(jsonReadModel, uuids);
+			uuids.checkKey("read model", readModelKey, readModel.getId());
+			eventModel.getReadModels().put(readModelKey, readModel);
+		}
+	}
 
-			ReadModel tempReadModel = new ReadModel();
-			tempReadModel.setId(UUID.fromString(jsonReadModel.get("read-model/id").getAsString()));
-			tempReadModel.setName(jsonReadModel.get("read-model/name").getAsString());
-			if (jsonReadModel.has("read-model/description")) {
-				tempReadModel.setDescription(jsonReadModel.get("read-model/description").getAsString());
-			}
-			if (jsonReadModel.has("read-model/schemas")) {
-				JsonObject jsonSchemaMap = jsonReadModel.get("read-model/schemas").getAsJsonObject();
-				Set<String> jsonSchemas = jsonSchemaMap.keySet();
-				if (jsonSchemas.size() == 1) {
-					for (String schemaId : jsonSchemas) {
-						tempReadModel.setSchemaId(UUID.fromString(jsonSchemaMap.get(schemaId).getAsString()));
-					}
-				} else {
-					log.severe("Multiple schemas (AVRO) not supported!");
-				}
-			}
-			eventModel.getReadModels().put(UUID.fromString(readModelId), tempReadModel);
+	private static ReadModel parseReadModel(JsonObject jsonReadModel, UUIDPool uuids) {
+		ReadModel tempReadModel = new ReadModel();
+		tempReadModel.setId(uuids.get(jsonReadModel.get("read-model/id").getAsString()));
+		tempReadModel.setName(jsonReadModel.get("read-model/name").getAsString());
+		if (jsonReadModel.has("read-model/description")) {
+			tempReadModel.setDescription(jsonReadModel.get("read-model/description").getAsString());
 		}
+		if (jsonReadModel.has("read-model/schemas")) {
+			tempReadModel.setSchemaId(parseSchemaId(jsonReadModel.get("read-model/schemas").getAsJsonObject(), uuids));
+		}
+		return tempReadModel;
 	}
 
 	/**
@@ -265,32 +587,32 @@ public class JSONParser {
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parseEvents(JsonObject jsonEventModel) {
+	private static void parseEvents(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
 		JsonObject jsonEventMap = jsonEventModel.get("event-model/events").getAsJsonObject();
 		Set<String> jsonEvents = jsonEventMap.keySet();
 		for (String eventId : jsonEvents) {
 			JsonObject jsonEvent = jsonEventMap.get(eventId).getAsJsonObject();
+			UUID eventKey = uuids.get(eventId);
+			Event event = parseEvent(jsonEvent, uuids);
+			uuids.checkKey("event", eventKey, event.getId());
+			eventModel.getEvents().put(eventKey, event);
+		}
+	}
 
-			Event tempEvent = new Event();
-			tempEvent.setId(UUID.fromString(jsonEvent.get("event/id").getAsString()));
-			tempEvent.setName(jsonEvent.get("event/name").getAsString());
-			if (jsonEvent.has("event/description")) {
-				tempEvent.setDescription(jsonEvent.get("event/description").getAsString());
-			}
-			if (jsonEvent.has("event/schemas")) {
-				JsonObject jsonSchemaMap = jsonEvent.get("event/schemas").getAsJsonObject();
-				Set<String> jsonSchemas = jsonSchemaMap.keySet();
-				if (jsonSchemas.size() == 1) {
-					for (String schemaId : jsonSchemas) {
-						tempEvent.setSchemaId(UUID.fromString(jsonSchemaMap.get(schemaId).getAsString()));
-					}
-				} else {
-					log.severe("Multiple schemas (AVRO) not supported!");
-				}
-			}
-			eventModel.getEvents().put(UUID.fromString(eventId), tempEvent);
+	private static Event parseEvent(JsonObject jsonEvent, UUIDPool uuids) {
+		Event tempEvent = new Event();
+		tempEvent.setId(uuids.get(jsonEvent.get("event/id").getAsString()));
+		tempEvent.setName(jsonEvent.get("event/name").getAsString());
+		if (jsonEvent.has("event/description")) {
+			tempEvent.setDescription(jsonEvent.get("event/description").getAsString());
+		}
+		if (jsonEvent.has("event/schemas")) {
+			tempEvent.setSchemaId(parseSchemaId(jsonEvent.get("event/schemas").getAsJsonObject(), uuids));
 		}
+		return tempEvent;
 	}
 
 	/**
@@ -299,32 +621,52 @@ public class JSONParser {
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parseCommands(JsonObject jsonEventModel) {
+	private static void parseCommands(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
 		JsonObject jsonCommandMap = jsonEventModel.get("event-model/commands").getAsJsonObject();
 		Set<String> jsonCommands = jsonCommandMap.keySet();
 		for (String commandId : jsonCommands) {
 			JsonObject jsonCommand = jsonCommandMap.get(commandId).getAsJsonObject();
+			UUID commandKey = uuids.get(commandId);
+			Command command = parseCommand(jsonCommand, uuids);
+			uuids.checkKey("command", commandKey, command.getId());
+			eventModel.getCommands().put(commandKey, command);
+		}
+	}
 
-			Command tempCommand = new Command();
-			tempCommand.setId(UUID.fromString(jsonCommand.get("command/id").getAsString()));
-			tempCommand.setName(jsonCommand.get("command/name").getAsString());
-			if (jsonCommand.has("command/description")) {
-				tempCommand.setDescription(jsonCommand.get("command/description").getAsString());
-			}
-			if (jsonCommand.has("command/schemas")) {
-				JsonObject jsonSchemaMap = jsonCommand.get("command/schemas").getAsJsonObject();
-				Set<String> jsonSchemas = jsonSchemaMap.keySet();
-				if (jsonSchemas.size() == 1) {
-					for (String schemaId : jsonSchemas) {
-						tempCommand.setSchemaId(UUID.fromString(jsonSchemaMap.get(schemaId).getAsString()));
-					}
-				} else {
-					log.severe("Multiple schemas (AVRO) not supported!");
-				}
+	private static Command parseCommand(JsonObject jsonCommand, UUIDPool uuids) {
+		Command tempCommand = new Command();
+		tempCommand.setId(uuids.get(jsonCommand.get("command/id").getAsString()));
+		tempCommand.setName(jsonCommand.get("command/name").getAsString());
+		if (jsonCommand.has("command/description")) {
+			tempCommand.setDescription(jsonCommand.get("command/description").getAsString());
+		}
+		if (jsonCommand.has("command/schemas")) {
+			tempCommand.setSchemaId(parseSchemaId(jsonCommand.get("command/schemas").getAsJsonObject(), uuids));
+		}
+		return tempCommand;
+	}
+
+	/**
+	 * Reads the schema map of a command, event or read model. Only a single schema
+	 * per note is supported.
+	 * 
+	 * @param jsonSchemaMap - JsonObject containing the schemas of the note
+	 * @param uuids         - Pool of the UUIDs of the JSON file
+	 * @return UUID - The id of the only schema; or null if there is not exactly
+	 *         one schema
+	 */
+	private static UUID parseSchemaId(JsonObject jsonSchemaMap, UUIDPool uuids) {
+		Set<String> jsonSchemas = jsonSchemaMap.keySet();
+		if (jsonSchemas.size() == 1) {
+			for (String schemaId : jsonSchemas) {
+				return uuids.get(jsonSchemaMap.get(schemaId).getAsString());
 			}
-			eventModel.getCommands().put(UUID.fromString(commandId), tempCommand);
 		}
+		log.severe("Multiple schemas (AVRO) not supported!");
+		return null;
 	}
 
 	/**
@@ -333,60 +675,72 @@ public class JSONParser {
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parseFlows(JsonObject jsonEventModel) {
+	private static void parseFlows(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
 		JsonObject jsonFlowMap = jsonEventModel.get("event-model/flows").getAsJsonObject();
 		Set<String> jsonFlows = jsonFlowMap.keySet();
 		for (String flowId : jsonFlows) {
 			JsonObject jsonFlow = jsonFlowMap.get(flowId).getAsJsonObject();
-
-			Flow tempFlow = new Flow(UUID.fromString(jsonFlow.get("flow/from").getAsString()),
-					UUID.fromString(jsonFlow.get("flow/to").getAsString()));
-			eventModel.getFlows().put(UUID.fromString(flowId), tempFlow);
+			eventModel.getFlows().put(uuids.get(flowId), parseFlow(jsonFlow, uuids));
 		}
 	}
 
+	private static Flow parseFlow(JsonObject jsonFlow, UUIDPool uuids) {
+		return new Flow(uuids.get(jsonFlow.get("flow/from").getAsString()),
+				uuids.get(jsonFlow.get("flow/to").getAsString()));
+	}
+
 	/**
 	 * Parses the placements of all notes within the oNote model and saves them to
 	 * the Java EventModel DTO.
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parsePlacements(JsonObject jsonEventModel) {
+	private static void parsePlacements(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
 		JsonObject jsonPlacementMap = jsonEventModel.get("event-model/placements").getAsJsonObject();
 		Set<String> jsonPlacements = jsonPlacementMap.keySet();
 		for (String placementId : jsonPlacements) {
 			JsonObject jsonPlacement = jsonPlacementMap.get(placementId).getAsJsonObject();
+			UUID placementKey = uuids.get(placementId);
+			Placement placement = parsePlacement(jsonPlacement, uuids);
+			uuids.checkKey("placement", placementKey, placement.getId());
+			eventModel.getPlacements().put(placementKey, placement);
+		}
+	}
 
-			Placement tempPlacement = new Placement();
-			tempPlacement.setId(UUID.fromString(jsonPlacement.get("placement/id").getAsString()));
-			tempPlacement.setIndex(jsonPlacement.get("placement/index").getAsInt());
-			if (jsonPlacement.has("interface/id")) {
-				tempPlacement.setNoteType(NoteType.INTERFACE);
-				tempPlacement.setNoteId(UUID.fromString(jsonPlacement.get("interface/id").getAsString()));
-				tempPlacement.setLaneType(LaneType.AUDIENCE);
-				if (jsonPlacement.has("interface/audience")) {
-					tempPlacement.setLaneId(UUID.fromString(jsonPlacement.get("interface/audience").getAsString()));
-				}
-			} else if (jsonPlacement.has("command/id")) {
-				tempPlacement.setNoteType(NoteType.COMMAND);
-				tempPlacement.setNoteId(UUID.fromString(jsonPlacement.get("command/id").getAsString()));
-				tempPlacement.setLaneType(LaneType.TIMELINE);
-			} else if (jsonPlacement.has("read-model/id")) {
-				tempPlacement.setNoteType(NoteType.READ_MODEL);
-				tempPlacement.setNoteId(UUID.fromString(jsonPlacement.get("read-model/id").getAsString()));
-				tempPlacement.setLaneType(LaneType.TIMELINE);
-			} else if (jsonPlacement.has("event/id")) {
-				tempPlacement.setNoteType(NoteType.EVENT);
-				tempPlacement.setNoteId(UUID.fromString(jsonPlacement.get("event/id").getAsString()));
-				tempPlacement.setLaneType(LaneType.STREAM);
-				if (jsonPlacement.has("event/stream")) {
-					tempPlacement.setLaneId(UUID.fromString(jsonPlacement.get("event/stream").getAsString()));
-				}
+	private static Placement parsePlacement(JsonObject jsonPlacement, UUIDPool uuids) {
+		Placement tempPlacement = new Placement();
+		tempPlacement.setId(uuids.get(jsonPlacement.get("placement/id").getAsString()));
+		tempPlacement.setIndex(jsonPlacement.get("placement/index").getAsInt());
+		if (jsonPlacement.has("interface/id")) {
+			tempPlacement.setNoteType(NoteType.INTERFACE);
+			tempPlacement.setNoteId(uuids.get(jsonPlacement.get("interface/id").getAsString()));
+			tempPlacement.setLaneType(LaneType.AUDIENCE);
+			if (jsonPlacement.has("interface/audience")) {
+				tempPlacement.setLaneId(uuids.get(jsonPlacement.get("interface/audience").getAsString()));
+			}
+		} else if (jsonPlacement.has("command/id")) {
+			tempPlacement.setNoteType(NoteType.COMMAND);
+			tempPlacement.setNoteId(uuids.get(jsonPlacement.get("command/id").getAsString()));
+			tempPlacement.setLaneType(LaneType.TIMELINE);
+		} else if (jsonPlacement.has("read-model/id")) {
+			tempPlacement.setNoteType(NoteType.READ_MODEL);
+			tempPlacement.setNoteId(uuids.get(jsonPlacement.get("read-model/id").getAsString()));
+			tempPlacement.setLaneType(LaneType.TIMELINE);
+		} else if (jsonPlacement.has("event/id")) {
+			tempPlacement.setNoteType(NoteType.EVENT);
+			tempPlacement.setNoteId(uuids.get(jsonPlacement.get("event/id").getAsString()));
+			tempPlacement.setLaneType(LaneType.STREAM);
+			if (jsonPlacement.has("event/stream")) {
+				tempPlacement.setLaneId(uuids.get(jsonPlacement.get("event/stream").getAsString()));
 			}
-			eventModel.getPlacements().put(UUID.fromString(placementId), tempPlacement);
 		}
+		return tempPlacement;
 	}
 
 	/**
@@ -395,40 +749,50 @@ public class JSONParser {
 	 * 
 	 * A Schema can consist of basic information and a DataType which represents its
 	 * type of schema. DataTypes can consist of other DataTypes in a nested way.
-	 * Therefore the parser method for parsing these types has to be recursive to
-	 * call itself whenever another nested DataType is found within the JSON object.
+	 * Every nested DataType found within the JSON object is put on a stack of
+	 * pending DataTypes instead of being parsed by a recursive call, so the
+	 * nesting depth is only bounded by the heap.
 	 * 
 	 * @param jsonEventModel - JsonObject containing all information of the event
 	 *                       model.
+	 * @param eventModel     - EventModel DTO to be filled
+	 * @param uuids          - Pool of the UUIDs of the JSON file
 	 */
-	private static void parseSchemas(JsonObject jsonEventModel) {
+	private static void parseSchemas(JsonObject jsonEventModel, EventModel eventModel, UUIDPool uuids) {
 		JsonObject jsonSchemaMap = jsonEventModel.get("event-model/schemas").getAsJsonObject();
-		Set<String> jsonPlacements = jsonSchemaMap.keySet();
-		for (String schemaId : jsonPlacements) {
+		Set<String> jsonSchemas = jsonSchemaMap.keySet();
+		for (String schemaId : jsonSchemas) {
 			JsonObject jsonSchema = jsonSchemaMap.get(schemaId).getAsJsonObject();
+			UUID schemaKey = uuids.get(schemaId);
+			Schema schema = parseSchema(jsonSchema, uuids);
+			uuids.checkKey("schema", schemaKey, schema.getId());
+			eventModel.getSchemas().put(schemaKey, schema);
+		}
+	}
 
-			Schema tempSchema = new Schema();
-			tempSchema.setId(UUID.fromString(jsonSchema.get("schema/id").getAsString()));
-			tempSchema.setName(jsonSchema.get("schema/name").getAsString()
-					.substring(jsonSchema.get("schema/name").getAsString().lastIndexOf("/") + 1));
-			tempSchema.setNamespace(jsonSchema.get("schema/name").getAsString().substring(0,
-					jsonSchema.get("schema/name").getAsString().lastIndexOf("/")));
-			if (jsonSchema.has("schema/description")) {
-				tempSchema.setDescription(jsonSchema.get("schema/description").getAsString());
-			}
-
-			JsonObject jsonDataType = jsonSchema.get("schema/schema").getAsJsonObject();
-			DataType dataType = parseDataTypesRecursively(jsonDataType, tempSchema.getName(), false);
-			tempSchema.setDataType(dataType);
-
-			eventModel.getSchemas().put(UUID.fromString(schemaId), tempSchema);
+	private static Schema parseSchema(JsonObject jsonSchema, UUIDPool uuids) {
+		Schema tempSchema = new Schema();
+		tempSchema.setId(uuids.get(jsonSchema.get("schema/id").getAsString()));
+		tempSchema.setName(jsonSchema.get("schema/name").getAsString()
+				.substring(jsonSchema.get("schema/name").getAsString().lastIndexOf("/") + 1));
+		tempSchema.setNamespace(jsonSchema.get("schema/name").getAsString().substring(0,
+				jsonSchema.get("schema/name").getAsString().lastIndexOf("/")));
+		if (jsonSchema.has("schema/description")) {
+			tempSchema.setDescription(jsonSchema.get("schema/description").getAsString());
 		}
+
+		JsonObject jsonDataType = jsonSchema.get("schema/schema").getAsJsonObject();
+		DataType dataType = parseDataType(jsonDataType, tempSchema.getName(), uuids);
+		tempSchema.setDataType(dataType);
+		return tempSchema;
 	}
 
 	/**
-	 * This method might call itself in a recursive manner if the JSON file declares
-	 * that a DataType consists of further nested DataType(s). It returns the nested
-	 * DataType so that it can be set in the parent DataType.
+	 * Parses a DataType and all of its nested DataTypes. The nested DataTypes are
+	 * not parsed by calling this method again but are collected on a stack of
+	 * pending DataTypes, so the nesting depth of a DataType is only bounded by the
+	 * heap. A nested DataType is added to its parent as soon as it is created,
+	 * which keeps the order of the nested DataTypes of every parent.
 	 * 
 	 * Warning!: 'TUPLE' and 'MAP' are exceptions since they can be completely empty
 	 * solely containing their respective SchemaType!
@@ -436,31 +800,66 @@ public class JSONParser {
 	 * @param jsonDataType - JsonObject containing all information of the schema.
 	 * @param tempName     - generic name for DataType needed for nested Objects
 	 *                     (='MAP') and Enums (='ENUM')
-	 * @param isNested     - Indicates if the DataType object is the root or a
-	 *                     nested DataType which is relevant for the designation of
-	 *                     nested objects and enums
-	 * @return DataType - The DataType which can be used by the parent DataType to
-	 *         set this as its nested child.
+	 * @param uuids        - Pool of the UUIDs of the JSON file
+	 * @return DataType - The parsed root DataType including all nested DataTypes
+	 */
+	static DataType parseDataType(JsonObject jsonDataType, String tempName, UUIDPool uuids) {
+		DataType rootDataType = parseDataTypeNode(jsonDataType, tempName, false);
+		Deque<PendingDataType> pendingDataTypes = new ArrayDeque<>();
+		pushDataTypeChildren(jsonDataType, rootDataType, pendingDataTypes, uuids);
+		parsePendingDataTypes(pendingDataTypes, uuids);
+		return rootDataType;
+	}
+
+	/**
+	 * A nested DataType of the JSON file which still has to be parsed and added to
+	 * its parent.
+	 */
+	private static final class PendingDataType {
+
+		private final JsonObject jsonDataType;
+		private final DataType parent;
+		private final int index;
+		private final String key;
+
+		private PendingDataType(JsonObject jsonDataType, DataType parent, int index, String key) {
+			this.jsonDataType = jsonDataType;
+			this.parent = parent;
+			this.index = index;
+			this.key = key;
+		}
+
+	}
+
+	/**
+	 * Parses the pending DataTypes until there are none left. Every parsed
+	 * DataType pushes its own children onto the stack.
+	 */
+	private static void parsePendingDataTypes(Deque<PendingDataType> pendingDataTypes, UUIDPool uuids) {
+		while (!pendingDataTypes.isEmpty()) {
+			PendingDataType pendingDataType = pendingDataTypes.pop();
+			DataType tempDataType = parseDataTypeNode(pendingDataType.jsonDataType,
+					DataTypeTraversal.getNestedName(pendingDataType.parent, pendingDataType.index), true);
+			DataTypeTraversal.addNestedDataType(pendingDataType.parent, pendingDataType.index, pendingDataType.key,
+					tempDataType);
+			pushDataTypeChildren(pendingDataType.jsonDataType, tempDataType, pendingDataTypes, uuids);
+		}
+	}
+
+	/**
+	 * Parses the type, name and properties of a single DataType without its
+	 * children.
+	 * 
+	 * @param isNested - Indicates if the DataType object is the root or a nested
+	 *                 DataType which is relevant for the designation of nested
+	 *                 objects and enums
 	 */
-	private static DataType parseDataTypesRecursively(JsonObject jsonDataType, String tempName, boolean isNested) {
+	private static DataType parseDataTypeNode(JsonObject jsonDataType, String tempName, boolean isNested) {
 		DataType tempDataType = new DataType();
 		tempDataType.setName(tempName);
-		tempDataType.setSchemaType(SchemaType
-				.valueOf(jsonDataType.get("type").getAsString().substring(1).replace("-", "_").toUpperCase()));
+		tempDataType.setSchemaType(TypeTokenTable.SCHEMA_TYPES.decode(jsonDataType.get("type").getAsString()));
 
-		// Set new DataType name if object is a nested MAP or ENUM which would not have
-		// a name otherwise since oNote "forgot"? that they should have one or else they
-		// cannot be referenced.
-		String newName;
-		if (isNested) {
-			if (tempDataType.getSchemaType().equals(SchemaType.MAP)) {
-				newName = tempDataType.getName() + "Object";
-				tempDataType.setName(newName);
-			} else if (tempDataType.getSchemaType().equals(SchemaType.ENUM)) {
-				newName = tempDataType.getName() + "Enum";
-				tempDataType.setName(newName);
-			}
-		}
+		nameNestedDataType(tempDataType, isNested);
 
 		if (jsonDataType.has("properties")) {
 			JsonArray jsonPropertiesArray = jsonDataType.get("properties").getAsJsonArray();
@@ -472,84 +871,142 @@ public class JSONParser {
 			}
 			tempDataType.setProperties(tempProperties);
 		}
+		return tempDataType;
+	}
 
+	private static void pushDataTypeChildren(JsonObject jsonDataType, DataType tempDataType,
+			Deque<PendingDataType> pendingDataTypes, UUIDPool uuids) {
 		if (jsonDataType.has("children")) {
-			JsonArray jsonChildrenArray = jsonDataType.get("children").getAsJsonArray();
-
-			switch (tempDataType.getSchemaType()) {
-			case VECTOR:
-			case SEQUENTIAL:
-			case SET:
-			case NOT:
-			case MAYBE:
-				JsonObject vectorObject = jsonChildrenArray.get(0).getAsJsonObject();
-				DataType vectorDataType = parseDataTypesRecursively(vectorObject, tempDataType.getName(), true);
-				tempDataType.setListDataType(vectorDataType);
-				break;
-
-			case MAP_OF:
-				JsonObject mapKeyObject = jsonChildrenArray.get(0).getAsJsonObject();
-				JsonObject mapValueObject = jsonChildrenArray.get(1).getAsJsonObject();
-				// "Key" and "Value" are needed to separate both recursive paths with unique
-				// names if they have nested objects to differentiate between them since oNote
-				// does not give the option to name nested Objects or Enums.
-				DataType keyDataType = parseDataTypesRecursively(mapKeyObject, tempDataType.getName() + "Key", true);
-				DataType valueDataType = parseDataTypesRecursively(mapValueObject, tempDataType.getName() + "Value",
-						true);
-				tempDataType.setMapKeyDataType(keyDataType);
-				tempDataType.setMapValueDataType(valueDataType);
-				break;
-
-			case TUPLE:
-			case OR:
-			case AND:
-				List<DataType> dataTypes = new ArrayList<>();
-				for (JsonElement element : jsonChildrenArray) {
-					JsonObject child = element.getAsJsonObject();
-					DataType childDataType = parseDataTypesRecursively(child, tempDataType.getName(), true);
-					dataTypes.add(childDataType);
-				}
-				tempDataType.setDataTypeTuple(dataTypes);
-				break;
-
-			case MAP:
-				Map<String, DataType> objectDataType = new HashMap<>();
-				for (JsonElement element : jsonChildrenArray) {
-					JsonObject child = element.getAsJsonObject();
-					String childKey = child.get("entry").getAsString();
-					JsonObject nestedChild = child.get("schema").getAsJsonObject();
-					DataType nestedChildDataType = parseDataTypesRecursively(nestedChild, tempDataType.getName(), true);
-					objectDataType.put(childKey, nestedChildDataType);
-				}
-				tempDataType.setObjectDataType(objectDataType);
-				break;
+			pushDataTypeChildren(jsonDataType.get("children").getAsJsonArray(), tempDataType, pendingDataTypes, uuids);
+		}
+	}
 
-			case ENUM:
-				List<String> tempEnumList = new ArrayList<>();
-				for (JsonElement element : jsonChildrenArray) {
-					tempEnumList.add(element.getAsJsonObject().get("symbol").getAsString());
-				}
-				tempDataType.setEnumList(tempEnumList);
-				break;
-
-			case RE:
-				JsonObject regexObject = jsonChildrenArray.get(0).getAsJsonObject();
-				tempDataType.setRegex(regexObject.get("expression").getAsString());
-				break;
-
-			case REF:
-				JsonObject referenceObject = jsonChildrenArray.get(0).getAsJsonObject();
-				UUID uuid = UUID.fromString(referenceObject.get("reference").getAsString());
-				tempDataType.setReference(uuid);
-				break;
-
-			default:
-				log.warning("The SchemaType is either unknown or not supposed to have children: '"
-						+ tempDataType.getSchemaType() + "'");
-				break;
+	/**
+	 * Set new DataType name if object is a nested MAP or ENUM which would not have
+	 * a name otherwise since oNote "forgot"? that they should have one or else they
+	 * cannot be referenced. The SchemaType of the DataType has to be set
+	 * beforehand.
+	 * 
+	 * @param tempDataType - The DataType which might be renamed
+	 * @param isNested     - Indicates if the DataType object is the root or a
+	 *                     nested DataType
+	 */
+	static void nameNestedDataType(DataType tempDataType, boolean isNested) {
+		String newName;
+		if (isNested) {
+			if (tempDataType.getSchemaType().equals(SchemaType.MAP)) {
+				newName = tempDataType.getName() + "Object";
+				tempDataType.setName(newName);
+			} else if (tempDataType.getSchemaType().equals(SchemaType.ENUM)) {
+				newName = tempDataType.getName() + "Enum";
+				tempDataType.setName(newName);
 			}
 		}
+	}
 
-		return tempDataType;
+	/**
+	 * Names a parsed DataType and all of its nested DataTypes after the given name
+	 * exactly like parsing it with this name would have done. Used if the name of
+	 * a schema is only known once its DataType has been parsed.
+	 * 
+	 * @param dataType - The parsed root DataType
+	 * @param tempName - generic name for DataType needed for nested Objects
+	 *                 (='MAP') and Enums (='ENUM')
+	 */
+	static void nameDataType(DataType dataType, String tempName) {
+		DataTypeTraversal.walk(dataType, step -> {
+			if (step.getDataType() == null) {
+				return false;
+			}
+			step.getDataType().setName(
+					step.isNested() ? DataTypeTraversal.getNestedName(step.getParent(), step.getIndex()) : tempName);
+			nameNestedDataType(step.getDataType(), step.isNested());
+			return true;
+		});
+	}
+
+	/**
+	 * Parses the children of a DataType depending on its SchemaType and sets them
+	 * as its nested DataType(s), enum symbols, regex or reference. The SchemaType
+	 * and the (possibly nested) name of the DataType have to be set beforehand.
+	 * 
+	 * @param jsonChildrenArray - JsonArray containing the children of the DataType
+	 * @param tempDataType      - The DataType the parsed children are added to
+	 * @param uuids             - Pool of the UUIDs of the JSON file
+	 */
+	static void parseDataTypeChildren(JsonArray jsonChildrenArray, DataType tempDataType, UUIDPool uuids) {
+		Deque<PendingDataType> pendingDataTypes = new ArrayDeque<>();
+		pushDataTypeChildren(jsonChildrenArray, tempDataType, pendingDataTypes, uuids);
+		parsePendingDataTypes(pendingDataTypes, uuids);
+	}
+
+	/**
+	 * Sets the enum symbols, regex or reference of a DataType and pushes its
+	 * nested DataTypes onto the stack of pending DataTypes. They are pushed in
+	 * reverse order, so they are parsed in the order of the JSON file.
+	 */
+	private static void pushDataTypeChildren(JsonArray jsonChildrenArray, DataType tempDataType,
+			Deque<PendingDataType> pendingDataTypes, UUIDPool uuids) {
+		switch (tempDataType.getSchemaType()) {
+		case VECTOR:
+		case SEQUENTIAL:
+		case SET:
+		case NOT:
+		case MAYBE:
+			JsonObject vectorObject = jsonChildrenArray.get(0).getAsJsonObject();
+			pendingDataTypes.push(new PendingDataType(vectorObject, tempDataType, 0, null));
+			break;
+
+		case MAP_OF:
+			JsonObject mapKeyObject = jsonChildrenArray.get(0).getAsJsonObject();
+			JsonObject mapValueObject = jsonChildrenArray.get(1).getAsJsonObject();
+			pendingDataTypes.push(new PendingDataType(mapValueObject, tempDataType, 1, null));
+			pendingDataTypes.push(new PendingDataType(mapKeyObject, tempDataType, 0, null));
+			break;
+
+		case TUPLE:
+		case OR:
+		case AND:
+			tempDataType.setDataTypeTuple(new ArrayList<>());
+			for (int i = jsonChildrenArray.size() - 1; i >= 0; i--) {
+				JsonObject child = jsonChildrenArray.get(i).getAsJsonObject();
+				pendingDataTypes.push(new PendingDataType(child, tempDataType, i, null));
+			}
+			break;
+
+		case MAP:
+			tempDataType.setObjectDataType(new HashMap<>());
+			for (int i = jsonChildrenArray.size() - 1; i >= 0; i--) {
+				JsonObject child = jsonChildrenArray.get(i).getAsJsonObject();
+				String childKey = child.get("entry").getAsString();
+				JsonObject nestedChild = child.get("schema").getAsJsonObject();
+				pendingDataTypes.push(new PendingDataType(nestedChild, tempDataType, i, childKey));
+			}
+			break;
+
+		case ENUM:
+			List<String> tempEnumList = new ArrayList<>();
+			for (JsonElement element : jsonChildrenArray) {
+				tempEnumList.add(element.getAsJsonObject().get("symbol").getAsString());
+			}
+			tempDataType.setEnumList(tempEnumList);
+			break;
+
+		case RE:
+			JsonObject regexObject = jsonChildrenArray.get(0).getAsJsonObject();
+			tempDataType.setRegex(regexObject.get("expression").getAsString());
+			break;
+
+		case REF:
+			JsonObject referenceObject = jsonChildrenArray.get(0).getAsJsonObject();
+			UUID uuid = uuids.get(referenceObject.get("reference").getAsString());
+			tempDataType.setReference(uuid);
+			break;
+
+		default:
+			log.warning("The SchemaType is either unknown or not supposed to have children: '"
+					+ tempDataType.getSchemaType() + "'");
+			break;
+		}
 	}
 }
@@ -0,0 +1,98 @@
+package com.whz.reader.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Fork/join task parsing a single section (JSON map) of the oNote model, e.g.
+ * 'event-model/schemas' or 'event-model/placements', into a Map of DTOs. If the
+ * section contains more entries than the threshold, the entries are split into
+ * two halves which are parsed by separate tasks. Every task builds its own
+ * partial Map, which is merged with the Map of its sibling afterwards.
+ *
+ * The partial Maps are merged in the order of the entries so that the resulting
+ * Map is the same as if the section was parsed sequentially. The keys are
+ * parsed through the UUIDPool shared by all tasks and compared with the ids of
+ * the parsed DTOs.
+ *
+ * @author Timon Schwalbe
+ * @param <T> - Type of the DTO created for each entry of the section
+ */
+public class JSONSectionParseTask<T> extends RecursiveTask<Map<UUID, T>> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int THRESHOLD = 256;
+
+	private final JsonObject jsonMap;
+	private final List<String> keys;
+	private final int start;
+	private final int end;
+	private final String section;
+	private final UUIDPool uuids;
+	private final Function<JsonObject, T> entryParser;
+	private final Function<T, UUID> idGetter;
+
+	/**
+	 * Creates a task parsing every entry of the given JSON map.
+	 *
+	 * @param jsonMap     - JsonObject containing the entries of the section keyed
+	 *                    by their UUID
+	 * @param section     - Name of a single entry of the section, e.g. 'event'
+	 * @param uuids       - Pool of the UUIDs of the JSON file
+	 * @param entryParser - Parser method creating a DTO of a single entry
+	 * @param idGetter    - Getter of the id of a parsed DTO; or null if the DTOs
+	 *                    of the section have no id
+	 */
+	public JSONSectionParseTask(JsonObject jsonMap, String section, UUIDPool uuids,
+			Function<JsonObject, T> entryParser, Function<T, UUID> idGetter) {
+		this(jsonMap, new ArrayList<>(jsonMap.keySet()), 0, jsonMap.size(), section, uuids, entryParser, idGetter);
+	}
+
+	private JSONSectionParseTask(JsonObject jsonMap, List<String> keys, int start, int end, String section,
+			UUIDPool uuids, Function<JsonObject, T> entryParser, Function<T, UUID> idGetter) {
+		this.jsonMap = jsonMap;
+		this.keys = keys;
+		this.start = start;
+		this.end = end;
+		this.section = section;
+		this.uuids = uuids;
+		this.entryParser = entryParser;
+		this.idGetter = idGetter;
+	}
+
+	@Override
+	protected Map<UUID, T> compute() {
+		if (end - start <= THRESHOLD) {
+			Map<UUID, T> entries = new HashMap<>();
+			for (int i = start; i < end; i++) {
+				String key = keys.get(i);
+				UUID entryKey = uuids.get(key);
+				T entry = entryParser.apply(jsonMap.get(key).getAsJsonObject());
+				if (idGetter != null) {
+					uuids.checkKey(section, entryKey, idGetter.apply(entry));
+				}
+				entries.put(entryKey, entry);
+			}
+			return entries;
+		}
+
+		int middle = (start + end) >>> 1;
+		JSONSectionParseTask<T> left = new JSONSectionParseTask<>(jsonMap, keys, start, middle, section, uuids,
+				entryParser, idGetter);
+		JSONSectionParseTask<T> right = new JSONSectionParseTask<>(jsonMap, keys, middle, end, section, uuids,
+				entryParser, idGetter);
+		right.fork();
+		Map<UUID, T> entries = left.compute();
+		entries.putAll(right.join());
+		return entries;
+	}
+
+}
@@ -0,0 +1,1039 @@
+package com.whz.reader.model;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.whz.reader.dto.Audience;
+import com.whz.reader.dto.Command;
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.dto.Element;
+import com.whz.reader.dto.Event;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Flow;
+import com.whz.reader.dto.Interface;
+import com.whz.reader.dto.Interface.InterfaceType;
+import com.whz.reader.dto.Placement;
+import com.whz.reader.dto.Placement.LaneType;
+import com.whz.reader.dto.Placement.NoteType;
+import com.whz.reader.dto.ReadModel;
+import com.whz.reader.dto.Schema;
+import com.whz.reader.dto.Stream;
+
+/**
+ * The JSONStreamParser class is the streaming counterpart of the JSONParser.
+ * Instead of building the entire Gson tree first, it reads the JSON file of an
+ * oNote project token by token and fills the Java DTOs directly. Therefore, no
+ * intermediate JsonElement graph has to be held in memory next to the DTOs.
+ *
+ * The resulting DTOs are identical to the ones created by the JSONParser. Since
+ * the order of the fields inside a JSON object is not guaranteed, every value
+ * that depends on another field (e.g. the note type of a placement) is
+ * collected first and evaluated once the object has been read completely.
+ *
+ * @author Timon Schwalbe
+ */
+public class JSONStreamParser {
+
+	private static final Logger log = Logger.getLogger(JSONStreamParser.class.getName());
+
+	/**
+	 * Reads the root JSON object token by token and parses it into a new
+	 * EventModel DTO.
+	 *
+	 * @param jsonReader - JsonReader positioned at the start of the JSON file
+	 * @param uuids      - Pool of the UUIDs of the JSON file
+	 * @return EventModel - The parsed EventModel; or null if the file does not
+	 *         start with a JSON object
+	 * @throws IOException - If the file could not be read or is not valid JSON
+	 */
+	static EventModel parseEventModel(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		return parseEventModel(jsonReader, uuids, null);
+	}
+
+	/**
+	 * Reads the root JSON object like parseEventModel(JsonReader, UUIDPool) but
+	 * only materializes what belongs to the given slice. Everything else is
+	 * skipped without being parsed.
+	 *
+	 * @param jsonReader - JsonReader positioned at the start of the JSON file
+	 * @param uuids      - Pool of the UUIDs of the JSON file
+	 * @param slice      - The resolved slice to be parsed; or null to parse the
+	 *                   whole JSON file
+	 * @return EventModel - The parsed EventModel; or null if the file does not
+	 *         start with a JSON object
+	 * @throws IOException - If the file could not be read or is not valid JSON
+	 */
+	static EventModel parseEventModel(JsonReader jsonReader, UUIDPool uuids, ModelSlice slice) throws IOException {
+		JsonToken rootToken = jsonReader.peek();
+		if (rootToken != JsonToken.BEGIN_OBJECT) {
+			String jsonType = "Primitive";
+			if (rootToken == JsonToken.NULL)
+				jsonType = "Null";
+			else if (rootToken == JsonToken.BEGIN_ARRAY)
+				jsonType = "Array";
+			log.warning("Expected file to start with Object but is: '" + jsonType + "'");
+			return null;
+		}
+
+		EventModel eventModel = new EventModel();
+		String currentVersion = null;
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "spec-version":
+				currentVersion = jsonReader.nextString();
+				break;
+			case "event-model":
+				parseEventModelObject(jsonReader, eventModel, uuids, slice);
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		JSONParser.checkVersion(currentVersion);
+		return eventModel;
+	}
+
+	/**
+	 * Reads the 'event-model' object and dispatches every section to its parser
+	 * method. Unknown sections are skipped without being materialized.
+	 *
+	 * @param jsonReader - JsonReader positioned at the 'event-model' object
+	 * @param eventModel - EventModel DTO to be filled
+	 * @param uuids      - Pool of the UUIDs of the JSON file
+	 * @param slice      - The resolved slice to be parsed; or null
+	 * @throws IOException - If the file could not be read or is not valid JSON
+	 */
+	private static void parseEventModelObject(JsonReader jsonReader, EventModel eventModel, UUIDPool uuids,
+			ModelSlice slice) throws IOException {
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "event-model/id":
+				eventModel.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "event-model/name":
+				eventModel.setName(jsonReader.nextString());
+				break;
+			case "event-model/description":
+				eventModel.setDescription(jsonReader.nextString());
+				break;
+			case "event-model/audiences":
+				if (slice != null) {
+					jsonReader.skipValue();
+					break;
+				}
+				jsonReader.beginArray();
+				while (jsonReader.hasNext()) {
+					eventModel.getAudiences().add(parseAudience(jsonReader, uuids));
+				}
+				jsonReader.endArray();
+				break;
+			case "event-model/streams":
+				jsonReader.beginArray();
+				while (jsonReader.hasNext()) {
+					Stream stream = parseStream(jsonReader, uuids);
+					if (slice == null || slice.containsStream(stream.getId())) {
+						eventModel.getStreams().add(stream);
+					}
+				}
+				jsonReader.endArray();
+				break;
+			case "event-model/interfaces":
+				if (slice != null) {
+					jsonReader.skipValue();
+					break;
+				}
+				jsonReader.beginObject();
+				while (jsonReader.hasNext()) {
+					UUID interfaceId = uuids.get(jsonReader.nextName());
+					Interface tempInterface = parseInterface(jsonReader, uuids);
+					uuids.checkKey("interface", interfaceId, tempInterface.getId());
+					eventModel.getInterfaces().put(interfaceId, tempInterface);
+				}
+				jsonReader.endObject();
+				break;
+			case "event-model/read-models":
+				jsonReader.beginObject();
+				while (jsonReader.hasNext()) {
+					UUID readModelId = uuids.get(jsonReader.nextName());
+					if (slice != null && !slice.containsNote(readModelId)) {
+						jsonReader.skipValue();
+						continue;
+					}
+					ReadModel readModel = parseReadModel(jsonReader, uuids);
+					uuids.checkKey("read model", readModelId, readModel.getId());
+					eventModel.getReadModels().put(readModelId, readModel);
+				}
+				jsonReader.endObject();
+				break;
+			case "event-model/events":
+				jsonReader.beginObject();
+				while (jsonReader.hasNext()) {
+					UUID eventId = uuids.get(jsonReader.nextName());
+					if (slice != null && !slice.containsNote(eventId)) {
+						jsonReader.skipValue();
+						continue;
+					}
+					Event event = parseEvent(jsonReader, uuids);
+					uuids.checkKey("event", eventId, event.getId());
+					eventModel.getEvents().put(eventId, event);
+				}
+				jsonReader.endObject();
+				break;
+			case "event-model/commands":
+				jsonReader.beginObject();
+				while (jsonReader.hasNext()) {
+					UUID commandId = uuids.get(jsonReader.nextName());
+					if (slice != null && !slice.containsNote(commandId)) {
+						jsonReader.skipValue();
+						continue;
+					}
+					Command command = parseCommand(jsonReader, uuids);
+					uuids.checkKey("command", commandId, command.getId());
+					eventModel.getCommands().put(commandId, command);
+				}
+				jsonReader.endObject();
+				break;
+			case "event-model/flows":
+				jsonReader.beginObject();
+				while (jsonReader.hasNext()) {
+					UUID flowId = uuids.get(jsonReader.nextName());
+					Flow flow = parseFlow(jsonReader, uuids);
+					if (slice == null || slice.containsFlow(flow)) {
+						eventModel.getFlows().put(flowId, flow);
+					}
+				}
+				jsonReader.endObject();
+				break;
+			case "event-model/placements":
+				jsonReader.beginObject();
+				while (jsonReader.hasNext()) {
+					UUID placementId = uuids.get(jsonReader.nextName());
+					if (slice != null && !slice.containsPlacement(placementId)) {
+						jsonReader.skipValue();
+						continue;
+					}
+					Placement placement = parsePlacement(jsonReader, uuids);
+					uuids.checkKey("placement", placementId, placement.getId());
+					eventModel.getPlacements().put(placementId, placement);
+				}
+				jsonReader.endObject();
+				break;
+			case "event-model/schemas":
+				jsonReader.beginObject();
+				while (jsonReader.hasNext()) {
+					UUID schemaId = uuids.get(jsonReader.nextName());
+					if (slice != null && !slice.containsSchema(schemaId)) {
+						jsonReader.skipValue();
+						continue;
+					}
+					Schema schema = parseSchema(jsonReader, uuids);
+					uuids.checkKey("schema", schemaId, schema.getId());
+					eventModel.getSchemas().put(schemaId, schema);
+				}
+				jsonReader.endObject();
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+	}
+
+	/**
+	 * Scans the JSON file for everything a ModelSlice is resolved from: the
+	 * Streams, Placements and Flows, the schema id of every note and the schemas
+	 * referenced by every schema. Notes and schemas are not materialized and all
+	 * other sections are skipped.
+	 *
+	 * @param jsonReader - JsonReader positioned at the start of the JSON file
+	 * @param slice      - The slice collecting the scanned ids
+	 * @param uuids      - Pool of the UUIDs of the JSON file
+	 * @throws IOException - If the file could not be read or is not valid JSON
+	 */
+	static void scanEventModel(JsonReader jsonReader, ModelSlice slice, UUIDPool uuids) throws IOException {
+		if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+			// reported by parseEventModel
+			return;
+		}
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			if (!jsonReader.nextName().equals("event-model")) {
+				jsonReader.skipValue();
+				continue;
+			}
+
+			jsonReader.beginObject();
+			while (jsonReader.hasNext()) {
+				switch (jsonReader.nextName()) {
+				case "event-model/streams":
+					jsonReader.beginArray();
+					while (jsonReader.hasNext()) {
+						slice.addStream(parseStream(jsonReader, uuids));
+					}
+					jsonReader.endArray();
+					break;
+				case "event-model/read-models":
+				case "event-model/events":
+				case "event-model/commands":
+					jsonReader.beginObject();
+					while (jsonReader.hasNext()) {
+						UUID noteId = uuids.get(jsonReader.nextName());
+						slice.addNote(noteId, scanSchemaId(jsonReader, uuids));
+					}
+					jsonReader.endObject();
+					break;
+				case "event-model/flows":
+					jsonReader.beginObject();
+					while (jsonReader.hasNext()) {
+						jsonReader.nextName();
+						slice.addFlow(parseFlow(jsonReader, uuids));
+					}
+					jsonReader.endObject();
+					break;
+				case "event-model/placements":
+					jsonReader.beginObject();
+					while (jsonReader.hasNext()) {
+						UUID placementId = uuids.get(jsonReader.nextName());
+						slice.addPlacement(placementId, parsePlacement(jsonReader, uuids));
+					}
+					jsonReader.endObject();
+					break;
+				case "event-model/schemas":
+					jsonReader.beginObject();
+					while (jsonReader.hasNext()) {
+						UUID schemaId = uuids.get(jsonReader.nextName());
+						slice.addSchema(schemaId, scanSchemaReferences(jsonReader, uuids));
+					}
+					jsonReader.endObject();
+					break;
+				default:
+					jsonReader.skipValue();
+					break;
+				}
+			}
+			jsonReader.endObject();
+		}
+		jsonReader.endObject();
+	}
+
+	/**
+	 * Reads only the schema map, e.g. 'event/schemas', of a command, event or read
+	 * model.
+	 */
+	private static UUID scanSchemaId(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		UUID schemaId = null;
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			if (jsonReader.nextName().endsWith("/schemas")) {
+				schemaId = parseSchemaId(jsonReader, uuids);
+			} else {
+				jsonReader.skipValue();
+			}
+		}
+		jsonReader.endObject();
+
+		return schemaId;
+	}
+
+	/**
+	 * Collects the 'reference' of every 'ref' DataType of a schema without
+	 * building its DataTypes. The DataType tree is read token by token and only
+	 * its depth is counted, so any nesting depth is fine.
+	 */
+	private static List<UUID> scanSchemaReferences(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		List<UUID> references = new ArrayList<>();
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			if (!jsonReader.nextName().equals("schema/schema")) {
+				jsonReader.skipValue();
+				continue;
+			}
+
+			int depth = 0;
+			do {
+				switch (jsonReader.peek()) {
+				case BEGIN_OBJECT:
+					jsonReader.beginObject();
+					depth++;
+					break;
+				case END_OBJECT:
+					jsonReader.endObject();
+					depth--;
+					break;
+				case BEGIN_ARRAY:
+					jsonReader.beginArray();
+					depth++;
+					break;
+				case END_ARRAY:
+					jsonReader.endArray();
+					depth--;
+					break;
+				case NAME:
+					if (jsonReader.nextName().equals("reference") && jsonReader.peek() == JsonToken.STRING) {
+						references.add(uuids.get(jsonReader.nextString()));
+					}
+					break;
+				default:
+					jsonReader.skipValue();
+					break;
+				}
+			} while (depth > 0);
+		}
+		jsonReader.endObject();
+
+		return references;
+	}
+
+	private static Audience parseAudience(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		Audience tempAudience = new Audience();
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "audience/id":
+				tempAudience.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "audience/name":
+				tempAudience.setName(jsonReader.nextString());
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		return tempAudience;
+	}
+
+	private static Stream parseStream(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		Stream tempStream = new Stream();
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "stream/id":
+				tempStream.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "stream/name":
+				tempStream.setName(jsonReader.nextString());
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		return tempStream;
+	}
+
+	/**
+	 * Parses a single interface including its elements. The figma URL is only
+	 * kept if the interface turns out to be of type 'FIGMA'.
+	 */
+	private static Interface parseInterface(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		Interface tempInterface = new Interface();
+		String figmaURL = null;
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "interface/id":
+				tempInterface.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "interface/name":
+				tempInterface.setName(jsonReader.nextString());
+				break;
+			case "interface/description":
+				tempInterface.setDescription(jsonReader.nextString());
+				break;
+			case "interface/type":
+				tempInterface.setType(TypeTokenTable.INTERFACE_TYPES.decode(jsonReader.nextString()));
+				break;
+			case "interface.type.figma/url":
+				figmaURL = jsonReader.nextString();
+				break;
+			case "interface/elements":
+				jsonReader.beginObject();
+				while (jsonReader.hasNext()) {
+					UUID elementId = uuids.get(jsonReader.nextName());
+					Element element = parseElement(jsonReader, uuids);
+					uuids.checkKey("element", elementId, element.getId());
+					tempInterface.getElements().put(elementId, element);
+				}
+				jsonReader.endObject();
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		if (InterfaceType.FIGMA.equals(tempInterface.getType())) {
+			tempInterface.setFigmaURL(figmaURL);
+		}
+		return tempInterface;
+	}
+
+	private static Element parseElement(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		Element tempElement = new Element();
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "element/id":
+				tempElement.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "element/type":
+				tempElement.setElementType(TypeTokenTable.ELEMENT_TYPES.decode(jsonReader.nextString()));
+				break;
+			case "element/name":
+				tempElement.setName(jsonReader.nextString());
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		return tempElement;
+	}
+
+	private static ReadModel parseReadModel(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		ReadModel tempReadModel = new ReadModel();
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "read-model/id":
+				tempReadModel.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "read-model/name":
+				tempReadModel.setName(jsonReader.nextString());
+				break;
+			case "read-model/description":
+				tempReadModel.setDescription(jsonReader.nextString());
+				break;
+			case "read-model/schemas":
+				tempReadModel.setSchemaId(parseSchemaId(jsonReader, uuids));
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		return tempReadModel;
+	}
+
+	private static Event parseEvent(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		Event tempEvent = new Event();
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "event/id":
+				tempEvent.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "event/name":
+				tempEvent.setName(jsonReader.nextString());
+				break;
+			case "event/description":
+				tempEvent.setDescription(jsonReader.nextString());
+				break;
+			case "event/schemas":
+				tempEvent.setSchemaId(parseSchemaId(jsonReader, uuids));
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		return tempEvent;
+	}
+
+	private static Command parseCommand(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		Command tempCommand = new Command();
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "command/id":
+				tempCommand.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "command/name":
+				tempCommand.setName(jsonReader.nextString());
+				break;
+			case "command/description":
+				tempCommand.setDescription(jsonReader.nextString());
+				break;
+			case "command/schemas":
+				tempCommand.setSchemaId(parseSchemaId(jsonReader, uuids));
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		return tempCommand;
+	}
+
+	/**
+	 * Reads the schema map of a command, event or read model. Only a single schema
+	 * per note is supported, just like in the JSONParser.
+	 *
+	 * @param jsonReader - JsonReader positioned at the schema map
+	 * @return UUID - The id of the only schema; or null if there is not exactly
+	 *         one schema
+	 * @throws IOException - If the file could not be read or is not valid JSON
+	 */
+	private static UUID parseSchemaId(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		int schemaCount = 0;
+		String schemaId = null;
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			jsonReader.nextName();
+			schemaId = jsonReader.nextString();
+			schemaCount++;
+		}
+		jsonReader.endObject();
+
+		if (schemaCount == 1) {
+			return uuids.get(schemaId);
+		}
+		log.severe("Multiple schemas (AVRO) not supported!");
+		return null;
+	}
+
+	private static Flow parseFlow(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		Flow tempFlow = new Flow();
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "flow/from":
+				tempFlow.setFrom(uuids.get(jsonReader.nextString()));
+				break;
+			case "flow/to":
+				tempFlow.setTo(uuids.get(jsonReader.nextString()));
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		return tempFlow;
+	}
+
+	/**
+	 * Parses a single placement. The note type is derived from the note id that is
+	 * present, using the same precedence as the JSONParser: interface, command,
+	 * read model and finally event.
+	 */
+	private static Placement parsePlacement(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		Placement tempPlacement = new Placement();
+		String interfaceId = null;
+		String interfaceAudience = null;
+		String commandId = null;
+		String readModelId = null;
+		String eventId = null;
+		String eventStream = null;
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "placement/id":
+				tempPlacement.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "placement/index":
+				tempPlacement.setIndex(jsonReader.nextInt());
+				break;
+			case "interface/id":
+				interfaceId = jsonReader.nextString();
+				break;
+			case "interface/audience":
+				interfaceAudience = jsonReader.nextString();
+				break;
+			case "command/id":
+				commandId = jsonReader.nextString();
+				break;
+			case "read-model/id":
+				readModelId = jsonReader.nextString();
+				break;
+			case "event/id":
+				eventId = jsonReader.nextString();
+				break;
+			case "event/stream":
+				eventStream = jsonReader.nextString();
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		if (interfaceId != null) {
+			tempPlacement.setNoteType(NoteType.INTERFACE);
+			tempPlacement.setNoteId(uuids.get(interfaceId));
+			tempPlacement.setLaneType(LaneType.AUDIENCE);
+			if (interfaceAudience != null) {
+				tempPlacement.setLaneId(uuids.get(interfaceAudience));
+			}
+		} else if (commandId != null) {
+			tempPlacement.setNoteType(NoteType.COMMAND);
+			tempPlacement.setNoteId(uuids.get(commandId));
+			tempPlacement.setLaneType(LaneType.TIMELINE);
+		} else if (readModelId != null) {
+			tempPlacement.setNoteType(NoteType.READ_MODEL);
+			tempPlacement.setNoteId(uuids.get(readModelId));
+			tempPlacement.setLaneType(LaneType.TIMELINE);
+		} else if (eventId != null) {
+			tempPlacement.setNoteType(NoteType.EVENT);
+			tempPlacement.setNoteId(uuids.get(eventId));
+			tempPlacement.setLaneType(LaneType.STREAM);
+			if (eventStream != null) {
+				tempPlacement.setLaneId(uuids.get(eventStream));
+			}
+		}
+		return tempPlacement;
+	}
+
+	/**
+	 * Parses a single schema. The DataType can only be named after the schema, so
+	 * if 'schema/schema' appears before 'schema/name' its DataType tree is renamed
+	 * once the name is known.
+	 */
+	private static Schema parseSchema(JsonReader jsonReader, UUIDPool uuids) throws IOException {
+		Schema tempSchema = new Schema();
+		String schemaName = null;
+		boolean isNamed = true;
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+			case "schema/id":
+				tempSchema.setId(uuids.get(jsonReader.nextString()));
+				break;
+			case "schema/name":
+				schemaName = jsonReader.nextString();
+				tempSchema.setName(schemaName.substring(schemaName.lastIndexOf("/") + 1));
+				tempSchema.setNamespace(schemaName.substring(0, schemaName.lastIndexOf("/")));
+				break;
+			case "schema/description":
+				tempSchema.setDescription(jsonReader.nextString());
+				break;
+			case "schema/schema":
+				// the name of every nested DataType depends on the schema name, which oNote
+				// usually writes after the schema, so the DataType is renamed afterwards
+				tempSchema.setDataType(parseDataType(jsonReader, tempSchema.getName(), uuids));
+				isNamed = schemaName != null;
+				break;
+			default:
+				jsonReader.skipValue();
+				break;
+			}
+		}
+		jsonReader.endObject();
+
+		if (!isNamed) {
+			JSONParser.nameDataType(tempSchema.getDataType(), tempSchema.getName());
+		}
+		return tempSchema;
+	}
+
+	/**
+	 * Streaming version of the JSONParser's DataType parser. Every DataType that
+	 * is still open in the JSON file is kept on a stack together with the state of
+	 * its 'children' array, so nested DataTypes are read without calling this
+	 * method again and the nesting depth is only bounded by the heap. A nested
+	 * DataType is added to its parent once its JSON object is closed.
+	 *
+	 * If the 'children' of a DataType appear before its 'type', they cannot be
+	 * interpreted yet and are buffered and handed over to the JSONParser once the
+	 * type is known.
+	 *
+	 * @param jsonReader - JsonReader positioned at the DataType object
+	 * @param tempName   - generic name for DataType needed for nested Objects
+	 *                   (='MAP') and Enums (='ENUM')
+	 * @param uuids      - Pool of the UUIDs of the JSON file
+	 * @return DataType - The parsed DataType including all nested DataTypes
+	 * @throws IOException - If the file could not be read or is not valid JSON
+	 */
+	private static DataType parseDataType(JsonReader jsonReader, String tempName, UUIDPool uuids)
+			throws IOException {
+		Deque<OpenDataType> openDataTypes = new ArrayDeque<>();
+		openDataTypes.push(new OpenDataType(jsonReader, tempName, null, 0));
+
+		while (true) {
+			OpenDataType openDataType = openDataTypes.peek();
+			DataType tempDataType = openDataType.dataType;
+
+			if (openDataType.isInEntry) {
+				// an entry {entry, schema} of the children of a 'map'
+				if (!jsonReader.hasNext()) {
+					jsonReader.endObject();
+					tempDataType.getObjectDataType().put(openDataType.entryKey, openDataType.entryDataType);
+					openDataType.isInEntry = false;
+					openDataType.childCount++;
+				} else {
+					switch (jsonReader.nextName()) {
+					case "entry":
+						openDataType.entryKey = jsonReader.nextString();
+						break;
+					case "schema":
+						openDataTypes.push(new OpenDataType(jsonReader,
+								DataTypeTraversal.getNestedName(tempDataType, 0), openDataType, 0));
+						break;
+					default:
+						jsonReader.skipValue();
+						break;
+					}
+				}
+			} else if (openDataType.isInChildren) {
+				if (!jsonReader.hasNext()) {
+					jsonReader.endArray();
+					openDataType.isInChildren = false;
+				} else {
+					openChild(jsonReader, openDataTypes, openDataType, uuids);
+				}
+			} else if (jsonReader.hasNext()) {
+				switch (jsonReader.nextName()) {
+				case "type":
+					tempDataType.setSchemaType(TypeTokenTable.SCHEMA_TYPES.decode(jsonReader.nextString()));
+					JSONParser.nameNestedDataType(tempDataType, openDataType.parent != null);
+					break;
+				case "properties":
+					tempDataType.setProperties(parseProperties(jsonReader));
+					break;
+				case "children":
+					if (tempDataType.getSchemaType() == null) {
+						openDataType.bufferedChildren = JsonParser.parseReader(jsonReader).getAsJsonArray();
+					} else {
+						openChildren(jsonReader, openDataType);
+					}
+					break;
+				default:
+					jsonReader.skipValue();
+					break;
+				}
+			} else {
+				jsonReader.endObject();
+				openDataTypes.pop();
+				if (openDataType.bufferedChildren != null) {
+					JSONParser.parseDataTypeChildren(openDataType.bufferedChildren, tempDataType, uuids);
+				}
+
+				OpenDataType parent = openDataType.parent;
+				if (parent == null) {
+					return tempDataType;
+				} else if (parent.isInEntry) {
+					parent.entryDataType = tempDataType;
+				} else {
+					DataTypeTraversal.addNestedDataType(parent.dataType, openDataType.index, null, tempDataType);
+					parent.childCount++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * A DataType whose JSON object has been opened but not yet closed.
+	 */
+	private static final class OpenDataType {
+
+		private final DataType dataType = new DataType();
+		private final OpenDataType parent;
+		private final int index;
+		private JsonArray bufferedChildren;
+		private boolean isInChildren;
+		private int childCount;
+		// the entry of a 'map' that is currently read
+		private boolean isInEntry;
+		private String entryKey;
+		private DataType entryDataType;
+
+		private OpenDataType(JsonReader jsonReader, String tempName, OpenDataType parent, int index)
+				throws IOException {
+			this.parent = parent;
+			this.index = index;
+			dataType.setName(tempName);
+			jsonReader.beginObject();
+		}
+
+	}
+
+	private static Map<String, String> parseProperties(JsonReader jsonReader) throws IOException {
+		Map<String, String> tempProperties = new HashMap<>();
+
+		jsonReader.beginArray();
+		while (jsonReader.hasNext()) {
+			String key = null;
+			String value = null;
+
+			jsonReader.beginObject();
+			while (jsonReader.hasNext()) {
+				switch (jsonReader.nextName()) {
+				case "key":
+					key = jsonReader.nextString();
+					break;
+				case "value":
+					value = jsonReader.nextString();
+					break;
+				default:
+					jsonReader.skipValue();
+					break;
+				}
+			}
+			jsonReader.endObject();
+
+			tempProperties.put(key, value);
+		}
+		jsonReader.endArray();
+
+		return tempProperties;
+	}
+
+	/**
+	 * Opens the 'children' array of a DataType depending on its SchemaType.
+	 */
+	private static void openChildren(JsonReader jsonReader, OpenDataType openDataType) throws IOException {
+		DataType tempDataType = openDataType.dataType;
+		jsonReader.beginArray();
+		openDataType.isInChildren = true;
+
+		switch (tempDataType.getVariant()) {
+		case COMPOSITE:
+			tempDataType.setDataTypeTuple(new ArrayList<>());
+			break;
+		case OBJECT:
+			tempDataType.setObjectDataType(new HashMap<>());
+			break;
+		case ENUM:
+			tempDataType.setEnumList(new ArrayList<>());
+			break;
+		case LIST:
+		case MAP_OF:
+		case REGEX:
+		case REF:
+			break;
+		default:
+			log.warning("The SchemaType is either unknown or not supposed to have children: '"
+					+ tempDataType.getSchemaType() + "'");
+			break;
+		}
+	}
+
+	/**
+	 * Reads the next child of the 'children' array of a DataType depending on its
+	 * SchemaType. A nested DataType is only opened and pushed onto the stack of
+	 * open DataTypes. Children that are ignored by the JSONParser (e.g. a second
+	 * child of a 'VECTOR') are skipped.
+	 */
+	private static void openChild(JsonReader jsonReader, Deque<OpenDataType> openDataTypes,
+			OpenDataType openDataType, UUIDPool uuids) throws IOException {
+		DataType tempDataType = openDataType.dataType;
+		int childCount = openDataType.childCount;
+
+		switch (tempDataType.getVariant()) {
+		case LIST:
+		case MAP_OF:
+		case COMPOSITE:
+			if (childCount < DataTypeTraversal.countNestedDataTypes(tempDataType)
+					|| tempDataType.getVariant() == DataType.Variant.COMPOSITE) {
+				openDataTypes.push(new OpenDataType(jsonReader,
+						DataTypeTraversal.getNestedName(tempDataType, childCount), openDataType, childCount));
+			} else {
+				jsonReader.skipValue();
+			}
+			break;
+
+		case OBJECT:
+			jsonReader.beginObject();
+			openDataType.isInEntry = true;
+			openDataType.entryKey = null;
+			openDataType.entryDataType = null;
+			break;
+
+		case ENUM:
+			tempDataType.getEnumList().add(readChildValue(jsonReader, "symbol"));
+			openDataType.childCount++;
+			break;
+
+		case REGEX:
+			if (childCount == 0) {
+				tempDataType.setRegex(readChildValue(jsonReader, "expression"));
+			} else {
+				jsonReader.skipValue();
+			}
+			openDataType.childCount++;
+			break;
+
+		case REF:
+			if (childCount == 0) {
+				tempDataType.setReference(uuids.get(readChildValue(jsonReader, "reference")));
+			} else {
+				jsonReader.skipValue();
+			}
+			openDataType.childCount++;
+			break;
+
+		default:
+			jsonReader.skipValue();
+			break;
+		}
+	}
+
+	/**
+	 * Reads a single child object and returns the String value of the given key.
+	 * Any other key of the child object is skipped.
+	 */
+	private static String readChildValue(JsonReader jsonReader, String key) throws IOException {
+		String value = null;
+
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			if (jsonReader.nextName().equals(key)) {
+				value = jsonReader.nextString();
+			} else {
+				jsonReader.skipValue();
+			}
+		}
+		jsonReader.endObject();
+
+		return value;
+	}
+
+}
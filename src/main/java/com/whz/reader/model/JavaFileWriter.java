@@ -1,10 +1,5 @@
 package com.whz.reader.model;
 
-import java.io.BufferedWriter;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,15 +32,21 @@ import com.whz.reader.dto.DataType.SchemaType;
  * separate object even if it is just a primitive type since there had to be a
  * reason as to why it was distinctively declared as a reference.
  * 
+ * Rendering a class only builds its source in memory. The rendered source is
+ * written through an OutputSink by the GenerationPipeline on its own I/O
+ * threads so that slow disks do not hold up the rendering.
+ * 
  * @author Timon Schwalbe
  */
 public class JavaFileWriter {
 
 	private static final Logger log = Logger.getLogger(JavaFileWriter.class.getName());
 
+	private static final String NEW_LINE = System.lineSeparator();
+
 	/**
-	 * Writes the Entity classes into the project source folder at the given
-	 * namespace location. This method is used for both Schema Entities and Read
+	 * Renders the source of an Entity class located in the project source folder
+	 * at the given namespace location. This method is used for both Schema Entities and Read
 	 * Model Entities since they both share a very similar object structure. The
 	 * main difference is, that a Read Model would need an identifier but since
 	 * oNote does not yet provide the option to distinctively select a member as the
@@ -64,9 +65,11 @@ public class JavaFileWriter {
 	 *                          information of the Entity
 	 * @param className         - The class name of the Java class
 	 * @param description       - The description of the Java class
+	 * @param analyzer          - Analyzer examining the DataTypes of the fields
+	 * @return GeneratedSource - The rendered source together with its file path
 	 */
-	public static void writeEntity(String projectSourcePath, String namespace, DataType dataType, String className,
-			String description) {
+	public static GeneratedSource renderEntity(String projectSourcePath, String namespace, DataType dataType,
+			String className, String description, DataTypeAnalyzer analyzer) {
 		Map<String, DataType> objectDataType = new HashMap<>();
 		if (dataType != null) {
 			if (dataType.getSchemaType().equals(SchemaType.MAP)) {
@@ -79,261 +82,247 @@ public class JavaFileWriter {
 		}
 
 		Map<String, String> fields = new HashMap<>();
-		String capitalizedClassName;
-		if (className != null) {
-			String tempClassName = className.strip().replace(" ", "");
-			capitalizedClassName = tempClassName.substring(0, 1).toUpperCase() + tempClassName.substring(1);
-		} else {
-			capitalizedClassName = dataType.getFormattedName().substring(0, 1).toUpperCase()
-					+ dataType.getFormattedName().substring(1);
+		String capitalizedClassName = getClassName(dataType, className);
+		String filePath = getFilePath(projectSourcePath, namespace, capitalizedClassName);
+
+		StringBuilder sb = new StringBuilder();
+
+		// namespace
+		sb.append("package " + namespace + ";");
+		sb.append(NEW_LINE);
+		sb.append(NEW_LINE);
+
+		// imports
+		// - external
+		boolean importsNeeded = false;
+		Set<String> uniqueImports = new HashSet<>();
+		for (var entry : objectDataType.entrySet()) {
+			DataType tempDataType = entry.getValue();
+			uniqueImports.addAll(analyzer.analyze(tempDataType).getImports());
 		}
-
-		String filePath = projectSourcePath + "/" + namespace.replace(".", "/") + "/" + capitalizedClassName + ".java";
-
-		try (BufferedWriter bw = new BufferedWriter(Files.newBufferedWriter(Paths.get(filePath)))) {
-			// namespace
-			bw.write("package " + namespace + ";");
-			bw.newLine();
-			bw.newLine();
-
-			// imports
-			// - external
-			boolean importsNeeded = false;
-			Set<String> uniqueImports = new HashSet<>();
+		if (!uniqueImports.isEmpty()) {
+			List<String> sortedImports = new ArrayList<>(uniqueImports);
+			Collections.sort(sortedImports);
+			for (String importString : sortedImports) {
+				sb.append("import java.util." + importString + ";");
+				sb.append(NEW_LINE);
+			}
+			importsNeeded = true;
+		}
+		if (importsNeeded) {
+			sb.append(NEW_LINE);
+		}
+		// - internal (only needed if not same namespace)
+		if (!namespace.substring(namespace.lastIndexOf(".") + 1, namespace.length())
+				.equals(SchemaSymbolTable.SCHEMA_PACKAGE)) {
+			boolean schemaImportsNeeded = false;
 			for (var entry : objectDataType.entrySet()) {
 				DataType tempDataType = entry.getValue();
-				uniqueImports.addAll(parseImports(tempDataType));
-			}
-			if (!uniqueImports.isEmpty()) {
-				List<String> sortedImports = new ArrayList<>(uniqueImports);
-				Collections.sort(sortedImports);
-				for (String importString : sortedImports) {
-					bw.write("import java.util." + importString + ";");
-					bw.newLine();
-				}
-				importsNeeded = true;
-			}
-			if (importsNeeded) {
-				bw.newLine();
-			}
-			// - internal (only needed if not same namespace)
-			if (!namespace.substring(namespace.lastIndexOf(".") + 1, namespace.length()).equals("schemas")) {
-				boolean schemaImportsNeeded = false;
-				for (var entry : objectDataType.entrySet()) {
-					DataType tempDataType = entry.getValue();
-					Set<String> schemaImports = parseSchemaImports(tempDataType);
-
-					if (!schemaImports.isEmpty()) {
-						List<String> sortedSchemaImports = new ArrayList<>(schemaImports);
-						Collections.sort(sortedSchemaImports);
-						for (String importString : sortedSchemaImports) {
-							bw.write("import " + namespace.substring(0, namespace.lastIndexOf(".")) + ".schemas."
-									+ importString + ";");
-							bw.newLine();
-						}
-						schemaImportsNeeded = true;
+				List<String> schemaImports = analyzer.analyze(tempDataType).getSchemaImports();
+
+				if (!schemaImports.isEmpty()) {
+					for (String importString : schemaImports) {
+						sb.append("import " + SchemaSymbolTable.getSchemaNamespace(namespace) + "." + importString
+								+ ";");
+						sb.append(NEW_LINE);
 					}
+					schemaImportsNeeded = true;
 				}
-				if (schemaImportsNeeded) {
-					bw.newLine();
-				}
 			}
+			if (schemaImportsNeeded) {
+				sb.append(NEW_LINE);
+			}
+		}
 
-			// javadoc
-			if (description != null || (dataType != null && dataType.getProperties() != null
-					&& dataType.getSchemaType().equals(SchemaType.MAP))) {
-				bw.write("/**");
-				bw.newLine();
-				if (description != null) {
-					bw.write(" * " + description);
-					bw.newLine();
-				}
-				if (dataType != null && dataType.getProperties() != null) {
-					if (dataType.getSchemaType().equals(SchemaType.MAP)) {
-						if (description != null) {
-							bw.write(" * ");
-							bw.newLine();
-						}
-						for (var propertyEntry : dataType.getProperties().entrySet()) {
-							bw.write(" * Property: " + propertyEntry.getKey() + " - " + propertyEntry.getValue());
-							bw.newLine();
-						}
+		// javadoc
+		if (description != null || (dataType != null && dataType.getProperties() != null
+				&& dataType.getSchemaType().equals(SchemaType.MAP))) {
+			sb.append("/**");
+			sb.append(NEW_LINE);
+			if (description != null) {
+				sb.append(" * " + description);
+				sb.append(NEW_LINE);
+			}
+			if (dataType != null && dataType.getProperties() != null) {
+				if (dataType.getSchemaType().equals(SchemaType.MAP)) {
+					if (description != null) {
+						sb.append(" * ");
+						sb.append(NEW_LINE);
+					}
+					for (var propertyEntry : dataType.getProperties().entrySet()) {
+						sb.append(" * Property: " + propertyEntry.getKey() + " - " + propertyEntry.getValue());
+						sb.append(NEW_LINE);
 					}
 				}
-				bw.write(" */");
-				bw.newLine();
 			}
+			sb.append(" */");
+			sb.append(NEW_LINE);
+		}
 
-			// class definition (not 'final' because entity)
-			bw.write("public class " + capitalizedClassName + " {");
-			bw.newLine();
-			bw.newLine();
-
-			// field definition
-			if (!objectDataType.isEmpty()) {
-				// regex constants
-				for (var entry : objectDataType.entrySet()) {
-					DataType tempDataType = entry.getValue();
-
-					Map<String, String> regexMap = parseRegexs(tempDataType);
-					if (!regexMap.isEmpty()) {
-						for (var regexEntry : regexMap.entrySet()) {
-							bw.write("\t" + "public static final String " + entry.getKey().toUpperCase() + "_REGEX"
-									+ " = \"" + regexEntry.getValue().replace("\\", "\\\\") + "\";");
-							bw.newLine();
-						}
-						bw.newLine();
+		// class definition (not 'final' because entity)
+		sb.append("public class " + capitalizedClassName + " {");
+		sb.append(NEW_LINE);
+		sb.append(NEW_LINE);
+
+		// field definition
+		if (!objectDataType.isEmpty()) {
+			// regex constants
+			for (var entry : objectDataType.entrySet()) {
+				DataType tempDataType = entry.getValue();
+
+				Map<String, String> regexMap = analyzer.analyze(tempDataType).getRegexs();
+				if (!regexMap.isEmpty()) {
+					for (var regexEntry : regexMap.entrySet()) {
+						sb.append("\t" + "public static final String " + entry.getKey().toUpperCase() + "_REGEX"
+								+ " = \"" + regexEntry.getValue().replace("\\", "\\\\") + "\";");
+						sb.append(NEW_LINE);
 					}
+					sb.append(NEW_LINE);
 				}
+			}
 
-				// fields
-				for (var entry : objectDataType.entrySet()) {
-					DataType tempDataType = entry.getValue();
+			// fields
+			for (var entry : objectDataType.entrySet()) {
+				DataType tempDataType = entry.getValue();
 
-					String field = parseTypeArgument(tempDataType, false);
-					if (!field.isBlank()) {
-						fields.put(entry.getKey().strip().replace(" ", ""), field);
+				String field = analyzer.analyze(tempDataType).getTypeArgument();
+				if (!field.isBlank()) {
+					fields.put(entry.getKey().strip().replace(" ", ""), field);
 
-						bw.write("\t" + "private ");
-						bw.write(field);
-						bw.write(" " + entry.getKey().strip().replace(" ", "") + ";");
+					sb.append("\t" + "private ");
+					sb.append(field);
+					sb.append(" " + entry.getKey().strip().replace(" ", "") + ";");
 
-						if (tempDataType.getProperties() != null) {
-							bw.write(" //");
-							for (var tempPropertyEntry : tempDataType.getProperties().entrySet()) {
-								bw.write(" | " + tempPropertyEntry.getKey() + " - " + tempPropertyEntry.getValue());
-							}
+					if (tempDataType.getProperties() != null) {
+						sb.append(" //");
+						for (var tempPropertyEntry : tempDataType.getProperties().entrySet()) {
+							sb.append(" | " + tempPropertyEntry.getKey() + " - " + tempPropertyEntry.getValue());
 						}
-						bw.newLine();
 					}
+					sb.append(NEW_LINE);
 				}
-				bw.newLine();
-
-				// nested enum definition
-				for (var entry : objectDataType.entrySet()) {
-					DataType tempDataType = entry.getValue();
-
-					Map<String, List<String>> enumMap = parseEnums(tempDataType);
-					if (!enumMap.isEmpty()) {
-						for (var enumEntry : enumMap.entrySet()) {
-							String enumName = enumEntry.getKey().substring(0, 1).toUpperCase()
-									+ enumEntry.getKey().substring(1);
-							List<String> symbols = enumEntry.getValue();
-
-							bw.write("\t" + "public enum " + enumName + " {");
-							bw.newLine();
-							bw.write("\t\t");
-							for (int i = 0; i < symbols.size(); i++) {
-								bw.write(symbols.get(i));
-								if (i < symbols.size() - 1) {
-									bw.write(", ");
-								}
+			}
+			sb.append(NEW_LINE);
+
+			// nested enum definition
+			for (var entry : objectDataType.entrySet()) {
+				DataType tempDataType = entry.getValue();
+
+				Map<String, List<String>> enumMap = analyzer.analyze(tempDataType).getEnums();
+				if (!enumMap.isEmpty()) {
+					for (var enumEntry : enumMap.entrySet()) {
+						String enumName = enumEntry.getKey().substring(0, 1).toUpperCase()
+								+ enumEntry.getKey().substring(1);
+						List<String> symbols = enumEntry.getValue();
+
+						sb.append("\t" + "public enum " + enumName + " {");
+						sb.append(NEW_LINE);
+						sb.append("\t\t");
+						for (int i = 0; i < symbols.size(); i++) {
+							sb.append(symbols.get(i));
+							if (i < symbols.size() - 1) {
+								sb.append(", ");
 							}
-							bw.newLine();
-							bw.write("\t" + "}");
-							bw.newLine();
-							bw.newLine();
 						}
+						sb.append(NEW_LINE);
+						sb.append("\t" + "}");
+						sb.append(NEW_LINE);
+						sb.append(NEW_LINE);
 					}
 				}
 			}
+		}
 
-			// no-args constructor
-			bw.write("\t" + "public " + capitalizedClassName + "() {");
-			bw.newLine();
-			bw.write("\t" + "}");
-			bw.newLine();
-			bw.newLine();
-
-			if (!fields.isEmpty()) {
-				// all-args constructor
-				bw.write("\t" + "public " + capitalizedClassName + "(");
-
-				Iterator<Entry<String, String>> fieldsIterator = fields.entrySet().iterator();
-				while (fieldsIterator.hasNext()) {
-					Entry<String, String> fieldEntry = fieldsIterator.next();
-					bw.write(fieldEntry.getValue());
-					bw.write(" " + fieldEntry.getKey());
-					if (!fieldsIterator.hasNext()) {
-						break;
-					} else {
-						bw.write(", ");
-					}
+		// no-args constructor
+		sb.append("\t" + "public " + capitalizedClassName + "() {");
+		sb.append(NEW_LINE);
+		sb.append("\t" + "}");
+		sb.append(NEW_LINE);
+		sb.append(NEW_LINE);
+
+		if (!fields.isEmpty()) {
+			// all-args constructor
+			sb.append("\t" + "public " + capitalizedClassName + "(");
+
+			Iterator<Entry<String, String>> fieldsIterator = fields.entrySet().iterator();
+			while (fieldsIterator.hasNext()) {
+				Entry<String, String> fieldEntry = fieldsIterator.next();
+				sb.append(fieldEntry.getValue());
+				sb.append(" " + fieldEntry.getKey());
+				if (!fieldsIterator.hasNext()) {
+					break;
+				} else {
+					sb.append(", ");
 				}
+			}
 
-				bw.write(") {");
-				bw.newLine();
+			sb.append(") {");
+			sb.append(NEW_LINE);
 
-				for (var fieldEntry : fields.entrySet()) {
-					bw.write("\t\t" + "this." + fieldEntry.getKey() + " = " + fieldEntry.getKey() + ";");
-					bw.newLine();
-				}
+			for (var fieldEntry : fields.entrySet()) {
+				sb.append("\t\t" + "this." + fieldEntry.getKey() + " = " + fieldEntry.getKey() + ";");
+				sb.append(NEW_LINE);
+			}
 
-				bw.write("\t" + "}");
-				bw.newLine();
-				bw.newLine();
-
-				// getter & setter
-				for (var fieldEntry : fields.entrySet()) {
-					String capitalizedFieldEntryKey = fieldEntry.getKey().substring(0, 1).toUpperCase()
-							+ fieldEntry.getKey().substring(1);
-					bw.write("\t" + "public " + fieldEntry.getValue() + " get" + capitalizedFieldEntryKey + "() {");
-					bw.newLine();
-					bw.write("\t\t" + "return " + fieldEntry.getKey() + ";");
-					bw.newLine();
-					bw.write("\t" + "}");
-					bw.newLine();
-					bw.newLine();
-
-					bw.write("\t" + "public void set" + capitalizedFieldEntryKey + "(" + fieldEntry.getValue() + " "
-							+ fieldEntry.getKey() + ") {");
-					bw.newLine();
-					bw.write("\t\t" + "this." + fieldEntry.getKey() + " = " + fieldEntry.getKey() + ";");
-					bw.newLine();
-					bw.write("\t" + "}");
-					bw.newLine();
-					bw.newLine();
-				}
+			sb.append("\t" + "}");
+			sb.append(NEW_LINE);
+			sb.append(NEW_LINE);
+
+			// getter & setter
+			for (var fieldEntry : fields.entrySet()) {
+				String capitalizedFieldEntryKey = fieldEntry.getKey().substring(0, 1).toUpperCase()
+						+ fieldEntry.getKey().substring(1);
+				sb.append("\t" + "public " + fieldEntry.getValue() + " get" + capitalizedFieldEntryKey + "() {");
+				sb.append(NEW_LINE);
+				sb.append("\t\t" + "return " + fieldEntry.getKey() + ";");
+				sb.append(NEW_LINE);
+				sb.append("\t" + "}");
+				sb.append(NEW_LINE);
+				sb.append(NEW_LINE);
+
+				sb.append("\t" + "public void set" + capitalizedFieldEntryKey + "(" + fieldEntry.getValue() + " "
+						+ fieldEntry.getKey() + ") {");
+				sb.append(NEW_LINE);
+				sb.append("\t\t" + "this." + fieldEntry.getKey() + " = " + fieldEntry.getKey() + ";");
+				sb.append(NEW_LINE);
+				sb.append("\t" + "}");
+				sb.append(NEW_LINE);
+				sb.append(NEW_LINE);
+			}
 
-				// toString
-				bw.write("\t" + "@Override");
-				bw.newLine();
-				bw.write("\t" + "public String toString() {");
-				bw.newLine();
-				bw.write("\t\t" + "return \"" + capitalizedClassName + " [");
-
-				fieldsIterator = fields.entrySet().iterator();
-				while (fieldsIterator.hasNext()) {
-					Entry<String, String> fieldEntry = fieldsIterator.next();
-
-					bw.write(fieldEntry.getKey() + "=\" + " + fieldEntry.getKey() + " + ");
-					if (!fieldsIterator.hasNext()) {
-						break;
-					} else {
-						bw.write("\", ");
-					}
+			// toString
+			sb.append("\t" + "@Override");
+			sb.append(NEW_LINE);
+			sb.append("\t" + "public String toString() {");
+			sb.append(NEW_LINE);
+			sb.append("\t\t" + "return \"" + capitalizedClassName + " [");
+
+			fieldsIterator = fields.entrySet().iterator();
+			while (fieldsIterator.hasNext()) {
+				Entry<String, String> fieldEntry = fieldsIterator.next();
+
+				sb.append(fieldEntry.getKey() + "=\" + " + fieldEntry.getKey() + " + ");
+				if (!fieldsIterator.hasNext()) {
+					break;
+				} else {
+					sb.append("\", ");
 				}
-				bw.write("\"]\";");
-				bw.newLine();
-				bw.write("\t" + "}");
-				bw.newLine();
-				bw.newLine();
 			}
-
-			bw.write("}");
-			bw.flush();
-		} catch (FileNotFoundException e) {
-			log.warning("Could not find file: " + e.getMessage());
-			e.printStackTrace();
-		} catch (IOException e) {
-			log.warning("Could not write file: " + e.getMessage());
-			e.printStackTrace();
+			sb.append("\"]\";");
+			sb.append(NEW_LINE);
+			sb.append("\t" + "}");
+			sb.append(NEW_LINE);
+			sb.append(NEW_LINE);
 		}
+
+		sb.append("}");
+
+		return new GeneratedSource(filePath, sb);
 	}
 
 	/**
-	 * Writes the Command and Event classes into the project source folder at the
-	 * given namespace location. Since Commands and Events are (and should be)
+	 * Renders the source of a Command or Event class located in the project source
+	 * folder at the given namespace location. Since Commands and Events are (and should be)
 	 * immutable they are made final and all their members are final as well.
 	 * Therefore they have no no-args constructor and no setter methods.
 	 * 
@@ -343,9 +332,11 @@ public class JavaFileWriter {
 	 *                          information of the Command/Event
 	 * @param className         - The class name of the Java class
 	 * @param description       - The description of the Java class
+	 * @param analyzer          - Analyzer examining the DataTypes of the fields
+	 * @return GeneratedSource - The rendered source together with its file path
 	 */
-	public static void writeCommandOrEvent(String projectSourcePath, String namespace, DataType dataType,
-			String className, String description) {
+	public static GeneratedSource renderCommandOrEvent(String projectSourcePath, String namespace, DataType dataType,
+			String className, String description, DataTypeAnalyzer analyzer) {
 		Map<String, DataType> objectDataType = new HashMap<>();
 		if (dataType != null) {
 			if (dataType.getSchemaType().equals(SchemaType.MAP)) {
@@ -358,237 +349,228 @@ public class JavaFileWriter {
 		}
 
 		Map<String, String> fields = new HashMap<>();
-		String tempClassName = className.strip().replace(" ", "");
-		String capitalizedClassName = tempClassName.substring(0, 1).toUpperCase() + tempClassName.substring(1);
-
-		String filePath = projectSourcePath + "/" + namespace.replace(".", "/") + "/" + capitalizedClassName + ".java";
-
-		try (BufferedWriter bw = new BufferedWriter(Files.newBufferedWriter(Paths.get(filePath)))) {
-			// namespace
-			bw.write("package " + namespace + ";");
-			bw.newLine();
-			bw.newLine();
-
-			// imports
-			// - external
-			boolean importsNeeded = false;
-			Set<String> uniqueImports = new HashSet<>();
-			for (var entry : objectDataType.entrySet()) {
-				DataType tempDataType = entry.getValue();
-				uniqueImports.addAll(parseImports(tempDataType));
+		String capitalizedClassName = getClassName(dataType, className);
+		String filePath = getFilePath(projectSourcePath, namespace, capitalizedClassName);
+
+		StringBuilder sb = new StringBuilder();
+
+		// namespace
+		sb.append("package " + namespace + ";");
+		sb.append(NEW_LINE);
+		sb.append(NEW_LINE);
+
+		// imports
+		// - external
+		boolean importsNeeded = false;
+		Set<String> uniqueImports = new HashSet<>();
+		for (var entry : objectDataType.entrySet()) {
+			DataType tempDataType = entry.getValue();
+			uniqueImports.addAll(analyzer.analyze(tempDataType).getImports());
+		}
+		if (!uniqueImports.isEmpty()) {
+			List<String> sortedImports = new ArrayList<>(uniqueImports);
+			Collections.sort(sortedImports);
+			for (String importString : sortedImports) {
+				sb.append("import java.util." + importString + ";");
+				sb.append(NEW_LINE);
 			}
-			if (!uniqueImports.isEmpty()) {
-				List<String> sortedImports = new ArrayList<>(uniqueImports);
-				Collections.sort(sortedImports);
-				for (String importString : sortedImports) {
-					bw.write("import java.util." + importString + ";");
-					bw.newLine();
+			importsNeeded = true;
+		}
+		if (importsNeeded) {
+			sb.append(NEW_LINE);
+		}
+		// - internal
+		boolean schemaImportsNeeded = false;
+		for (var entry : objectDataType.entrySet()) {
+			DataType tempDataType = entry.getValue();
+			List<String> schemaImports = analyzer.analyze(tempDataType).getSchemaImports();
+
+			if (!schemaImports.isEmpty()) {
+				for (String importString : schemaImports) {
+					sb.append("import " + SchemaSymbolTable.getSchemaNamespace(namespace) + "." + importString
+							+ ";");
+					sb.append(NEW_LINE);
 				}
-				importsNeeded = true;
-			}
-			if (importsNeeded) {
-				bw.newLine();
+				schemaImportsNeeded = true;
 			}
-			// - internal
-			boolean schemaImportsNeeded = false;
-			for (var entry : objectDataType.entrySet()) {
-				DataType tempDataType = entry.getValue();
-				Set<String> schemaImports = parseSchemaImports(tempDataType);
+		}
+		if (schemaImportsNeeded) {
+			sb.append(NEW_LINE);
+		}
 
-				if (!schemaImports.isEmpty()) {
-					List<String> sortedSchemaImports = new ArrayList<>(schemaImports);
-					Collections.sort(sortedSchemaImports);
-					for (String importString : sortedSchemaImports) {
-						bw.write("import " + namespace.substring(0, namespace.lastIndexOf(".")) + ".schemas."
-								+ importString + ";");
-						bw.newLine();
-					}
-					schemaImportsNeeded = true;
-				}
-			}
-			if (schemaImportsNeeded) {
-				bw.newLine();
+		// javadoc
+		if (description != null || (dataType != null && dataType.getProperties() != null
+				&& dataType.getSchemaType().equals(SchemaType.MAP))) {
+			sb.append("/**");
+			sb.append(NEW_LINE);
+			if (description != null) {
+				sb.append(" * " + description);
+				sb.append(NEW_LINE);
 			}
-
-			// javadoc
-			if (description != null || (dataType != null && dataType.getProperties() != null
-					&& dataType.getSchemaType().equals(SchemaType.MAP))) {
-				bw.write("/**");
-				bw.newLine();
-				if (description != null) {
-					bw.write(" * " + description);
-					bw.newLine();
-				}
-				if (dataType != null && dataType.getProperties() != null) {
-					if (dataType.getSchemaType().equals(SchemaType.MAP)) {
-						if (description != null) {
-							bw.write(" * ");
-							bw.newLine();
-						}
-						for (var propertyEntry : dataType.getProperties().entrySet()) {
-							bw.write(" * Property: " + propertyEntry.getKey() + " - " + propertyEntry.getValue());
-							bw.newLine();
-						}
+			if (dataType != null && dataType.getProperties() != null) {
+				if (dataType.getSchemaType().equals(SchemaType.MAP)) {
+					if (description != null) {
+						sb.append(" * ");
+						sb.append(NEW_LINE);
+					}
+					for (var propertyEntry : dataType.getProperties().entrySet()) {
+						sb.append(" * Property: " + propertyEntry.getKey() + " - " + propertyEntry.getValue());
+						sb.append(NEW_LINE);
 					}
 				}
-				bw.write(" */");
-				bw.newLine();
 			}
+			sb.append(" */");
+			sb.append(NEW_LINE);
+		}
 
-			// class definition ('final' because Command/Event/ReadModel)
-			bw.write("public final class " + capitalizedClassName + " {");
-			bw.newLine();
-			bw.newLine();
-
-			// field definition
-			if (!objectDataType.isEmpty()) {
-				// regex constants
-				for (var entry : objectDataType.entrySet()) {
-					DataType tempDataType = entry.getValue();
-
-					Map<String, String> regexMap = parseRegexs(tempDataType);
-					if (!regexMap.isEmpty()) {
-						for (var regexEntry : regexMap.entrySet()) {
-							bw.write("\t" + "public static final String " + entry.getKey().toUpperCase() + "_REGEX"
-									+ " = \"" + regexEntry.getValue().replace("\\", "\\\\") + "\";");
-							bw.newLine();
-						}
-						bw.newLine();
+		// class definition ('final' because Command/Event/ReadModel)
+		sb.append("public final class " + capitalizedClassName + " {");
+		sb.append(NEW_LINE);
+		sb.append(NEW_LINE);
+
+		// field definition
+		if (!objectDataType.isEmpty()) {
+			// regex constants
+			for (var entry : objectDataType.entrySet()) {
+				DataType tempDataType = entry.getValue();
+
+				Map<String, String> regexMap = analyzer.analyze(tempDataType).getRegexs();
+				if (!regexMap.isEmpty()) {
+					for (var regexEntry : regexMap.entrySet()) {
+						sb.append("\t" + "public static final String " + entry.getKey().toUpperCase() + "_REGEX"
+								+ " = \"" + regexEntry.getValue().replace("\\", "\\\\") + "\";");
+						sb.append(NEW_LINE);
 					}
+					sb.append(NEW_LINE);
 				}
+			}
 
-				// fields
-				for (var entry : objectDataType.entrySet()) {
-					DataType tempDataType = entry.getValue();
+			// fields
+			for (var entry : objectDataType.entrySet()) {
+				DataType tempDataType = entry.getValue();
 
-					String field = parseTypeArgument(tempDataType, false);
-					if (!field.isBlank()) {
-						fields.put(entry.getKey().strip().replace(" ", ""), field);
+				String field = analyzer.analyze(tempDataType).getTypeArgument();
+				if (!field.isBlank()) {
+					fields.put(entry.getKey().strip().replace(" ", ""), field);
 
-						bw.write("\t" + "private final ");
-						bw.write(field);
-						bw.write(" " + entry.getKey().strip().replace(" ", "") + ";");
+					sb.append("\t" + "private final ");
+					sb.append(field);
+					sb.append(" " + entry.getKey().strip().replace(" ", "") + ";");
 
-						if (tempDataType.getProperties() != null) {
-							bw.write(" //");
-							for (var tempPropertyEntry : tempDataType.getProperties().entrySet()) {
-								bw.write(" | " + tempPropertyEntry.getKey() + " - " + tempPropertyEntry.getValue());
-							}
+					if (tempDataType.getProperties() != null) {
+						sb.append(" //");
+						for (var tempPropertyEntry : tempDataType.getProperties().entrySet()) {
+							sb.append(" | " + tempPropertyEntry.getKey() + " - " + tempPropertyEntry.getValue());
 						}
-						bw.newLine();
 					}
+					sb.append(NEW_LINE);
 				}
-				bw.newLine();
-
-				// nested enum definition
-				for (var entry : objectDataType.entrySet()) {
-					DataType tempDataType = entry.getValue();
-
-					Map<String, List<String>> enumMap = parseEnums(tempDataType);
-					if (!enumMap.isEmpty()) {
-						for (var enumEntry : enumMap.entrySet()) {
-							String enumName = enumEntry.getKey().substring(0, 1).toUpperCase()
-									+ enumEntry.getKey().substring(1);
-							List<String> symbols = enumEntry.getValue();
-
-							bw.write("\t" + "public enum " + enumName + " {");
-							bw.newLine();
-							bw.write("\t\t");
-							for (int i = 0; i < symbols.size(); i++) {
-								bw.write(symbols.get(i));
-								if (i < symbols.size() - 1) {
-									bw.write(", ");
-								}
+			}
+			sb.append(NEW_LINE);
+
+			// nested enum definition
+			for (var entry : objectDataType.entrySet()) {
+				DataType tempDataType = entry.getValue();
+
+				Map<String, List<String>> enumMap = analyzer.analyze(tempDataType).getEnums();
+				if (!enumMap.isEmpty()) {
+					for (var enumEntry : enumMap.entrySet()) {
+						String enumName = enumEntry.getKey().substring(0, 1).toUpperCase()
+								+ enumEntry.getKey().substring(1);
+						List<String> symbols = enumEntry.getValue();
+
+						sb.append("\t" + "public enum " + enumName + " {");
+						sb.append(NEW_LINE);
+						sb.append("\t\t");
+						for (int i = 0; i < symbols.size(); i++) {
+							sb.append(symbols.get(i));
+							if (i < symbols.size() - 1) {
+								sb.append(", ");
 							}
-							bw.newLine();
-							bw.write("\t" + "}");
-							bw.newLine();
-							bw.newLine();
 						}
+						sb.append(NEW_LINE);
+						sb.append("\t" + "}");
+						sb.append(NEW_LINE);
+						sb.append(NEW_LINE);
 					}
 				}
 			}
+		}
 
-			if (!fields.isEmpty()) {
-				// all-args constructor
-				bw.write("\t" + "public " + capitalizedClassName + "(");
-
-				Iterator<Entry<String, String>> fieldsIterator = fields.entrySet().iterator();
-				while (fieldsIterator.hasNext()) {
-					Entry<String, String> fieldEntry = fieldsIterator.next();
-					bw.write(fieldEntry.getValue());
-					bw.write(" " + fieldEntry.getKey());
-					if (!fieldsIterator.hasNext()) {
-						break;
-					} else {
-						bw.write(", ");
-					}
+		if (!fields.isEmpty()) {
+			// all-args constructor
+			sb.append("\t" + "public " + capitalizedClassName + "(");
+
+			Iterator<Entry<String, String>> fieldsIterator = fields.entrySet().iterator();
+			while (fieldsIterator.hasNext()) {
+				Entry<String, String> fieldEntry = fieldsIterator.next();
+				sb.append(fieldEntry.getValue());
+				sb.append(" " + fieldEntry.getKey());
+				if (!fieldsIterator.hasNext()) {
+					break;
+				} else {
+					sb.append(", ");
 				}
+			}
 
-				bw.write(") {");
-				bw.newLine();
+			sb.append(") {");
+			sb.append(NEW_LINE);
 
-				for (var fieldEntry : fields.entrySet()) {
-					bw.write("\t\t" + "this." + fieldEntry.getKey() + " = " + fieldEntry.getKey() + ";");
-					bw.newLine();
-				}
+			for (var fieldEntry : fields.entrySet()) {
+				sb.append("\t\t" + "this." + fieldEntry.getKey() + " = " + fieldEntry.getKey() + ";");
+				sb.append(NEW_LINE);
+			}
 
-				bw.write("\t" + "}");
-				bw.newLine();
-				bw.newLine();
-
-				// getter & setter
-				for (var fieldEntry : fields.entrySet()) {
-					String capitalizedFieldEntryKey = fieldEntry.getKey().substring(0, 1).toUpperCase()
-							+ fieldEntry.getKey().substring(1);
-					bw.write("\t" + "public " + fieldEntry.getValue() + " get" + capitalizedFieldEntryKey + "() {");
-					bw.newLine();
-					bw.write("\t\t" + "return " + fieldEntry.getKey() + ";");
-					bw.newLine();
-					bw.write("\t" + "}");
-					bw.newLine();
-					bw.newLine();
-				}
+			sb.append("\t" + "}");
+			sb.append(NEW_LINE);
+			sb.append(NEW_LINE);
+
+			// getter & setter
+			for (var fieldEntry : fields.entrySet()) {
+				String capitalizedFieldEntryKey = fieldEntry.getKey().substring(0, 1).toUpperCase()
+						+ fieldEntry.getKey().substring(1);
+				sb.append("\t" + "public " + fieldEntry.getValue() + " get" + capitalizedFieldEntryKey + "() {");
+				sb.append(NEW_LINE);
+				sb.append("\t\t" + "return " + fieldEntry.getKey() + ";");
+				sb.append(NEW_LINE);
+				sb.append("\t" + "}");
+				sb.append(NEW_LINE);
+				sb.append(NEW_LINE);
+			}
 
-				// toString
-				bw.write("\t" + "@Override");
-				bw.newLine();
-				bw.write("\t" + "public String toString() {");
-				bw.newLine();
-				bw.write("\t\t" + "return \"" + capitalizedClassName + " [");
-
-				fieldsIterator = fields.entrySet().iterator();
-				while (fieldsIterator.hasNext()) {
-					Entry<String, String> fieldEntry = fieldsIterator.next();
-
-					bw.write(fieldEntry.getKey() + "=\" + " + fieldEntry.getKey() + " + ");
-					if (!fieldsIterator.hasNext()) {
-						break;
-					} else {
-						bw.write("\", ");
-					}
+			// toString
+			sb.append("\t" + "@Override");
+			sb.append(NEW_LINE);
+			sb.append("\t" + "public String toString() {");
+			sb.append(NEW_LINE);
+			sb.append("\t\t" + "return \"" + capitalizedClassName + " [");
+
+			fieldsIterator = fields.entrySet().iterator();
+			while (fieldsIterator.hasNext()) {
+				Entry<String, String> fieldEntry = fieldsIterator.next();
+
+				sb.append(fieldEntry.getKey() + "=\" + " + fieldEntry.getKey() + " + ");
+				if (!fieldsIterator.hasNext()) {
+					break;
+				} else {
+					sb.append("\", ");
 				}
-				bw.write("\"]\";");
-				bw.newLine();
-				bw.write("\t" + "}");
-				bw.newLine();
-				bw.newLine();
 			}
-
-			bw.write("}");
-			bw.flush();
-		} catch (FileNotFoundException e) {
-			log.warning("Could not find file: " + e.getMessage());
-			e.printStackTrace();
-		} catch (IOException e) {
-			log.warning("Could not write file: " + e.getMessage());
-			e.printStackTrace();
+			sb.append("\"]\";");
+			sb.append(NEW_LINE);
+			sb.append("\t" + "}");
+			sb.append(NEW_LINE);
+			sb.append(NEW_LINE);
 		}
+
+		sb.append("}");
+
+		return new GeneratedSource(filePath, sb);
 	}
 
 	/**
-	 * Writes the Enum object into the project source folder at the given namespace
-	 * location. Since this is not a nested Enum it is quite simplistic only
+	 * Renders the source of an Enum object located in the project source folder at
+	 * the given namespace location. Since this is not a nested Enum it is quite simplistic only
 	 * consisting of its name, a description and the Symbols provided by the
 	 * DataType.
 	 * 
@@ -597,299 +579,90 @@ public class JavaFileWriter {
 	 * @param dataType          - The DataType containing all the necessary
 	 *                          information of the Enum
 	 * @param description       - The description of the Java enum
+	 * @return GeneratedSource - The rendered source together with its file path
 	 */
-	public static void writeEnum(String projectSourcePath, String namespace, DataType dataType, String description) {
-		String capitalizedEnumName = dataType.getFormattedName().substring(0, 1).toUpperCase()
-				+ dataType.getFormattedName().substring(1);
-
-		String filePath = projectSourcePath + "/" + namespace.replace(".", "/") + "/" + capitalizedEnumName + ".java";
-
-		try (BufferedWriter bw = new BufferedWriter(Files.newBufferedWriter(Paths.get(filePath)))) {
-			// namespace
-			bw.write("package " + namespace + ";");
-			bw.newLine();
-			bw.newLine();
-
-			// javadoc
-			if (description != null || dataType.getProperties() != null) {
-				bw.write("/**");
-				bw.newLine();
+	public static GeneratedSource renderEnum(String projectSourcePath, String namespace, DataType dataType,
+			String description) {
+		String capitalizedEnumName = getClassName(dataType, null);
+		String filePath = getFilePath(projectSourcePath, namespace, capitalizedEnumName);
+
+		StringBuilder sb = new StringBuilder();
+
+		// namespace
+		sb.append("package " + namespace + ";");
+		sb.append(NEW_LINE);
+		sb.append(NEW_LINE);
+
+		// javadoc
+		if (description != null || dataType.getProperties() != null) {
+			sb.append("/**");
+			sb.append(NEW_LINE);
+			if (description != null) {
+				sb.append(" * " + description);
+				sb.append(NEW_LINE);
+			}
+			if (dataType.getProperties() != null) {
 				if (description != null) {
-					bw.write(" * " + description);
-					bw.newLine();
+					sb.append(" * ");
+					sb.append(NEW_LINE);
 				}
-				if (dataType.getProperties() != null) {
-					if (description != null) {
-						bw.write(" * ");
-						bw.newLine();
-					}
-					for (var propertyEntry : dataType.getProperties().entrySet()) {
-						bw.write(" * Property: " + propertyEntry.getKey() + " - " + propertyEntry.getValue());
-						bw.newLine();
-					}
+				for (var propertyEntry : dataType.getProperties().entrySet()) {
+					sb.append(" * Property: " + propertyEntry.getKey() + " - " + propertyEntry.getValue());
+					sb.append(NEW_LINE);
 				}
-				bw.write(" */");
-				bw.newLine();
-			}
-
-			// enum definition
-			List<String> formattedSymbols = new ArrayList<>();
-			for (String enumName : dataType.getEnumList()) {
-				formattedSymbols.add(enumName.strip().replace(" ", ""));
 			}
-
-			bw.write("public enum " + capitalizedEnumName + " {");
-			bw.newLine();
-			bw.write("\t");
-			for (int i = 0; i < formattedSymbols.size(); i++) {
-				bw.write(formattedSymbols.get(i));
-				if (i < formattedSymbols.size() - 1) {
-					bw.write(", ");
-				}
-			}
-			bw.newLine();
-			bw.write("}");
-
-			bw.flush();
-		} catch (FileNotFoundException e) {
-			log.warning("Could not find file: " + e.getMessage());
-			e.printStackTrace();
-		} catch (IOException e) {
-			log.warning("Could not write file: " + e.getMessage());
-			e.printStackTrace();
+			sb.append(" */");
+			sb.append(NEW_LINE);
 		}
-	}
 
-	/**
-	 * Examines a DataType object for any needed util imports present within it.
-	 * Util imports are external imports which are provided by the java.util
-	 * libraries. This method may call itself recursively to search for any imports
-	 * inside the nested DataType objects. E.g. List<Vector<Map<UUID, Integer>>>
-	 * 
-	 * @param dataType - The DataType to examine for enums
-	 * @return - Set<String> containing the nested entity imports of deeper DataType
-	 *         objects passed onto its parent recursively
-	 */
-	private static Set<String> parseImports(DataType dataType) {
-		Set<String> imports = new HashSet<>();
-
-		switch (dataType.getSchemaType()) {
-		case UUID:
-			imports.add("UUID");
-			break;
-		case VECTOR:
-			imports.add("Vector");
-			imports.addAll(parseImports(dataType.getListDataType()));
-			break;
-		case SEQUENTIAL:
-			imports.add("List");
-			imports.addAll(parseImports(dataType.getListDataType()));
-			break;
-		case SET:
-			imports.add("Set");
-			imports.addAll(parseImports(dataType.getListDataType()));
-			break;
-		case MAP_OF:
-			imports.add("Map");
-			imports.addAll(parseImports(dataType.getMapKeyDataType()));
-			imports.addAll(parseImports(dataType.getMapValueDataType()));
-			break;
-		default:
-			break;
+		// enum definition
+		List<String> formattedSymbols = new ArrayList<>();
+		for (String enumName : dataType.getEnumList()) {
+			formattedSymbols.add(enumName.strip().replace(" ", ""));
 		}
 
-		return imports;
-	}
-
-	/**
-	 * Examines a DataType object for any needed schema imports present within it.
-	 * Schema imports are internal imports referencing Entities from another
-	 * package. This method may call itself recursively to search for any entity
-	 * imports inside the nested DataType objects. E.g. List<Vector<Map<Entity_A,
-	 * Entity_B>>>
-	 * 
-	 * @param dataType - The DataType to examine for enums
-	 * @return - Set<String> containing the nested entity imports of deeper DataType
-	 *         objects passed onto its parent recursively
-	 */
-	private static Set<String> parseSchemaImports(DataType dataType) {
-		Set<String> schemaImports = new HashSet<>();
-
-		switch (dataType.getSchemaType()) {
-		case VECTOR:
-		case SEQUENTIAL:
-		case SET:
-			schemaImports.addAll(parseSchemaImports(dataType.getListDataType()));
-			break;
-		case MAP_OF:
-			schemaImports.addAll(parseSchemaImports(dataType.getMapKeyDataType()));
-			schemaImports.addAll(parseSchemaImports(dataType.getMapValueDataType()));
-			break;
-		case MAP:
-			schemaImports.add(dataType.getFormattedName().substring(0, 1).toUpperCase()
-					+ dataType.getFormattedName().substring(1));
-			break;
-		case REF:
-			for (var schemaEntry : JSONParser.eventModel.getSchemas().entrySet()) {
-				if (dataType.getReference().equals(schemaEntry.getKey())) {
-					schemaImports.add(schemaEntry.getValue().getFormattedName().substring(0, 1).toUpperCase()
-							+ schemaEntry.getValue().getFormattedName().substring(1));
-					break;
-				}
+		sb.append("public enum " + capitalizedEnumName + " {");
+		sb.append(NEW_LINE);
+		sb.append("\t");
+		for (int i = 0; i < formattedSymbols.size(); i++) {
+			sb.append(formattedSymbols.get(i));
+			if (i < formattedSymbols.size() - 1) {
+				sb.append(", ");
 			}
-			break;
-		default:
-			break;
 		}
+		sb.append(NEW_LINE);
+		sb.append("}");
 
-		return schemaImports;
+		return new GeneratedSource(filePath, sb);
 	}
 
 	/**
-	 * Examines a DataType object for any regex' present within it. This method may
-	 * call itself recursively to search for any regex' inside the nested DataType
-	 * objects. E.g. List<Vector<Map<Integer, Regex>>>
+	 * Gets the name of the Java class of a Command, Event, Read Model, Entity or
+	 * Enum. If no class name is given, the class is named after its DataType.
 	 * 
-	 * @param dataType - The DataType to examine for enums
-	 * @return - Map<String, String> containing the nested regex' of deeper DataType
-	 *         objects passed onto its parent recursively
+	 * @param dataType  - The DataType of the class; only used if no class name is
+	 *                  given
+	 * @param className - The declared class name; may be null
+	 * @return String - The capitalized class name without any spaces
 	 */
-	private static Map<String, String> parseRegexs(DataType dataType) {
-		Map<String, String> regexMap = new HashMap<>();
-
-		switch (dataType.getSchemaType()) {
-		case RE:
-			regexMap.put(dataType.getFormattedName(), dataType.getRegex());
-			break;
-		case VECTOR:
-		case SEQUENTIAL:
-		case SET:
-			regexMap.putAll(parseRegexs(dataType.getListDataType()));
-			break;
-		case MAP_OF:
-			regexMap.putAll(parseRegexs(dataType.getMapKeyDataType()));
-			regexMap.putAll(parseRegexs(dataType.getMapValueDataType()));
-			break;
-		default:
-			break;
-		}
-
-		return regexMap;
-	}
-
-	/**
-	 * Examines a DataType object for any type arguments present within it. This
-	 * method may call itself recursively to search for any argument inside the
-	 * nested DataType objects. E.g. List<Vector<Map<Integer, String>>>
-	 * 
-	 * @param dataType - The DataType to examine for enums
-	 * @return - String containing the nested type arguments of deeper DataType
-	 *         objects passed onto its parent recursively
-	 */
-	private static String parseTypeArgument(DataType dataType, boolean isNested) {
-		String typeArgument = "";
-
-		switch (dataType.getSchemaType()) {
-		case STRING:
-		case RE:
-			typeArgument = "String";
-			break;
-		case INT:
-			if (isNested)
-				typeArgument = "Integer";
-			else
-				typeArgument = "int";
-			break;
-		case DOUBLE:
-			if (isNested)
-				typeArgument = "Double";
-			else
-				typeArgument = "double";
-			break;
-		case BOOLEAN:
-			if (isNested)
-				typeArgument = "Boolean";
-			else
-				typeArgument = "boolean";
-			break;
-		case UUID:
-			typeArgument = "UUID";
-			break;
-		case VECTOR:
-			typeArgument = "Vector<" + parseTypeArgument(dataType.getListDataType(), true) + ">";
-			break;
-		case SEQUENTIAL:
-			typeArgument = "List<" + parseTypeArgument(dataType.getListDataType(), true) + ">";
-			break;
-		case SET:
-			typeArgument = "Set<" + parseTypeArgument(dataType.getListDataType(), true) + ">";
-			break;
-		case MAP_OF:
-			typeArgument = "Map<" + parseTypeArgument(dataType.getMapKeyDataType(), true) + ", "
-					+ parseTypeArgument(dataType.getMapValueDataType(), true) + ">";
-			break;
-		case MAP:
-			typeArgument = dataType.getFormattedName().substring(0, 1).toUpperCase()
-					+ dataType.getFormattedName().substring(1);
-			break;
-		case ENUM:
-			typeArgument = dataType.getFormattedName().substring(0, 1).toUpperCase()
+	public static String getClassName(DataType dataType, String className) {
+		if (className != null) {
+			String tempClassName = className.strip().replace(" ", "");
+			return tempClassName.substring(0, 1).toUpperCase() + tempClassName.substring(1);
+		} else {
+			return dataType.getFormattedName().substring(0, 1).toUpperCase()
 					+ dataType.getFormattedName().substring(1);
-			break;
-		case REF:
-			for (var schemaEntry : JSONParser.eventModel.getSchemas().entrySet()) {
-				if (dataType.getReference().equals(schemaEntry.getKey())) {
-					typeArgument = schemaEntry.getValue().getFormattedName();
-					break;
-				}
-			}
-			break;
-		default:
-			log.warning("SchemaType not supported: '" + dataType.getSchemaType() + "'");
-			break;
 		}
-
-		return typeArgument;
 	}
 
 	/**
-	 * Examines a DataType object for any enums present within it. This method may
-	 * call itself recursively to search for any enums inside the nested DataType
-	 * objects. E.g. List<Vector<Map<Integer, Enum>>>
-	 * 
-	 * Additionally formats the String names of the enums inside the enum list to
-	 * delete unwanted spaces which would otherwise result in errors when naming
-	 * things in Java.
-	 * 
-	 * @param dataType - The DataType to examine for enums
-	 * @return - Map<String, List<String>> containing the nested enums of deeper
-	 *         DataType objects passed onto its parent recursively
+	 * @param projectSourcePath - Path of the project source folder
+	 * @param namespace         - Namespace of the class
+	 * @param className         - The capitalized class name
+	 * @return String - The path of the file the class is written into
 	 */
-	private static Map<String, List<String>> parseEnums(DataType dataType) {
-		Map<String, List<String>> enumMap = new HashMap<>();
-
-		switch (dataType.getSchemaType()) {
-		case ENUM:
-			List<String> formattedEnumList = new ArrayList<>();
-			for (String enumName : dataType.getEnumList()) {
-				formattedEnumList.add(enumName.strip().replace(" ", ""));
-			}
-			enumMap.put(dataType.getFormattedName(), formattedEnumList);
-			break;
-		case VECTOR:
-		case SEQUENTIAL:
-		case SET:
-			enumMap.putAll(parseEnums(dataType.getListDataType()));
-			break;
-		case MAP_OF:
-			enumMap.putAll(parseEnums(dataType.getMapKeyDataType()));
-			enumMap.putAll(parseEnums(dataType.getMapValueDataType()));
-			break;
-		default:
-			break;
-		}
-
-		return enumMap;
+	public static String getFilePath(String projectSourcePath, String namespace, String className) {
+		return projectSourcePath + "/" + namespace.replace(".", "/") + "/" + className + ".java";
 	}
 
 }
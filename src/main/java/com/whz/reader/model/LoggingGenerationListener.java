@@ -0,0 +1,25 @@
+package com.whz.reader.model;
+
+import java.util.logging.Logger;
+
+/**
+ * GenerationListener that only logs the reported messages. Used whenever no
+ * other listener is given.
+ *
+ * @author Timon Schwalbe
+ */
+public class LoggingGenerationListener implements GenerationListener {
+
+	private static final Logger log = Logger.getLogger(LoggingGenerationListener.class.getName());
+
+	@Override
+	public void onWarning(String warningMessage) {
+		log.warning(warningMessage);
+	}
+
+	@Override
+	public void onInfo(String informationMessage) {
+		log.info(informationMessage);
+	}
+
+}
@@ -0,0 +1,575 @@
+package com.whz.reader.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Logger;
+
+import com.whz.reader.dto.Command;
+import com.whz.reader.dto.Event;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Flow;
+import com.whz.reader.dto.Placement;
+import com.whz.reader.dto.Placement.LaneType;
+import com.whz.reader.dto.Placement.NoteType;
+import com.whz.reader.dto.ReadModel;
+import com.whz.reader.dto.Schema;
+import com.whz.reader.dto.Stream;
+
+/**
+ * ModelStore reading a parsed EventModel from a memory-mapped file instead of
+ * the heap. Only the pages of the file that are actually looked up are loaded
+ * by the operating system, so generating a single Bounded Context of a huge
+ * EventModel touches little more than the notes of that Bounded Context.
+ *
+ * The file consists of sections of fixed-width records. Notes, Placements and
+ * Schemas are sorted by their UUID and found by a binary search. The
+ * Placements of every lane and the Flows of both directions are kept as
+ * sorted index sections pointing to the Placement and Flow records, so the
+ * lookups of the ProjectGenerator never scan the whole file. Strings are
+ * stored once in a string table and referenced by their index. A Schema is
+ * only decoded, together with its DataType tree, when it is looked up.
+ *
+ * The file is mapped read-only and only read with absolute positions or
+ * duplicates of the buffer, so a MappedModelStore may be read by several
+ * threads at once. A single file is limited to 2 GB.
+ *
+ * @author Timon Schwalbe
+ */
+public class MappedModelStore implements ModelStore {
+
+	private static final Logger log = Logger.getLogger(MappedModelStore.class.getName());
+
+	private static final int MAGIC = 0x4F4E4D53; // "ONMS"
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int STREAMS = 0;
+	private static final int EVENTS = 1;
+	private static final int COMMANDS = 2;
+	private static final int READ_MODELS = 3;
+	private static final int PLACEMENTS = 4;
+	private static final int LANES = 5;
+	private static final int LANE_PLACEMENTS = 6;
+	private static final int FLOWS = 7;
+	private static final int FLOW_SOURCES = 8;
+	private static final int SCHEMAS = 9;
+	private static final int SCHEMA_NAMESPACES = 10;
+	private static final int STRINGS = 11;
+	private static final int SECTION_COUNT = 12;
+
+	// magic and version followed by the offset and the record count of every
+	// section
+	private static final int HEADER_BYTES = 8 + SECTION_COUNT * 8;
+
+	private static final int UUID_BYTES = EventModelSnapshot.UUID_BYTES;
+	private static final int INT_BYTES = 4;
+	// id, name
+	private static final int STREAM_BYTES = UUID_BYTES + INT_BYTES;
+	// key, id, name, description, schemaId
+	private static final int NOTE_BYTES = 3 * UUID_BYTES + 2 * INT_BYTES;
+	// key, id, index, noteType, noteId, laneType, laneId
+	private static final int PLACEMENT_BYTES = 4 * UUID_BYTES + INT_BYTES + 2;
+	// laneType, laneId, first LANE_PLACEMENTS record, number of records
+	private static final int LANE_BYTES = 1 + UUID_BYTES + 2 * INT_BYTES;
+	// from, to
+	private static final int FLOW_BYTES = 2 * UUID_BYTES;
+	// key, offset of the Schema data
+	private static final int SCHEMA_BYTES = UUID_BYTES + INT_BYTES;
+
+	private static final Comparator<UUID> UUID_ORDER = Comparator.nullsFirst(
+			Comparator.comparingLong(UUID::getMostSignificantBits).thenComparingLong(UUID::getLeastSignificantBits));
+
+	private final Path storePath;
+	private final ByteBuffer buffer;
+	private final int[] offsets = new int[SECTION_COUNT];
+	private final int[] counts = new int[SECTION_COUNT];
+	// decoded Strings; racing threads only decode the same String twice
+	private final String[] strings;
+
+	private MappedModelStore(Path storePath, ByteBuffer buffer) throws IOException {
+		this.storePath = storePath;
+		this.buffer = buffer;
+		if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+			throw new IOException("Not a model store of format version " + FORMAT_VERSION + ": " + storePath);
+		}
+		for (int i = 0; i < SECTION_COUNT; i++) {
+			offsets[i] = buffer.getInt(8 + i * 8);
+			counts[i] = buffer.getInt(12 + i * 8);
+		}
+		strings = new String[counts[STRINGS]];
+	}
+
+	/**
+	 * Maps the given model store file into memory.
+	 *
+	 * @param storePath - File written by write(EventModel, Path)
+	 * @return MappedModelStore - The store reading the mapped file
+	 * @throws IOException - If the file could not be mapped or is not a model
+	 *                     store of the current format
+	 */
+	public static MappedModelStore open(Path storePath) throws IOException {
+		try (FileChannel channel = FileChannel.open(storePath, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Model store exceeds 2 GB: " + storePath);
+			}
+			// the mapping stays valid after the channel is closed
+			MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			log.info("Mapped model store '" + storePath + "' (" + channel.size() + " bytes)");
+			return new MappedModelStore(storePath, buffer);
+		}
+	}
+
+	/**
+	 * Writes the given EventModel into a model store file which can be mapped by
+	 * open(Path) afterwards. An existing file is replaced.
+	 *
+	 * @param eventModel - The parsed EventModel
+	 * @param storePath  - The model store file
+	 * @throws IOException - If the file could not be written or would exceed 2 GB
+	 */
+	public static void write(EventModel eventModel, Path storePath) throws IOException {
+		int[] sectionOffsets = new int[SECTION_COUNT];
+		int[] sectionCounts = new int[SECTION_COUNT];
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(storePath)))) {
+			EventModelSnapshot snapshot = new EventModelSnapshot(out);
+			out.write(new byte[HEADER_BYTES]);
+
+			startSection(out, STREAMS, eventModel.getStreams().size(), sectionOffsets, sectionCounts);
+			for (Stream stream : eventModel.getStreams()) {
+				snapshot.writeUUID(stream.getId());
+				snapshot.writeString(stream.getName());
+			}
+
+			startSection(out, EVENTS, eventModel.getEvents().size(), sectionOffsets, sectionCounts);
+			for (var eventEntry : sortedByKey(eventModel.getEvents())) {
+				Event event = eventEntry.getValue();
+				writeNote(snapshot, eventEntry.getKey(), event.getId(), event.getName(), event.getDescription(),
+						event.getSchemaId());
+			}
+			startSection(out, COMMANDS, eventModel.getCommands().size(), sectionOffsets, sectionCounts);
+			for (var commandEntry : sortedByKey(eventModel.getCommands())) {
+				Command command = commandEntry.getValue();
+				writeNote(snapshot, commandEntry.getKey(), command.getId(), command.getName(),
+						command.getDescription(), command.getSchemaId());
+			}
+			startSection(out, READ_MODELS, eventModel.getReadModels().size(), sectionOffsets, sectionCounts);
+			for (var readModelEntry : sortedByKey(eventModel.getReadModels())) {
+				ReadModel readModel = readModelEntry.getValue();
+				writeNote(snapshot, readModelEntry.getKey(), readModel.getId(), readModel.getName(),
+						readModel.getDescription(), readModel.getSchemaId());
+			}
+
+			writePlacements(eventModel, snapshot, out, sectionOffsets, sectionCounts);
+			writeFlows(eventModel, snapshot, out, sectionOffsets, sectionCounts);
+			writeSchemas(eventModel, snapshot, out, sectionOffsets, sectionCounts);
+
+			List<byte[]> stringBytes = new ArrayList<>();
+			for (String string : snapshot.getStrings()) {
+				stringBytes.add(string.getBytes(StandardCharsets.UTF_8));
+			}
+			startSection(out, STRINGS, stringBytes.size(), sectionOffsets, sectionCounts);
+			long stringOffset = (long) out.size() + (long) stringBytes.size() * INT_BYTES;
+			for (byte[] bytes : stringBytes) {
+				if (stringOffset > Integer.MAX_VALUE) {
+					throw new IOException("Model store exceeds 2 GB: " + storePath);
+				}
+				out.writeInt((int) stringOffset);
+				stringOffset += INT_BYTES + bytes.length;
+			}
+			for (byte[] bytes : stringBytes) {
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+			checkSize(out);
+		}
+
+		try (RandomAccessFile file = new RandomAccessFile(storePath.toFile(), "rw")) {
+			file.writeInt(MAGIC);
+			file.writeInt(FORMAT_VERSION);
+			for (int i = 0; i < SECTION_COUNT; i++) {
+				file.writeInt(sectionOffsets[i]);
+				file.writeInt(sectionCounts[i]);
+			}
+		}
+	}
+
+	/**
+	 * Writes the Placements sorted by their key, followed by the index of the
+	 * Placements of every lane. The Placements of a lane keep the order of the
+	 * placement map, just like EventModel.getPlacementIds(LaneType, UUID).
+	 */
+	private static void writePlacements(EventModel eventModel, EventModelSnapshot snapshot, DataOutputStream out,
+			int[] sectionOffsets, int[] sectionCounts) throws IOException {
+		Map<UUID, Integer> recordNumbers = new HashMap<>();
+		startSection(out, PLACEMENTS, eventModel.getPlacements().size(), sectionOffsets, sectionCounts);
+		for (var placementEntry : sortedByKey(eventModel.getPlacements())) {
+			Placement placement = placementEntry.getValue();
+			recordNumbers.put(placementEntry.getKey(), recordNumbers.size());
+			snapshot.writeUUID(placementEntry.getKey());
+			snapshot.writeUUID(placement.getId());
+			out.writeInt(placement.getIndex());
+			snapshot.writeEnum(placement.getNoteType());
+			snapshot.writeUUID(placement.getNoteId());
+			snapshot.writeEnum(placement.getLaneType());
+			snapshot.writeUUID(placement.getLaneId());
+		}
+
+		Map<LaneType, Map<UUID, List<Integer>>> lanes = new EnumMap<>(LaneType.class);
+		for (var placementEntry : eventModel.getPlacements().entrySet()) {
+			Placement placement = placementEntry.getValue();
+			if (placement.getLaneType() != null) {
+				lanes.computeIfAbsent(placement.getLaneType(), k -> new TreeMap<>(UUID_ORDER))
+						.computeIfAbsent(placement.getLaneId(), k -> new ArrayList<>())
+						.add(recordNumbers.get(placementEntry.getKey()));
+			}
+		}
+		int laneCount = 0;
+		for (Map<UUID, List<Integer>> lanesOfType : lanes.values()) {
+			laneCount += lanesOfType.size();
+		}
+		startSection(out, LANES, laneCount, sectionOffsets, sectionCounts);
+		int start = 0;
+		for (var lanesOfType : lanes.entrySet()) {
+			for (var lane : lanesOfType.getValue().entrySet()) {
+				snapshot.writeEnum(lanesOfType.getKey());
+				snapshot.writeUUID(lane.getKey());
+				out.writeInt(start);
+				out.writeInt(lane.getValue().size());
+				start += lane.getValue().size();
+			}
+		}
+		startSection(out, LANE_PLACEMENTS, start, sectionOffsets, sectionCounts);
+		for (Map<UUID, List<Integer>> lanesOfType : lanes.values()) {
+			for (List<Integer> placementsOfLane : lanesOfType.values()) {
+				for (int recordNumber : placementsOfLane) {
+					out.writeInt(recordNumber);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the Flows sorted by their source, followed by the index of the Flows
+	 * sorted by their target. Both sorts are stable, so the Flows of a Placement
+	 * keep the order of the flow map, just like EventModel.getFlowTargets(UUID)
+	 * and EventModel.getFlowSources(UUID).
+	 */
+	private static void writeFlows(EventModel eventModel, EventModelSnapshot snapshot, DataOutputStream out,
+			int[] sectionOffsets, int[] sectionCounts) throws IOException {
+		List<Flow> flowsByFrom = new ArrayList<>(eventModel.getFlows().values());
+		flowsByFrom.sort(Comparator.comparing(Flow::getFrom, UUID_ORDER));
+		List<Flow> flowsByTo = new ArrayList<>(eventModel.getFlows().values());
+		flowsByTo.sort(Comparator.comparing(Flow::getTo, UUID_ORDER));
+
+		Map<Flow, Integer> recordNumbers = new IdentityHashMap<>();
+		startSection(out, FLOWS, flowsByFrom.size(), sectionOffsets, sectionCounts);
+		for (Flow flow : flowsByFrom) {
+			recordNumbers.put(flow, recordNumbers.size());
+			snapshot.writeUUID(flow.getFrom());
+			snapshot.writeUUID(flow.getTo());
+		}
+		startSection(out, FLOW_SOURCES, flowsByTo.size(), sectionOffsets, sectionCounts);
+		for (Flow flow : flowsByTo) {
+			out.writeInt(recordNumbers.get(flow));
+		}
+	}
+
+	/**
+	 * Writes the data of every Schema including its DataType tree, followed by
+	 * the index of the Schemas sorted by their key and the namespaces of all
+	 * Schemas.
+	 */
+	private static void writeSchemas(EventModel eventModel, EventModelSnapshot snapshot, DataOutputStream out,
+			int[] sectionOffsets, int[] sectionCounts) throws IOException {
+		Map<UUID, Integer> schemaOffsets = new HashMap<>();
+		for (var schemaEntry : eventModel.getSchemas().entrySet()) {
+			Schema schema = schemaEntry.getValue();
+			checkSize(out);
+			schemaOffsets.put(schemaEntry.getKey(), out.size());
+			snapshot.writeUUID(schema.getId());
+			snapshot.writeString(schema.getName());
+			snapshot.writeString(schema.getNamespace());
+			snapshot.writeString(schema.getDescription());
+			snapshot.writeDataType(schema.getDataType());
+		}
+
+		startSection(out, SCHEMAS, eventModel.getSchemas().size(), sectionOffsets, sectionCounts);
+		for (var schemaEntry : sortedByKey(eventModel.getSchemas())) {
+			snapshot.writeUUID(schemaEntry.getKey());
+			out.writeInt(schemaOffsets.get(schemaEntry.getKey()));
+		}
+		startSection(out, SCHEMA_NAMESPACES, eventModel.getSchemas().size(), sectionOffsets, sectionCounts);
+		for (Schema schema : eventModel.getSchemas().values()) {
+			snapshot.writeString(schema.getNamespace());
+		}
+	}
+
+	private static void writeNote(EventModelSnapshot snapshot, UUID key, UUID id, String name, String description,
+			UUID schemaId) throws IOException {
+		snapshot.writeUUID(key);
+		snapshot.writeUUID(id);
+		snapshot.writeString(name);
+		snapshot.writeString(description);
+		snapshot.writeUUID(schemaId);
+	}
+
+	private static void startSection(DataOutputStream out, int section, int count, int[] sectionOffsets,
+			int[] sectionCounts) throws IOException {
+		checkSize(out);
+		sectionOffsets[section] = out.size();
+		sectionCounts[section] = count;
+	}
+
+	private static void checkSize(DataOutputStream out) throws IOException {
+		// the size of a DataOutputStream stops counting at Integer.MAX_VALUE
+		if (out.size() == Integer.MAX_VALUE) {
+			throw new IOException("Model store exceeds 2 GB");
+		}
+	}
+
+	private static <T> List<Map.Entry<UUID, T>> sortedByKey(Map<UUID, T> map) {
+		List<Map.Entry<UUID, T>> entries = new ArrayList<>(map.entrySet());
+		entries.sort(Map.Entry.comparingByKey(UUID_ORDER));
+		return entries;
+	}
+
+	@Override
+	public List<Stream> getStreams() {
+		List<Stream> streams = new ArrayList<>(counts[STREAMS]);
+		for (int i = 0; i < counts[STREAMS]; i++) {
+			int position = offsets[STREAMS] + i * STREAM_BYTES;
+			streams.add(new Stream(readUUID(position), readString(position + UUID_BYTES)));
+		}
+		return streams;
+	}
+
+	@Override
+	public List<String> getSchemaNamespaces() {
+		List<String> namespaces = new ArrayList<>(counts[SCHEMA_NAMESPACES]);
+		for (int i = 0; i < counts[SCHEMA_NAMESPACES]; i++) {
+			namespaces.add(readString(offsets[SCHEMA_NAMESPACES] + i * INT_BYTES));
+		}
+		return namespaces;
+	}
+
+	@Override
+	public Event getEvent(UUID eventId) {
+		int position = findRecord(EVENTS, NOTE_BYTES, eventId);
+		if (position < 0) {
+			return null;
+		}
+		return new Event(readUUID(position + UUID_BYTES), readString(position + 2 * UUID_BYTES),
+				readString(position + 2 * UUID_BYTES + INT_BYTES), readUUID(position + 2 * UUID_BYTES + 2 * INT_BYTES));
+	}
+
+	@Override
+	public Command getCommand(UUID commandId) {
+		int position = findRecord(COMMANDS, NOTE_BYTES, commandId);
+		if (position < 0) {
+			return null;
+		}
+		return new Command(readUUID(position + UUID_BYTES), readString(position + 2 * UUID_BYTES),
+				readString(position + 2 * UUID_BYTES + INT_BYTES), readUUID(position + 2 * UUID_BYTES + 2 * INT_BYTES));
+	}
+
+	@Override
+	public ReadModel getReadModel(UUID readModelId) {
+		int position = findRecord(READ_MODELS, NOTE_BYTES, readModelId);
+		if (position < 0) {
+			return null;
+		}
+		return new ReadModel(readUUID(position + UUID_BYTES), readString(position + 2 * UUID_BYTES),
+				readString(position + 2 * UUID_BYTES + INT_BYTES), readUUID(position + 2 * UUID_BYTES + 2 * INT_BYTES));
+	}
+
+	@Override
+	public Schema getSchema(UUID schemaId) {
+		int position = findRecord(SCHEMAS, SCHEMA_BYTES, schemaId);
+		if (position < 0) {
+			return null;
+		}
+		ByteBuffer schemaBuffer = buffer.duplicate();
+		schemaBuffer.position(buffer.getInt(position + UUID_BYTES));
+		EventModelSnapshot snapshot = new EventModelSnapshot(schemaBuffer, this::getString);
+		return new Schema(snapshot.readUUID(), snapshot.readString(), snapshot.readString(), snapshot.readString(),
+				snapshot.readDataType());
+	}
+
+	@Override
+	public Placement getPlacement(UUID placementId) {
+		int position = findRecord(PLACEMENTS, PLACEMENT_BYTES, placementId);
+		return position < 0 ? null : readPlacement(position);
+	}
+
+	private Placement readPlacement(int position) {
+		int noteTypePosition = position + 2 * UUID_BYTES + INT_BYTES;
+		int laneTypePosition = noteTypePosition + 1 + UUID_BYTES;
+		return new Placement(readUUID(position + UUID_BYTES), buffer.getInt(position + 2 * UUID_BYTES),
+				readEnum(noteTypePosition, NoteType.values()), readUUID(noteTypePosition + 1),
+				readEnum(laneTypePosition, LaneType.values()), readUUID(laneTypePosition + 1));
+	}
+
+	@Override
+	public List<UUID> getPlacementIds(LaneType laneType, UUID laneId) {
+		int low = 0;
+		int high = counts[LANES] - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int position = offsets[LANES] + middle * LANE_BYTES;
+			int result = Integer.compare(buffer.get(position), laneType.ordinal());
+			if (result == 0) {
+				result = compareUUID(position + 1, laneId);
+			}
+			if (result < 0) {
+				low = middle + 1;
+			} else if (result > 0) {
+				high = middle - 1;
+			} else {
+				int start = buffer.getInt(position + 1 + UUID_BYTES);
+				int count = buffer.getInt(position + 1 + UUID_BYTES + INT_BYTES);
+				List<UUID> placementIds = new ArrayList<>(count);
+				for (int i = start; i < start + count; i++) {
+					int recordNumber = buffer.getInt(offsets[LANE_PLACEMENTS] + i * INT_BYTES);
+					placementIds.add(readUUID(offsets[PLACEMENTS] + recordNumber * PLACEMENT_BYTES));
+				}
+				return placementIds;
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	@Override
+	public List<UUID> getFlowTargets(UUID placementId) {
+		return findFlows(i -> offsets[FLOWS] + i * FLOW_BYTES, 0, UUID_BYTES, placementId);
+	}
+
+	@Override
+	public List<UUID> getFlowSources(UUID placementId) {
+		return findFlows(i -> offsets[FLOWS] + buffer.getInt(offsets[FLOW_SOURCES] + i * INT_BYTES) * FLOW_BYTES,
+				UUID_BYTES, 0, placementId);
+	}
+
+	/**
+	 * Collects the given end of every Flow whose other end is the given
+	 * Placement. The Flows are sorted by that other end.
+	 *
+	 * @param flowPosition - Position of the n-th Flow in the sort order
+	 * @param keyOffset    - Offset of the sorted end inside a Flow record
+	 * @param valueOffset  - Offset of the collected end inside a Flow record
+	 * @param placementId  - The Placement the Flows start from or end in
+	 * @return List<UUID> - The collected ends of the Flows
+	 */
+	private List<UUID> findFlows(IntUnaryOperator flowPosition, int keyOffset, int valueOffset, UUID placementId) {
+		List<UUID> placementIds = new ArrayList<>();
+		int i = lowerBound(counts[FLOWS], n -> flowPosition.applyAsInt(n) + keyOffset, placementId);
+		for (; i < counts[FLOWS] && compareUUID(flowPosition.applyAsInt(i) + keyOffset, placementId) == 0; i++) {
+			placementIds.add(readUUID(flowPosition.applyAsInt(i) + valueOffset));
+		}
+		return placementIds;
+	}
+
+	/**
+	 * @return int - Position of the record with the given key in the section
+	 *         sorted by key; or -1 if there is none
+	 */
+	private int findRecord(int section, int recordBytes, UUID key) {
+		int i = lowerBound(counts[section], n -> offsets[section] + n * recordBytes, key);
+		int position = offsets[section] + i * recordBytes;
+		return i < counts[section] && compareUUID(position, key) == 0 ? position : -1;
+	}
+
+	/**
+	 * @return int - Number of the first of the given sorted UUIDs that is not
+	 *         less than the given UUID
+	 */
+	private int lowerBound(int count, IntUnaryOperator uuidPosition, UUID uuid) {
+		int low = 0;
+		int high = count;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (compareUUID(uuidPosition.applyAsInt(middle), uuid) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Compares the stored UUID at the given position with the given UUID in the
+	 * order of UUID_ORDER.
+	 */
+	private int compareUUID(int position, UUID uuid) {
+		if (buffer.get(position) == 0) {
+			return uuid == null ? 0 : -1;
+		}
+		if (uuid == null) {
+			return 1;
+		}
+		int result = Long.compare(buffer.getLong(position + 1), uuid.getMostSignificantBits());
+		return result != 0 ? result : Long.compare(buffer.getLong(position + 9), uuid.getLeastSignificantBits());
+	}
+
+	private UUID readUUID(int position) {
+		if (buffer.get(position) == 0) {
+			return null;
+		}
+		return new UUID(buffer.getLong(position + 1), buffer.getLong(position + 9));
+	}
+
+	private <E extends Enum<E>> E readEnum(int position, E[] values) {
+		int ordinal = buffer.get(position);
+		return ordinal < 0 ? null : values[ordinal];
+	}
+
+	private String readString(int position) {
+		int index = buffer.getInt(position);
+		return index < 0 ? null : getString(index);
+	}
+
+	private String getString(int index) {
+		String string = strings[index];
+		if (string == null) {
+			int position = buffer.getInt(offsets[STRINGS] + index * INT_BYTES);
+			byte[] bytes = new byte[buffer.getInt(position)];
+			ByteBuffer stringBuffer = buffer.duplicate();
+			stringBuffer.position(position + INT_BYTES);
+			stringBuffer.get(bytes);
+			string = new String(bytes, StandardCharsets.UTF_8);
+			strings[index] = string;
+		}
+		return string;
+	}
+
+	public Path getStorePath() {
+		return storePath;
+	}
+
+	@Override
+	public String toString() {
+		return "MappedModelStore [storePath=" + storePath + ", bytes=" + buffer.limit() + "]";
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.whz.reader.model;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * OutputSink keeping the generated projects in memory, e.g. for tests or to
+ * preview the generated classes without touching the file system. Files and
+ * directories are kept by their entry names relative to the output directory,
+ * like in an archive.
+ *
+ * @author Timon Schwalbe
+ */
+public class MemoryOutputSink extends ArchiveOutputSink {
+
+	private final SortedMap<String, String> files = new TreeMap<>();
+	private final SortedSet<String> directories = new TreeSet<>();
+
+	/**
+	 * @param outputRoot - The output directory the entry names are relative to
+	 */
+	public MemoryOutputSink(String outputRoot) {
+		super(outputRoot);
+	}
+
+	@Override
+	protected void writeDirectory(String entryName) {
+		directories.add(entryName);
+	}
+
+	@Override
+	protected void writeFile(String entryName, CharSequence content) {
+		files.put(entryName, content.toString());
+	}
+
+	/**
+	 * @return SortedMap<String, String> - Content of every written file by its
+	 *         entry name
+	 */
+	public synchronized SortedMap<String, String> getFiles() {
+		return Collections.unmodifiableSortedMap(new TreeMap<>(files));
+	}
+
+	/**
+	 * @return SortedSet<String> - Entry name of every created directory
+	 */
+	public synchronized SortedSet<String> getDirectories() {
+		return Collections.unmodifiableSortedSet(new TreeSet<>(directories));
+	}
+
+	@Override
+	public void close() {
+		// the files stay readable
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "MemoryOutputSink [files=" + files.size() + ", directories=" + directories.size() + "]";
+	}
+
+}
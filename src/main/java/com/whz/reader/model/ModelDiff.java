@@ -0,0 +1,233 @@
+package com.whz.reader.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Schema;
+import com.whz.reader.dto.Stream;
+
+/**
+ * The ModelDiff compares a newly parsed EventModel with the EventModel
+ * generated before by the ids of their notes, schemas, Streams, Placements and
+ * Flows and derives which notes and schemas have to be generated again:
+ *
+ * - A schema is affected if it was added, removed or changed, or if it
+ * references an affected schema, directly or through other schemas, since a
+ * class is rendered with the names and types of the schemas it references.
+ *
+ * - A note is affected if it was added, removed or changed or if its schema is
+ * affected.
+ *
+ * Schemas are compared with their whole DataType trees, node by node on an
+ * explicit stack, so two schemas are only unchanged if every nested DataType
+ * is. Changed Streams, Placements and Flows do not affect any note: they only
+ * decide which classes are generated into which namespace, which the
+ * ProjectGenerator plans again on every generation.
+ *
+ * @author Timon Schwalbe
+ */
+public class ModelDiff {
+
+	private final Set<UUID> changedNotes = new HashSet<>();
+	private final Set<UUID> changedSchemas = new HashSet<>();
+	private final Set<UUID> changedStreams = new HashSet<>();
+	private final Set<UUID> changedPlacements = new HashSet<>();
+	private final Set<UUID> changedFlows = new HashSet<>();
+
+	private final Set<UUID> affectedNotes = new HashSet<>();
+	private final Set<UUID> affectedSchemas = new HashSet<>();
+
+	private ModelDiff() {
+	}
+
+	/**
+	 * @param previousEventModel - The EventModel generated before
+	 * @param eventModel         - The newly parsed EventModel
+	 * @return ModelDiff - The differences of both EventModels
+	 */
+	public static ModelDiff compare(EventModel previousEventModel, EventModel eventModel) {
+		ModelDiff diff = new ModelDiff();
+
+		compareValues(previousEventModel.getEvents(), eventModel.getEvents(),
+				event -> Arrays.asList(event.getName(), event.getDescription(), event.getSchemaId()),
+				diff.changedNotes);
+		compareValues(previousEventModel.getCommands(), eventModel.getCommands(),
+				command -> Arrays.asList(command.getName(), command.getDescription(), command.getSchemaId()),
+				diff.changedNotes);
+		compareValues(previousEventModel.getReadModels(), eventModel.getReadModels(),
+				readModel -> Arrays.asList(readModel.getName(), readModel.getDescription(),
+						readModel.getSchemaId()),
+				diff.changedNotes);
+		compareValues(toMap(previousEventModel.getStreams()), toMap(eventModel.getStreams()), Stream::getName,
+				diff.changedStreams);
+		compareValues(previousEventModel.getPlacements(), eventModel.getPlacements(),
+				placement -> Arrays.asList(placement.getIndex(), placement.getNoteType(), placement.getNoteId(),
+						placement.getLaneType(), placement.getLaneId()),
+				diff.changedPlacements);
+		compareValues(previousEventModel.getFlows(), eventModel.getFlows(),
+				flow -> Arrays.asList(flow.getFrom(), flow.getTo()), diff.changedFlows);
+		diff.compareSchemas(previousEventModel.getSchemas(), eventModel.getSchemas());
+
+		diff.resolveAffectedSchemas(eventModel.getSchemas());
+		diff.affectedNotes.addAll(diff.changedNotes);
+		diff.addNotesOfAffectedSchemas(eventModel);
+		return diff;
+	}
+
+	/**
+	 * Adds the id of every value that exists in only one of the Maps or whose
+	 * description differs.
+	 */
+	private static <T> void compareValues(Map<UUID, T> previousValues, Map<UUID, T> values,
+			Function<T, Object> describe, Set<UUID> changedIds) {
+		for (var entry : values.entrySet()) {
+			T previousValue = previousValues.get(entry.getKey());
+			if (previousValue == null
+					|| !Objects.equals(describe.apply(previousValue), describe.apply(entry.getValue()))) {
+				changedIds.add(entry.getKey());
+			}
+		}
+		for (UUID id : previousValues.keySet()) {
+			if (!values.containsKey(id)) {
+				changedIds.add(id);
+			}
+		}
+	}
+
+	private static Map<UUID, Stream> toMap(List<Stream> streams) {
+		Map<UUID, Stream> streamsById = new HashMap<>();
+		for (Stream stream : streams) {
+			streamsById.put(stream.getId(), stream);
+		}
+		return streamsById;
+	}
+
+	private void compareSchemas(Map<UUID, Schema> previousSchemas, Map<UUID, Schema> schemas) {
+		compareValues(previousSchemas, schemas,
+				schema -> Arrays.asList(schema.getName(), schema.getNamespace(), schema.getDescription()),
+				changedSchemas);
+		for (var entry : schemas.entrySet()) {
+			Schema previousSchema = previousSchemas.get(entry.getKey());
+			if (previousSchema != null && !changedSchemas.contains(entry.getKey()) && !describe(
+					previousSchema.getDataType()).equals(describe(entry.getValue().getDataType()))) {
+				changedSchemas.add(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * @param dataType - Root of a DataType tree
+	 * @return List<List<Object>> - Every node of the tree in the order of a
+	 *         DataTypeTraversal together with its position, so two trees are
+	 *         equal if their descriptions are
+	 */
+	private static List<List<Object>> describe(DataType dataType) {
+		List<List<Object>> nodes = new ArrayList<>();
+		DataTypeTraversal.walk(dataType, step -> {
+			DataType node = step.getDataType();
+			if (node == null) {
+				nodes.add(Arrays.asList(step.getDepth(), step.getIndex(), step.getKey()));
+				return false;
+			}
+			nodes.add(Arrays.asList(step.getDepth(), step.getIndex(), step.getKey(), node.getSchemaType(),
+					node.getName(), node.getProperties(), node.getEnumList(), node.getRegex(),
+					node.getReference()));
+			return true;
+		});
+		return nodes;
+	}
+
+	/**
+	 * Adds every changed schema and every schema referencing one, directly or
+	 * through other schemas, to the affected schemas.
+	 */
+	private void resolveAffectedSchemas(Map<UUID, Schema> schemas) {
+		affectedSchemas.addAll(changedSchemas);
+		if (changedSchemas.isEmpty()) {
+			return;
+		}
+
+		Map<UUID, List<UUID>> referencingSchemas = new HashMap<>();
+		for (var entry : schemas.entrySet()) {
+			DataTypeTraversal.walk(entry.getValue().getDataType(), step -> {
+				DataType dataType = step.getDataType();
+				if (dataType == null) {
+					return false;
+				}
+				if (dataType.getSchemaType() == SchemaType.REF && dataType.getReference() != null) {
+					referencingSchemas.computeIfAbsent(dataType.getReference(), id -> new ArrayList<>())
+							.add(entry.getKey());
+				}
+				return true;
+			});
+		}
+
+		Deque<UUID> pendingSchemaIds = new ArrayDeque<>(changedSchemas);
+		while (!pendingSchemaIds.isEmpty()) {
+			for (UUID schemaId : referencingSchemas.getOrDefault(pendingSchemaIds.pop(), List.of())) {
+				if (affectedSchemas.add(schemaId)) {
+					pendingSchemaIds.push(schemaId);
+				}
+			}
+		}
+	}
+
+	private void addNotesOfAffectedSchemas(EventModel eventModel) {
+		if (affectedSchemas.isEmpty()) {
+			return;
+		}
+		for (var event : eventModel.getEvents().entrySet()) {
+			if (affectedSchemas.contains(event.getValue().getSchemaId())) {
+				affectedNotes.add(event.getKey());
+			}
+		}
+		for (var command : eventModel.getCommands().entrySet()) {
+			if (affectedSchemas.contains(command.getValue().getSchemaId())) {
+				affectedNotes.add(command.getKey());
+			}
+		}
+		for (var readModel : eventModel.getReadModels().entrySet()) {
+			if (affectedSchemas.contains(readModel.getValue().getSchemaId())) {
+				affectedNotes.add(readModel.getKey());
+			}
+		}
+	}
+
+	/**
+	 * @param sourceId - Id of a note or schema; may be null
+	 * @return boolean - Whether the classes generated from the note or schema
+	 *         might change; always true for a class without a source
+	 */
+	public boolean isAffected(UUID sourceId) {
+		return sourceId == null || affectedNotes.contains(sourceId) || affectedSchemas.contains(sourceId);
+	}
+
+	/**
+	 * @return boolean - true if nothing generated from the EventModel changed
+	 */
+	public boolean isEmpty() {
+		return changedNotes.isEmpty() && changedSchemas.isEmpty() && changedStreams.isEmpty()
+				&& changedPlacements.isEmpty() && changedFlows.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "ModelDiff [changed: notes=" + changedNotes.size() + ", schemas=" + changedSchemas.size() + ", streams="
+				+ changedStreams.size() + ", placements=" + changedPlacements.size() + ", flows=" + changedFlows.size()
+				+ ", affected: notes=" + affectedNotes.size() + ", schemas=" + affectedSchemas.size() + "]";
+	}
+
+}
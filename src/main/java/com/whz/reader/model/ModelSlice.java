@@ -0,0 +1,225 @@
+package com.whz.reader.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import com.whz.reader.dto.Flow;
+import com.whz.reader.dto.Placement;
+import com.whz.reader.dto.Placement.LaneType;
+import com.whz.reader.dto.Placement.NoteType;
+import com.whz.reader.dto.Stream;
+
+/**
+ * The ModelSlice is the part of an oNote JSON file that is needed to generate
+ * only some of its Bounded Contexts (Streams). The JSONStreamParser scans the
+ * JSON file once for the Streams, Placements, Flows, the schema ids of the notes
+ * and the references between the schemas, which are small compared to the
+ * whole file. The slice is resolved from them and the JSON file is read a
+ * second time, materializing only what belongs to the slice.
+ *
+ * A slice contains the same Placements the ProjectGenerator would assign to the
+ * selected Bounded Contexts: the Events of the selected Streams and the
+ * Commands and Read Models connected to them through Flows. It further
+ * contains the notes of these Placements, the Flows between them and the
+ * schemas of the notes together with every schema reachable through a
+ * reference. Audiences and interfaces are never part of a slice since they are
+ * not generated.
+ *
+ * @author Timon Schwalbe
+ */
+public class ModelSlice {
+
+	private static final Logger log = Logger.getLogger(ModelSlice.class.getName());
+
+	/**
+	 * Name of the Bounded Context of all Events without a Stream.
+	 */
+	public static final String DEFAULT_STREAM = "DefaultStream";
+
+	private final Set<String> selectedStreams;
+
+	// collected by the scan of the JSON file
+	private final List<Stream> streams = new ArrayList<>();
+	private final Map<UUID, Placement> placements = new HashMap<>();
+	private final List<Flow> flows = new ArrayList<>();
+	private final Map<UUID, UUID> noteSchemaIds = new HashMap<>();
+	private final Map<UUID, List<UUID>> schemaReferences = new HashMap<>();
+
+	// resolved from the scan
+	private final Set<UUID> streamIds = new HashSet<>();
+	private boolean isDefaultStreamSelected;
+	private final Set<UUID> placementIds = new HashSet<>();
+	private final Set<UUID> noteIds = new HashSet<>();
+	private final Set<UUID> schemaIds = new HashSet<>();
+
+	/**
+	 * @param selectedStreams - Names or ids of the Streams to be parsed;
+	 *                        'DefaultStream' selects the Events without a Stream
+	 */
+	public ModelSlice(Set<String> selectedStreams) {
+		this.selectedStreams = selectedStreams;
+	}
+
+	void addStream(Stream stream) {
+		streams.add(stream);
+	}
+
+	void addPlacement(UUID placementId, Placement placement) {
+		placements.put(placementId, placement);
+	}
+
+	void addFlow(Flow flow) {
+		flows.add(flow);
+	}
+
+	/**
+	 * @param noteId   - Id of a command, event or read model
+	 * @param schemaId - Id of its schema; may be null
+	 */
+	void addNote(UUID noteId, UUID schemaId) {
+		noteSchemaIds.put(noteId, schemaId);
+	}
+
+	/**
+	 * @param schemaId   - Id of a schema
+	 * @param references - Ids of every schema referenced by its DataType
+	 */
+	void addSchema(UUID schemaId, List<UUID> references) {
+		schemaReferences.put(schemaId, references);
+	}
+
+	/**
+	 * Resolves the slice from everything collected by the scan, which is
+	 * released afterwards. Selected Streams that do not exist are logged.
+	 */
+	void resolve() {
+		Set<String> unknownStreams = new LinkedHashSet<>(selectedStreams);
+		isDefaultStreamSelected = unknownStreams.remove(DEFAULT_STREAM);
+		for (Stream stream : streams) {
+			// several Streams may share a name, so every one of them is selected
+			String streamId = stream.getId() != null ? stream.getId().toString() : null;
+			if (selectedStreams.contains(stream.getName()) || selectedStreams.contains(streamId)) {
+				streamIds.add(stream.getId());
+				unknownStreams.remove(stream.getName());
+				unknownStreams.remove(streamId);
+			}
+		}
+		for (String unknownStream : unknownStreams) {
+			log.warning("Unknown Stream: '" + unknownStream + "'");
+		}
+
+		resolvePlacements();
+		for (UUID placementId : placementIds) {
+			noteIds.add(placements.get(placementId).getNoteId());
+		}
+		resolveSchemas();
+
+		placements.clear();
+		flows.clear();
+		noteSchemaIds.clear();
+		schemaReferences.clear();
+	}
+
+	/**
+	 * Follows the Flows of the Event-Placements of the selected Streams to their
+	 * Commands and Read Models, like ProjectGenerator does for every Bounded
+	 * Context.
+	 */
+	private void resolvePlacements() {
+		Map<UUID, List<UUID>> flowTargets = new HashMap<>();
+		Map<UUID, List<UUID>> flowSources = new HashMap<>();
+		for (Flow flow : flows) {
+			flowTargets.computeIfAbsent(flow.getFrom(), id -> new ArrayList<>()).add(flow.getTo());
+			flowSources.computeIfAbsent(flow.getTo(), id -> new ArrayList<>()).add(flow.getFrom());
+		}
+
+		for (var placementEntry : placements.entrySet()) {
+			Placement placement = placementEntry.getValue();
+			if (placement.getNoteType() != NoteType.EVENT || placement.getLaneType() != LaneType.STREAM
+					|| !(placement.getLaneId() == null ? isDefaultStreamSelected
+							: streamIds.contains(placement.getLaneId()))) {
+				continue;
+			}
+			placementIds.add(placementEntry.getKey());
+
+			for (UUID targetPlacementId : flowTargets.getOrDefault(placementEntry.getKey(), List.of())) {
+				Placement targetPlacement = placements.get(targetPlacementId);
+				if (targetPlacement != null && (targetPlacement.getNoteType() == NoteType.COMMAND
+						|| targetPlacement.getNoteType() == NoteType.READ_MODEL)) {
+					placementIds.add(targetPlacementId);
+				}
+			}
+			for (UUID sourcePlacementId : flowSources.getOrDefault(placementEntry.getKey(), List.of())) {
+				Placement sourcePlacement = placements.get(sourcePlacementId);
+				if (sourcePlacement != null && sourcePlacement.getNoteType() == NoteType.COMMAND) {
+					placementIds.add(sourcePlacementId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the schemas of the notes and every schema they reference, directly or
+	 * through other schemas.
+	 */
+	private void resolveSchemas() {
+		Deque<UUID> pendingSchemaIds = new ArrayDeque<>();
+		for (UUID noteId : noteIds) {
+			UUID schemaId = noteSchemaIds.get(noteId);
+			if (schemaId != null) {
+				pendingSchemaIds.push(schemaId);
+			}
+		}
+		while (!pendingSchemaIds.isEmpty()) {
+			UUID schemaId = pendingSchemaIds.pop();
+			if (schemaIds.add(schemaId)) {
+				pendingSchemaIds.addAll(schemaReferences.getOrDefault(schemaId, List.of()));
+			}
+		}
+	}
+
+	public boolean containsStream(UUID streamId) {
+		return streamIds.contains(streamId);
+	}
+
+	public boolean containsPlacement(UUID placementId) {
+		return placementIds.contains(placementId);
+	}
+
+	/**
+	 * @param noteId - Id of a command, event or read model
+	 * @return boolean - Whether the note is placed in the slice
+	 */
+	public boolean containsNote(UUID noteId) {
+		return noteIds.contains(noteId);
+	}
+
+	public boolean containsSchema(UUID schemaId) {
+		return schemaIds.contains(schemaId);
+	}
+
+	/**
+	 * @param flow - A parsed Flow
+	 * @return boolean - Whether the Flow connects two Placements of the slice
+	 */
+	public boolean containsFlow(Flow flow) {
+		return placementIds.contains(flow.getFrom()) && placementIds.contains(flow.getTo());
+	}
+
+	@Override
+	public String toString() {
+		return "ModelSlice [selectedStreams=" + selectedStreams + ", streams=" + streamIds.size()
+				+ (isDefaultStreamSelected ? " + " + DEFAULT_STREAM : "") + ", placements=" + placementIds.size()
+				+ ", notes=" + noteIds.size() + ", schemas=" + schemaIds.size() + "]";
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.whz.reader.model;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.whz.reader.dto.Command;
+import com.whz.reader.dto.Event;
+import com.whz.reader.dto.Placement;
+import com.whz.reader.dto.Placement.LaneType;
+import com.whz.reader.dto.ReadModel;
+import com.whz.reader.dto.Schema;
+import com.whz.reader.dto.Stream;
+
+/**
+ * A ModelStore answers every question the ProjectGenerator asks about a parsed
+ * EventModel, so the code can be generated either from the EventModel on the
+ * heap (EventModelStore) or from a memory-mapped file (MappedModelStore)
+ * without loading the whole model.
+ *
+ * Every implementation must be safe to be read by several threads at once.
+ *
+ * @author Timon Schwalbe
+ */
+public interface ModelStore {
+
+	/**
+	 * @return List<Stream> - All Streams in the order of the JSON file
+	 */
+	List<Stream> getStreams();
+
+	/**
+	 * @return List<String> - The namespace of every Schema, one entry per Schema
+	 */
+	List<String> getSchemaNamespaces();
+
+	/**
+	 * @param eventId - UUID of the Event
+	 * @return Event - The Event; or null if there is none
+	 */
+	Event getEvent(UUID eventId);
+
+	/**
+	 * @param commandId - UUID of the Command
+	 * @return Command - The Command; or null if there is none
+	 */
+	Command getCommand(UUID commandId);
+
+	/**
+	 * @param readModelId - UUID of the Read Model
+	 * @return ReadModel - The Read Model; or null if there is none
+	 */
+	ReadModel getReadModel(UUID readModelId);
+
+	/**
+	 * @param schemaId - UUID of the Schema
+	 * @return Schema - The Schema with its DataType; or null if there is none
+	 */
+	Schema getSchema(UUID schemaId);
+
+	/**
+	 * @param placementId - UUID of the Placement
+	 * @return Placement - The Placement; or null if there is none
+	 */
+	Placement getPlacement(UUID placementId);
+
+	/**
+	 * @param laneType - The type of lane the placements are located in
+	 * @param laneId   - The ID of the lane; null for the timeline or the
+	 *                 "Default"-Stream
+	 * @return List<UUID> - IDs of all placements in the given lane
+	 */
+	List<UUID> getPlacementIds(LaneType laneType, UUID laneId);
+
+	/**
+	 * @param placementId - ID of the placement the flows start from
+	 * @return List<UUID> - IDs of all placements the given placement flows to
+	 */
+	List<UUID> getFlowTargets(UUID placementId);
+
+	/**
+	 * @param placementId - ID of the placement the flows end in
+	 * @return List<UUID> - IDs of all placements flowing to the given placement
+	 */
+	List<UUID> getFlowSources(UUID placementId);
+
+}
@@ -0,0 +1,98 @@
+package com.whz.reader.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Destination the generated projects are written to. The ProjectGenerator
+ * creates the directories of the projects and the GenerationPipeline writes
+ * the rendered classes only through the OutputSink, so the generated code may
+ * end up in the file system, in a single ZIP or JAR file, in a tar stream or
+ * in memory.
+ *
+ * Paths are given the same way for every OutputSink: the path of the output
+ * directory selected by the user followed by the path of the directory or file
+ * in the project. The I/O threads of the GenerationPipeline write several files
+ * at the same time, so every OutputSink has to be thread-safe.
+ *
+ * @author Timon Schwalbe
+ */
+public interface OutputSink extends AutoCloseable {
+
+	/**
+	 * Creates a directory together with any missing parent directories.
+	 *
+	 * @param directory - Path of the directory
+	 * @return boolean - true if the directory was created; false if it already
+	 *         existed
+	 * @throws IOException - If the directory could not be created
+	 */
+	boolean createDirectory(String directory) throws IOException;
+
+	/**
+	 * Creates several directories at once, e.g. the namespaces of every Bounded
+	 * Context before any class is written.
+	 *
+	 * @param directories - Paths of the directories
+	 * @return List<String> - The directories that were created
+	 * @throws IOException - If a directory could not be created
+	 */
+	default List<String> createDirectories(Collection<String> directories) throws IOException {
+		List<String> createdDirectories = new ArrayList<>();
+		for (String directory : directories) {
+			if (createDirectory(directory)) {
+				createdDirectories.add(directory);
+			}
+		}
+		return createdDirectories;
+	}
+
+	/**
+	 * Writes a file; any file written before under the same path is replaced. The
+	 * directory of the file has to be created first.
+	 *
+	 * @param filePath - Path of the file
+	 * @param content  - Content of the file, written as UTF-8
+	 * @throws IOException - If the file could not be written
+	 */
+	void write(String filePath, CharSequence content) throws IOException;
+
+	/**
+	 * Starts writing a file like write(String, CharSequence) and returns once the
+	 * file is being written, so many files can be written at the same time. By
+	 * default the file is written before this method returns.
+	 *
+	 * @param filePath - Path of the file
+	 * @param content  - Content of the file, written as UTF-8
+	 * @return CompletableFuture<Void> - Completed once the file is written, or
+	 *         completed exceptionally with the IOException if it could not be
+	 *         written
+	 */
+	default CompletableFuture<Void> writeAsync(String filePath, CharSequence content) {
+		try {
+			write(filePath, content);
+			return CompletableFuture.completedFuture(null);
+		} catch (IOException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * @return boolean - Whether the files of earlier generations are kept, so a
+	 *         GenerationManifest can skip the files that did not change
+	 */
+	default boolean isIncremental() {
+		return false;
+	}
+
+	/**
+	 * Finishes the output, e.g. writes the end of an archive. Streams handed to
+	 * an OutputSink are flushed but never closed by it.
+	 */
+	@Override
+	void close() throws IOException;
+
+}
@@ -1,26 +1,36 @@
 package com.whz.reader.model;
 
-import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.whz.reader.dto.Command;
 import com.whz.reader.dto.DataType;
 import com.whz.reader.dto.DataType.SchemaType;
 import com.whz.reader.dto.Event;
-import com.whz.reader.dto.Flow;
+import com.whz.reader.dto.EventModel;
 import com.whz.reader.dto.Placement;
 import com.whz.reader.dto.Placement.LaneType;
 import com.whz.reader.dto.Placement.NoteType;
 import com.whz.reader.dto.ReadModel;
 import com.whz.reader.dto.Stream;
+import com.whz.reader.model.GenerationPlan.ClassType;
+import com.whz.reader.model.GenerationPlan.PlannedClass;
+import com.whz.reader.model.SchemaSymbolTable.SchemaSymbol;
 import com.whz.reader.util.I18N;
 import com.whz.reader.util.InputValidator;
-import com.whz.reader.view.ReaderGUI;
 
 /**
  * ProjectGenerator class, which sets up the entire project. Based on the user
@@ -41,33 +51,90 @@ public class ProjectGenerator {
 
 	private static final Logger log = Logger.getLogger(ProjectGenerator.class.getName());
 
+	// has to be increased whenever the generated classes change, so the classes
+	// kept since their notes and schemas did not change are rendered again
+	static final String GENERATOR_VERSION = "1";
+
+	// folders created in the namespace of every Bounded Context
+	private static final String[] NAMESPACE_FOLDERS = { "commands", "events", "readModels", "schemas" };
+
 	/**
 	 * Sets up the project by building the namespace based on the information given
 	 * by the user. Calls methods to create the project(s) if needed and finally
 	 * generates all the Java classes and implements them with the logic given by
 	 * the oNote event model.
 	 * 
-	 * After every class has been generated a dialog window will pop up stating the
-	 * success of the project and code generation.
+	 * After every class has been generated the success of the project and code
+	 * generation is logged.
+	 * 
+	 * Every generated file is recorded in the GenerationManifest of the project
+	 * path. Generating into the same path again only writes the files whose
+	 * content changed and deletes the files that are not generated anymore.
+	 * Further, the EventModel is compared with the one generated last in a
+	 * ModelDiff and only the classes of the affected notes and schemas are
+	 * rendered again.
+	 * 
+	 * @param session - The parsed JSON file to generate the code from
+	 * @param options - The project and namespace options selected by the user
+	 * @return boolean - true if the project was generated; false if not
+	 */
+	public static boolean generateProject(GenerationSession session, GenerationOptions options) {
+		return generateProject(session, options, null, new LoggingGenerationListener());
+	}
+
+	/**
+	 * Sets up the project like generateProject(GenerationSession,
+	 * GenerationOptions) but generates the Bounded Contexts on the given executor.
+	 * Each Bounded Context writes into its own namespace, so they are generated at
+	 * the same time and the whole generation takes about as long as the slowest
+	 * Bounded Context.
+	 * 
+	 * Everything the generation needs is taken from the given session and options
+	 * and the session is never changed, so several JSON files can be generated at
+	 * the same time.
 	 * 
-	 * @param projectComboBoxIndex   - The project creation option selected by the
-	 *                               user
-	 * @param projectPath            - The path of the new project
-	 * @param namespaceComboBoxIndex - The namespace option selected by the user
-	 * @param declaredNamespace      - The separate namespace declared by the user
-	 *                               depending on the selected namespace option
+	 * @param session  - The parsed JSON file to generate the code from
+	 * @param options  - The project and namespace options selected by the user
+	 * @param executor - Executor generating the Bounded Contexts; or null to
+	 *                 generate them one after another on the calling thread
+	 * @param listener - Listener that is told about any warnings and the success
+	 *                 of the generation
+	 * @return boolean - true if the project was generated; false if not
 	 */
-	public static void generateProject(int projectComboBoxIndex, String projectPath, int namespaceComboBoxIndex,
-			String declaredNamespace) {
+	public static boolean generateProject(GenerationSession session, GenerationOptions options,
+			ExecutorService executor, GenerationListener listener) {
+		return generateProject(session, options, executor, listener, new FileSystemOutputSink());
+	}
+
+	/**
+	 * Sets up the project like generateProject(GenerationSession,
+	 * GenerationOptions, ExecutorService, GenerationListener) but writes every
+	 * directory and class through the given OutputSink, e.g. into a ZIP file.
+	 * The GenerationManifest and the comparison with the EventModel generated
+	 * last are only used with an incremental OutputSink.
+	 * 
+	 * @param session    - The parsed JSON file to generate the code from
+	 * @param options    - The project and namespace options selected by the user
+	 * @param executor   - Executor generating the Bounded Contexts; or null to
+	 *                   generate them one after another on the calling thread
+	 * @param listener   - Listener that is told about any warnings and the
+	 *                   success of the generation
+	 * @param outputSink - OutputSink the project is written to; it is not closed
+	 * @return boolean - true if the project was generated; false if not
+	 */
+	public static boolean generateProject(GenerationSession session, GenerationOptions options,
+			ExecutorService executor, GenerationListener listener, OutputSink outputSink) {
+		int projectComboBoxIndex = options.getProjectOption();
+		String projectPath = options.getProjectPath();
+		int namespaceComboBoxIndex = options.getNamespaceOption();
+		String declaredNamespace = options.getDeclaredNamespace();
 		String namespace = "";
 
 		if (namespaceComboBoxIndex == 0) {
 			namespace = declaredNamespace;
 		} else if (namespaceComboBoxIndex == 1) {
 			Map<String, Integer> namespaceMap = new HashMap<>();
-			for (var schemaEntry : JSONParser.eventModel.getSchemas().entrySet()) {
-				String tempNamespace = schemaEntry.getValue().getNamespace();
-
+			for (String tempNamespace : session.getModelStore().getSchemaNamespaces()) {
 				if (namespaceMap.containsKey(tempNamespace)) {
 					namespaceMap.put(tempNamespace, namespaceMap.get(tempNamespace) + 1);
 				} else {
@@ -86,12 +153,103 @@ public class ProjectGenerator {
 
 		String warningMessage = InputValidator.validateNamespace(namespace);
 		if (warningMessage.isEmpty()) {
-			if (createBoundedContexts(projectComboBoxIndex, projectPath, namespace)) {
+			boolean generated;
+			DataTypeAnalyzer analyzer = new DataTypeAnalyzer(session.getSchemaSymbolTable());
+			GenerationManifest manifest = outputSink.isIncremental() ? GenerationManifest.load(projectPath) : null;
+			String generationKey = GENERATOR_VERSION + "/" + JSONParser.PARSER_VERSION + "/" + projectComboBoxIndex
+					+ "/" + namespace;
+			ModelDiff diff = manifest != null ? compareWithPreviousModel(session, manifest, generationKey) : null;
+			GenerationPipeline pipeline = new GenerationPipeline(manifest, outputSink);
+			try (pipeline) {
+				generated = createBoundedContexts(session, projectComboBoxIndex, projectPath, namespace, executor,
+						pipeline, analyzer, diff, listener);
+			}
+			log.info("Analyzed " + analyzer.size() + " DataType(s)");
+			if (manifest != null) {
+				finishManifest(session, manifest, generated && pipeline.getFailedFiles() == 0, generationKey, diff,
+						listener);
+			}
+			if (generated) {
 				log.info("Finished code generation");
-				ReaderGUI.showInfoDialog(I18N.resourceBundle.getString("projectGenerator.projectSuccess"));
+				listener.onInfo(I18N.resourceBundle.getString("projectGenerator.projectSuccess"));
+			}
+			return generated;
+		} else {
+			listener.onWarning(warningMessage);
+			return false;
+		}
+	}
+
+	/**
+	 * Compares the EventModel of the session with the one generated last into the
+	 * project path. A slice or an EventModel in a MappedModelStore is never
+	 * compared, since the previous EventModel is only kept for whole EventModels.
+	 * 
+	 * @param session       - The parsed JSON file to generate the code from
+	 * @param manifest      - The manifest of the project path
+	 * @param generationKey - Key of the options and versions of the generation
+	 * @return ModelDiff - The differences to the EventModel generated last; or
+	 *         null if every class has to be rendered
+	 */
+	private static ModelDiff compareWithPreviousModel(GenerationSession session, GenerationManifest manifest,
+			String generationKey) {
+		if (session.getEventModel() == null || session.getModelSlice() != null) {
+			return null;
+		}
+		long startTime = System.nanoTime();
+		EventModel previousEventModel = manifest.loadModel(generationKey);
+		if (previousEventModel == null) {
+			return null;
+		}
+		ModelDiff diff = ModelDiff.compare(previousEventModel, session.getEventModel());
+		log.info("Compared with the EventModel generated last in " + (System.nanoTime() - startTime) / 1_000_000
+				+ " ms: " + diff);
+		return diff;
+	}
+
+	/**
+	 * Deletes the files that were generated before but not this time and saves
+	 * the manifest. Such files that were edited in the meantime are kept and the
+	 * user is warned about them. Nothing is deleted if the generation did not succeed, since
+	 * the files missing might only have failed to be generated.
+	 * 
+	 * If every class of a whole EventModel was generated, the EventModel is kept
+	 * for the next generation to compare with. Otherwise the EventModel generated
+	 * before is deleted, since it does not describe the generated classes anymore.
+	 * 
+	 * @param session       - The parsed JSON file the code was generated from
+	 * @param manifest      - The manifest of the project path
+	 * @param canPrune      - Whether every class was generated
+	 * @param generationKey - Key of the options and versions of the generation
+	 * @param diff          - The differences to the EventModel generated last; may
+	 *                      be null
+	 * @param listener      - Listener that is told about the files that are not
+	 *                      generated anymore but were kept since they were edited
+	 */
+	private static void finishManifest(GenerationSession session, GenerationManifest manifest, boolean canPrune,
+			String generationKey, ModelDiff diff, GenerationListener listener) {
+		if (canPrune) {
+			int prunedFiles = manifest.prune(session.getModelSlice() == null);
+			if (prunedFiles > 0) {
+				log.info("Deleted " + prunedFiles + " file(s) that are not generated anymore");
+			}
+			List<String> editedFiles = manifest.getEditedFiles();
+			if (!editedFiles.isEmpty()) {
+				listener.onWarning(I18N.resourceBundle.getString("projectGenerator.keptEditedFiles") + "\n"
+						+ String.join("\n", editedFiles));
+			}
+		} else {
+			log.info("Not deleting any files since the generation did not succeed");
+		}
+		boolean saved = manifest.save();
+		log.info((saved ? "Saved " : "Unchanged ") + manifest);
+
+		if (canPrune && session.getEventModel() != null && session.getModelSlice() == null) {
+			if (diff == null || !diff.isEmpty()) {
+				manifest.storeModel(generationKey, session.getEventModel());
 			}
 		} else {
-			ReaderGUI.showWarningDialog(warningMessage);
+			manifest.deleteModel();
 		}
 	}
 
@@ -106,232 +264,463 @@ public class ProjectGenerator {
 	 * project. This should be avoided by the user since a Bounded Context should
 	 * have a proper name.
 	 * 
+	 * The Bounded Contexts are resolved and validated first. Then the directories
+	 * of all Bounded Contexts are created in one pass and the Bounded Contexts are
+	 * generated, either one after another or on the given executor. Bounded
+	 * Contexts sharing the same namespace are always generated by the same task so
+	 * they never write the same files at the same time. Finally the reports of all
+	 * Bounded Contexts are logged in the order of the Streams and any warnings are
+	 * displayed at once.
+	 * 
+	 * @param session              - The parsed JSON file to generate the code from
 	 * @param projectComboBoxIndex - The project creation option selected by the
 	 *                             user
 	 * @param projectPath          - The path of the new project
 	 * @param namespace            - Namespace provided by the user
-	 * @return boolean - true if Streams are following Java naming conventions;
-	 *         false if not
+	 * @param executor             - Executor generating the Bounded Contexts; or
+	 *                             null to generate them on the calling thread
+	 * @param pipeline             - Pipeline rendering and writing the classes
+	 * @param analyzer             - Analyzer shared by all Bounded Contexts
+	 * @param diff                 - The differences to the EventModel generated
+	 *                             last; or null to render every class
+	 * @param listener             - Listener that is told about any warnings
+	 * @return boolean - true if Streams are following Java naming conventions and
+	 *         every Bounded Context was generated; false if not
 	 */
-	private static boolean createBoundedContexts(int projectComboBoxIndex, String projectPath, String namespace) {
-		// Adding "Default"-Stream to Stream-List
-		JSONParser.eventModel.getStreams().add(new Stream(null, "DefaultStream"));
-
-		for (Stream stream : JSONParser.eventModel.getStreams()) {
+	private static boolean createBoundedContexts(GenerationSession session, int projectComboBoxIndex,
+			String projectPath, String namespace, ExecutorService executor, GenerationPipeline pipeline,
+			DataTypeAnalyzer analyzer, ModelDiff diff, GenerationListener listener) {
+		long startTime = System.nanoTime();
+
+		// Adding "Default"-Stream to a copy of the Stream-List, the session is never
+		// changed
+		List<Stream> streams = new ArrayList<>(session.getModelStore().getStreams());
+		streams.add(new Stream(null, "DefaultStream"));
+
+		Map<String, List<BoundedContext>> boundedContextsByNamespace = new LinkedHashMap<>();
+		for (Stream stream : streams) {
 			UUID projectID = stream.getId();
 			String projectName = stream.getFormattedName().substring(0, 1).toUpperCase()
 					+ stream.getFormattedName().substring(1);
 
 			String warningMessage = InputValidator.validateNamespace(projectName);
-			List<Placement> placementsOfProject = findPlacementsOfCurrentProject(projectID);
+			List<Placement> placementsOfProject = findPlacementsOfCurrentProject(session, projectID);
 
 			if (warningMessage.isEmpty()) {
 				if (!placementsOfProject.isEmpty()) {
 					String projectNamespace = namespace + "." + projectName.substring(0, 1).toLowerCase()
 							+ projectName.substring(1);
-					String projectSourcePath = null;
-					boolean canCreateProject = false;
-
-					if (projectComboBoxIndex == 0) {
-						projectSourcePath = projectPath + "/" + projectName + "/src";
-						canCreateProject = createBasicProject(projectSourcePath.replace("\\", "/"));
-					} else if (projectComboBoxIndex == 1) {
-						projectSourcePath = projectPath;
-						canCreateProject = true;
-					} else {
-						log.warning("Only two project options possible but index was neither: '" + projectComboBoxIndex
-								+ "'");
-					}
 
-					if (canCreateProject) {
-						generateClasses(projectID, projectSourcePath, projectNamespace, placementsOfProject);
-					}
+					boundedContextsByNamespace.computeIfAbsent(projectNamespace, k -> new ArrayList<>())
+							.add(new BoundedContext(projectName, projectNamespace, placementsOfProject));
 				}
 			} else {
-				ReaderGUI.showWarningDialog(warningMessage);
+				listener.onWarning(warningMessage);
 				return false;
 			}
 		}
-		return true;
+
+		createDirectories(boundedContextsByNamespace.values(), projectComboBoxIndex, projectPath, pipeline);
+
+		List<BoundedContextReport> reports = new ArrayList<>();
+		int failedGroups = 0;
+		if (executor == null) {
+			for (List<BoundedContext> boundedContexts : boundedContextsByNamespace.values()) {
+				try {
+					reports.addAll(generateBoundedContexts(session, boundedContexts, pipeline, analyzer, diff));
+				} catch (RuntimeException e) {
+					log.log(Level.WARNING, "Could not generate Bounded Context", e);
+					failedGroups++;
+				}
+			}
+		} else {
+			List<Future<List<BoundedContextReport>>> futures = new ArrayList<>();
+			for (List<BoundedContext> boundedContexts : boundedContextsByNamespace.values()) {
+				futures.add(executor.submit(
+						() -> generateBoundedContexts(session, boundedContexts, pipeline, analyzer, diff)));
+			}
+			for (Future<List<BoundedContextReport>> future : futures) {
+				try {
+					reports.addAll(future.get());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					log.warning("Interrupted while generating Bounded Contexts: " + e.getMessage());
+					// the pipeline is closed on return, so no Bounded Context may submit classes anymore
+					for (Future<List<BoundedContextReport>> outstanding : futures) {
+						outstanding.cancel(true);
+					}
+					return false;
+				} catch (ExecutionException e) {
+					log.log(Level.WARNING, "Could not generate Bounded Context", e.getCause());
+					failedGroups++;
+				}
+			}
+		}
+
+		List<String> warnings = new ArrayList<>();
+		for (BoundedContextReport report : reports) {
+			for (String message : report.getMessages()) {
+				log.info(message);
+			}
+			for (String warning : report.getWarnings()) {
+				log.warning(warning);
+				warnings.add(warning);
+			}
+			log.info("Generated Bounded Context '" + report.getName() + "' in " + report.getElapsedMillis() + " ms");
+		}
+		log.info("Generated " + reports.size() + " Bounded Context(s) "
+				+ (executor == null ? "sequentially" : "in parallel") + " in "
+				+ (System.nanoTime() - startTime) / 1_000_000 + " ms with " + warnings.size() + " warning(s)");
+
+		// a failed Bounded Context must not let the manifest prune its files and keep the EventModel
+		if (failedGroups > 0) {
+			warnings.add(I18N.resourceBundle.getString("projectGenerator.couldNotGenerateBoundedContext"));
+		}
+		if (!warnings.isEmpty()) {
+			listener.onWarning(String.join("\n", warnings));
+		}
+		return failedGroups == 0;
+	}
+
+	/**
+	 * Resolves the project source folder of every Bounded Context and creates the
+	 * projects if needed. Then the namespace directories of all Bounded Contexts
+	 * are created through the OutputSink of the pipeline in one pass, so the
+	 * classes can be written without creating any directories.
+	 * 
+	 * @param boundedContextGroups - Bounded Contexts grouped by their namespace
+	 * @param projectComboBoxIndex - The project creation option selected by the
+	 *                             user
+	 * @param projectPath          - The path of the new project
+	 * @param pipeline             - Pipeline writing the classes
+	 */
+	private static void createDirectories(Collection<List<BoundedContext>> boundedContextGroups,
+			int projectComboBoxIndex, String projectPath, GenerationPipeline pipeline) {
+		OutputSink outputSink = pipeline.getOutputSink();
+		GenerationManifest manifest = pipeline.getManifest();
+		List<String> namespaceDirectories = new ArrayList<>();
+
+		for (List<BoundedContext> boundedContexts : boundedContextGroups) {
+			for (BoundedContext boundedContext : boundedContexts) {
+				BoundedContextReport report = boundedContext.report;
+
+				if (projectComboBoxIndex == 0) {
+					boundedContext.projectSourcePath = projectPath + "/" + boundedContext.projectName + "/src";
+					boundedContext.canCreateProject = createBasicProject(
+							boundedContext.projectSourcePath.replace("\\", "/"), outputSink, manifest, report);
+				} else if (projectComboBoxIndex == 1) {
+					boundedContext.projectSourcePath = projectPath;
+					boundedContext.canCreateProject = true;
+				} else {
+					log.warning("Only two project options possible but index was neither: '" + projectComboBoxIndex
+							+ "'");
+				}
+
+				if (boundedContext.projectSourcePath != null && manifest != null) {
+					String namespacePath = boundedContext.projectSourcePath + "/"
+							+ boundedContext.projectNamespace.replace(".", "/");
+					if (boundedContext.canCreateProject) {
+						manifest.addGeneratedDirectory(namespacePath);
+					} else {
+						manifest.addSkippedDirectory(namespacePath);
+					}
+				}
+				if (boundedContext.canCreateProject) {
+					String namespacePath = boundedContext.projectSourcePath.replace("\\", "/") + "/"
+							+ boundedContext.projectNamespace.replace(".", "/");
+					for (String folder : NAMESPACE_FOLDERS) {
+						namespaceDirectories.add(namespacePath + "/" + folder);
+					}
+				}
+			}
+		}
+
+		long startTime = System.nanoTime();
+		try {
+			List<String> createdDirectories = outputSink.createDirectories(namespaceDirectories);
+			log.info("Created " + createdDirectories.size() + " of " + namespaceDirectories.size()
+					+ " namespace directories in " + (System.nanoTime() - startTime) / 1_000_000 + " ms through "
+					+ outputSink);
+		} catch (IOException e) {
+			log.warning("Could not create namespace directories: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Generates the given Bounded Contexts one after another. Used as a single
+	 * task if Bounded Contexts are generated in parallel.
+	 * 
+	 * All Bounded Contexts are planned before any class is submitted. If several
+	 * of them plan the same file, only the class planned last is submitted, just
+	 * like it would overwrite the others if they were written one after another.
+	 * This way every file is only written once, which an archive requires.
+	 * 
+	 * @param session         - The parsed JSON file to generate the code from
+	 * @param boundedContexts - Bounded Contexts sharing the same namespace
+	 * @param pipeline        - Pipeline rendering and writing the classes
+	 * @param analyzer        - Analyzer shared by all Bounded Contexts
+	 * @param diff            - The differences to the EventModel generated last;
+	 *                        may be null
+	 * @return List<BoundedContextReport> - The reports of the Bounded Contexts in
+	 *         the given order
+	 */
+	private static List<BoundedContextReport> generateBoundedContexts(GenerationSession session,
+			List<BoundedContext> boundedContexts, GenerationPipeline pipeline, DataTypeAnalyzer analyzer,
+			ModelDiff diff) {
+		List<GenerationPlan> plans = new ArrayList<>();
+		Map<String, PlannedClass> lastPlannedClasses = new HashMap<>();
+
+		for (BoundedContext boundedContext : boundedContexts) {
+			long startTime = System.nanoTime();
+			GenerationPlan plan = null;
+			if (boundedContext.canCreateProject) {
+				plan = planClasses(session, boundedContext.projectName, boundedContext.projectSourcePath,
+						boundedContext.projectNamespace, boundedContext.placementsOfProject);
+				boundedContext.report.addMessage(plan.toString());
+				for (PlannedClass plannedClass : plan.getPlannedClasses()) {
+					lastPlannedClasses.put(plannedClass.getFilePath(), plannedClass);
+				}
+			}
+			plans.add(plan);
+			boundedContext.elapsedNanos += System.nanoTime() - startTime;
+		}
+
+		List<BoundedContextReport> reports = new ArrayList<>();
+		for (int i = 0; i < boundedContexts.size(); i++) {
+			BoundedContext boundedContext = boundedContexts.get(i);
+			long startTime = System.nanoTime();
+			if (plans.get(i) != null) {
+				submitClasses(plans.get(i), lastPlannedClasses, boundedContext.report, pipeline, analyzer, diff);
+			}
+			boundedContext.elapsedNanos += System.nanoTime() - startTime;
+			boundedContext.report.setElapsedMillis(boundedContext.elapsedNanos / 1_000_000);
+			reports.add(boundedContext.report);
+		}
+		return reports;
 	}
 
 	/**
 	 * If user declared that a new project shall be initiated, a basic project
 	 * structure will be generated containing the main folder and a 'src' folder for
-	 * each Bounded Context.
+	 * each Bounded Context. A project that was generated before, according to the
+	 * manifest, is generated again.
 	 * 
 	 * @param projectSourcePath - Path of the project source folder
+	 * @param outputSink        - OutputSink the project is written to
+	 * @param manifest          - The manifest of the project path; may be null
+	 * @param report            - Report of the current Bounded Context
 	 * @return boolean - true if project could be generated; false if it could not,
-	 *         i.e. if it already exists
+	 *         i.e. if it already exists and was not generated before
 	 */
-	private static boolean createBasicProject(String projectSourcePath) {
-		if (new File(projectSourcePath).mkdirs()) {
-			log.info("Created directory: '" + projectSourcePath + "'");
+	private static boolean createBasicProject(String projectSourcePath, OutputSink outputSink,
+			GenerationManifest manifest, BoundedContextReport report) {
+		boolean isCreated;
+		try {
+			isCreated = outputSink.createDirectory(projectSourcePath);
+		} catch (IOException e) {
+			log.warning("Could not create directory '" + projectSourcePath + "': " + e.getMessage());
+			isCreated = false;
+		}
+
+		if (isCreated) {
+			report.addMessage("Created directory: '" + projectSourcePath + "'");
+			return true;
+		} else if (manifest != null && manifest.containsDirectory(projectSourcePath)) {
+			report.addMessage("Generating again into: '" + projectSourcePath + "'");
 			return true;
 		} else {
-			ReaderGUI.showWarningDialog(I18N.resourceBundle.getString("projectGenerator.couldNotCreateProject") + " '"
+			report.addWarning(I18N.resourceBundle.getString("projectGenerator.couldNotCreateProject") + " '"
 					+ projectSourcePath + "'");
 			return false;
 		}
 	}
 
 	/**
-	 * Will call all the other methods to generate all the Java classes through the
-	 * given Event Model. Furthermore, adds a proper package name to the respective
-	 * namespace.
+	 * Submits the planned classes of a Bounded Context to the pipeline, which
+	 * renders them and writes them through its OutputSink. A class is skipped if
+	 * a later Bounded Context planned the same file.
 	 * 
-	 * @param projectID         - ID of the Bounded Context (Stream) and therefore
-	 *                          of a separate project/namespace
-	 * @param projectSourcePath - Path of the project source folder
-	 * @param projectNamespace  - Namespace of the project
+	 * Given a ModelDiff, a class whose note or schema is not affected is kept
+	 * without being rendered, as long as it was planned alike and its file has
+	 * not been touched since the last generation.
+	 * 
+	 * @param plan               - The classes of the Bounded Context
+	 * @param lastPlannedClasses - The class planned last for every file of the
+	 *                           Bounded Contexts sharing the namespace
+	 * @param report             - Report of the current Bounded Context
+	 * @param pipeline           - Pipeline rendering and writing the classes
+	 * @param analyzer           - Analyzer examining the DataTypes of the fields
+	 * @param diff               - The differences to the EventModel generated
+	 *                           last; may be null
 	 */
-	private static void generateClasses(UUID projectID, String projectSourcePath, String projectNamespace,
-			List<Placement> placementsOfProject) {
-		createNamespace(projectSourcePath.replace("\\", "/") + "/" + projectNamespace.replace(".", "/"));
-
-		createEvents(placementsOfProject, projectSourcePath, projectNamespace + ".events");
-		createCommands(placementsOfProject, projectSourcePath, projectNamespace + ".commands");
-		createReadModels(placementsOfProject, projectSourcePath, projectNamespace + ".readModels");
+	private static void submitClasses(GenerationPlan plan, Map<String, PlannedClass> lastPlannedClasses,
+			BoundedContextReport report, GenerationPipeline pipeline, DataTypeAnalyzer analyzer, ModelDiff diff) {
+		GenerationManifest manifest = pipeline.getManifest();
+		int supersededClasses = 0;
+		int keptClasses = 0;
+		for (PlannedClass plannedClass : plan.getPlannedClasses()) {
+			if (lastPlannedClasses.get(plannedClass.getFilePath()) != plannedClass) {
+				supersededClasses++;
+				continue;
+			}
+			if (manifest != null) {
+				manifest.addPlannedClass(plannedClass.getFilePath(), plannedClass.getPlanKey());
+				if (diff != null && !diff.isAffected(plannedClass.getSourceId())
+						&& manifest.keep(plannedClass.getFilePath())) {
+					keptClasses++;
+					continue;
+				}
+			}
+			pipeline.submit(() -> plannedClass.render(analyzer));
+		}
+		if (supersededClasses > 0) {
+			report.addMessage("Skipped " + supersededClasses + " class(es) planned again by a later Bounded Context");
+		}
+		if (keptClasses > 0) {
+			report.addMessage("Kept " + keptClasses + " unaffected class(es)");
+		}
 	}
 
 	/**
-	 * Creates the given namespace path as a new directory and adds further key
-	 * folders for the to every project available. Any non-existent parent folders
-	 * will be created as well in the process.
+	 * Walks all notes of the Bounded Context and plans every class that has to be
+	 * generated for them. A class that is needed by several notes, like a Schema
+	 * Entity, is only planned once.
 	 * 
-	 * @param namespacePath - The namespace with path to be generated as a
-	 *                      directory/package structure
+	 * @param session             - The parsed JSON file to generate the code from
+	 * @param name                - Name of the Bounded Context
+	 * @param projectSourcePath   - Path of the project source folder
+	 * @param projectNamespace    - Namespace of the project
+	 * @param placementsOfProject - Placements of the Bounded Context (Stream)
+	 * @return GenerationPlan - The classes of the Bounded Context
 	 */
-	private static void createNamespace(String namespacePath) {
-		if (new File(namespacePath + "/commands").mkdirs())
-			log.info("Created directory: '" + namespacePath + "/commands'");
-		if (new File(namespacePath + "/events").mkdirs())
-			log.info("Created directory: '" + namespacePath + "/events'");
-		if (new File(namespacePath + "/readModels").mkdirs())
-			log.info("Created directory: '" + namespacePath + "/readModels'");
-		if (new File(namespacePath + "/schemas").mkdirs())
-			log.info("Created directory: '" + namespacePath + "/schemas'");
+	public static GenerationPlan planClasses(GenerationSession session, String name, String projectSourcePath,
+			String projectNamespace, List<Placement> placementsOfProject) {
+		GenerationPlan plan = new GenerationPlan(name);
+
+		createEvents(session, placementsOfProject, projectSourcePath, projectNamespace + ".events", plan);
+		createCommands(session, placementsOfProject, projectSourcePath, projectNamespace + ".commands", plan);
+		createReadModels(session, placementsOfProject, projectSourcePath, projectNamespace + ".readModels", plan);
+
+		return plan;
 	}
 
 	/**
-	 * First goes through all Events in the Event Model and checks if the current
-	 * Event is part of the Bounded Context (Stream).
+	 * First goes through all Event-Placements of the Bounded Context (Stream) and
+	 * looks up the Event they refer to.
 	 * 
-	 * Then calls the JavaFileWriter to write Event classes for every Event. They
-	 * may be fully implemented or an empty class. Since Commands and Events share
+	 * Then adds an Event class for every Event to the GenerationPlan. They may be
+	 * fully implemented or an empty class. Since Commands and Events share
 	 * similar immutability, they are generated via the same method call.
 	 * 
+	 * @param session             - The parsed JSON file to generate the code from
 	 * @param placementsOfProject - UUIDs of all Events in the current Bounded
 	 *                            Context (Stream)
 	 * @param projectSourcePath   - Path of the project source folder
 	 * @param projectNamespace    - Namespace of the event classes
+	 * @param plan                - Plan collecting the classes to be generated
 	 */
-	private static void createEvents(List<Placement> placementsOfProject, String projectSourcePath,
-			String projectNamespace) {
-		for (var eventEntry : JSONParser.eventModel.getEvents().entrySet()) {
-			for (Placement placementOfProject : placementsOfProject) {
-				if (placementOfProject.getNoteType().equals(NoteType.EVENT)
-						&& placementOfProject.getNoteId().equals(eventEntry.getKey())) {
-					Event event = eventEntry.getValue();
-					DataType dataType = null;
+	private static void createEvents(GenerationSession session, List<Placement> placementsOfProject,
+			String projectSourcePath, String projectNamespace, GenerationPlan plan) {
+		for (Placement placementOfProject : placementsOfProject) {
+			if (placementOfProject.getNoteType().equals(NoteType.EVENT)) {
+				Event event = session.getModelStore().getEvent(placementOfProject.getNoteId());
+				if (event != null) {
 					String eventName = event.getFormattedName();
 					String description = event.getDescription();
 
-					for (var schemaEntry : JSONParser.eventModel.getSchemas().entrySet()) {
-						if (schemaEntry.getKey().equals(event.getSchemaId())) {
-							dataType = schemaEntry.getValue().getDataType();
-							createSchemasRecursively(projectSourcePath,
-									projectNamespace.substring(0, projectNamespace.lastIndexOf(".")) + ".schemas",
-									dataType, schemaEntry.getValue().getDescription());
-						}
+					SchemaSymbol schemaSymbol = session.getSchemaSymbolTable().get(event.getSchemaId());
+					DataType dataType = schemaSymbol != null ? schemaSymbol.getSchema().getDataType() : null;
+					if (schemaSymbol != null) {
+						createSchemas(session, projectSourcePath,
+								SchemaSymbolTable.getSchemaNamespace(projectNamespace), dataType,
+								schemaSymbol.getSchema().getDescription(), event.getSchemaId(), plan);
 					}
-					JavaFileWriter.writeCommandOrEvent(projectSourcePath, projectNamespace, dataType, eventName,
-							description);
+					plan.add(new PlannedClass(ClassType.COMMAND_OR_EVENT, projectSourcePath, projectNamespace,
+							dataType, eventName, description, placementOfProject.getNoteId()));
 				}
 			}
 		}
 	}
 
 	/**
-	 * First goes through all Commands in the Event Model and checks if the current
-	 * Command is part of the Bounded Context by checking if a Flow is connected
-	 * between this Command and an Event that belongs to the Bounded Context. (Can
-	 * be bidirectional)
+	 * First goes through all Command-Placements of the Bounded Context and looks up
+	 * the Command they refer to. A Command is part of the Bounded Context if a Flow
+	 * is connected between this Command and an Event that belongs to the Bounded
+	 * Context. (Can be bidirectional)
 	 * 
-	 * Calls the JavaFileWriter to write Command classes for every command contained
-	 * in the Event Model. They may be fully implemented or an empty class. Since
+	 * Adds a Command class for every command contained in the Event Model to the
+	 * GenerationPlan. They may be fully implemented or an empty class. Since
 	 * Commands and Events share similar immutability, they are generated via the
 	 * same method call.
 	 * 
+	 * @param session             - The parsed JSON file to generate the code from
 	 * @param placementsOfProject - UUIDs of all Events in the current Bounded
 	 *                            Context (Stream)
 	 * @param projectSourcePath   - Path of the project source folder
 	 * @param projectNamespace    - Namespace of the command classes
+	 * @param plan                - Plan collecting the classes to be generated
 	 */
-	private static void createCommands(List<Placement> placementsOfProject, String projectSourcePath,
-			String projectNamespace) {
-		for (var commandEntry : JSONParser.eventModel.getCommands().entrySet()) {
-			for (Placement placementOfProject : placementsOfProject) {
-				if (placementOfProject.getNoteType().equals(NoteType.COMMAND)
-						&& placementOfProject.getNoteId().equals(commandEntry.getKey())) {
-					Command command = commandEntry.getValue();
-					DataType dataType = null;
+	private static void createCommands(GenerationSession session, List<Placement> placementsOfProject,
+			String projectSourcePath, String projectNamespace, GenerationPlan plan) {
+		for (Placement placementOfProject : placementsOfProject) {
+			if (placementOfProject.getNoteType().equals(NoteType.COMMAND)) {
+				Command command = session.getModelStore().getCommand(placementOfProject.getNoteId());
+				if (command != null) {
 					String commandName = command.getFormattedName();
 					String description = command.getDescription();
 
-					for (var schemaEntry : JSONParser.eventModel.getSchemas().entrySet()) {
-						if (schemaEntry.getKey().equals(command.getSchemaId())) {
-							dataType = schemaEntry.getValue().getDataType();
-							createSchemasRecursively(projectSourcePath,
-									projectNamespace.substring(0, projectNamespace.lastIndexOf(".")) + ".schemas",
-									dataType, schemaEntry.getValue().getDescription());
-						}
+					SchemaSymbol schemaSymbol = session.getSchemaSymbolTable().get(command.getSchemaId());
+					DataType dataType = schemaSymbol != null ? schemaSymbol.getSchema().getDataType() : null;
+					if (schemaSymbol != null) {
+						createSchemas(session, projectSourcePath,
+								SchemaSymbolTable.getSchemaNamespace(projectNamespace), dataType,
+								schemaSymbol.getSchema().getDescription(), command.getSchemaId(), plan);
 					}
-					JavaFileWriter.writeCommandOrEvent(projectSourcePath, projectNamespace, dataType, commandName,
-							description);
+					plan.add(new PlannedClass(ClassType.COMMAND_OR_EVENT, projectSourcePath, projectNamespace,
+							dataType, commandName, description, placementOfProject.getNoteId()));
 				}
 			}
 		}
 	}
 
 	/**
-	 * First goes through all Read Models in the Event Model and checks if the
-	 * current Read Model is part of the Bounded Context by checking if a Flow is
-	 * connected between this Read Model and an Event that belongs to the Bounded
-	 * Context. (Can only be unidirectional: from Event -> to Read Model)
+	 * First goes through all Read Model-Placements of the Bounded Context and looks
+	 * up the Read Model they refer to. A Read Model is part of the Bounded Context
+	 * if a Flow is connected between this Read Model and an Event that belongs to
+	 * the Bounded Context. (Can only be unidirectional: from Event -> to Read
+	 * Model)
 	 * 
-	 * Calls the JavaFileWriter to write Read Model classes for every read model
-	 * contained in the Event Model. They may be fully implemented or an empty
+	 * Adds a Read Model class for every read model contained in the Event Model to
+	 * the GenerationPlan. They may be fully implemented or an empty
 	 * class. Since Read Models share similar mutability with Schema Entities, like
 	 * having setter, a no-args constructor and their fields not being final, they
 	 * are generated via the same method call.
 	 * 
+	 * @param session             - The parsed JSON file to generate the code from
 	 * @param placementsOfProject - UUIDs of all Events in the current Bounded
 	 *                            Context (Stream)
 	 * @param projectSourcePath   - Path of the project source folder
 	 * @param projectNamespace    - Namespace of the read model classes
+	 * @param plan                - Plan collecting the classes to be generated
 	 */
-	private static void createReadModels(List<Placement> placementsOfProject, String projectSourcePath,
-			String projectNamespace) {
-		for (var readModelEntry : JSONParser.eventModel.getReadModels().entrySet()) {
-			for (Placement placementOfProject : placementsOfProject) {
-				if (placementOfProject.getNoteType().equals(NoteType.READ_MODEL)
-						&& placementOfProject.getNoteId().equals(readModelEntry.getKey())) {
-					ReadModel readModel = readModelEntry.getValue();
-					DataType dataType = null;
+	private static void createReadModels(GenerationSession session, List<Placement> placementsOfProject,
+			String projectSourcePath, String projectNamespace, GenerationPlan plan) {
+		for (Placement placementOfProject : placementsOfProject) {
+			if (placementOfProject.getNoteType().equals(NoteType.READ_MODEL)) {
+				ReadModel readModel = session.getModelStore().getReadModel(placementOfProject.getNoteId());
+				if (readModel != null) {
 					String readModelName = readModel.getFormattedName();
 					String description = readModel.getDescription();
 
-					for (var schemaEntry : JSONParser.eventModel.getSchemas().entrySet()) {
-						if (schemaEntry.getKey().equals(readModel.getSchemaId())) {
-							dataType = schemaEntry.getValue().getDataType();
-							createSchemasRecursively(projectSourcePath,
-									projectNamespace.substring(0, projectNamespace.lastIndexOf(".")) + ".schemas",
-									dataType, schemaEntry.getValue().getDescription());
-						}
+					SchemaSymbol schemaSymbol = session.getSchemaSymbolTable().get(readModel.getSchemaId());
+					DataType dataType = schemaSymbol != null ? schemaSymbol.getSchema().getDataType() : null;
+					if (schemaSymbol != null) {
+						createSchemas(session, projectSourcePath,
+								SchemaSymbolTable.getSchemaNamespace(projectNamespace), dataType,
+								schemaSymbol.getSchema().getDescription(), readModel.getSchemaId(), plan);
 					}
-					JavaFileWriter.writeEntity(projectSourcePath, projectNamespace, dataType, readModelName,
-							description);
+					plan.add(new PlannedClass(ClassType.ENTITY, projectSourcePath, projectNamespace, dataType,
+							readModelName, description, placementOfProject.getNoteId()));
 				}
 			}
 		}
@@ -351,16 +740,44 @@ public class ProjectGenerator {
 	 * he clearly declared that this object may have a reference to a single
 	 * primitive type.
 	 * 
+	 * The DataType tree is walked by a DataTypeTraversal, so the classes are
+	 * planned in the same order as before, parents before their nested DataTypes,
+	 * without a limit on the nesting depth.
+	 * 
+	 * @param session           - The parsed JSON file to generate the code from
 	 * @param projectSourcePath - Path of the project source folder
 	 * @param projectNamespace  - Namespace of the schema classes
 	 * @param dataType          - The current DataType which may contain further
 	 *                          nested DataTypes. If the DataType is a map or a
 	 *                          reference it will be generated into a separate
 	 *                          class.
+	 * @param schemaDescription - Description of the class to be written; only
+	 *                          used for the DataType itself, not for its nested
+	 *                          DataTypes
+	 * @param schemaId          - Id of the schema of the DataType
+	 * @param plan              - Plan collecting the classes to be generated
+	 */
+	private static void createSchemas(GenerationSession session, String projectSourcePath, String projectNamespace,
+			DataType dataType, String schemaDescription, UUID schemaId, GenerationPlan plan) {
+		DataTypeTraversal.walk(dataType, step -> step.getDataType() != null && createSchema(session, projectSourcePath,
+				projectNamespace, step.getDataType(), step.isNested() ? null : schemaDescription, schemaId, plan));
+	}
+
+	/**
+	 * Plans the class of a single DataType of a DataTypeTraversal.
+	 * 
+	 * @param session           - The parsed JSON file to generate the code from
+	 * @param projectSourcePath - Path of the project source folder
+	 * @param projectNamespace  - Namespace of the schema classes
+	 * @param dataType          - The current DataType
 	 * @param schemaDescription - Description of the class to be written
+	 * @param schemaId          - Id of the schema the DataType belongs to
+	 * @param plan              - Plan collecting the classes to be generated
+	 * @return boolean - Whether the nested DataTypes may contain further classes
 	 */
-	private static void createSchemasRecursively(String projectSourcePath, String projectNamespace, DataType dataType,
-			String schemaDescription) {
+	private static boolean createSchema(GenerationSession session, String projectSourcePath,
+			String projectNamespace, DataType dataType, String schemaDescription, UUID schemaId,
+			GenerationPlan plan) {
 		switch (dataType.getSchemaType()) {
 		case STRING:
 		case INT:
@@ -374,34 +791,25 @@ public class ProjectGenerator {
 		case VECTOR:
 		case SEQUENTIAL:
 		case SET:
-			createSchemasRecursively(projectSourcePath, projectNamespace, dataType.getListDataType(), null);
-			break;
-
 		case MAP_OF:
-			createSchemasRecursively(projectSourcePath, projectNamespace, dataType.getMapKeyDataType(), null);
-			createSchemasRecursively(projectSourcePath, projectNamespace, dataType.getMapValueDataType(), null);
-			break;
+			return true;
 
 		case MAP:
-			JavaFileWriter.writeEntity(projectSourcePath, projectNamespace, dataType, null, schemaDescription);
-
-			for (var nestedDataType : dataType.getObjectDataType().entrySet()) {
-				createSchemasRecursively(projectSourcePath, projectNamespace, nestedDataType.getValue(), null);
-			}
-			break;
+			plan.add(new PlannedClass(ClassType.ENTITY, projectSourcePath, projectNamespace, dataType, null,
+					schemaDescription, schemaId));
+			return true;
 
 		case REF:
-			for (var schemaEntry : JSONParser.eventModel.getSchemas().entrySet()) {
-				if (dataType.getReference().equals(schemaEntry.getKey())) {
-					DataType referencedDataType = schemaEntry.getValue().getDataType();
+			SchemaSymbol schemaSymbol = session.getSchemaSymbolTable().get(dataType.getReference());
+			if (schemaSymbol != null) {
+				DataType referencedDataType = schemaSymbol.getSchema().getDataType();
 
-					if (referencedDataType.getSchemaType().equals(SchemaType.ENUM)) {
-						JavaFileWriter.writeEnum(projectSourcePath, projectNamespace, referencedDataType,
-								schemaDescription);
-					} else {
-						JavaFileWriter.writeEntity(projectSourcePath, projectNamespace, referencedDataType, null,
-								schemaDescription);
-					}
+				if (referencedDataType.getSchemaType().equals(SchemaType.ENUM)) {
+					plan.add(new PlannedClass(ClassType.ENUM, projectSourcePath, projectNamespace,
+							referencedDataType, null, schemaDescription, dataType.getReference()));
+				} else {
+					plan.add(new PlannedClass(ClassType.ENTITY, projectSourcePath, projectNamespace,
+							referencedDataType, null, schemaDescription, dataType.getReference()));
 				}
 			}
 			break;
@@ -410,75 +818,96 @@ public class ProjectGenerator {
 			log.warning("SchemaType not supported: '" + dataType.getSchemaType() + "'");
 			break;
 		}
+		return false;
 	}
 
 	/**
-	 * Goes through all Placements and checks if they belong to the current Bounded
-	 * Context. First searches for all Event-Placements that are in the correct
-	 * Stream (projectID), then searches for all Placements that are Commands and
-	 * Read Models that are connected to these specific Event-Placements.
+	 * Resolves all Placements that belong to the current Bounded Context through
+	 * the indexes of the ModelStore. First looks up all Event-Placements that are
+	 * in the correct Stream (projectID), then follows the Flows of these specific
+	 * Event-Placements to the connected Commands and Read Models. Each Placement is
+	 * only added once, even if it is connected through multiple Flows.
 	 * 
 	 * If an Event belongs to the "Default"-Stream (if given projectID is 'null')
 	 * all related Objects will be added to a "DefaultStream" project.
 	 * 
+	 * The Events are returned in the order of the placement map and the Commands
+	 * and Read Models in the order their Flows are found, not in the order of the
+	 * note maps. If several notes of a Bounded Context generate the same file,
+	 * this order decides which class is written.
+	 * 
+	 * @param session   - The parsed JSON file to generate the code from
 	 * @param projectID - ID of the current Bounded Context (Stream)
 	 * @return List<Placement> - A list containing all Placements belong to the
 	 *         current Bounded Context (Stream)
 	 */
-	private static List<Placement> findPlacementsOfCurrentProject(UUID projectID) {
+	private static List<Placement> findPlacementsOfCurrentProject(GenerationSession session, UUID projectID) {
+		ModelStore modelStore = session.getModelStore();
 		List<Placement> placementsInCurrentProject = new ArrayList<>();
-		List<UUID> eventPlacementIDs = new ArrayList<>();
+		Set<UUID> commandPlacementIDs = new LinkedHashSet<>();
+		Set<UUID> readModelPlacementIDs = new LinkedHashSet<>();
 
-		// search IDs of Placements that are Events and belong to current Stream
-		for (var placementEntry : JSONParser.eventModel.getPlacements().entrySet()) {
-			Placement placement = placementEntry.getValue();
+		// search Placements that are Events and belong to current Stream
+		for (UUID eventPlacementID : modelStore.getPlacementIds(LaneType.STREAM, projectID)) {
+			Placement placement = modelStore.getPlacement(eventPlacementID);
 
-			if (placement.getNoteType().equals(NoteType.EVENT) && placement.getLaneType().equals(LaneType.STREAM)) {
-				if (projectID == null) {
-					if (placement.getLaneId() == null) {
-						placementsInCurrentProject.add(placement);
-						eventPlacementIDs.add(placementEntry.getKey());
-					}
-				} else {
-					if (placement.getLaneId() != null && placement.getLaneId().equals(projectID)) {
-						placementsInCurrentProject.add(placement);
-						eventPlacementIDs.add(placementEntry.getKey());
+			if (placement.getNoteType().equals(NoteType.EVENT)) {
+				placementsInCurrentProject.add(placement);
+
+				// search for Commands and ReadModels the Event flows to
+				for (UUID targetPlacementID : modelStore.getFlowTargets(eventPlacementID)) {
+					Placement targetPlacement = modelStore.getPlacement(targetPlacementID);
+
+					if (targetPlacement != null && targetPlacement.getNoteType().equals(NoteType.COMMAND)) {
+						commandPlacementIDs.add(targetPlacementID);
+					} else if (targetPlacement != null
+							&& targetPlacement.getNoteType().equals(NoteType.READ_MODEL)) {
+						readModelPlacementIDs.add(targetPlacementID);
 					}
 				}
-			}
-		}
-		// search for Commands that are connected to Event of current Stream
-		for (var placementEntry : JSONParser.eventModel.getPlacements().entrySet()) {
-			Placement placement = placementEntry.getValue();
-
-			if (placement.getNoteType().equals(NoteType.COMMAND)) {
-				for (var flowEntry : JSONParser.eventModel.getFlows().entrySet()) {
-					Flow flow = flowEntry.getValue();
-
-					if ((flow.getFrom().equals(placementEntry.getKey()) && eventPlacementIDs.contains(flow.getTo()))
-							|| (flow.getTo().equals(placementEntry.getKey())
-									&& eventPlacementIDs.contains(flow.getFrom()))) {
-						placementsInCurrentProject.add(placement);
+				// search for Commands that flow to the Event
+				for (UUID sourcePlacementID : modelStore.getFlowSources(eventPlacementID)) {
+					Placement sourcePlacement = modelStore.getPlacement(sourcePlacementID);
+
+					if (sourcePlacement != null && sourcePlacement.getNoteType().equals(NoteType.COMMAND)) {
+						commandPlacementIDs.add(sourcePlacementID);
 					}
 				}
 			}
 		}
-		// search for ReadModels that are connected to Event of current Stream
-		for (var placementEntry : JSONParser.eventModel.getPlacements().entrySet()) {
-			Placement placement = placementEntry.getValue();
+		for (UUID commandPlacementID : commandPlacementIDs) {
+			placementsInCurrentProject.add(modelStore.getPlacement(commandPlacementID));
+		}
+		for (UUID readModelPlacementID : readModelPlacementIDs) {
+			placementsInCurrentProject.add(modelStore.getPlacement(readModelPlacementID));
+		}
 
-			if (placement.getNoteType().equals(NoteType.READ_MODEL)) {
-				for (var flowEntry : JSONParser.eventModel.getFlows().entrySet()) {
-					Flow flow = flowEntry.getValue();
+		return placementsInCurrentProject;
+	}
 
-					if (flow.getTo().equals(placementEntry.getKey()) && eventPlacementIDs.contains(flow.getFrom())) {
-						placementsInCurrentProject.add(placement);
-					}
-				}
-			}
+	/**
+	 * A Bounded Context (Stream) that has been resolved and validated and is ready
+	 * to be generated. Its project source folder is resolved together with the
+	 * directories of all Bounded Contexts.
+	 */
+	private static class BoundedContext {
+
+		private final String projectName;
+		private final String projectNamespace;
+		private final List<Placement> placementsOfProject;
+		private final BoundedContextReport report;
+
+		private String projectSourcePath;
+		private boolean canCreateProject;
+		private long elapsedNanos;
+
+		private BoundedContext(String projectName, String projectNamespace, List<Placement> placementsOfProject) {
+			this.projectName = projectName;
+			this.projectNamespace = projectNamespace;
+			this.placementsOfProject = placementsOfProject;
+			this.report = new BoundedContextReport(projectName);
 		}
 
-		return placementsInCurrentProject;
 	}
 
 }
@@ -0,0 +1,131 @@
+package com.whz.reader.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Schema;
+
+/**
+ * The SchemaSymbolTable resolves every Schema of an EventModel once, right after
+ * parsing, so that references to a Schema (SchemaType 'REF' or the schemaId of
+ * a note) can be looked up by their UUID instead of scanning all Schemas of the
+ * EventModel over and over again.
+ *
+ * Each SchemaSymbol contains the resolved Schema, its formatted name and the
+ * class name of the Java class generated for it. All Schema classes of a
+ * Bounded Context are generated into the same 'schemas' package next to the
+ * packages of the Commands, Events and Read Models.
+ *
+ * @author Timon Schwalbe
+ */
+public class SchemaSymbolTable {
+
+	public static final String SCHEMA_PACKAGE = "schemas";
+
+	private final Map<UUID, SchemaSymbol> symbols;
+	private final Function<UUID, Schema> schemaLoader;
+
+	/**
+	 * Resolved Schema together with the names needed to generate and reference
+	 * its Java class.
+	 */
+	public static class SchemaSymbol {
+
+		private final Schema schema;
+		private final String formattedName;
+		private final String className;
+
+		public SchemaSymbol(Schema schema) {
+			this.schema = schema;
+			this.formattedName = schema.getFormattedName();
+			this.className = formattedName.substring(0, 1).toUpperCase() + formattedName.substring(1);
+		}
+
+		public Schema getSchema() {
+			return schema;
+		}
+
+		public String getFormattedName() {
+			return formattedName;
+		}
+
+		public String getClassName() {
+			return className;
+		}
+
+		@Override
+		public String toString() {
+			return "SchemaSymbol [id=" + schema.getId() + ", className=" + className + "]";
+		}
+
+	}
+
+	/**
+	 * Builds the symbol table for all Schemas of the given EventModel.
+	 *
+	 * @param eventModel - The parsed EventModel containing all Schemas
+	 */
+	public SchemaSymbolTable(EventModel eventModel) {
+		symbols = new HashMap<>();
+		schemaLoader = null;
+		for (var schemaEntry : eventModel.getSchemas().entrySet()) {
+			symbols.put(schemaEntry.getKey(), new SchemaSymbol(schemaEntry.getValue()));
+		}
+	}
+
+	/**
+	 * Builds a symbol table that resolves each Schema only when it is looked up
+	 * for the first time, e.g. from a MappedModelStore. Schemas that are never
+	 * referenced are never loaded.
+	 *
+	 * @param schemaLoader - Loads the Schema of an UUID; returns null if there is
+	 *                     no such Schema
+	 */
+	public SchemaSymbolTable(Function<UUID, Schema> schemaLoader) {
+		symbols = new ConcurrentHashMap<>();
+		this.schemaLoader = schemaLoader;
+	}
+
+	/**
+	 * @param schemaId - UUID of the Schema; may be null
+	 * @return SchemaSymbol - The resolved Schema; or null if the EventModel does
+	 *         not contain a Schema with the given UUID
+	 */
+	public SchemaSymbol get(UUID schemaId) {
+		if (schemaId == null) {
+			return null;
+		}
+		if (schemaLoader == null) {
+			return symbols.get(schemaId);
+		}
+		return symbols.computeIfAbsent(schemaId, id -> {
+			Schema schema = schemaLoader.apply(id);
+			return schema != null ? new SchemaSymbol(schema) : null;
+		});
+	}
+
+	/**
+	 * @return int - Number of resolved Schemas
+	 */
+	public int size() {
+		return symbols.size();
+	}
+
+	/**
+	 * Gets the target package of all Schema classes of a Bounded Context based on
+	 * the namespace of one of its Command, Event or Read Model packages.
+	 *
+	 * @param noteNamespace - Namespace of a note package, e.g.
+	 *                      'main.room.events'
+	 * @return String - The namespace of the Schema classes, e.g.
+	 *         'main.room.schemas'
+	 */
+	public static String getSchemaNamespace(String noteNamespace) {
+		return noteNamespace.substring(0, noteNamespace.lastIndexOf(".")) + "." + SCHEMA_PACKAGE;
+	}
+
+}
@@ -0,0 +1,291 @@
+package com.whz.reader.model;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import com.whz.reader.dto.EventModel;
+
+/**
+ * The SnapshotCache keeps an EventModelSnapshot of every parsed JSON file in a
+ * directory on disk. A snapshot is found by the SHA-256 hash of the bytes of
+ * the JSON file together with the version of the parser, so an unchanged JSON
+ * file is loaded from its snapshot without Gson, while a changed file or a
+ * changed parser never hits an outdated snapshot.
+ *
+ * Snapshots are written into a temporary file first and then moved into place,
+ * so several processes or threads may share the same cache directory. A
+ * snapshot that cannot be read is treated as missing and replaced.
+ *
+ * The cache is limited to a total size. Every hit updates the modification time
+ * of the snapshot and every stored snapshot deletes the snapshots used least
+ * recently once the directory exceeds the limit. The directory itself is the
+ * index, so snapshots stored by other processes are found and counted as well.
+ *
+ * A snapshot is trusted like the JSON file it was parsed from, so the cache
+ * directory must not be writable by other users. createPrivate creates such a
+ * directory for the current user.
+ *
+ * @author Timon Schwalbe
+ */
+public class SnapshotCache {
+
+	private static final Logger log = Logger.getLogger(SnapshotCache.class.getName());
+
+	public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+	private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+	private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+	private final Path directory;
+	private final long maxBytes;
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+	private final AtomicInteger evictions = new AtomicInteger();
+
+	/**
+	 * Creates a cache holding up to DEFAULT_MAX_BYTES of snapshots.
+	 *
+	 * @param directory - Directory of the snapshots; created on the first write
+	 */
+	public SnapshotCache(Path directory) {
+		this(directory, DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * @param directory - Directory of the snapshots; created on the first write
+	 * @param maxBytes  - Total size of the snapshots the cache keeps
+	 */
+	public SnapshotCache(Path directory, long maxBytes) {
+		if (maxBytes < 0) {
+			throw new IllegalArgumentException("The size of the snapshot cache must not be negative");
+		}
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Creates a cache in a directory that only the current user may access. A
+	 * missing directory is created with owner-only permissions if the file system
+	 * supports POSIX permissions. An existing directory is only used if it is no
+	 * symbolic link, belongs to the current user and no other user may access it,
+	 * since anyone able to write into it could plant snapshots.
+	 *
+	 * @param directory - Directory of the snapshots
+	 * @param maxBytes  - Total size of the snapshots the cache keeps
+	 * @return SnapshotCache - The cache; or null if the directory cannot be used
+	 */
+	public static SnapshotCache createPrivate(Path directory, long maxBytes) {
+		boolean isPosix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+		try {
+			if (Files.notExists(directory, LinkOption.NOFOLLOW_LINKS)) {
+				Files.createDirectories(directory.toAbsolutePath().getParent());
+				if (isPosix) {
+					Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+				} else {
+					Files.createDirectory(directory);
+				}
+			}
+			if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+				log.warning("Snapshot cache '" + directory + "' is not a directory, snapshots are disabled");
+				return null;
+			}
+			UserPrincipal user = directory.getFileSystem().getUserPrincipalLookupService()
+					.lookupPrincipalByName(System.getProperty("user.name"));
+			if (!user.equals(Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS))) {
+				log.warning("Snapshot cache '" + directory + "' belongs to another user, snapshots are disabled");
+				return null;
+			}
+			if (isPosix && !OWNER_ONLY
+					.containsAll(Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS))) {
+				log.warning("Snapshot cache '" + directory + "' is accessible by other users, snapshots are disabled");
+				return null;
+			}
+		} catch (IOException | RuntimeException e) {
+			log.warning("Could not create snapshot cache '" + directory + "', snapshots are disabled: " + e);
+			return null;
+		}
+		return new SnapshotCache(directory, maxBytes);
+	}
+
+	/**
+	 * @param jsonBytes - The bytes of the JSON file
+	 * @return String - The hexadecimal key of the snapshot of the JSON file
+	 */
+	public String getKey(byte[] jsonBytes) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(jsonBytes);
+			digest.update(("\n" + JSONParser.PARSER_VERSION + "/" + EventModelSnapshot.FORMAT_VERSION)
+					.getBytes(StandardCharsets.UTF_8));
+
+			StringBuilder sb = new StringBuilder();
+			for (byte b : digest.digest()) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform has to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Loads the EventModel of the snapshot with the given key.
+	 *
+	 * @param key - Key of the snapshot
+	 * @return EventModel - The EventModel of the snapshot; or null if there is no
+	 *         readable snapshot
+	 */
+	public EventModel load(String key) {
+		Path snapshotPath = directory.resolve(key + SNAPSHOT_EXTENSION);
+		try {
+			EventModel eventModel = EventModelSnapshot.read(ByteBuffer.wrap(Files.readAllBytes(snapshotPath)));
+			Files.setLastModifiedTime(snapshotPath, FileTime.fromMillis(System.currentTimeMillis()));
+			hits.incrementAndGet();
+			return eventModel;
+		} catch (NoSuchFileException e) {
+			log.fine("No snapshot: " + snapshotPath);
+		} catch (IOException | RuntimeException e) {
+			log.warning("Could not read snapshot '" + snapshotPath + "': " + e);
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Writes the snapshot of the given EventModel and evicts the snapshots used
+	 * least recently if the cache exceeds its size. A failure is only logged since
+	 * the EventModel is simply parsed again next time.
+	 *
+	 * @param key        - Key of the snapshot
+	 * @param eventModel - The parsed EventModel
+	 */
+	public void store(String key, EventModel eventModel) {
+		Path snapshotPath = directory.resolve(key + SNAPSHOT_EXTENSION);
+		Path tempPath = null;
+		try {
+			Files.createDirectories(directory);
+			tempPath = Files.createTempFile(directory, key, ".tmp");
+			try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+				EventModelSnapshot.write(eventModel, outputStream);
+			}
+			try {
+				Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+			evict(snapshotPath);
+		} catch (IOException e) {
+			log.warning("Could not write snapshot '" + snapshotPath + "': " + e);
+			if (tempPath != null) {
+				try {
+					Files.deleteIfExists(tempPath);
+				} catch (IOException ignored) {
+					// the temporary file is only garbage in the cache directory
+				}
+			}
+		}
+	}
+
+	/**
+	 * Deletes the snapshots used least recently until the snapshots in the
+	 * directory fit the size of the cache. The snapshot just stored is kept unless
+	 * it exceeds the size on its own.
+	 *
+	 * @param storedPath - Path of the snapshot just stored
+	 */
+	private synchronized void evict(Path storedPath) {
+		List<Map.Entry<Path, BasicFileAttributes>> snapshots = new ArrayList<>();
+		long totalBytes = 0;
+		try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + SNAPSHOT_EXTENSION)) {
+			for (Path path : paths) {
+				try {
+					BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+					snapshots.add(Map.entry(path, attributes));
+					totalBytes += attributes.size();
+				} catch (NoSuchFileException e) {
+					// evicted by another process in the meantime
+				}
+			}
+		} catch (IOException e) {
+			log.warning("Could not read snapshot cache '" + directory + "': " + e);
+			return;
+		}
+		if (totalBytes <= maxBytes) {
+			return;
+		}
+
+		snapshots.sort(Comparator.comparing((Map.Entry<Path, BasicFileAttributes> snapshot) -> snapshot.getKey()
+				.equals(storedPath)).thenComparing(snapshot -> snapshot.getValue().lastModifiedTime()));
+		for (Map.Entry<Path, BasicFileAttributes> snapshot : snapshots) {
+			if (totalBytes <= maxBytes) {
+				break;
+			}
+			try {
+				if (Files.deleteIfExists(snapshot.getKey())) {
+					evictions.incrementAndGet();
+				}
+			} catch (IOException e) {
+				log.warning("Could not evict snapshot '" + snapshot.getKey() + "': " + e);
+			}
+			totalBytes -= snapshot.getValue().size();
+		}
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * @return int - Number of EventModels loaded from their snapshot
+	 */
+	public int getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return int - Number of EventModels without a readable snapshot
+	 */
+	public int getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * @return int - Number of snapshots deleted to keep the size of the cache
+	 */
+	public int getEvictions() {
+		return evictions.get();
+	}
+
+	@Override
+	public String toString() {
+		return "SnapshotCache [directory=" + directory + ", hits=" + hits + ", misses=" + misses + ", evictions="
+				+ evictions + ", maxSize=" + maxBytes + " bytes]";
+	}
+
+}
@@ -0,0 +1,161 @@
+package com.whz.reader.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import com.whz.reader.dto.Audience;
+import com.whz.reader.dto.Command;
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.Element;
+import com.whz.reader.dto.Event;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Interface;
+import com.whz.reader.dto.ReadModel;
+import com.whz.reader.dto.Schema;
+import com.whz.reader.dto.Stream;
+
+/**
+ * The StringTable makes equal Strings of a single parsed EventModel share one
+ * instance. oNote repeats the same Strings over and over, e.g. the property
+ * keys 'min', 'max' and 'default' of every DataType, the namespaces of the
+ * Schemas, the names inherited by nested DataTypes or descriptions copied from
+ * note to note. Gson creates a new String for every occurrence, so the table
+ * replaces them by a single instance once the EventModel is parsed.
+ *
+ * A StringTable is only used by the thread that parsed the EventModel.
+ *
+ * @author Timon Schwalbe
+ */
+public class StringTable {
+
+	private final Map<String, String> strings = new HashMap<>();
+
+	/**
+	 * @param string - The String; may be null
+	 * @return String - The shared instance of the String; or null if the String
+	 *         is null
+	 */
+	public String intern(String string) {
+		if (string == null) {
+			return null;
+		}
+		String internedString = strings.putIfAbsent(string, string);
+		return internedString != null ? internedString : string;
+	}
+
+	/**
+	 * Replaces every String of the given EventModel by its shared instance. Maps
+	 * keyed by Strings are rebuilt in their iteration order, so the EventModel
+	 * iterates exactly like before.
+	 *
+	 * @param eventModel - The parsed EventModel
+	 */
+	public void internAll(EventModel eventModel) {
+		eventModel.setName(intern(eventModel.getName()));
+		eventModel.setDescription(intern(eventModel.getDescription()));
+
+		for (Audience audience : eventModel.getAudiences()) {
+			audience.setName(intern(audience.getName()));
+		}
+		for (Stream stream : eventModel.getStreams()) {
+			stream.setName(intern(stream.getName()));
+		}
+		for (Interface tempInterface : eventModel.getInterfaces().values()) {
+			tempInterface.setName(intern(tempInterface.getName()));
+			tempInterface.setDescription(intern(tempInterface.getDescription()));
+			tempInterface.setFigmaURL(intern(tempInterface.getFigmaURL()));
+			if (tempInterface.getElements() != null) {
+				for (Element element : tempInterface.getElements().values()) {
+					element.setName(intern(element.getName()));
+				}
+			}
+		}
+		for (ReadModel readModel : eventModel.getReadModels().values()) {
+			readModel.setName(intern(readModel.getName()));
+			readModel.setDescription(intern(readModel.getDescription()));
+		}
+		for (Event event : eventModel.getEvents().values()) {
+			event.setName(intern(event.getName()));
+			event.setDescription(intern(event.getDescription()));
+		}
+		for (Command command : eventModel.getCommands().values()) {
+			command.setName(intern(command.getName()));
+			command.setDescription(intern(command.getDescription()));
+		}
+		for (Schema schema : eventModel.getSchemas().values()) {
+			schema.setName(intern(schema.getName()));
+			schema.setNamespace(intern(schema.getNamespace()));
+			schema.setDescription(intern(schema.getDescription()));
+			internDataType(schema.getDataType());
+		}
+	}
+
+	/**
+	 * Replaces every String of the given DataType and its nested DataTypes by its
+	 * shared instance.
+	 */
+	private void internDataType(DataType dataType) {
+		DataTypeTraversal.walk(dataType, step -> {
+			DataType nestedDataType = step.getDataType();
+			if (nestedDataType != null) {
+				internDataTypeNode(nestedDataType);
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Replaces the Strings of a single DataType by their shared instances. Its
+	 * nested DataTypes are left to the traversal.
+	 */
+	private void internDataTypeNode(DataType dataType) {
+		dataType.setName(intern(dataType.getName()));
+		if (dataType.getProperties() != null) {
+			dataType.setProperties(internKeys(dataType.getProperties(), this::intern));
+		}
+
+		switch (dataType.getVariant()) {
+		case OBJECT:
+			if (dataType.getObjectDataType() != null) {
+				dataType.setObjectDataType(internKeys(dataType.getObjectDataType(), UnaryOperator.identity()));
+			}
+			break;
+		case ENUM:
+			if (dataType.getEnumList() != null) {
+				dataType.getEnumList().replaceAll(this::intern);
+			}
+			break;
+		case REGEX:
+			dataType.setRegex(intern(dataType.getRegex()));
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * @return Map<String, V> - A new Map with the shared instances of the keys and
+	 *         the given values, inserted in the iteration order of the given Map
+	 */
+	private <V> Map<String, V> internKeys(Map<String, V> map, UnaryOperator<V> valueInterner) {
+		Map<String, V> internedMap = new HashMap<>();
+		for (var entry : map.entrySet()) {
+			internedMap.put(intern(entry.getKey()), valueInterner.apply(entry.getValue()));
+		}
+		return internedMap;
+	}
+
+	/**
+	 * @return int - Number of distinct Strings
+	 */
+	public int size() {
+		return strings.size();
+	}
+
+	@Override
+	public String toString() {
+		return "StringTable [strings=" + strings.size() + "]";
+	}
+
+}
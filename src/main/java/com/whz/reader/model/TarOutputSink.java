@@ -0,0 +1,158 @@
+package com.whz.reader.model;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * OutputSink streaming the generated projects as a POSIX (ustar) tar archive,
+ * e.g. to the standard output to be piped into other tools like 'tar -x'.
+ * Entry names that do not fit into the ustar header are written with a pax
+ * extended header.
+ *
+ * The same file may be written more than once; unpacking the archive keeps the
+ * file written last.
+ *
+ * @author Timon Schwalbe
+ */
+public class TarOutputSink extends ArchiveOutputSink {
+
+	private static final int BLOCK_SIZE = 512;
+	private static final int NAME_LENGTH = 100;
+	private static final int PREFIX_LENGTH = 155;
+
+	private static final byte TYPE_FILE = '0';
+	private static final byte TYPE_DIRECTORY = '5';
+	private static final byte TYPE_PAX_HEADER = 'x';
+
+	private final OutputStream outputStream;
+	private final long modificationTime = System.currentTimeMillis() / 1000;
+	private int entries;
+
+	/**
+	 * @param outputStream - Stream the archive is written to; it is flushed but
+	 *                     not closed by the sink
+	 * @param outputRoot   - The output directory the entry names are relative to
+	 */
+	public TarOutputSink(OutputStream outputStream, String outputRoot) {
+		super(outputRoot);
+		this.outputStream = new BufferedOutputStream(outputStream);
+	}
+
+	@Override
+	protected void writeDirectory(String entryName) throws IOException {
+		writeEntry(entryName + "/", TYPE_DIRECTORY, 0755, new byte[0]);
+	}
+
+	@Override
+	protected void writeFile(String entryName, CharSequence content) throws IOException {
+		writeEntry(entryName, TYPE_FILE, 0644, content.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void writeEntry(String entryName, byte type, int mode, byte[] content) throws IOException {
+		byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+		int prefixLength = findPrefixLength(name);
+		if (prefixLength < 0) {
+			byte[] paxRecords = createPaxRecord("path", entryName);
+			String paxName = "PaxHeaders/" + entryName.substring(Math.max(0, entryName.length() - 80));
+			writeHeader(Arrays.copyOf(paxName.getBytes(StandardCharsets.UTF_8), NAME_LENGTH), new byte[0],
+					TYPE_PAX_HEADER, 0644, paxRecords.length);
+			writeContent(paxRecords);
+			writeHeader(Arrays.copyOf(name, NAME_LENGTH), new byte[0], type, mode, content.length);
+		} else {
+			writeHeader(Arrays.copyOfRange(name, prefixLength == 0 ? 0 : prefixLength + 1, name.length),
+					Arrays.copyOf(name, prefixLength), type, mode, content.length);
+		}
+		writeContent(content);
+		entries++;
+	}
+
+	/**
+	 * @param name - The entry name
+	 * @return int - Length of the part of the name to be written into the prefix
+	 *         field, 0 if the whole name fits into the name field; or -1 if the
+	 *         name cannot be split at any '/'
+	 */
+	private static int findPrefixLength(byte[] name) {
+		if (name.length <= NAME_LENGTH) {
+			return 0;
+		}
+		for (int i = Math.min(PREFIX_LENGTH, name.length - 1); i > 0; i--) {
+			if (name[i] == '/' && name.length - i - 1 <= NAME_LENGTH && name.length - i - 1 > 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return byte[] - A pax record '<length> <key>=<value>\n' whose length
+	 *         includes its own digits
+	 */
+	private static byte[] createPaxRecord(String key, String value) {
+		int recordLength = (" " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8).length;
+		int length = recordLength + String.valueOf(recordLength).length();
+		if (String.valueOf(length).length() > String.valueOf(recordLength).length()) {
+			length++;
+		}
+		return (length + " " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void writeHeader(byte[] name, byte[] prefix, byte type, int mode, long size) throws IOException {
+		byte[] header = new byte[BLOCK_SIZE];
+		System.arraycopy(name, 0, header, 0, Math.min(name.length, NAME_LENGTH));
+		writeOctal(header, 100, 8, mode);
+		writeOctal(header, 108, 8, 0);
+		writeOctal(header, 116, 8, 0);
+		writeOctal(header, 124, 12, size);
+		writeOctal(header, 136, 12, modificationTime);
+		header[156] = type;
+		System.arraycopy("ustar\0".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 6);
+		header[263] = '0';
+		header[264] = '0';
+		System.arraycopy(prefix, 0, header, 345, Math.min(prefix.length, PREFIX_LENGTH));
+
+		// the checksum is computed with the checksum field filled with spaces
+		Arrays.fill(header, 148, 156, (byte) ' ');
+		long checksum = 0;
+		for (byte b : header) {
+			checksum += b & 0xFF;
+		}
+		writeOctal(header, 148, 7, checksum);
+		outputStream.write(header);
+	}
+
+	/**
+	 * Writes the value as octal digits padded with zeros and terminated by NUL.
+	 */
+	private static void writeOctal(byte[] header, int offset, int length, long value) {
+		String digits = Long.toOctalString(value);
+		int start = offset + length - 1 - digits.length();
+		Arrays.fill(header, offset, start, (byte) '0');
+		System.arraycopy(digits.getBytes(StandardCharsets.US_ASCII), 0, header, start, digits.length());
+		header[offset + length - 1] = 0;
+	}
+
+	private void writeContent(byte[] content) throws IOException {
+		outputStream.write(content);
+		int padding = (BLOCK_SIZE - content.length % BLOCK_SIZE) % BLOCK_SIZE;
+		outputStream.write(new byte[padding]);
+	}
+
+	/**
+	 * Writes the two empty blocks ending the archive and flushes the stream.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		outputStream.write(new byte[2 * BLOCK_SIZE]);
+		outputStream.flush();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TarOutputSink [entries=" + entries + "]";
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.whz.reader.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import com.google.gson.JsonParseException;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.dto.Element.ElementType;
+import com.whz.reader.dto.Interface.InterfaceType;
+
+/**
+ * The TypeTokenTable decodes the type tokens of an oNote JSON file, e.g.
+ * ':map-of' or 'interface.type/rest', into their enum constants. The tokens of
+ * every constant are spelled out once when the class is loaded, like oNote
+ * writes them for the 'spec-version' the parser was written for, so decoding a
+ * token is a single lookup without any new Strings.
+ *
+ * Tokens spelled differently, e.g. ':MAP_OF', are still decoded the way the
+ * parsers did before: the token is cut after its prefix and looked up by the
+ * name of the constant. Only a token that does not match any constant is
+ * rejected.
+ *
+ * @author Timon Schwalbe
+ */
+public class TypeTokenTable<E extends Enum<E>> {
+
+	private static final Logger log = Logger.getLogger(TypeTokenTable.class.getName());
+
+	public static final TypeTokenTable<SchemaType> SCHEMA_TYPES = new TypeTokenTable<>("SchemaType",
+			SchemaType.class, ":", token -> token.substring(1).replace("-", "_"));
+	public static final TypeTokenTable<InterfaceType> INTERFACE_TYPES = new TypeTokenTable<>("InterfaceType",
+			InterfaceType.class, "interface.type/", TypeTokenTable::cutNamespace);
+	public static final TypeTokenTable<ElementType> ELEMENT_TYPES = new TypeTokenTable<>("ElementType",
+			ElementType.class, "element.type/", TypeTokenTable::cutNamespace);
+
+	private final String kind;
+	private final Map<String, E> tokens = new HashMap<>();
+	private final Map<String, E> names = new HashMap<>();
+	private final Function<String, String> normalizer;
+
+	/**
+	 * @param kind       - Name of the decoded type used in messages
+	 * @param enumClass  - The enum the tokens are decoded into
+	 * @param prefix     - Prefix of every token in the JSON file
+	 * @param normalizer - Cuts a token spelled differently down to the name of
+	 *                   its constant, apart from the case
+	 */
+	private TypeTokenTable(String kind, Class<E> enumClass, String prefix, Function<String, String> normalizer) {
+		this.kind = kind;
+		this.normalizer = normalizer;
+		for (E constant : EnumSet.allOf(enumClass)) {
+			tokens.put(prefix + constant.name().toLowerCase().replace("_", "-"), constant);
+			names.put(constant.name(), constant);
+		}
+	}
+
+	private static String cutNamespace(String token) {
+		return token.substring(token.lastIndexOf("/") + 1);
+	}
+
+	/**
+	 * @param token - The type token found in the JSON file
+	 * @return E - The enum constant of the token
+	 * @throws JsonParseException - If the token does not match any constant
+	 */
+	public E decode(String token) {
+		E constant = tokens.get(token);
+		if (constant == null) {
+			constant = decodeUnusual(token);
+		}
+		return constant;
+	}
+
+	private E decodeUnusual(String token) {
+		E constant = token != null && !token.isEmpty() ? names.get(normalizer.apply(token).toUpperCase()) : null;
+		if (constant == null) {
+			throw new JsonParseException(
+					"Unknown " + kind + ": '" + token + "', expected one of " + new TreeSet<>(tokens.keySet()));
+		}
+		log.fine("Decoded unusual " + kind + " token '" + token + "' as " + constant);
+		return constant;
+	}
+
+	/**
+	 * @return Map<String, E> - The tokens as oNote writes them with their constants
+	 */
+	public Map<String, E> getTokens() {
+		return Collections.unmodifiableMap(tokens);
+	}
+
+}
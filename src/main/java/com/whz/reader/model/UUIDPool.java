@@ -0,0 +1,146 @@
+package com.whz.reader.model;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * The UUIDPool parses the UUIDs of a single JSON file and makes every
+ * reference to the same UUID share one instance. oNote repeats most UUIDs
+ * several times, e.g. as the key of a note, as its id and in every Flow and
+ * Placement pointing to it, so the pool keeps only one UUID per note alive
+ * instead of one per occurrence.
+ *
+ * UUIDs in their canonical form (8-4-4-4-12 hex digits) are decoded directly
+ * from their characters. Any other form is handed over to UUID.fromString, so
+ * exactly the same Strings are accepted and rejected as before.
+ *
+ * Since every UUID of the pool is canonical, comparing the key of a note with
+ * its id is a simple reference comparison, which is why the mismatches of keys
+ * and ids are counted on the way. The pool may be used by several threads at
+ * once, e.g. by the JSONSectionParseTasks.
+ *
+ * @author Timon Schwalbe
+ */
+public class UUIDPool {
+
+	private static final Logger log = Logger.getLogger(UUIDPool.class.getName());
+
+	private static final int UUID_LENGTH = 36;
+
+	// value of every hexadecimal digit; -1 for any other character
+	private static final byte[] HEX_VALUES = new byte[128];
+
+	static {
+		for (int i = 0; i < HEX_VALUES.length; i++) {
+			HEX_VALUES[i] = (byte) Character.digit(i, 16);
+		}
+	}
+
+	private final ConcurrentMap<UUID, UUID> uuids = new ConcurrentHashMap<>();
+	private final LongAdder references = new LongAdder();
+	private final LongAdder mismatches = new LongAdder();
+
+	/**
+	 * @param text - The UUID as String
+	 * @return UUID - The shared instance of the UUID
+	 * @throws IllegalArgumentException - If the String is not a UUID
+	 */
+	public UUID get(String text) {
+		references.increment();
+		UUID uuid = parse(text);
+		// most UUIDs are already pooled, which a plain get finds without locking
+		UUID pooledUUID = uuids.get(uuid);
+		if (pooledUUID == null) {
+			pooledUUID = uuids.putIfAbsent(uuid, uuid);
+		}
+		return pooledUUID != null ? pooledUUID : uuid;
+	}
+
+	/**
+	 * Compares the key of a note with the id inside the note and logs a warning
+	 * if they differ. Both have to come from this pool.
+	 *
+	 * @param section - Name of the section of the note, e.g. 'event'
+	 * @param key     - The UUID the note is stored with in its section
+	 * @param id      - The id of the note; may be null
+	 */
+	public void checkKey(String section, UUID key, UUID id) {
+		if (key != id) {
+			mismatches.increment();
+			log.warning("The key of " + section + " '" + key + "' differs from its id '" + id + "'");
+		}
+	}
+
+	/**
+	 * Parses the given String like UUID.fromString, but decodes the canonical
+	 * form without creating any intermediate Strings.
+	 *
+	 * @param text - The UUID as String
+	 * @return UUID - The parsed UUID
+	 * @throws IllegalArgumentException - If the String is not a UUID
+	 */
+	public static UUID parse(String text) {
+		if (text.length() == UUID_LENGTH && text.charAt(8) == '-' && text.charAt(13) == '-'
+				&& text.charAt(18) == '-' && text.charAt(23) == '-') {
+			long digits1 = parse4Digits(text, 0);
+			long digits2 = parse4Digits(text, 4);
+			long digits3 = parse4Digits(text, 9);
+			long digits4 = parse4Digits(text, 14);
+			long digits5 = parse4Digits(text, 19);
+			long digits6 = parse4Digits(text, 24);
+			long digits7 = parse4Digits(text, 28);
+			long digits8 = parse4Digits(text, 32);
+			if ((digits1 | digits2 | digits3 | digits4 | digits5 | digits6 | digits7 | digits8) >= 0) {
+				return new UUID(digits1 << 48 | digits2 << 32 | digits3 << 16 | digits4,
+						digits5 << 48 | digits6 << 32 | digits7 << 16 | digits8);
+			}
+		}
+		return UUID.fromString(text);
+	}
+
+	/**
+	 * @return long - Value of the 4 hexadecimal digits at the given index; or a
+	 *         negative value if any of them is not a hexadecimal digit
+	 */
+	private static long parse4Digits(String text, int index) {
+		char digit1 = text.charAt(index);
+		char digit2 = text.charAt(index + 1);
+		char digit3 = text.charAt(index + 2);
+		char digit4 = text.charAt(index + 3);
+		if ((digit1 | digit2 | digit3 | digit4) >= HEX_VALUES.length) {
+			return -1;
+		}
+		return HEX_VALUES[digit1] << 12 | HEX_VALUES[digit2] << 8 | HEX_VALUES[digit3] << 4 | HEX_VALUES[digit4];
+	}
+
+	/**
+	 * @return int - Number of distinct UUIDs
+	 */
+	public int size() {
+		return uuids.size();
+	}
+
+	/**
+	 * @return long - Number of UUIDs parsed through the pool
+	 */
+	public long getReferences() {
+		return references.sum();
+	}
+
+	/**
+	 * @return long - Number of notes whose key differs from their id
+	 */
+	public long getMismatches() {
+		return mismatches.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "UUIDPool [uuids=" + uuids.size() + ", references=" + references + ", mismatches=" + mismatches
+				+ "]";
+	}
+
+}
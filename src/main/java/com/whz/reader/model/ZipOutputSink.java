@@ -0,0 +1,78 @@
+package com.whz.reader.model;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * OutputSink streaming the generated projects into a single ZIP file, or into
+ * a JAR file with a manifest. The whole archive is written sequentially in one
+ * stream instead of creating thousands of small files.
+ *
+ * A ZIP file cannot contain the same entry twice, so every file may only be
+ * written once. The ProjectGenerator never plans the same file twice.
+ *
+ * @author Timon Schwalbe
+ */
+public class ZipOutputSink extends ArchiveOutputSink {
+
+	private final ZipOutputStream zipOutputStream;
+	private final boolean isJar;
+	private int entries;
+
+	/**
+	 * @param outputStream - Stream the archive is written to; it is not closed by
+	 *                     the sink
+	 * @param outputRoot   - The output directory the entry names are relative to
+	 * @param isJar        - Whether to write a JAR file starting with a manifest
+	 * @throws IOException - If the manifest could not be written
+	 */
+	public ZipOutputSink(OutputStream outputStream, String outputRoot, boolean isJar) throws IOException {
+		super(outputRoot);
+		BufferedOutputStream bufferedStream = new BufferedOutputStream(outputStream);
+		if (isJar) {
+			Manifest manifest = new Manifest();
+			manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+			this.zipOutputStream = new JarOutputStream(bufferedStream, manifest);
+		} else {
+			this.zipOutputStream = new ZipOutputStream(bufferedStream);
+		}
+		this.isJar = isJar;
+	}
+
+	@Override
+	protected void writeDirectory(String entryName) throws IOException {
+		zipOutputStream.putNextEntry(new ZipEntry(entryName + "/"));
+		zipOutputStream.closeEntry();
+		entries++;
+	}
+
+	@Override
+	protected void writeFile(String entryName, CharSequence content) throws IOException {
+		zipOutputStream.putNextEntry(new ZipEntry(entryName));
+		zipOutputStream.write(content.toString().getBytes(StandardCharsets.UTF_8));
+		zipOutputStream.closeEntry();
+		entries++;
+	}
+
+	/**
+	 * Writes the central directory of the archive and flushes the stream.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		zipOutputStream.finish();
+		zipOutputStream.flush();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ZipOutputSink [" + (isJar ? "jar" : "zip") + ", entries=" + entries + "]";
+	}
+
+}
@@ -19,6 +19,8 @@ public class I18N {
 
 	private static final String I18N_FOLDER = "i18n/bundle";
 
+	public static final Locale DEFAULT_LOCALE = new Locale("en", "US");
+
 	public static ResourceBundle resourceBundle;
 
 	/**
@@ -26,7 +28,17 @@ public class I18N {
 	 * English.
 	 */
 	public static void init() {
-		changeLocale(new Locale("en", "US"));
+		changeLocale(DEFAULT_LOCALE);
+	}
+
+	/**
+	 * Loads the texts of the given Locale without changing any Swing component.
+	 * Used by the command line, which never loads the GUI.
+	 * 
+	 * @param locale - The region and language to change into
+	 */
+	public static void loadBundle(Locale locale) {
+		resourceBundle = ResourceBundle.getBundle(I18N_FOLDER, locale);
 	}
 
 	/**
@@ -36,7 +48,7 @@ public class I18N {
 	 * @param locale - The region and language to change into
 	 */
 	public static void changeLocale(Locale locale) {
-		resourceBundle = ResourceBundle.getBundle(I18N_FOLDER, locale);
+		loadBundle(locale);
 
 		UIManager.put("FileChooser.lookInLabelText", resourceBundle.getString("fileChooser.lookInLabelText"));
 		UIManager.put("FileChooser.fileNameLabelText", resourceBundle.getString("fileChooser.fileNameLabelText"));
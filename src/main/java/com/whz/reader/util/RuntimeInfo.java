@@ -0,0 +1,26 @@
+package com.whz.reader.util;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * RuntimeInfo is a utility class describing the resources the application uses
+ * at a given moment. It is logged once the GUI is shown or the command line has
+ * finished, so that the startup time and the memory of both entry points can be
+ * compared.
+ * 
+ * @author Timon Schwalbe
+ */
+public class RuntimeInfo {
+
+	/**
+	 * @return String - The uptime of the JVM, the heap in use and the number of
+	 *         loaded classes
+	 */
+	public static String describe() {
+		Runtime runtime = Runtime.getRuntime();
+		return ManagementFactory.getRuntimeMXBean().getUptime() + " ms after JVM start, heap in use: "
+				+ (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024) + " MB, loaded classes: "
+				+ ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.whz.reader.view;
+
+import com.whz.reader.model.GenerationListener;
+
+/**
+ * GenerationListener of the GUI displaying every reported message as a dialog.
+ *
+ * @author Timon Schwalbe
+ */
+public class DialogGenerationListener implements GenerationListener {
+
+	@Override
+	public void onWarning(String warningMessage) {
+		ReaderGUI.showWarningDialog(warningMessage);
+	}
+
+	@Override
+	public void onInfo(String informationMessage) {
+		ReaderGUI.showInfoDialog(informationMessage);
+	}
+
+}
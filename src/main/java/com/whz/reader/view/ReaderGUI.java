@@ -242,7 +242,7 @@ public class ReaderGUI extends JPanel implements ActionListener {
 	 * beforehand which would not have any further usage.
 	 */
 	public static void initAndShow() {
-		new ReaderGUI(new ReaderController());
+		new ReaderGUI(new ReaderController(new DialogGenerationListener()));
 	}
 
 	/**
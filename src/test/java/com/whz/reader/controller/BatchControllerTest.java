@@ -0,0 +1,54 @@
+package com.whz.reader.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.controller.BatchController.ModelResult;
+import com.whz.reader.controller.BatchController.Status;
+import com.whz.reader.model.GenerationOptions;
+import com.whz.reader.model.JSONParser.ParseMode;
+import com.whz.reader.util.I18N;
+
+public class BatchControllerTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testGeneratesEveryModelIntoItsOwnFolder() throws IOException {
+		Path models = Files.createDirectories(tempDir.resolve("models"));
+		Files.copy(Paths.get(JSON_FILE), models.resolve("school.json"));
+		Files.copy(Paths.get(JSON_FILE), models.resolve("academy.json"));
+		Files.writeString(models.resolve("broken.json"), "{ \"spec-version\": ");
+		Files.writeString(models.resolve("notes.txt"), "not a model");
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+
+		List<Path> jsonFiles = BatchController.findJsonFiles(models.toString());
+		assertEquals(3, jsonFiles.size());
+		assertEquals(jsonFiles, BatchController.findJsonFiles(tempDir.toString() + "/**.json"));
+
+		Path output = tempDir.resolve("output");
+		List<ModelResult> results = BatchController.generateAll(jsonFiles,
+				new GenerationOptions(0, output.toString(), 2, ""), ParseMode.DOM, null, 3, null);
+
+		assertEquals(Status.GENERATED, results.get(0).getStatus());
+		assertEquals(Status.PARSE_FAILED, results.get(1).getStatus());
+		assertEquals(1, results.get(1).getWarnings().size());
+		assertEquals(Status.GENERATED, results.get(2).getStatus());
+		assertTrue(Files.exists(output.resolve("academy/Room/src/main/room/events")));
+		assertTrue(Files.exists(output.resolve("school/Room/src/main/room/events")));
+		assertTrue(BatchController.formatReport(results).contains("Generated 2 of 3 model(s)"));
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.whz.reader.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CommandLineControllerTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testGeneratesProjectWithoutGUI() {
+		int exitCode = CommandLineController.run(new String[] { "--json", JSON_FILE, "--output",
+				tempDir.toString(), "--namespace", "school", "--parse-mode", "streaming", "--threads", "2" });
+
+		assertEquals(CommandLineController.EXIT_SUCCESS, exitCode);
+		assertTrue(Files.exists(tempDir.resolve("Room/src/school/room/events")));
+	}
+
+	@Test
+	public void testGeneratesProjectIntoArchive() throws IOException {
+		Path archive = tempDir.resolve("projects.zip");
+		int exitCode = CommandLineController.run(new String[] { "--json", JSON_FILE, "--archive",
+				archive.toString() });
+
+		assertEquals(CommandLineController.EXIT_SUCCESS, exitCode);
+		try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+			assertTrue(zipFile.getEntry("Room/src/main/room/events/RoomAdded.java") != null);
+		}
+		assertFalse(Files.exists(tempDir.resolve("Room")));
+	}
+
+	@Test
+	public void testInvalidArgumentsAreRejected() {
+		assertEquals(CommandLineController.EXIT_USAGE, CommandLineController.run(new String[] { "--unknown" }));
+		assertEquals(CommandLineController.EXIT_USAGE,
+				CommandLineController.run(new String[] { "--json", JSON_FILE, "--namespace-option", "separate" }));
+		assertEquals(CommandLineController.EXIT_USAGE, CommandLineController.run(new String[] { "--threads" }));
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.whz.reader.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.dto.DataType.Variant;
+
+public class DataTypeTest {
+
+	@Test
+	public void testEveryVariantKeepsItsOwnSlot() {
+		DataType key = dataType(SchemaType.STRING);
+		DataType value = dataType(SchemaType.INT);
+		DataType mapOf = dataType(SchemaType.MAP_OF);
+		mapOf.setMapKeyDataType(key);
+		mapOf.setMapValueDataType(value);
+
+		assertEquals(Variant.MAP_OF, mapOf.getVariant());
+		assertSame(key, mapOf.getMapKeyDataType());
+		assertSame(value, mapOf.getMapValueDataType());
+		assertNull(mapOf.getListDataType());
+		assertNull(mapOf.getRegex());
+
+		DataType reference = dataType(SchemaType.REF);
+		UUID schemaId = UUID.randomUUID();
+		reference.setReference(schemaId);
+		assertSame(schemaId, reference.getReference());
+		assertNull(reference.getEnumList());
+		assertEquals(Variant.SCALAR, key.getVariant());
+		assertNull(key.getListDataType());
+	}
+
+	@Test
+	public void testRejectsValuesOfOtherVariants() {
+		DataType vector = dataType(SchemaType.VECTOR);
+		vector.setListDataType(dataType(SchemaType.UUID));
+
+		// null is accepted by every setter, e.g. when a snapshot restores all slots
+		vector.setRegex(null);
+		vector.setMapKeyDataType(null);
+		assertEquals(SchemaType.UUID, vector.getListDataType().getSchemaType());
+		assertThrows(IllegalStateException.class, () -> vector.setEnumList(List.of("A")));
+
+		// the same Variant keeps the slot, another Variant is refused while the slot is filled
+		vector.setSchemaType(SchemaType.SET);
+		assertEquals(SchemaType.UUID, vector.getListDataType().getSchemaType());
+		assertThrows(IllegalStateException.class, () -> vector.setSchemaType(SchemaType.RE));
+		assertEquals(SchemaType.SET, vector.getSchemaType());
+		assertEquals(SchemaType.UUID, vector.getListDataType().getSchemaType());
+		vector.setListDataType(null);
+		vector.setSchemaType(SchemaType.RE);
+		assertNull(vector.getRegex());
+		vector.setRegex("[a-z]+");
+		assertEquals("[a-z]+", vector.getRegex());
+	}
+
+	private static DataType dataType(SchemaType schemaType) {
+		DataType dataType = new DataType();
+		dataType.setSchemaType(schemaType);
+		return dataType;
+	}
+
+}
@@ -4,10 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
 import org.junit.jupiter.api.Test;
 
+import com.whz.reader.dto.Placement.LaneType;
+import com.whz.reader.dto.Placement.NoteType;
+
 public class EventModelTest {
 
 	@Test
@@ -30,4 +38,46 @@ public class EventModelTest {
 		assertTrue(eventModel.toString().contains("name=" + name));
 	}
 
+	@Test
+	public void testIndexes() {
+		EventModel eventModel = new EventModel();
+		UUID streamId = UUID.randomUUID();
+		UUID eventPlacementId = UUID.randomUUID();
+		UUID commandPlacementId = UUID.randomUUID();
+		eventModel.getPlacements().put(eventPlacementId, new Placement(eventPlacementId, 0, NoteType.EVENT,
+				UUID.randomUUID(), LaneType.STREAM, streamId));
+		eventModel.getPlacements().put(commandPlacementId, new Placement(commandPlacementId, 0, NoteType.COMMAND,
+				UUID.randomUUID(), LaneType.TIMELINE, null));
+		eventModel.getFlows().put(UUID.randomUUID(), new Flow(commandPlacementId, eventPlacementId));
+		eventModel.buildIndexes();
+
+		assertEquals(List.of(eventPlacementId), eventModel.getPlacementIds(LaneType.STREAM, streamId));
+		assertTrue(eventModel.getPlacementIds(LaneType.STREAM, null).isEmpty());
+		assertEquals(List.of(commandPlacementId), eventModel.getPlacementIds(LaneType.TIMELINE, null));
+		assertEquals(List.of(eventPlacementId), eventModel.getFlowTargets(commandPlacementId));
+		assertEquals(List.of(commandPlacementId), eventModel.getFlowSources(eventPlacementId));
+		assertTrue(eventModel.getFlowTargets(eventPlacementId).isEmpty());
+		assertThrows(UnsupportedOperationException.class,
+				() -> eventModel.getPlacementIds(LaneType.STREAM, streamId).add(commandPlacementId));
+	}
+
+	@Test
+	public void testIndexesHaveToBeBuiltAfterEveryChange() {
+		EventModel eventModel = new EventModel();
+		UUID placementId = UUID.randomUUID();
+		eventModel.getPlacements().put(placementId, new Placement(placementId, 0, NoteType.EVENT,
+				UUID.randomUUID(), LaneType.TIMELINE, null));
+		assertThrows(IllegalStateException.class, () -> eventModel.getPlacementIds(LaneType.TIMELINE, null));
+
+		eventModel.buildIndexes();
+		assertEquals(List.of(placementId), eventModel.getPlacementIds(LaneType.TIMELINE, null));
+		eventModel.getFlows().put(UUID.randomUUID(), new Flow(placementId, placementId));
+		assertThrows(IllegalStateException.class, () -> eventModel.getFlowTargets(placementId));
+
+		eventModel.buildIndexes();
+		assertEquals(List.of(placementId), eventModel.getFlowTargets(placementId));
+		eventModel.setPlacements(new HashMap<>());
+		assertThrows(IllegalStateException.class, () -> eventModel.getPlacementIds(LaneType.TIMELINE, null));
+	}
+
 }
@@ -0,0 +1,62 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.model.DataTypeAnalyzer.DataTypeAnalysis;
+
+public class DataTypeAnalyzerTest {
+
+	@Test
+	public void testAnalyzesNestedDataTypesInOnePass() {
+		DataType code = dataType(SchemaType.RE, "code");
+		code.setRegex("[A-Z]{3}");
+		DataType level = dataType(SchemaType.ENUM, "skillLevel");
+		level.setEnumList(List.of("Beginner", "Very Advanced"));
+		DataType address = dataType(SchemaType.MAP, "address");
+		DataType score = dataType(SchemaType.INT, "score");
+
+		DataType codes = dataType(SchemaType.SEQUENTIAL, "codes");
+		codes.setListDataType(code);
+		DataType addresses = dataType(SchemaType.SET, "addresses");
+		addresses.setListDataType(address);
+		DataType values = dataType(SchemaType.MAP_OF, "values");
+		values.setMapKeyDataType(dataType(SchemaType.UUID, "id"));
+		values.setMapValueDataType(score);
+		DataType field = dataType(SchemaType.MAP_OF, "field");
+		field.setMapKeyDataType(level);
+		field.setMapValueDataType(dataType(SchemaType.VECTOR, "vector"));
+		field.getMapValueDataType().setListDataType(values);
+
+		DataTypeAnalyzer analyzer = new DataTypeAnalyzer(new SchemaSymbolTable(new EventModel()));
+		DataTypeAnalysis analysis = analyzer.analyze(field);
+
+		assertEquals("Map<SkillLevel, Vector<Map<UUID, Integer>>>", analysis.getTypeArgument());
+		assertEquals(Set.of("Map", "Vector", "UUID"), analysis.getImports());
+		assertEquals(Map.of("skillLevel", List.of("Beginner", "VeryAdvanced")), analysis.getEnums());
+		assertEquals("int", analyzer.analyze(score).getTypeArgument());
+		assertEquals("List<String>", analyzer.analyze(codes).getTypeArgument());
+		assertEquals(Map.of("code", "[A-Z]{3}"), analyzer.analyze(codes).getRegexs());
+		assertEquals(List.of("Address"), analyzer.analyze(addresses).getSchemaImports());
+
+		assertSame(analysis, analyzer.analyze(field));
+		assertEquals(4, analyzer.size());
+	}
+
+	private static DataType dataType(SchemaType schemaType, String name) {
+		DataType dataType = new DataType();
+		dataType.setSchemaType(schemaType);
+		dataType.setName(name);
+		return dataType;
+	}
+
+}
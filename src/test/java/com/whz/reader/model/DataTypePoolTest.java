@@ -0,0 +1,85 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.util.I18N;
+
+public class DataTypePoolTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testSharesIdenticalTrees() {
+		DataTypePool dataTypes = new DataTypePool();
+		DataType uuids = dataTypes.share(vector("ids", dataType(SchemaType.UUID, "ids")));
+
+		assertSame(uuids, dataTypes.share(vector("ids", dataType(SchemaType.UUID, "ids"))));
+		assertSame(uuids, dataTypes.share(uuids));
+		assertNotSame(uuids, dataTypes.share(vector("otherIds", dataType(SchemaType.UUID, "otherIds"))));
+		assertNotSame(uuids, dataTypes.share(vector("ids", dataType(SchemaType.STRING, "ids"))));
+		assertEquals(6, dataTypes.size());
+	}
+
+	@Test
+	public void testSharedDataTypesAreUnmodifiable() {
+		DataType enumDataType = dataType(SchemaType.ENUM, "levelEnum");
+		enumDataType.setEnumList(new ArrayList<>(List.of("Beginner", "Advanced")));
+		DataType sharedDataType = new DataTypePool().share(enumDataType);
+
+		assertThrows(UnsupportedOperationException.class, () -> sharedDataType.getEnumList().add("Expert"));
+	}
+
+	@Test
+	public void testGeneratesSameCodeFromSharedDataTypes() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		GenerationSession session = JSONParser.parse(JSON_FILE);
+		GenerationSession sharedSession = JSONParser.parse(JSON_FILE);
+		DataTypePool dataTypes = new DataTypePool();
+		dataTypes.shareAll(sharedSession.getEventModel());
+		assertTrue(dataTypes.size() < dataTypes.getReferences());
+
+		Path output = tempDir.resolve("output");
+		Path sharedOutput = tempDir.resolve("shared");
+		assertTrue(ProjectGenerator.generateProject(session, new GenerationOptions(0, output.toString(), 1, "")));
+		assertTrue(ProjectGenerator.generateProject(sharedSession,
+				new GenerationOptions(0, sharedOutput.toString(), 1, "")));
+
+		List<Path> files = GeneratedFiles.listFiles(output);
+		assertEquals(files, GeneratedFiles.listFiles(sharedOutput));
+		for (Path file : files) {
+			assertEquals(Files.readString(output.resolve(file)), Files.readString(sharedOutput.resolve(file)));
+		}
+	}
+
+	private static DataType vector(String name, DataType listDataType) {
+		DataType dataType = dataType(SchemaType.VECTOR, name);
+		dataType.setListDataType(listDataType);
+		return dataType;
+	}
+
+	private static DataType dataType(SchemaType schemaType, String name) {
+		DataType dataType = new DataType();
+		dataType.setSchemaType(schemaType);
+		dataType.setName(name);
+		return dataType;
+	}
+
+}
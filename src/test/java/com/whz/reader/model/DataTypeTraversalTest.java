@@ -0,0 +1,199 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.model.JSONParser.ParseMode;
+import com.whz.reader.util.I18N;
+
+public class DataTypeTraversalTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+	private static final String SCHEMA_ID = "39cb087c-5e80-4624-9f24-c513b4a5d028";
+	private static final int DEPTH = 10_000;
+	// far too small for one frame per nesting level
+	private static final long STACK_SIZE = 256 * 1024;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testVisitsInSlotOrder() {
+		DataType mapOf = dataType(SchemaType.MAP_OF, "values");
+		mapOf.setMapKeyDataType(dataType(SchemaType.STRING, "valuesKey"));
+		DataType vector = dataType(SchemaType.VECTOR, "values");
+		vector.setListDataType(dataType(SchemaType.INT, "values"));
+		mapOf.setMapValueDataType(vector);
+		List<String> steps = new ArrayList<>();
+
+		DataTypeTraversal.walk(mapOf, new DataTypeTraversal.DataTypeVisitor() {
+
+			@Override
+			public boolean enter(DataTypeTraversal.Step step) {
+				steps.add("enter " + step.getDataType().getSchemaType() + " " + step.getIndex() + " "
+						+ step.getDepth());
+				return step.getDataType().getSchemaType() != SchemaType.VECTOR || steps.size() < 3;
+			}
+
+			@Override
+			public void exit(DataTypeTraversal.Step step) {
+				steps.add("exit " + step.getDataType().getSchemaType());
+			}
+
+		});
+
+		assertEquals(List.of("enter MAP_OF 0 0", "enter STRING 0 1", "exit STRING", "enter VECTOR 1 1",
+				"exit VECTOR", "exit MAP_OF"), steps);
+	}
+
+	@Test
+	public void testHandlesDeepDataTypesOnSmallStack() throws Throwable {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path jsonFile = writeDeepModel(tempDir.resolve("deep.json"), DEPTH);
+		Path output = tempDir.resolve("output");
+
+		runWithSmallStack(() -> {
+			GenerationSession session = JSONParser.parse(jsonFile.toString(), ParseMode.STREAMING);
+			EventModel eventModel = session.getEventModel();
+			DataType dataType = eventModel.getSchemas().get(UUID.fromString(SCHEMA_ID)).getDataType();
+			assertEquals(DEPTH, getDepth(dataType));
+
+			String typeArgument = new DataTypeAnalyzer(session.getSchemaSymbolTable()).analyze(dataType)
+					.getTypeArgument();
+			assertEquals(getTypeArgument(DEPTH), typeArgument);
+
+			ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+			EventModelSnapshot.write(eventModel, snapshot);
+			EventModel readEventModel = EventModelSnapshot.read(ByteBuffer.wrap(snapshot.toByteArray()));
+			assertEquals(DEPTH, getDepth(readEventModel.getSchemas().get(UUID.fromString(SCHEMA_ID)).getDataType()));
+
+			new StringTable().internAll(eventModel);
+			new DataTypePool().shareAll(eventModel);
+			assertEquals(DEPTH, getDepth(eventModel.getSchemas().get(UUID.fromString(SCHEMA_ID)).getDataType()));
+
+			assertTrue(ProjectGenerator.generateProject(session, new GenerationOptions(0, output.toString(), 1, "")));
+			try (Stream<Path> paths = Files.walk(output)) {
+				List<Path> files = paths.filter(file -> file.toString().endsWith(".java")).collect(Collectors.toList());
+				boolean isGenerated = false;
+				for (Path file : files) {
+					isGenerated |= Files.readString(file).contains(typeArgument);
+				}
+				assertTrue(isGenerated);
+			}
+		});
+	}
+
+	/**
+	 * Replaces the Schema of the example file used by the delete commands by a
+	 * DataType nested to the given depth, e.g.
+	 * 'vector<list<set<...map_of<string, vector<...uuid>>>>>'.
+	 */
+	static Path writeDeepModel(Path jsonFile, int depth) throws IOException {
+		String json = Files.readString(Paths.get(JSON_FILE));
+		String schema = "\"schema/schema\":{\"type\":\":uuid\"},\"schema/name\":\"eduSys/DeletionFromSystem\"";
+		if (!json.contains(schema)) {
+			throw new IllegalStateException("Schema not found in " + JSON_FILE);
+		}
+
+		StringBuilder deepSchema = new StringBuilder("\"schema/schema\":");
+		for (int i = 1; i < depth; i++) {
+			if (i % 100 == 0) {
+				deepSchema.append("{\"type\":\":map-of\",\"children\":[{\"type\":\":string\"},");
+			} else {
+				deepSchema.append("{\"type\":\":").append(getCollection(i)).append("\",\"children\":[");
+			}
+		}
+		deepSchema.append("{\"type\":\":uuid\"}");
+		for (int i = 1; i < depth; i++) {
+			deepSchema.append("]}");
+		}
+		deepSchema.append(",\"schema/name\":\"eduSys/DeletionFromSystem\"");
+
+		Files.writeString(jsonFile, json.replace(schema, deepSchema));
+		return jsonFile;
+	}
+
+	private static String getCollection(int level) {
+		switch (level % 3) {
+		case 0:
+			return "vector";
+		case 1:
+			return "sequential";
+		default:
+			return "set";
+		}
+	}
+
+	private static String getTypeArgument(int depth) {
+		StringBuilder typeArgument = new StringBuilder();
+		for (int i = 1; i < depth; i++) {
+			if (i % 100 == 0) {
+				typeArgument.append("Map<String, ");
+			} else {
+				typeArgument.append(getCollection(i).equals("vector") ? "Vector<"
+						: getCollection(i).equals("set") ? "Set<" : "List<");
+			}
+		}
+		typeArgument.append("UUID");
+		for (int i = 1; i < depth; i++) {
+			typeArgument.append(">");
+		}
+		return typeArgument.toString();
+	}
+
+	private static int getDepth(DataType dataType) {
+		int[] depth = new int[1];
+		DataTypeTraversal.walk(dataType, step -> {
+			depth[0] = Math.max(depth[0], step.getDepth() + 1);
+			return true;
+		});
+		return depth[0];
+	}
+
+	private interface DeepTask {
+		void run() throws Exception;
+	}
+
+	private static void runWithSmallStack(DeepTask task) throws Throwable {
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread thread = new Thread(null, () -> {
+			try {
+				task.run();
+			} catch (Throwable e) {
+				failure.set(e);
+			}
+		}, "deep-data-types", STACK_SIZE);
+		thread.start();
+		thread.join();
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+	}
+
+	private static DataType dataType(SchemaType schemaType, String name) {
+		DataType dataType = new DataType();
+		dataType.setSchemaType(schemaType);
+		dataType.setName(name);
+		return dataType;
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.whz.reader.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads the projects generated into an output directory, so tests can compare
+ * the output of different generations.
+ */
+final class GeneratedFiles {
+
+	private GeneratedFiles() {
+	}
+
+	/**
+	 * @param directory - The output directory
+	 * @return List<Path> - The generated files relative to the directory, sorted
+	 *         and without the manifest and the kept EventModel
+	 */
+	static List<Path> listFiles(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			return paths.filter(Files::isRegularFile).map(directory::relativize)
+					.filter(file -> !file.endsWith(GenerationManifest.FILE_NAME)
+							&& !file.endsWith(GenerationManifest.MODEL_FILE_NAME)).sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * @param directory - The output directory
+	 * @return Map<String, String> - The content of the generated Java files by
+	 *         their path relative to the directory with '/' as separator
+	 */
+	static Map<String, String> readFiles(Path directory) throws IOException {
+		Map<String, String> files = new TreeMap<>();
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path file : (Iterable<Path>) paths.filter(path -> path.toString().endsWith(".java"))::iterator) {
+				files.put(directory.relativize(file).toString().replace('\\', '/'), Files.readString(file));
+			}
+		}
+		return files;
+	}
+
+}
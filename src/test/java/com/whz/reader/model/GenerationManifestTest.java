@@ -0,0 +1,165 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.util.I18N;
+
+public class GenerationManifestTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testUnchangedModelWritesNothing() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path output = tempDir.resolve("output");
+		GenerationSession session = JSONParser.parse(JSON_FILE);
+		GenerationOptions options = new GenerationOptions(0, output.toString(), 2, "");
+
+		assertTrue(ProjectGenerator.generateProject(session, options));
+		Map<Path, FileTime> modifiedTimes = getModifiedTimes(output);
+		assertTrue(modifiedTimes.containsKey(Path.of(GenerationManifest.FILE_NAME)));
+
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE), options));
+		assertEquals(modifiedTimes, getModifiedTimes(output));
+	}
+
+	@Test
+	public void testRewritesEditedAndPrunesDeletedFiles() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path output = tempDir.resolve("output");
+		GenerationOptions options = new GenerationOptions(0, output.toString(), 2, "");
+		Path events = output.resolve("Apprentice/src/main/apprentice/events");
+		Path commands = output.resolve("Room/src/main/room/commands");
+
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE), options));
+		String approved = Files.readString(events.resolve("ApprenticeApproved.java"));
+		Files.writeString(events.resolve("ApprenticeRegistered.java"), "// edited");
+		Files.writeString(events.resolve("Handwritten.java"), "// not generated");
+		FileTime roomModified = Files.getLastModifiedTime(commands.resolve("AddRoom.java"));
+
+		Path jsonFile = tempDir.resolve("renamed.json");
+		String json = Files.readString(Path.of(JSON_FILE));
+		Files.writeString(jsonFile, json.replace("\"event/name\":\"Apprentice Approved\"",
+				"\"event/name\":\"Apprentice Accepted\""));
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(jsonFile.toString()), options));
+
+		assertFalse(Files.exists(events.resolve("ApprenticeApproved.java")));
+		assertEquals(approved.replace("ApprenticeApproved", "ApprenticeAccepted"),
+				Files.readString(events.resolve("ApprenticeAccepted.java")));
+		assertNotEquals("// edited", Files.readString(events.resolve("ApprenticeRegistered.java")));
+		assertTrue(Files.exists(events.resolve("Handwritten.java")));
+		assertEquals(roomModified, Files.getLastModifiedTime(commands.resolve("AddRoom.java")));
+	}
+
+	@Test
+	public void testKeepsEditedFilesThatAreNotGeneratedAnymore() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path output = tempDir.resolve("output");
+		GenerationOptions options = new GenerationOptions(0, output.toString(), 2, "");
+		Path events = output.resolve("Room/src/main/room/events");
+
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE), options));
+		String edited = Files.readString(events.resolve("RoomAdded.java")) + "\n// handwritten";
+		Files.writeString(events.resolve("RoomAdded.java"), edited);
+
+		Path jsonFile = tempDir.resolve("renamed.json");
+		Files.writeString(jsonFile, Files.readString(Path.of(JSON_FILE)).replace("\"event/name\":\"Room Added\"",
+				"\"event/name\":\"Room Created\""));
+		List<String> warnings = new ArrayList<>();
+		GenerationListener listener = new GenerationListener() {
+
+			@Override
+			public void onWarning(String warningMessage) {
+				warnings.add(warningMessage);
+			}
+
+			@Override
+			public void onInfo(String informationMessage) {
+			}
+
+		};
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(jsonFile.toString()), options, null, listener));
+
+		assertTrue(Files.exists(events.resolve("RoomCreated.java")));
+		assertEquals(edited, Files.readString(events.resolve("RoomAdded.java")));
+		assertEquals(1, warnings.size());
+		assertTrue(warnings.get(0).contains("Room/src/main/room/events/RoomAdded.java"));
+
+		// the edited file is not recorded anymore, so it is neither deleted nor reported again
+		warnings.clear();
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(jsonFile.toString()), options, null, listener));
+		assertEquals(edited, Files.readString(events.resolve("RoomAdded.java")));
+		assertTrue(warnings.isEmpty());
+	}
+
+	@Test
+	public void testSliceKeepsOtherBoundedContexts() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path output = tempDir.resolve("output");
+		GenerationOptions options = new GenerationOptions(1, output.toString(), 2, "");
+
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE), options));
+		Map<Path, FileTime> modifiedTimes = getModifiedTimes(output);
+
+		GenerationSession sliceSession = JSONParser.parse(JSON_FILE, Set.of("Room"), new LoggingGenerationListener());
+		assertTrue(ProjectGenerator.generateProject(sliceSession, options));
+		// the slice does not describe every generated class, so the next generation renders every class again
+		assertTrue(modifiedTimes.remove(Path.of(GenerationManifest.MODEL_FILE_NAME)) != null);
+		assertEquals(modifiedTimes, getModifiedTimes(output));
+	}
+
+	@Test
+	public void testIgnoresEntriesOutsideOfOutputRoot() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path output = tempDir.resolve("output");
+		GenerationOptions options = new GenerationOptions(0, output.toString(), 2, "");
+
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE), options));
+		int recordedFiles = GenerationManifest.load(output.toString()).getRecordedFiles();
+		Path manifestFile = output.resolve(GenerationManifest.FILE_NAME);
+		List<String> lines = Files.readAllLines(manifestFile);
+		String entry = lines.get(1);
+		String filePath = entry.substring(0, entry.indexOf('\t'));
+		// an intact copy of a generated file outside of the output root, which prune would delete if recorded
+		Path outside = tempDir.resolve("Outside.java");
+		Files.copy(output.resolve(filePath), outside, StandardCopyOption.COPY_ATTRIBUTES);
+		lines.add("../Outside.java" + entry.substring(filePath.length()));
+		Files.write(manifestFile, lines);
+
+		assertEquals(recordedFiles, GenerationManifest.load(output.toString()).getRecordedFiles());
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE), options));
+		assertTrue(Files.exists(outside));
+	}
+
+	private static Map<Path, FileTime> getModifiedTimes(Path directory) throws IOException {
+		Map<Path, FileTime> modifiedTimes = new TreeMap<>();
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path file : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+				modifiedTimes.put(directory.relativize(file), Files.getLastModifiedTime(file));
+			}
+		}
+		return modifiedTimes;
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GenerationPipelineTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testWritesAllSubmittedClasses() throws IOException {
+		try (GenerationPipeline pipeline = new GenerationPipeline(2, 2, 4)) {
+			for (int i = 0; i < 50; i++) {
+				String filePath = tempDir.resolve("Class" + i + ".java").toString();
+				String content = "public class Class" + i + " {}";
+				pipeline.submit(() -> new GeneratedSource(filePath, content));
+			}
+		}
+
+		for (int i = 0; i < 50; i++) {
+			assertEquals("public class Class" + i + " {}",
+					Files.readString(tempDir.resolve("Class" + i + ".java")));
+		}
+	}
+
+	@Test
+	public void testLastSubmissionOfFileWins() throws IOException {
+		String filePath = tempDir.resolve("Schema.java").toString();
+
+		try (GenerationPipeline pipeline = new GenerationPipeline(4, 4, 2)) {
+			for (int i = 0; i < 100; i++) {
+				String content = "// version " + i;
+				pipeline.submit(() -> new GeneratedSource(filePath, content));
+			}
+		}
+
+		assertEquals("// version 99", Files.readString(Path.of(filePath)));
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Paths;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.model.GenerationPlan.ClassType;
+import com.whz.reader.model.GenerationPlan.PlannedClass;
+
+public class GenerationPlanTest {
+
+	@Test
+	public void testPlansEachFileOnce() {
+		DataType address = new DataType();
+		address.setSchemaType(SchemaType.MAP);
+		address.setName("address");
+		address.setObjectDataType(new HashMap<>());
+
+		GenerationPlan plan = new GenerationPlan("Room");
+		plan.add(new PlannedClass(ClassType.COMMAND_OR_EVENT, "src", "main.room.events", address, "Room Booked",
+				null));
+		plan.add(new PlannedClass(ClassType.ENTITY, "src", "main.room.schemas", address, null, null));
+		PlannedClass lastAddress = new PlannedClass(ClassType.ENTITY, "src", "main.room.schemas", address, null,
+				"Address of a room");
+		plan.add(lastAddress);
+
+		assertEquals(2, plan.size());
+		assertEquals(1, plan.getRedundantClasses());
+		assertSame(lastAddress, plan.get("src/main/room/schemas/Address.java"));
+		assertEquals("src/main/room/events/RoomBooked.java",
+				plan.getPlannedClasses().iterator().next().getFilePath());
+	}
+
+	@Test
+	public void testPlanKeyDoesNotDependOnOutputRoot() {
+		DataType address = new DataType();
+		address.setSchemaType(SchemaType.MAP);
+		address.setName("address");
+		address.setObjectDataType(new HashMap<>());
+
+		String relativeSourcePath = "output/Room/src";
+		String absoluteSourcePath = Paths.get(relativeSourcePath).toAbsolutePath().toString();
+		String movedSourcePath = Paths.get("moved", relativeSourcePath).toAbsolutePath().toString();
+		String planKey = new PlannedClass(ClassType.ENTITY, relativeSourcePath, "main.room.schemas", address, null,
+				null).getPlanKey();
+		assertEquals(planKey, new PlannedClass(ClassType.ENTITY, absoluteSourcePath, "main.room.schemas", address,
+				null, null).getPlanKey());
+		assertEquals(planKey, new PlannedClass(ClassType.ENTITY, movedSourcePath, "main.room.schemas", address, null,
+				null).getPlanKey());
+		assertNotEquals(planKey, new PlannedClass(ClassType.ENTITY, relativeSourcePath, "main.room.schemas", address,
+				null, "Address of a room").getPlanKey());
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.util.I18N;
+
+public class GenerationSessionTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testGenerationDoesNotChangeSession() {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		GenerationSession session = JSONParser.parse(JSON_FILE);
+		String eventModel = JSONParserTest.describe(session.getEventModel());
+
+		assertTrue(ProjectGenerator.generateProject(session, new GenerationOptions(0, tempDir.toString(), 2, "")));
+		assertTrue(ProjectGenerator.generateProject(session,
+				new GenerationOptions(0, tempDir.resolve("second").toString(), 0, "school")));
+
+		assertEquals(eventModel, JSONParserTest.describe(session.getEventModel()));
+		assertEquals(3, session.getEventModel().getStreams().size());
+		assertTrue(Files.exists(tempDir.resolve("Room/src/main/room/events")));
+		assertTrue(Files.exists(tempDir.resolve("second/Room/src/school/room/events")));
+	}
+
+}
@@ -1,33 +1,86 @@
 package com.whz.reader.model;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.model.JSONParser.ParseMode;
+
 public class JSONParserTest {
 
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
 	@Test
 	public void testCanParseJson() {
-		boolean parsable = JSONParser.parseJson("apprenticeship_system_example.0.1.0-beta.json");
-		assertTrue(parsable);
+		GenerationSession session = JSONParser.parse(JSON_FILE);
+		assertNotNull(session);
 	}
 
 	@Test
 	public void testCorrectlyParsesJson() {
-		JSONParser.parseJson("apprenticeship_system_example.0.1.0-beta.json");
-
-		assertTrue(JSONParser.eventModel.getName().equals("Apprenticeship System"));
-		assertTrue(JSONParser.eventModel.getFormattedName().equals("ApprenticeshipSystem"));
-		assertTrue(JSONParser.eventModel.getDescription().contains("administrative system"));
-		assertTrue(JSONParser.eventModel.getStreams().size() == 3);
-		assertTrue(JSONParser.eventModel.getAudiences().size() == 3);
-		assertTrue(JSONParser.eventModel.getInterfaces().size() == 5);
-		assertTrue(JSONParser.eventModel.getCommands().size() == 11);
-		assertTrue(JSONParser.eventModel.getReadModels().size() == 5);
-		assertTrue(JSONParser.eventModel.getEvents().size() == 10);
-		assertTrue(JSONParser.eventModel.getFlows().size() == 33);
-		assertTrue(JSONParser.eventModel.getPlacements().size() == 31);
-		assertTrue(JSONParser.eventModel.getSchemas().size() == 7);
+		EventModel eventModel = JSONParser.parse(JSON_FILE).getEventModel();
+
+		assertTrue(eventModel.getName().equals("Apprenticeship System"));
+		assertTrue(eventModel.getFormattedName().equals("ApprenticeshipSystem"));
+		assertTrue(eventModel.getDescription().contains("administrative system"));
+		assertTrue(eventModel.getStreams().size() == 3);
+		assertTrue(eventModel.getAudiences().size() == 3);
+		assertTrue(eventModel.getInterfaces().size() == 5);
+		assertTrue(eventModel.getCommands().size() == 11);
+		assertTrue(eventModel.getReadModels().size() == 5);
+		assertTrue(eventModel.getEvents().size() == 10);
+		assertTrue(eventModel.getFlows().size() == 33);
+		assertTrue(eventModel.getPlacements().size() == 31);
+		assertTrue(eventModel.getSchemas().size() == 7);
+	}
+
+	@Test
+	public void testBuildsSchemaSymbolTable() {
+		GenerationSession session = JSONParser.parse(JSON_FILE);
+		SchemaSymbolTable schemaSymbolTable = session.getSchemaSymbolTable();
+
+		assertEquals(session.getEventModel().getSchemas().size(), schemaSymbolTable.size());
+		for (var schemaEntry : session.getEventModel().getSchemas().entrySet()) {
+			assertEquals(schemaEntry.getValue(), schemaSymbolTable.get(schemaEntry.getKey()).getSchema());
+		}
+		assertEquals("main.room.schemas", SchemaSymbolTable.getSchemaNamespace("main.room.events"));
+	}
+
+	@Test
+	public void testStreamingParseEqualsDomParse() {
+		String domEventModel = describe(JSONParser.parse(JSON_FILE, ParseMode.DOM).getEventModel());
+
+		String streamedEventModel = describe(JSONParser.parse(JSON_FILE, ParseMode.STREAMING).getEventModel());
+
+		assertEquals(domEventModel, streamedEventModel);
+	}
+
+	@Test
+	public void testParallelParseEqualsDomParse() {
+		String domEventModel = describe(JSONParser.parse(JSON_FILE, ParseMode.DOM).getEventModel());
+
+		String parallelEventModel = describe(JSONParser.parse(JSON_FILE, ParseMode.PARALLEL).getEventModel());
+
+		assertEquals(domEventModel, parallelEventModel);
+	}
+
+	/**
+	 * Builds a String containing every DTO of the EventModel so that two parsed
+	 * models can be compared with each other.
+	 */
+	static String describe(EventModel eventModel) {
+		StringBuilder sb = new StringBuilder(eventModel.toString());
+		sb.append(eventModel.getAudiences()).append(eventModel.getStreams());
+		for (var interfaceEntry : eventModel.getInterfaces().entrySet()) {
+			sb.append(interfaceEntry.getKey()).append(interfaceEntry.getValue())
+					.append(interfaceEntry.getValue().getFigmaURL()).append(interfaceEntry.getValue().getElements());
+		}
+		sb.append(eventModel.getReadModels()).append(eventModel.getEvents()).append(eventModel.getCommands());
+		sb.append(eventModel.getFlows()).append(eventModel.getPlacements()).append(eventModel.getSchemas());
+		return sb.toString();
 	}
 
 }
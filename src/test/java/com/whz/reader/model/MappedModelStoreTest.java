@@ -0,0 +1,86 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Placement;
+import com.whz.reader.util.I18N;
+
+public class MappedModelStoreTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testMappedStoreAnswersLikeEventModel() throws IOException {
+		EventModel eventModel = JSONParser.parse(JSON_FILE).getEventModel();
+		Path storePath = tempDir.resolve("model.store");
+		MappedModelStore.write(eventModel, storePath);
+		ModelStore mappedStore = MappedModelStore.open(storePath);
+
+		assertEquals(eventModel.getStreams().toString(), mappedStore.getStreams().toString());
+		for (var eventEntry : eventModel.getEvents().entrySet()) {
+			assertEquals(eventEntry.getValue().toString(), mappedStore.getEvent(eventEntry.getKey()).toString());
+		}
+		for (var commandEntry : eventModel.getCommands().entrySet()) {
+			assertEquals(commandEntry.getValue().toString(), mappedStore.getCommand(commandEntry.getKey()).toString());
+		}
+		for (var readModelEntry : eventModel.getReadModels().entrySet()) {
+			assertEquals(readModelEntry.getValue().toString(),
+					mappedStore.getReadModel(readModelEntry.getKey()).toString());
+		}
+		for (var schemaEntry : eventModel.getSchemas().entrySet()) {
+			assertEquals(schemaEntry.getValue().toString(), mappedStore.getSchema(schemaEntry.getKey()).toString());
+		}
+		for (var placementEntry : eventModel.getPlacements().entrySet()) {
+			UUID placementId = placementEntry.getKey();
+			Placement placement = placementEntry.getValue();
+			assertEquals(placement.toString(), mappedStore.getPlacement(placementId).toString());
+			assertEquals(eventModel.getFlowTargets(placementId), mappedStore.getFlowTargets(placementId));
+			assertEquals(eventModel.getFlowSources(placementId), mappedStore.getFlowSources(placementId));
+			if (placement.getLaneType() != null) {
+				assertEquals(eventModel.getPlacementIds(placement.getLaneType(), placement.getLaneId()),
+						mappedStore.getPlacementIds(placement.getLaneType(), placement.getLaneId()));
+			}
+		}
+		assertNull(mappedStore.getEvent(UUID.randomUUID()));
+		assertNull(mappedStore.getSchema(null));
+	}
+
+	@Test
+	public void testGeneratesSameCodeFromMappedStore() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		GenerationSession heapSession = JSONParser.parse(JSON_FILE);
+		Path storePath = tempDir.resolve("model.store");
+		MappedModelStore.write(heapSession.getEventModel(), storePath);
+		GenerationSession mappedSession = new GenerationSession(MappedModelStore.open(storePath));
+
+		Path heapOutput = tempDir.resolve("heap");
+		Path mappedOutput = tempDir.resolve("mapped");
+		assertTrue(ProjectGenerator.generateProject(heapSession,
+				new GenerationOptions(0, heapOutput.toString(), 1, "")));
+		assertTrue(ProjectGenerator.generateProject(mappedSession,
+				new GenerationOptions(0, mappedOutput.toString(), 1, "")));
+
+		List<Path> heapFiles = GeneratedFiles.listFiles(heapOutput);
+		assertEquals(heapFiles, GeneratedFiles.listFiles(mappedOutput));
+		assertTrue(heapFiles.size() > 0);
+		for (Path file : heapFiles) {
+			assertEquals(Files.readString(heapOutput.resolve(file)), Files.readString(mappedOutput.resolve(file)));
+		}
+	}
+
+}
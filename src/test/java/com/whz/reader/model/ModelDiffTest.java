@@ -0,0 +1,81 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.util.I18N;
+
+public class ModelDiffTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+	private static final UUID ADDRESS_SCHEMA_ID = UUID.fromString("157b20f9-fb4d-4c9a-9c70-d98b42f737e9");
+	private static final UUID APPRENTICE_SCHEMA_ID = UUID.fromString("93bdbb24-a0ff-458f-831b-45cb95955915");
+	private static final UUID ROOM_SCHEMA_ID = UUID.fromString("3507fc07-0693-4e90-81a8-09cc4e93f2f8");
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testChangedSchemaAffectsReferencingSchemas() throws IOException {
+		EventModel eventModel = JSONParser.parse(JSON_FILE).getEventModel();
+		assertTrue(ModelDiff.compare(eventModel, JSONParser.parse(JSON_FILE).getEventModel()).isEmpty());
+
+		ModelDiff diff = ModelDiff.compare(eventModel,
+				JSONParser.parse(writeChangedAddress().toString()).getEventModel());
+		assertFalse(diff.isEmpty());
+		assertTrue(diff.isAffected(ADDRESS_SCHEMA_ID));
+		// references the address
+		assertTrue(diff.isAffected(APPRENTICE_SCHEMA_ID));
+		assertFalse(diff.isAffected(ROOM_SCHEMA_ID));
+		assertTrue(diff.isAffected(null));
+	}
+
+	@Test
+	public void testRendersOnlyAffectedClasses() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path output = tempDir.resolve("output");
+		Path expectedOutput = tempDir.resolve("expected");
+		Path jsonFile = writeChangedAddress();
+		Path room = Path.of("Room/src/main/room/schemas/Room.java");
+		Path address = Path.of("Apprentice/src/main/apprentice/schemas/Address.java");
+
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE),
+				new GenerationOptions(0, output.toString(), 2, "")));
+		String previousAddress = Files.readString(output.resolve(address));
+		FileTime roomModified = Files.getLastModifiedTime(output.resolve(room));
+
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(jsonFile.toString()),
+				new GenerationOptions(0, output.toString(), 2, "")));
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(jsonFile.toString()),
+				new GenerationOptions(0, expectedOutput.toString(), 2, "")));
+
+		assertEquals(roomModified, Files.getLastModifiedTime(output.resolve(room)));
+		assertNotEquals(previousAddress, Files.readString(output.resolve(address)));
+		List<Path> files = GeneratedFiles.listFiles(output);
+		assertEquals(GeneratedFiles.listFiles(expectedOutput), files);
+		for (Path file : files) {
+			assertEquals(Files.readString(expectedOutput.resolve(file)), Files.readString(output.resolve(file)));
+		}
+	}
+
+	private Path writeChangedAddress() throws IOException {
+		Path jsonFile = tempDir.resolve("changed.json");
+		Files.writeString(jsonFile,
+				Files.readString(Path.of(JSON_FILE)).replace("\"entry\":\"residence\"", "\"entry\":\"city\""));
+		return jsonFile;
+	}
+
+}
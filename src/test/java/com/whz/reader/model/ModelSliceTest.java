@@ -0,0 +1,71 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.util.I18N;
+
+public class ModelSliceTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+	private static final UUID ADDRESS_SCHEMA_ID = UUID.fromString("157b20f9-fb4d-4c9a-9c70-d98b42f737e9");
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testParsesOnlySelectedStreams() {
+		EventModel eventModel = JSONParser.parse(JSON_FILE, Set.of("Apprentice"), new LoggingGenerationListener())
+				.getEventModel();
+		EventModel wholeEventModel = JSONParser.parse(JSON_FILE).getEventModel();
+
+		assertEquals(1, eventModel.getStreams().size());
+		assertEquals("Apprentice", eventModel.getStreams().get(0).getName());
+		assertTrue(eventModel.getInterfaces().isEmpty());
+		assertTrue(eventModel.getAudiences().isEmpty());
+		assertTrue(eventModel.getEvents().size() < wholeEventModel.getEvents().size());
+		assertTrue(eventModel.getPlacements().size() < wholeEventModel.getPlacements().size());
+		// only referenced by the schema of the apprentice
+		assertTrue(eventModel.getSchemas().containsKey(ADDRESS_SCHEMA_ID));
+		assertTrue(eventModel.getSchemas().size() < wholeEventModel.getSchemas().size());
+		for (var schemaEntry : eventModel.getSchemas().entrySet()) {
+			assertEquals(wholeEventModel.getSchemas().get(schemaEntry.getKey()).toString(),
+					schemaEntry.getValue().toString());
+		}
+	}
+
+	@Test
+	public void testGeneratesSameBoundedContexts() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path output = tempDir.resolve("output");
+		Path sliceOutput = tempDir.resolve("slice");
+		GenerationSession session = JSONParser.parse(JSON_FILE);
+		GenerationSession sliceSession = JSONParser.parse(JSON_FILE,
+				Set.of("Room", "d725c6a0-dae3-4919-81a5-2043caac98dd", "Course", "Unknown"),
+				new LoggingGenerationListener());
+
+		assertTrue(ProjectGenerator.generateProject(session, new GenerationOptions(0, output.toString(), 2, "")));
+		assertTrue(ProjectGenerator.generateProject(sliceSession,
+				new GenerationOptions(0, sliceOutput.toString(), 2, "")));
+
+		List<Path> sliceFiles = GeneratedFiles.listFiles(sliceOutput);
+		assertEquals(GeneratedFiles.listFiles(output).stream().filter(file -> !file.startsWith("Apprentice"))
+				.collect(Collectors.toList()), sliceFiles);
+		for (Path file : sliceFiles) {
+			assertEquals(Files.readString(output.resolve(file)), Files.readString(sliceOutput.resolve(file)));
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.model.AsyncFileSystemOutputSink.FsyncPolicy;
+import com.whz.reader.util.I18N;
+
+public class OutputSinkTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testArchivesContainTheFilesOfTheFileSystem() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path output = tempDir.resolve("output");
+		GenerationOptions options = new GenerationOptions(0, output.toString(), 2, "");
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE), options));
+		Map<String, String> files = GeneratedFiles.readFiles(output);
+
+		MemoryOutputSink memorySink = new MemoryOutputSink(output.toString());
+		assertTrue(generate(options, memorySink));
+		assertEquals(files, memorySink.getFiles());
+		assertTrue(memorySink.getDirectories().contains("Room/src/main/room/readModels"));
+
+		ByteArrayOutputStream zip = new ByteArrayOutputStream();
+		try (ZipOutputSink zipSink = new ZipOutputSink(zip, output.toString(), false)) {
+			assertTrue(generate(options, zipSink));
+		}
+		assertEquals(files, readZip(zip.toByteArray()));
+
+		ByteArrayOutputStream tar = new ByteArrayOutputStream();
+		try (TarOutputSink tarSink = new TarOutputSink(tar, output.toString())) {
+			assertTrue(generate(options, tarSink));
+		}
+		assertEquals(files, readTar(tar.toByteArray()));
+	}
+
+	@Test
+	public void testAsyncSinkWritesTheSameFilesAtomically() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		Path output = tempDir.resolve("output");
+		GenerationOptions options = new GenerationOptions(0, output.toString(), 2, "");
+		assertTrue(ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE), options));
+		Map<String, String> files = GeneratedFiles.readFiles(output);
+
+		Path asyncOutput = tempDir.resolve("async");
+		GenerationOptions asyncOptions = new GenerationOptions(0, asyncOutput.toString(), 2, "");
+		try (AsyncFileSystemOutputSink asyncSink = new AsyncFileSystemOutputSink(4, true, FsyncPolicy.AT_END)) {
+			assertTrue(generate(asyncOptions, asyncSink));
+			assertEquals(files.size(), asyncSink.getWrittenFiles());
+		}
+		assertEquals(files, GeneratedFiles.readFiles(asyncOutput));
+		try (Stream<Path> paths = Files.walk(asyncOutput)) {
+			assertTrue(paths.noneMatch(path -> path.toString().endsWith(".tmp")));
+		}
+	}
+
+	@Test
+	public void testAsyncSinkKeepsLastWriteOfFile() throws IOException {
+		Path file = tempDir.resolve("Schema.java");
+		try (AsyncFileSystemOutputSink asyncSink = new AsyncFileSystemOutputSink(8, true, FsyncPolicy.PER_FILE)) {
+			for (int i = 0; i < 100; i++) {
+				asyncSink.writeAsync(file.toString(), "// version " + i);
+			}
+		}
+		assertEquals("// version 99", Files.readString(file));
+	}
+
+	@Test
+	public void testTarKeepsLongEntryNames() throws IOException {
+		String directory = "a".repeat(120) + "/" + "b".repeat(60);
+		String longName = "c".repeat(150) + ".java";
+
+		ByteArrayOutputStream tar = new ByteArrayOutputStream();
+		try (TarOutputSink tarSink = new TarOutputSink(tar, "root")) {
+			tarSink.write("root/" + directory + "/Split.java", "split");
+			tarSink.write("root/" + longName, "pax");
+		}
+		SortedMap<String, String> files = readTar(tar.toByteArray());
+		assertEquals("split", files.get(directory + "/Split.java"));
+		assertEquals("pax", files.get(longName));
+	}
+
+	private static boolean generate(GenerationOptions options, OutputSink outputSink) {
+		return ProjectGenerator.generateProject(JSONParser.parse(JSON_FILE), options, null,
+				new LoggingGenerationListener(), outputSink);
+	}
+
+	private static Map<String, String> readZip(byte[] zip) throws IOException {
+		Map<String, String> files = new TreeMap<>();
+		try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+			for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream
+					.getNextEntry()) {
+				if (!entry.isDirectory()) {
+					files.put(entry.getName(), new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+				}
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * Reads the files of a ustar archive, including the paths of pax headers.
+	 */
+	private static SortedMap<String, String> readTar(byte[] tar) {
+		SortedMap<String, String> files = new TreeMap<>();
+		String paxPath = null;
+		for (int offset = 0; tar[offset] != 0; ) {
+			String name = readString(tar, offset, 100);
+			String prefix = readString(tar, offset + 345, 155);
+			int size = Integer.parseInt(readString(tar, offset + 124, 12), 8);
+			byte type = tar[offset + 156];
+			String content = new String(tar, offset + 512, size, StandardCharsets.UTF_8);
+
+			if (type == 'x') {
+				paxPath = content.substring(content.indexOf("path=") + 5, content.length() - 1);
+			} else {
+				if (type == '0') {
+					files.put(paxPath != null ? paxPath : prefix.isEmpty() ? name : prefix + "/" + name, content);
+				}
+				paxPath = null;
+			}
+			offset += 512 + (size + 511) / 512 * 512;
+		}
+		return files;
+	}
+
+	private static String readString(byte[] header, int offset, int length) {
+		byte[] field = Arrays.copyOfRange(header, offset, offset + length);
+		int end = 0;
+		while (end < length && field[end] != 0) {
+			end++;
+		}
+		return new String(field, 0, end, StandardCharsets.UTF_8);
+	}
+
+}
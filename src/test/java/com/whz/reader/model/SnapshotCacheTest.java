@@ -0,0 +1,97 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.model.JSONParser.ParseMode;
+
+public class SnapshotCacheTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testLoadsUnchangedJsonFromSnapshot() throws IOException {
+		SnapshotCache snapshotCache = new SnapshotCache(tempDir);
+		String parsedEventModel = JSONParserTest.describe(JSONParser.parse(JSON_FILE).getEventModel());
+
+		GenerationSession firstSession = JSONParser.parse(JSON_FILE, ParseMode.STREAMING, snapshotCache,
+				new LoggingGenerationListener());
+		GenerationSession secondSession = JSONParser.parse(JSON_FILE, ParseMode.DOM, snapshotCache,
+				new LoggingGenerationListener());
+
+		assertEquals(1, snapshotCache.getMisses());
+		assertEquals(1, snapshotCache.getHits());
+		assertEquals(parsedEventModel, JSONParserTest.describe(firstSession.getEventModel()));
+		assertEquals(parsedEventModel, JSONParserTest.describe(secondSession.getEventModel()));
+		assertEquals(firstSession.getSchemaSymbolTable().size(), secondSession.getSchemaSymbolTable().size());
+	}
+
+	@Test
+	public void testReplacesUnreadableSnapshot() throws IOException {
+		SnapshotCache snapshotCache = new SnapshotCache(tempDir);
+		String key = snapshotCache.getKey(Files.readAllBytes(Path.of(JSON_FILE)));
+		Files.writeString(tempDir.resolve(key + ".snapshot"), "not a snapshot");
+
+		JSONParser.parse(JSON_FILE, ParseMode.DOM, snapshotCache, new LoggingGenerationListener());
+		JSONParser.parse(JSON_FILE, ParseMode.DOM, snapshotCache, new LoggingGenerationListener());
+
+		assertEquals(1, snapshotCache.getMisses());
+		assertEquals(1, snapshotCache.getHits());
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsedSnapshots() throws IOException {
+		EventModel eventModel = JSONParser.parse(JSON_FILE).getEventModel();
+		new SnapshotCache(tempDir.resolve("size")).store("a", eventModel);
+		long size = Files.size(tempDir.resolve("size").resolve("a.snapshot"));
+
+		Path directory = tempDir.resolve("cache");
+		SnapshotCache snapshotCache = new SnapshotCache(directory, 2 * size + size / 2);
+		snapshotCache.store("a", eventModel);
+		snapshotCache.store("b", eventModel);
+		Files.setLastModifiedTime(directory.resolve("a.snapshot"), FileTime.fromMillis(1_000_000));
+		Files.setLastModifiedTime(directory.resolve("b.snapshot"), FileTime.fromMillis(2_000_000));
+		assertNotNull(snapshotCache.load("a"));
+
+		snapshotCache.store("c", eventModel);
+		assertEquals(1, snapshotCache.getEvictions());
+		assertFalse(Files.exists(directory.resolve("b.snapshot")));
+		assertNull(snapshotCache.load("b"));
+		assertNotNull(snapshotCache.load("a"));
+		assertNotNull(snapshotCache.load("c"));
+	}
+
+	@Test
+	public void testPrivateCacheIsOnlyAccessibleByItsOwner() throws IOException {
+		assumeTrue(tempDir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+		Path directory = tempDir.resolve("private");
+		assertNotNull(SnapshotCache.createPrivate(directory, SnapshotCache.DEFAULT_MAX_BYTES));
+		assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(directory));
+
+		Path sharedDirectory = Files.createDirectory(tempDir.resolve("shared"));
+		Files.setPosixFilePermissions(sharedDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+		assertNull(SnapshotCache.createPrivate(sharedDirectory, SnapshotCache.DEFAULT_MAX_BYTES));
+
+		Path linkedDirectory = Files.createSymbolicLink(tempDir.resolve("link"), directory);
+		assertNull(SnapshotCache.createPrivate(linkedDirectory, SnapshotCache.DEFAULT_MAX_BYTES));
+		assertTrue(Files.isDirectory(directory));
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.whz.reader.dto.DataType;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.dto.Event;
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Schema;
+
+public class StringTableTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@Test
+	public void testSharesEqualStrings() {
+		StringTable strings = new StringTable();
+		String string = "namespace";
+
+		assertSame(string, strings.intern(string));
+		assertSame(string, strings.intern(new String(string.toCharArray())));
+		assertNull(strings.intern(null));
+		assertEquals(1, strings.size());
+	}
+
+	@Test
+	public void testKeepsIterationOrderOfDataTypes() {
+		DataType dataType = new DataType();
+		dataType.setSchemaType(SchemaType.MAP);
+		Map<String, DataType> objectDataType = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			DataType field = new DataType();
+			field.setSchemaType(SchemaType.STRING);
+			objectDataType.put(new String(("field" + i).toCharArray()), field);
+		}
+		dataType.setObjectDataType(objectDataType);
+		List<String> keys = new ArrayList<>(objectDataType.keySet());
+		Schema schema = new Schema();
+		schema.setDataType(dataType);
+		EventModel eventModel = new EventModel();
+		eventModel.getSchemas().put(UUID.randomUUID(), schema);
+
+		new StringTable().internAll(eventModel);
+
+		assertEquals(keys, new ArrayList<>(schema.getDataType().getObjectDataType().keySet()));
+	}
+
+	@Test
+	public void testParsedEventModelSharesStrings() {
+		EventModel eventModel = JSONParser.parse(JSON_FILE).getEventModel();
+		Map<String, String> namespaces = new HashMap<>();
+
+		for (Schema schema : eventModel.getSchemas().values()) {
+			if (schema.getNamespace() != null) {
+				assertSame(namespaces.computeIfAbsent(schema.getNamespace(), namespace -> namespace),
+						schema.getNamespace());
+			}
+		}
+	}
+
+	@Test
+	public void testCachesFormattedName() {
+		Event event = new Event();
+		event.setName("order placed");
+		String formattedName = event.getFormattedName();
+
+		assertSame(formattedName, event.getFormattedName());
+		event.setName("order shipped");
+		assertNotSame(formattedName, event.getFormattedName());
+		assertEquals(new Event(null, "order shipped", null, null).getFormattedName(), event.getFormattedName());
+	}
+
+}
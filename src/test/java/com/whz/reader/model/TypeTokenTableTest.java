@@ -0,0 +1,68 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.JsonParseException;
+import com.whz.reader.dto.DataType.SchemaType;
+import com.whz.reader.dto.Element.ElementType;
+import com.whz.reader.dto.Interface.InterfaceType;
+import com.whz.reader.model.JSONParser.ParseMode;
+import com.whz.reader.util.I18N;
+
+public class TypeTokenTableTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testDecodesTokensOfONote() {
+		assertSame(SchemaType.MAP_OF, TypeTokenTable.SCHEMA_TYPES.decode(":map-of"));
+		assertSame(SchemaType.RE, TypeTokenTable.SCHEMA_TYPES.decode(":re"));
+		assertSame(InterfaceType.REST, TypeTokenTable.INTERFACE_TYPES.decode("interface.type/rest"));
+		assertSame(ElementType.GET, TypeTokenTable.ELEMENT_TYPES.decode("element.type/get"));
+		assertEquals(SchemaType.values().length, TypeTokenTable.SCHEMA_TYPES.getTokens().size());
+	}
+
+	@Test
+	public void testDecodesUnusualSpellings() {
+		assertSame(SchemaType.MAP_OF, TypeTokenTable.SCHEMA_TYPES.decode(":MAP_OF"));
+		assertSame(InterfaceType.BLANK, TypeTokenTable.INTERFACE_TYPES.decode("blank"));
+		assertSame(ElementType.POST, TypeTokenTable.ELEMENT_TYPES.decode("http.method/Post"));
+	}
+
+	@Test
+	public void testRejectsUnknownTokens() {
+		JsonParseException e = assertThrows(JsonParseException.class,
+				() -> TypeTokenTable.SCHEMA_TYPES.decode(":timestamp"));
+		assertTrue(e.getMessage().contains("':timestamp'"));
+		assertThrows(JsonParseException.class, () -> TypeTokenTable.SCHEMA_TYPES.decode(""));
+		assertThrows(JsonParseException.class, () -> TypeTokenTable.INTERFACE_TYPES.decode(null));
+	}
+
+	@Test
+	public void testUnknownTokenFailsParsing() throws IOException {
+		I18N.loadBundle(I18N.DEFAULT_LOCALE);
+		String json = Files.readString(Paths.get(JSON_FILE));
+		Path jsonFile = tempDir.resolve("unknown.json");
+		Files.writeString(jsonFile, json.replace("\"type\":\":boolean\"", "\"type\":\":timestamp\""));
+
+		for (ParseMode parseMode : ParseMode.values()) {
+			assertNull(JSONParser.parse(jsonFile.toString(), parseMode));
+		}
+	}
+
+}
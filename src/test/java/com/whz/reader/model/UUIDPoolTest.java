@@ -0,0 +1,60 @@
+package com.whz.reader.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.whz.reader.dto.EventModel;
+import com.whz.reader.dto.Placement;
+
+public class UUIDPoolTest {
+
+	private static final String JSON_FILE = "apprenticeship_system_example.0.1.0-beta.json";
+
+	@Test
+	public void testParsesLikeUUIDFromString() {
+		for (int i = 0; i < 1000; i++) {
+			UUID uuid = UUID.randomUUID();
+			assertEquals(uuid, UUIDPool.parse(uuid.toString()));
+			assertEquals(uuid, UUIDPool.parse(uuid.toString().toUpperCase()));
+		}
+		assertEquals(new UUID(-1, -1), UUIDPool.parse("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+		assertEquals(UUID.fromString("1-2-3-4-5"), UUIDPool.parse("1-2-3-4-5"));
+		assertThrows(IllegalArgumentException.class, () -> UUIDPool.parse("0000000g-0000-0000-0000-000000000000"));
+		assertThrows(IllegalArgumentException.class, () -> UUIDPool.parse("no uuid"));
+	}
+
+	@Test
+	public void testSharesInstancesAndCountsMismatches() {
+		UUIDPool uuids = new UUIDPool();
+		String text = UUID.randomUUID().toString();
+		UUID uuid = uuids.get(text);
+
+		assertSame(uuid, uuids.get(new String(text.toCharArray())));
+		assertEquals(1, uuids.size());
+		assertEquals(2, uuids.getReferences());
+
+		uuids.checkKey("event", uuid, uuids.get(text));
+		uuids.checkKey("event", uuid, uuids.get(UUID.randomUUID().toString()));
+		assertEquals(1, uuids.getMismatches());
+	}
+
+	@Test
+	public void testParsedEventModelSharesUUIDs() {
+		EventModel eventModel = JSONParser.parse(JSON_FILE).getEventModel();
+
+		for (var eventEntry : eventModel.getEvents().entrySet()) {
+			assertSame(eventEntry.getKey(), eventEntry.getValue().getId());
+		}
+		for (Placement placement : eventModel.getPlacements().values()) {
+			if (placement.getNoteType() == Placement.NoteType.EVENT) {
+				assertSame(eventModel.getEvents().get(placement.getNoteId()).getId(), placement.getNoteId());
+			}
+		}
+	}
+
+}